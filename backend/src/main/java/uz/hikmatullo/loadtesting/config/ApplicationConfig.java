@@ -9,7 +9,10 @@ public class ApplicationConfig {
 
     @Bean
     public RestTemplate restTemplate() {
-        return new RestTemplate();
+        RestTemplate restTemplate = new RestTemplate();
+        // lets workers send metrics batches in the binary format
+        restTemplate.getMessageConverters().addFirst(new MetricsBatchMessageConverter());
+        return restTemplate;
     }
 
 }
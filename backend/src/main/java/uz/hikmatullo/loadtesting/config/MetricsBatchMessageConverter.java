@@ -0,0 +1,47 @@
+package uz.hikmatullo.loadtesting.config;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.NonNull;
+import uz.hikmatullo.loadtesting.model.entity.metrics.WorkerMetricsBatch;
+import uz.hikmatullo.loadtesting.util.MetricsBatchCodec;
+
+import java.io.IOException;
+
+/**
+ * Reads and writes {@link WorkerMetricsBatch} as {@link MetricsBatchCodec#MEDIA_TYPE}.
+ * Registered next to the JSON converter, so the Content-Type of a request picks the format.
+ */
+public class MetricsBatchMessageConverter extends AbstractHttpMessageConverter<WorkerMetricsBatch> {
+
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MetricsBatchCodec.MEDIA_TYPE);
+
+    public MetricsBatchMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(@NonNull Class<?> clazz) {
+        return WorkerMetricsBatch.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    @NonNull
+    protected WorkerMetricsBatch readInternal(@NonNull Class<? extends WorkerMetricsBatch> clazz,
+                                              @NonNull HttpInputMessage inputMessage) throws IOException {
+        try {
+            return MetricsBatchCodec.decode(inputMessage.getBody().readAllBytes());
+        } catch (IllegalArgumentException e) {
+            throw new HttpMessageNotReadableException("Invalid metrics batch: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(@NonNull WorkerMetricsBatch batch,
+                                 @NonNull HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(MetricsBatchCodec.encode(batch));
+    }
+}
@@ -0,0 +1,17 @@
+package uz.hikmatullo.loadtesting.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // binary metrics batches from workers; JSON still works for everything else
+        converters.addFirst(new MetricsBatchMessageConverter());
+    }
+}
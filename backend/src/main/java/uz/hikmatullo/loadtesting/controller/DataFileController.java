@@ -0,0 +1,56 @@
+package uz.hikmatullo.loadtesting.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import uz.hikmatullo.loadtesting.model.enums.DataFileFormat;
+import uz.hikmatullo.loadtesting.model.response.DataFileResponse;
+import uz.hikmatullo.loadtesting.service.interfaces.DataFileService;
+
+import java.io.IOException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/data-files")
+@RequiredArgsConstructor
+public class DataFileController {
+
+    private final DataFileService service;
+
+    /*
+    * The file is the raw request body, e.g.
+    * curl -H "Content-Type: text/csv" --data-binary @users.csv ".../api/v1/data-files?name=users.csv"
+    * */
+    @PostMapping(consumes = {
+            MediaType.APPLICATION_OCTET_STREAM_VALUE,
+            MediaType.TEXT_PLAIN_VALUE,
+            "text/csv",
+            MediaType.APPLICATION_NDJSON_VALUE,
+            "application/jsonl"
+    })
+    public ResponseEntity<DataFileResponse> upload(
+            @RequestParam String name,
+            @RequestParam(required = false) DataFileFormat format,
+            HttpServletRequest request
+    ) throws IOException {
+        return ResponseEntity.ok(service.upload(name, format, request.getInputStream()));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<DataFileResponse> get(@PathVariable String id) {
+        return ResponseEntity.ok(service.get(id));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<DataFileResponse>> getAll() {
+        return ResponseEntity.ok(service.getAll());
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable String id) {
+        service.delete(id);
+        return ResponseEntity.ok().build();
+    }
+}
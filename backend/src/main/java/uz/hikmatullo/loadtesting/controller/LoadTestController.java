@@ -50,4 +50,12 @@ public class LoadTestController {
     public ResponseEntity<TestExecutionReport> execute(@PathVariable String id) {
         return ResponseEntity.ok(service.execute(id));
     }
+
+    @PostMapping("/execute/{id}/cluster/{clusterId}")
+    public ResponseEntity<TestExecutionReport> executeDistributed(
+            @PathVariable String id,
+            @PathVariable String clusterId
+    ) {
+        return ResponseEntity.ok(service.executeDistributed(id, clusterId));
+    }
 }
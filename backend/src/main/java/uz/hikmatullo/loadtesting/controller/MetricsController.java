@@ -0,0 +1,34 @@
+package uz.hikmatullo.loadtesting.controller;
+
+import io.swagger.v3.oas.annotations.Hidden;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import uz.hikmatullo.loadtesting.model.entity.metrics.TestExecutionReport;
+import uz.hikmatullo.loadtesting.model.entity.metrics.WorkerMetricsBatch;
+import uz.hikmatullo.loadtesting.service.distributed.LiveMetricsService;
+
+@RestController
+@RequestMapping("/api/v1/metrics")
+public class MetricsController {
+
+    private final LiveMetricsService liveMetricsService;
+
+    public MetricsController(LiveMetricsService liveMetricsService) {
+        this.liveMetricsService = liveMetricsService;
+    }
+
+    /*
+    * Workers stream metric batches of a running distributed test here
+    * */
+    @Hidden
+    @PostMapping("/batches")
+    public ResponseEntity<Void> ingest(@RequestBody WorkerMetricsBatch batch) {
+        liveMetricsService.ingest(batch);
+        return ResponseEntity.ok().build();
+    }
+
+    @GetMapping("/live/{testId}")
+    public ResponseEntity<TestExecutionReport> live(@PathVariable String testId) {
+        return ResponseEntity.ok(liveMetricsService.report(testId));
+    }
+}
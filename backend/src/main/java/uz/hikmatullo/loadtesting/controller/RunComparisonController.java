@@ -0,0 +1,29 @@
+package uz.hikmatullo.loadtesting.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import uz.hikmatullo.loadtesting.model.entity.metrics.RunComparison;
+import uz.hikmatullo.loadtesting.service.interfaces.RunComparisonService;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/runs/compare")
+@RequiredArgsConstructor
+public class RunComparisonController {
+
+    private final RunComparisonService service;
+
+    /*
+    * Compares finished runs of one test with a baseline run (default: the first one),
+    * flagging significant regressions, e.g. ?runs=a,b,c&baseline=a
+    * */
+    @GetMapping
+    public ResponseEntity<RunComparison> compare(@RequestParam List<String> runs,
+                                                 @RequestParam(required = false) String baseline,
+                                                 @RequestParam(defaultValue = "0.01") double alpha,
+                                                 @RequestParam(defaultValue = "10") double minChangePercent) {
+        return ResponseEntity.ok(service.compare(runs, baseline, alpha, minChangePercent));
+    }
+}
@@ -0,0 +1,73 @@
+package uz.hikmatullo.loadtesting.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import uz.hikmatullo.loadtesting.engine.samples.RawSampleReader;
+import uz.hikmatullo.loadtesting.model.entity.metrics.TestExecutionReport;
+import uz.hikmatullo.loadtesting.model.response.TestRunResponse;
+import uz.hikmatullo.loadtesting.service.interfaces.RunStreamService;
+import uz.hikmatullo.loadtesting.service.interfaces.TestRunService;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/runs")
+@RequiredArgsConstructor
+public class TestRunController {
+
+    private final TestRunService service;
+    private final RunStreamService streamService;
+
+    @PostMapping("/test/{testId}")
+    public ResponseEntity<TestRunResponse> start(@PathVariable String testId) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(service.start(testId));
+    }
+
+    @GetMapping("/{runId}")
+    public ResponseEntity<TestRunResponse> get(@PathVariable String runId) {
+        return ResponseEntity.ok(service.get(runId));
+    }
+
+    @GetMapping("/test/{testId}")
+    public ResponseEntity<List<TestRunResponse>> getByTest(@PathVariable String testId) {
+        return ResponseEntity.ok(service.getByTest(testId));
+    }
+
+    @GetMapping("/{runId}/report")
+    public ResponseEntity<TestExecutionReport> report(@PathVariable String runId) {
+        return ResponseEntity.ok(service.report(runId));
+    }
+
+    /*
+    * Live metrics while the run executes: one "metrics" event per second
+    * */
+    @GetMapping(value = "/{runId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@PathVariable String runId) {
+        return streamService.subscribe(runId);
+    }
+
+    /*
+    * Raw per-request samples as CSV (only for tests with recordSamples), streamed off disk
+    * */
+    @GetMapping(value = "/{runId}/samples", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> samples(@PathVariable String runId) {
+        RawSampleReader reader = service.samples(runId);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + runId + "-samples.csv\"")
+                .body(out -> reader.exportCsv(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16)));
+    }
+
+    @PostMapping("/{runId}/cancel")
+    public ResponseEntity<TestRunResponse> cancel(@PathVariable String runId) {
+        return ResponseEntity.ok(service.cancel(runId));
+    }
+}
@@ -0,0 +1,26 @@
+package uz.hikmatullo.loadtesting.controller;
+
+import io.swagger.v3.oas.annotations.Hidden;
+import org.springframework.web.bind.annotation.*;
+import uz.hikmatullo.loadtesting.model.request.ShardRequest;
+import uz.hikmatullo.loadtesting.model.response.ShardReport;
+import uz.hikmatullo.loadtesting.service.distributed.ShardExecutionService;
+
+@RestController
+@RequestMapping("/api/v1/worker")
+public class WorkerShardController {
+    private final ShardExecutionService service;
+
+    public WorkerShardController(ShardExecutionService service) {
+        this.service = service;
+    }
+
+    /*
+    * Called by the coordinator: runs this worker's shard of a distributed test
+    * */
+    @Hidden
+    @PostMapping("/shards")
+    public ShardReport runShard(@RequestBody ShardRequest request) {
+        return service.execute(request);
+    }
+}
@@ -0,0 +1,42 @@
+package uz.hikmatullo.loadtesting.engine;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Process-wide counters of what the engine is doing right now, across all running tests.
+ * - In-flight requests: sent and not yet answered (or failed)
+ * - Active virtual users: virtual threads inside an iteration, think time included
+ * Read by the worker's heartbeat; Java 21 has no API for counting live virtual threads,
+ * so the engine counts its own.
+ */
+public final class EngineActivity {
+
+    private static final AtomicInteger inFlightRequests = new AtomicInteger();
+    private static final AtomicInteger activeVirtualUsers = new AtomicInteger();
+
+    private EngineActivity() {}
+
+    public static void requestStarted() {
+        inFlightRequests.incrementAndGet();
+    }
+
+    public static void requestFinished() {
+        inFlightRequests.decrementAndGet();
+    }
+
+    public static void iterationStarted() {
+        activeVirtualUsers.incrementAndGet();
+    }
+
+    public static void iterationFinished() {
+        activeVirtualUsers.decrementAndGet();
+    }
+
+    public static int inFlightRequests() {
+        return inFlightRequests.get();
+    }
+
+    public static int activeVirtualUsers() {
+        return activeVirtualUsers.get();
+    }
+}
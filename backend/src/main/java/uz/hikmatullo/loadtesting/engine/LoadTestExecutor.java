@@ -1,8 +1,16 @@
 package uz.hikmatullo.loadtesting.engine;
 
+import uz.hikmatullo.loadtesting.engine.aggregator.IncrementalMetricsAggregator;
 import uz.hikmatullo.loadtesting.model.entity.LoadTest;
 import uz.hikmatullo.loadtesting.model.entity.metrics.TestExecutionReport;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 public interface LoadTestExecutor {
     TestExecutionReport run(LoadTest loadTest);
+
+    TestExecutionReport run(LoadTest loadTest, IncrementalMetricsAggregator aggregator);
+
+    /** Raising stopFlag ends the test early; the report covers what ran until then. */
+    TestExecutionReport run(LoadTest loadTest, IncrementalMetricsAggregator aggregator, AtomicBoolean stopFlag);
 }
@@ -2,20 +2,45 @@ package uz.hikmatullo.loadtesting.engine;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import uz.hikmatullo.loadtesting.engine.aggregator.IncrementalMetricsAggregator;
+import uz.hikmatullo.loadtesting.engine.executors.BurstLoadTypeExecutor;
 import uz.hikmatullo.loadtesting.engine.executors.FixedLoadTypeExecutor;
+import uz.hikmatullo.loadtesting.engine.executors.FixedRpsLoadTypeExecutor;
+import uz.hikmatullo.loadtesting.engine.executors.RampUpLoadTypeExecutor;
+import uz.hikmatullo.loadtesting.engine.executors.SpikeLoadTypeExecutor;
 import uz.hikmatullo.loadtesting.model.entity.LoadTest;
 import uz.hikmatullo.loadtesting.model.entity.metrics.TestExecutionReport;
 import uz.hikmatullo.loadtesting.model.enums.LoadType;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 @Service
 @RequiredArgsConstructor
 public class LoadTestExecutorImpl implements LoadTestExecutor {
     private final FixedLoadTypeExecutor fixedLoadTypeExecutor;
+    private final RampUpLoadTypeExecutor rampUpLoadTypeExecutor;
+    private final FixedRpsLoadTypeExecutor fixedRpsLoadTypeExecutor;
+    private final BurstLoadTypeExecutor burstLoadTypeExecutor;
+    private final SpikeLoadTypeExecutor spikeLoadTypeExecutor;
     @Override
     public TestExecutionReport run(LoadTest loadTest) {
+        return run(loadTest, new IncrementalMetricsAggregator(loadTest.getId(), loadTest.getSteps()));
+    }
+
+    @Override
+    public TestExecutionReport run(LoadTest loadTest, IncrementalMetricsAggregator aggregator) {
+        return run(loadTest, aggregator, new AtomicBoolean(false));
+    }
+
+    @Override
+    public TestExecutionReport run(LoadTest loadTest, IncrementalMetricsAggregator aggregator, AtomicBoolean stopFlag) {
         TestExecutionReport report = null;
         switch (loadTest.getProfile().getType()) {
-            case LoadType.FIXED -> report = fixedLoadTypeExecutor.run(loadTest);
+            case LoadType.FIXED -> report = fixedLoadTypeExecutor.run(loadTest, aggregator, stopFlag);
+            case LoadType.RAMP_UP -> report = rampUpLoadTypeExecutor.run(loadTest, aggregator, stopFlag);
+            case LoadType.FIXED_RPS -> report = fixedRpsLoadTypeExecutor.run(loadTest, aggregator, stopFlag);
+            case LoadType.BURST -> report = burstLoadTypeExecutor.run(loadTest, aggregator, stopFlag);
+            case LoadType.SPIKE -> report = spikeLoadTypeExecutor.run(loadTest, aggregator, stopFlag);
         }
         return report;
     }
@@ -0,0 +1,237 @@
+package uz.hikmatullo.loadtesting.engine.aggregator;
+
+import lombok.Getter;
+import uz.hikmatullo.loadtesting.engine.recorder.MetricsRecorder;
+import uz.hikmatullo.loadtesting.engine.samples.RawSampleWriter;
+import uz.hikmatullo.loadtesting.model.entity.RequestStep;
+import uz.hikmatullo.loadtesting.model.entity.metrics.*;
+import uz.hikmatullo.loadtesting.util.LatencyHistogram;
+
+import java.util.*;
+
+/**
+ * Recorder that folds every request into an {@link AggregationState} as it arrives.
+ * - One pass per request: global, per-step and per-second state are updated together
+ * - Raw samples are not retained, so memory does not grow with test duration
+ * - The report can be built at any moment (final or partial)
+ * - State can be snapshotted and merged, so shards run on different workers add up
+ * - Raw samples can additionally be spilled to disk (see {@link RawSampleWriter})
+ */
+public class IncrementalMetricsAggregator implements MetricsRecorder {
+
+    @Getter
+    private final AggregationState state;
+
+    private final List<RequestStep> steps;
+
+    // optional; null unless the test asked for raw samples
+    private volatile RawSampleWriter samples;
+
+    public IncrementalMetricsAggregator(String testId, List<RequestStep> steps) {
+        this.state = AggregationState.builder().testId(testId).build();
+        this.steps = steps == null ? List.of() : steps;
+    }
+
+    @Override
+    public void record(RequestMetrics m) {
+        if (m == null) return;
+
+        state.getGlobal().add(m);
+        state.getSteps()
+                .computeIfAbsent(m.getStepId(), id -> new MetricsAccumulator())
+                .add(m);
+        TimelineAccumulator second = state.getTimeline()
+                .computeIfAbsent(m.getStartTimeMs() / 1000, TimelineAccumulator::new);
+        second.add(m);
+        second.observeActiveUsers(state.getActiveUsers().get());
+
+        RawSampleWriter writer = samples;
+        if (writer != null) writer.append(m);
+    }
+
+    /** Also writes every recorded request to {@code writer}; the caller closes it after the run. */
+    public void recordSamplesTo(RawSampleWriter writer) {
+        this.samples = writer;
+    }
+
+    @Override
+    public void onVirtualUserStarted() {
+        state.getActiveUsers().incrementAndGet();
+    }
+
+    @Override
+    public void onVirtualUserStopped() {
+        state.getActiveUsers().decrementAndGet();
+    }
+
+    @Override
+    public void recordPause(String stepId, long micros) {
+        state.getGlobal().addPause(micros);
+        if (stepId != null) {
+            state.getSteps().computeIfAbsent(stepId, id -> new MetricsAccumulator()).addPause(micros);
+        }
+    }
+
+    @Override
+    public long count() {
+        return state.getGlobal().total();
+    }
+
+    /** Serializable copy of the current state, e.g. for a worker to send to the coordinator. */
+    public AggregationSnapshot snapshot() {
+        Map<String, MetricsSnapshot> stepSnapshots = new HashMap<>();
+        state.getSteps().forEach((stepId, acc) -> stepSnapshots.put(stepId, acc.snapshot()));
+
+        return AggregationSnapshot.builder()
+                .testId(state.getTestId())
+                .global(state.getGlobal().snapshot())
+                .steps(stepSnapshots)
+                .timeline(buildTimeline())
+                .build();
+    }
+
+    /** Folds in a snapshot taken by another aggregator, e.g. one worker's shard of the test. */
+    public void merge(AggregationSnapshot snapshot) {
+        fold(snapshot, false);
+    }
+
+    /**
+     * Folds in a delta streamed from the same virtual users (see {@link SnapshotDelta}).
+     * Same as merge, except active users per second are not added up.
+     */
+    public void append(AggregationSnapshot delta) {
+        fold(delta, true);
+    }
+
+    private void fold(AggregationSnapshot snapshot, boolean sameUsers) {
+        if (snapshot == null) return;
+
+        state.getGlobal().merge(snapshot.getGlobal());
+        if (snapshot.getSteps() != null) {
+            snapshot.getSteps().forEach((stepId, step) ->
+                    state.getSteps().computeIfAbsent(stepId, id -> new MetricsAccumulator()).merge(step));
+        }
+        if (snapshot.getTimeline() != null) {
+            for (TimelinePoint point : snapshot.getTimeline()) {
+                TimelineAccumulator second = state.getTimeline()
+                        .computeIfAbsent(point.getTimestampSecond(), TimelineAccumulator::new);
+                if (sameUsers) {
+                    second.append(point);
+                } else {
+                    second.merge(point);
+                }
+            }
+        }
+    }
+
+    public TestExecutionReport buildReport(long startedAt, long finishedAt) {
+        state.setStartedAt(startedAt);
+        state.setFinishedAt(finishedAt);
+
+        long durationSec = Math.max(1, (finishedAt - startedAt) / 1000);
+
+        return TestExecutionReport.builder()
+                .testId(state.getTestId())
+                .global(buildGlobalMetrics(durationSec))
+                .steps(buildStepMetrics(durationSec))
+                .timeline(buildTimeline())
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .build();
+    }
+
+    // -------------------------------------------------------
+    // GLOBAL METRICS
+    // -------------------------------------------------------
+    private GlobalMetrics buildGlobalMetrics(long durationSec) {
+        MetricsAccumulator acc = state.getGlobal();
+        long total = acc.total();
+        long success = acc.successes();
+        LatencyHistogram latencies = acc.getLatencies();
+
+        return GlobalMetrics.builder()
+                .totalRequests(total)
+                .successfulRequests(success)
+                .failedRequests(total - success)
+                .successRate(total == 0 ? 0 : success * 100.0 / total)
+                .errorRate(total == 0 ? 0 : (total - success) * 100.0 / total)
+                .minLatency(latencies.min())
+                .maxLatency(latencies.max())
+                .meanLatency(latencies.mean())
+
+                .p50(latencies.p50())
+                .p90(latencies.p90())
+                .p95(latencies.p95())
+                .p99(latencies.p99())
+
+                .rpsAverage(total / (double) durationSec)
+                .rpsPeak(acc.peakRequestsPerSecond())
+                .timings(acc.getTimings().toBreakdown())
+                .thinkTime(acc.thinkTime())
+
+                .testDurationSeconds(durationSec)
+                .build();
+    }
+
+    // -------------------------------------------------------
+    // PER-STEP METRICS
+    // -------------------------------------------------------
+    private List<StepMetrics> buildStepMetrics(long durationSec) {
+        Map<String, String> stepNames = new LinkedHashMap<>();
+        for (RequestStep step : steps) {
+            stepNames.put(step.getId(), step.getName());
+        }
+
+        // declared step order first, then anything recorded for unknown step ids
+        Set<String> order = new LinkedHashSet<>(stepNames.keySet());
+        order.addAll(state.getSteps().keySet());
+
+        List<StepMetrics> result = new ArrayList<>();
+        for (String stepId : order) {
+            MetricsAccumulator acc = state.getSteps().get(stepId);
+            if (acc == null) continue;
+
+            long total = acc.total();
+            long success = acc.successes();
+            LatencyHistogram latencies = acc.getLatencies();
+
+            result.add(
+                StepMetrics.builder()
+                    .stepId(stepId)
+                    .stepName(stepNames.get(stepId))
+                    .totalRequests(total)
+                    .successfulRequests(success)
+                    .failedRequests(total - success)
+                    .successRate(total == 0 ? 0 : success * 100.0 / total)
+                    .errorRate(total == 0 ? 0 : (total - success) * 100.0 / total)
+                    .minLatency(latencies.min())
+                    .maxLatency(latencies.max())
+                    .meanLatency(latencies.mean())
+                    .p50(latencies.p50())
+                    .p90(latencies.p90())
+                    .p95(latencies.p95())
+                    .p99(latencies.p99())
+                    .rpsAverage(total / (double) durationSec)
+                    .rpsPeak(acc.peakRequestsPerSecond())
+                    .timings(acc.getTimings().toBreakdown())
+                    .thinkTime(acc.thinkTime())
+                    .statusCodeDistribution(acc.statusCodeDistribution())
+                    .errorDistribution(acc.errorDistribution())
+                    .build()
+            );
+        }
+        return result;
+    }
+
+    // -------------------------------------------------------
+    // TIMELINE
+    // -------------------------------------------------------
+    private List<TimelinePoint> buildTimeline() {
+        List<TimelinePoint> result = new ArrayList<>(state.getTimeline().size());
+        for (TimelineAccumulator acc : state.getTimeline().values()) {
+            result.add(acc.toPoint());
+        }
+        result.sort(Comparator.comparingLong(TimelinePoint::getTimestampSecond));
+        return result;
+    }
+}
@@ -0,0 +1,102 @@
+package uz.hikmatullo.loadtesting.engine.aggregator;
+
+import uz.hikmatullo.loadtesting.model.entity.RequestStep;
+import uz.hikmatullo.loadtesting.model.entity.metrics.*;
+import uz.hikmatullo.loadtesting.util.LatencyHistogram;
+
+import java.util.*;
+
+/**
+ * Builds live frames of a running test from its {@link IncrementalMetricsAggregator}, once per tick.
+ * - Only the accumulators are read; histograms are copied bucket by bucket, raw samples do not exist
+ * - Rolling percentiles cover the last windowTicks ticks: the counts kept from the oldest
+ *   tick are subtracted from the current ones (see {@link WindowCounts})
+ * - The timeline is read for the seconds inside the window only, so a tick costs the same
+ *   in the first minute and the tenth hour of a run
+ * Not thread safe: one publisher calls {@link #next}; recording goes on concurrently.
+ */
+public final class RollingWindow {
+
+    public static final int DEFAULT_WINDOW_SECONDS = 10;
+
+    private record Tick(long timestampMs, WindowCounts global, Map<String, WindowCounts> steps) {}
+
+    private final int windowTicks;
+    private final Map<String, String> stepNames = new LinkedHashMap<>();
+    private final ArrayDeque<Tick> ticks = new ArrayDeque<>();
+
+    public RollingWindow(int windowTicks, List<RequestStep> steps) {
+        this.windowTicks = Math.max(1, windowTicks);
+        if (steps != null) {
+            for (RequestStep step : steps) {
+                stepNames.put(step.getId(), step.getName());
+            }
+        }
+    }
+
+    public LiveMetricsFrame next(IncrementalMetricsAggregator aggregator, long nowMs) {
+        AggregationState state = aggregator.getState();
+
+        Map<String, WindowCounts> stepCounts = new HashMap<>();
+        state.getSteps().forEach((stepId, acc) -> stepCounts.put(stepId, WindowCounts.read(acc, nowMs)));
+        Tick current = new Tick(nowMs, WindowCounts.read(state.getGlobal(), nowMs), stepCounts);
+
+        ticks.addLast(current);
+        if (ticks.size() > windowTicks + 1) ticks.removeFirst();
+        // the first tick has nothing to subtract: its window is the run so far
+        Tick base = ticks.size() > 1 ? ticks.peekFirst() : null;
+        long windowMs = base == null ? 0 : nowMs - base.timestampMs();
+
+        // declared step order first, then anything recorded for unknown step ids
+        Set<String> order = new LinkedHashSet<>(stepNames.keySet());
+        order.addAll(state.getSteps().keySet());
+
+        List<RollingMetrics> steps = new ArrayList<>();
+        for (String stepId : order) {
+            MetricsAccumulator acc = state.getSteps().get(stepId);
+            if (acc == null) continue;
+            RollingMetrics step = rolling(base == null ? null : base.steps().get(stepId),
+                    stepCounts.get(stepId), windowMs, acc);
+            step.setStepId(stepId);
+            step.setStepName(stepNames.get(stepId));
+            steps.add(step);
+        }
+
+        return LiveMetricsFrame.builder()
+                .testId(state.getTestId())
+                .timestampMs(nowMs)
+                .activeUsers(state.getActiveUsers().get())
+                .global(rolling(base == null ? null : base.global(), current.global(), windowMs, state.getGlobal()))
+                .steps(steps)
+                .timeline(recentTimeline(state, base == null ? nowMs : base.timestampMs(), nowMs))
+                .build();
+    }
+
+    private static RollingMetrics rolling(WindowCounts base, WindowCounts current, long windowMs, MetricsAccumulator acc) {
+        long requests = current.requestsSince(base);
+        long successes = current.successesSince(base);
+        LatencyHistogram window = current.latenciesSince(base);
+
+        return RollingMetrics.builder()
+                .windowMs(windowMs)
+                .windowRequests(requests)
+                .windowFailures(requests - successes)
+                .windowRps(windowMs == 0 ? 0 : requests * 1000.0 / windowMs)
+                .p50(window.p50())
+                .p95(window.p95())
+                .p99(window.p99())
+                .totalRequests(current.total())
+                .totalFailures(current.total() - current.successes())
+                .errorDistribution(acc.errorDistribution())
+                .build();
+    }
+
+    private static List<TimelinePoint> recentTimeline(AggregationState state, long fromMs, long nowMs) {
+        List<TimelinePoint> result = new ArrayList<>();
+        for (long second = fromMs / 1000; second <= nowMs / 1000; second++) {
+            TimelineAccumulator acc = state.getTimeline().get(second);
+            if (acc != null) result.add(acc.toPoint());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,134 @@
+package uz.hikmatullo.loadtesting.engine.aggregator;
+
+import uz.hikmatullo.loadtesting.model.entity.metrics.AggregationSnapshot;
+import uz.hikmatullo.loadtesting.model.entity.metrics.HistogramSnapshot;
+import uz.hikmatullo.loadtesting.model.entity.metrics.MetricsSnapshot;
+import uz.hikmatullo.loadtesting.model.entity.metrics.TimelinePoint;
+import uz.hikmatullo.loadtesting.model.entity.metrics.TimingSnapshot;
+
+import java.util.*;
+
+/**
+ * What changed between two snapshots of the same, still-running aggregator.
+ * - Counters, buckets and per-second counts are subtracted; everything in an
+ *   aggregator only grows, so applying all deltas in order gives the latest snapshot
+ * - min/max cannot be subtracted; the delta carries the current ones, which is
+ *   harmless because merging takes the min/max anyway
+ * - Only seconds that got new requests are included in the timeline
+ * A null previous snapshot means "nothing sent yet": the delta is the current snapshot.
+ */
+public final class SnapshotDelta {
+
+    private SnapshotDelta() {}
+
+    public static AggregationSnapshot between(AggregationSnapshot previous, AggregationSnapshot current) {
+        if (previous == null) return current;
+
+        Map<String, MetricsSnapshot> steps = new HashMap<>();
+        current.getSteps().forEach((stepId, step) -> {
+            MetricsSnapshot delta = between(previous.getSteps().get(stepId), step);
+            if (delta.getTotalRequests() > 0) steps.put(stepId, delta);
+        });
+
+        Map<Long, TimelinePoint> before = new HashMap<>();
+        for (TimelinePoint point : previous.getTimeline()) {
+            before.put(point.getTimestampSecond(), point);
+        }
+        List<TimelinePoint> timeline = new ArrayList<>();
+        for (TimelinePoint point : current.getTimeline()) {
+            TimelinePoint old = before.get(point.getTimestampSecond());
+            long requests = point.getRequests() - (old == null ? 0 : old.getRequests());
+            if (requests == 0) continue;
+
+            long successes = point.getSuccesses() - (old == null ? 0 : old.getSuccesses());
+            timeline.add(TimelinePoint.builder()
+                    .timestampSecond(point.getTimestampSecond())
+                    .requests(requests)
+                    .successes(successes)
+                    .failures(requests - successes)
+                    .rps(requests)
+                    .activeUsers(point.getActiveUsers())
+                    .build());
+        }
+
+        return AggregationSnapshot.builder()
+                .testId(current.getTestId())
+                .global(between(previous.getGlobal(), current.getGlobal()))
+                .steps(steps)
+                .timeline(timeline)
+                .build();
+    }
+
+    static MetricsSnapshot between(MetricsSnapshot previous, MetricsSnapshot current) {
+        if (previous == null) return current;
+
+        return MetricsSnapshot.builder()
+                .totalRequests(current.getTotalRequests() - previous.getTotalRequests())
+                .successfulRequests(current.getSuccessfulRequests() - previous.getSuccessfulRequests())
+                .latencies(between(previous.getLatencies(), current.getLatencies()))
+                .timings(between(previous.getTimings(), current.getTimings()))
+                .pauses(current.getPauses() - previous.getPauses())
+                .pauseMicros(current.getPauseMicros() - previous.getPauseMicros())
+                .statusCodes(minus(current.getStatusCodes(), previous.getStatusCodes()))
+                .errors(minus(current.getErrors(), previous.getErrors()))
+                .requestsPerSecond(minus(current.getRequestsPerSecond(), previous.getRequestsPerSecond()))
+                .build();
+    }
+
+    static TimingSnapshot between(TimingSnapshot previous, TimingSnapshot current) {
+        if (previous == null || current == null) return current;
+
+        return TimingSnapshot.builder()
+                .timeToFirstByte(between(previous.getTimeToFirstByte(), current.getTimeToFirstByte()))
+                .download(between(previous.getDownload(), current.getDownload()))
+                .newConnectionTimeToFirstByte(
+                        between(previous.getNewConnectionTimeToFirstByte(), current.getNewConnectionTimeToFirstByte()))
+                .reusedConnectionTimeToFirstByte(
+                        between(previous.getReusedConnectionTimeToFirstByte(), current.getReusedConnectionTimeToFirstByte()))
+                .build();
+    }
+
+    static HistogramSnapshot between(HistogramSnapshot previous, HistogramSnapshot current) {
+        if (previous == null || previous.getTotalCount() == 0) return current;
+
+        int[] indexes = new int[current.getIndexes().length];
+        long[] counts = new long[indexes.length];
+        int n = 0;
+        int j = 0;
+        int[] oldIndexes = previous.getIndexes();
+        long[] oldCounts = previous.getCounts();
+
+        // both index arrays are sorted: walk them together
+        for (int i = 0; i < current.getIndexes().length; i++) {
+            int index = current.getIndexes()[i];
+            while (j < oldIndexes.length && oldIndexes[j] < index) j++;
+            long old = j < oldIndexes.length && oldIndexes[j] == index ? oldCounts[j] : 0;
+            long delta = current.getCounts()[i] - old;
+            if (delta > 0) {
+                indexes[n] = index;
+                counts[n] = delta;
+                n++;
+            }
+        }
+
+        return HistogramSnapshot.builder()
+                .highestTrackableValue(current.getHighestTrackableValue())
+                .significantDigits(current.getSignificantDigits())
+                .totalCount(current.getTotalCount() - previous.getTotalCount())
+                .sum(current.getSum() - previous.getSum())
+                .min(current.getMin())
+                .max(current.getMax())
+                .indexes(Arrays.copyOf(indexes, n))
+                .counts(Arrays.copyOf(counts, n))
+                .build();
+    }
+
+    private static <K> Map<K, Long> minus(Map<K, Long> current, Map<K, Long> previous) {
+        Map<K, Long> result = new HashMap<>();
+        current.forEach((key, count) -> {
+            long delta = count - previous.getOrDefault(key, 0L);
+            if (delta != 0) result.put(key, delta);
+        });
+        return result;
+    }
+}
@@ -0,0 +1,152 @@
+package uz.hikmatullo.loadtesting.engine.aggregator;
+
+import uz.hikmatullo.loadtesting.engine.recorder.MetricsRecorder;
+import uz.hikmatullo.loadtesting.model.entity.metrics.MetricsAccumulator;
+import uz.hikmatullo.loadtesting.model.entity.metrics.PhaseMetrics;
+import uz.hikmatullo.loadtesting.model.entity.metrics.RequestMetrics;
+import uz.hikmatullo.loadtesting.util.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recorder decorator that splits a SPIKE run into pre-spike, spike and recovery windows.
+ * - Every sample is forwarded to the delegate unchanged
+ * - A sample belongs to the window its request was started in
+ * - Recovery additionally keeps one small histogram per second, so we can tell
+ *   when p99 got back to the pre-spike level
+ */
+public class SpikePhaseRecorder implements MetricsRecorder {
+
+    public static final String PRE_SPIKE = "pre-spike";
+    public static final String SPIKE = "spike";
+    public static final String RECOVERY = "recovery";
+
+    /** A recovery second counts as recovered when its p99 is within 10% of the baseline p99. */
+    static final double RECOVERY_TOLERANCE = 1.1;
+
+    private static final long PER_SECOND_HIGHEST_TRACKABLE_VALUE = TimeUnit.MINUTES.toMillis(1);
+
+    private final MetricsRecorder delegate;
+    private final long spikeStartOffsetMs;
+    private final long recoveryStartOffsetMs;   // Long.MAX_VALUE when there is no recovery window
+
+    private final MetricsAccumulator preSpike = new MetricsAccumulator();
+    private final MetricsAccumulator spike = new MetricsAccumulator();
+    private final MetricsAccumulator recovery = new MetricsAccumulator();
+    private final Map<Long, LatencyHistogram> recoverySeconds = new ConcurrentHashMap<>();
+
+    private volatile long origin;
+
+    public SpikePhaseRecorder(MetricsRecorder delegate, long spikeStartOffsetMs, long recoveryStartOffsetMs) {
+        this.delegate = delegate;
+        this.spikeStartOffsetMs = spikeStartOffsetMs;
+        this.recoveryStartOffsetMs = recoveryStartOffsetMs;
+    }
+
+    /** Sets the wall-clock instant the phase offsets are measured from; call before the first VU starts. */
+    public void start(long startedAtMs) {
+        this.origin = startedAtMs;
+    }
+
+    @Override
+    public void record(RequestMetrics m) {
+        if (m == null) return;
+        delegate.record(m);
+
+        long offset = m.getStartTimeMs() - origin;
+        if (offset < spikeStartOffsetMs) {
+            preSpike.add(m);
+        } else if (offset < recoveryStartOffsetMs) {
+            spike.add(m);
+        } else {
+            recovery.add(m);
+            recoverySeconds
+                    .computeIfAbsent((offset - recoveryStartOffsetMs) / 1000,
+                            s -> new LatencyHistogram(PER_SECOND_HIGHEST_TRACKABLE_VALUE, LatencyHistogram.DEFAULT_SIGNIFICANT_DIGITS))
+                    .record(m.getLatencyMs());
+        }
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public void onVirtualUserStarted() {
+        delegate.onVirtualUserStarted();
+    }
+
+    @Override
+    public void onVirtualUserStopped() {
+        delegate.onVirtualUserStopped();
+    }
+
+    @Override
+    public void recordPause(String stepId, long micros) {
+        delegate.recordPause(stepId, micros);
+    }
+
+    /** Windows that had time to exist before {@code finishedAt}, in order. */
+    public List<PhaseMetrics> buildPhases(long finishedAt) {
+        List<PhaseMetrics> phases = new ArrayList<>(3);
+        long spikeStart = origin + spikeStartOffsetMs;
+        long recoveryStart = recoveryStartOffsetMs == Long.MAX_VALUE ? finishedAt : origin + recoveryStartOffsetMs;
+
+        if (spikeStartOffsetMs > 0) {
+            phases.add(toPhase(PRE_SPIKE, preSpike, origin, Math.min(spikeStart, finishedAt)));
+        }
+        phases.add(toPhase(SPIKE, spike, spikeStart, Math.min(recoveryStart, finishedAt)));
+        if (recoveryStart < finishedAt) {
+            phases.add(toPhase(RECOVERY, recovery, recoveryStart, finishedAt));
+        }
+        return phases;
+    }
+
+    /**
+     * Milliseconds from the start of recovery to the first second whose p99 is back
+     * within {@link #RECOVERY_TOLERANCE} of the pre-spike p99.
+     * Null when there is no baseline to compare with or p99 never recovered.
+     */
+    public Long recoveryTimeMs() {
+        if (preSpike.total() == 0 || recoverySeconds.isEmpty()) return null;
+
+        long baselineP99 = preSpike.getLatencies().p99();
+        // allow at least 1 ms so a 0-1 ms baseline is not unreachable
+        double threshold = Math.max(baselineP99 * RECOVERY_TOLERANCE, baselineP99 + 1);
+
+        for (Map.Entry<Long, LatencyHistogram> second : new TreeMap<>(recoverySeconds).entrySet()) {
+            if (second.getValue().p99() <= threshold) {
+                return second.getKey() * 1000;
+            }
+        }
+        return null;
+    }
+
+    private PhaseMetrics toPhase(String name, MetricsAccumulator acc, long from, long to) {
+        long total = acc.total();
+        long failed = total - acc.successes();
+        LatencyHistogram latencies = acc.getLatencies();
+        double seconds = Math.max(1, to - from) / 1000.0;
+
+        return PhaseMetrics.builder()
+                .name(name)
+                .startedAt(from)
+                .finishedAt(to)
+                .totalRequests(total)
+                .failedRequests(failed)
+                .errorRate(total == 0 ? 0 : failed * 100.0 / total)
+                .meanLatency(latencies.mean())
+                .maxLatency(latencies.max())
+                .p50(latencies.p50())
+                .p95(latencies.p95())
+                .p99(latencies.p99())
+                .rpsAverage(total / seconds)
+                .build();
+    }
+}
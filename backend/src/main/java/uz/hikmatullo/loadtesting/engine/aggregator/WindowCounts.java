@@ -0,0 +1,37 @@
+package uz.hikmatullo.loadtesting.engine.aggregator;
+
+import uz.hikmatullo.loadtesting.model.entity.metrics.HistogramSnapshot;
+import uz.hikmatullo.loadtesting.model.entity.metrics.MetricsAccumulator;
+import uz.hikmatullo.loadtesting.util.LatencyHistogram;
+
+/**
+ * What one accumulator had counted at one moment of a running test.
+ * Kept from an earlier tick, it is subtracted from a later one to get the window between
+ * them (buckets only grow, see {@link SnapshotDelta}); a null base means "since the start".
+ */
+public record WindowCounts(long timestampMs, long total, long successes, HistogramSnapshot latencies) {
+
+    public static WindowCounts read(MetricsAccumulator acc, long nowMs) {
+        // histogram first: total and successes read afterwards are never behind it
+        HistogramSnapshot latencies = acc.getLatencies().snapshot();
+        return new WindowCounts(nowMs, acc.total(), acc.successes(), latencies);
+    }
+
+    /** Nothing recorded yet, e.g. a step that has not been reached. */
+    public static WindowCounts empty(long nowMs) {
+        return new WindowCounts(nowMs, 0, 0, null);
+    }
+
+    public long requestsSince(WindowCounts base) {
+        return total - (base == null ? 0 : base.total);
+    }
+
+    public long successesSince(WindowCounts base) {
+        return successes - (base == null ? 0 : base.successes);
+    }
+
+    public LatencyHistogram latenciesSince(WindowCounts base) {
+        return LatencyHistogram.fromSnapshot(
+                SnapshotDelta.between(base == null ? null : base.latencies, latencies));
+    }
+}
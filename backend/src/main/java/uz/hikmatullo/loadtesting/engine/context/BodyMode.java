@@ -0,0 +1,11 @@
+package uz.hikmatullo.loadtesting.engine.context;
+
+/**
+ * How a step reads response bodies; picked per step from what the step needs.
+ */
+public enum BodyMode {
+    // nobody looks at the body: bytes are counted as they arrive and dropped
+    DISCARD,
+    // validation or extraction reads it: bytes go into the virtual user's reusable buffer, up to a limit
+    CAPTURE
+}
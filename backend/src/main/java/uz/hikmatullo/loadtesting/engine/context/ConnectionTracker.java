@@ -0,0 +1,68 @@
+package uz.hikmatullo.loadtesting.engine.context;
+
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Tells whether the next request of one virtual user goes over a kept-alive connection.
+ * HttpClient does not expose its pool, so this is inferred: a user with its own HTTP/1.1
+ * client has at most one connection per origin, which is reused unless
+ * - it is the first request to that origin, or the previous one failed
+ * - the previous response said "Connection: close"
+ * - it has been idle longer than the client's keep-alive timeout, or the server's
+ *   "Keep-Alive: timeout=N" when that is shorter
+ * Not thread safe: owned by one ExecutionContext.
+ */
+final class ConnectionTracker {
+
+    // HttpClient's own idle timeout for pooled HTTP/1.1 connections
+    private static final long CLIENT_IDLE_NANOS =
+            TimeUnit.SECONDS.toNanos(Long.getLong("jdk.httpclient.keepalive.timeout", 30));
+
+    private static final Pattern KEEP_ALIVE_TIMEOUT = Pattern.compile("timeout\\s*=\\s*(\\d+)");
+
+    private record Idle(long sinceNanos, long timeoutNanos) {}
+
+    // origin -> connection waiting in the client's pool
+    private final Map<String, Idle> idle = new HashMap<>();
+
+    /** Takes the origin's idle connection, if any; true when the request will reuse it. */
+    boolean acquire(URI uri, long nowNanos) {
+        Idle connection = idle.remove(origin(uri));
+        return connection != null && nowNanos - connection.sinceNanos() < connection.timeoutNanos();
+    }
+
+    /** The exchange finished: its connection goes back to the pool unless the server closes it. */
+    void release(URI uri, HttpHeaders headers, long nowNanos) {
+        if (headers.allValues("Connection").stream().anyMatch(v -> v.equalsIgnoreCase("close"))) {
+            return;
+        }
+        idle.put(origin(uri), new Idle(nowNanos, idleTimeout(headers)));
+    }
+
+    private static long idleTimeout(HttpHeaders headers) {
+        String keepAlive = headers.firstValue("Keep-Alive").orElse(null);
+        if (keepAlive != null) {
+            Matcher m = KEEP_ALIVE_TIMEOUT.matcher(keepAlive);
+            if (m.find()) {
+                try {
+                    return Math.min(CLIENT_IDLE_NANOS, TimeUnit.SECONDS.toNanos(Long.parseLong(m.group(1))));
+                } catch (NumberFormatException ignored) {
+                    // absurdly large: the client's timeout applies
+                }
+            }
+        }
+        return CLIENT_IDLE_NANOS;
+    }
+
+    static String origin(URI uri) {
+        String scheme = uri.getScheme() == null ? "http" : uri.getScheme().toLowerCase();
+        int port = uri.getPort() != -1 ? uri.getPort() : scheme.equals("https") ? 443 : 80;
+        return scheme + "://" + uri.getHost() + ":" + port;
+    }
+}
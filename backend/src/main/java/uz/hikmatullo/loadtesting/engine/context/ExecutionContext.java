@@ -1,14 +1,24 @@
 package uz.hikmatullo.loadtesting.engine.context;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import uz.hikmatullo.loadtesting.engine.EngineActivity;
 
+import java.io.IOException;
 import java.net.CookieManager;
 import java.net.CookiePolicy;
+import java.net.URI;
 import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /*
 *
@@ -23,9 +33,36 @@ public class ExecutionContext {
     // One CookieManager per virtual user => cookie isolation
     private final CookieManager cookieManager;
 
-    // HttpClient tied to the cookie manager
+    // HttpClient tied to the cookie manager, or a shared one (see HttpClientPool)
     private final HttpClient httpClient;
 
+    // true when httpClient is shared: cookies and redirects are handled in send()
+    private final boolean sharedTransport;
+
+    // same limit as HttpClient's built-in redirect handling
+    private static final int MAX_REDIRECTS = 5;
+
+    private static final int INITIAL_BODY_BUFFER = 8 * 1024;
+
+    // keep-alive bookkeeping of this user's own client; null on a shared client
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final ConnectionTracker connections;
+
+    // whether the last send() went over a reused connection; null when unknown
+    @Setter(AccessLevel.NONE)
+    private Boolean connectionReused;
+
+    // captured response bodies of this user; reused by every request, grown on demand
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private byte[] bodyBuffer;
+
+    // feeders that already gave this user its own row (UNIQUE_PER_VU)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Set<Object> fedBy;
+
     public ExecutionContext() {
         this.cookieManager = new CookieManager();
         // Accept cookies by default;
@@ -37,6 +74,120 @@ public class ExecutionContext {
                 .connectTimeout(Duration.ofSeconds(30))
                 .cookieHandler(cookieManager) // the important bit
                 .build();
+        this.sharedTransport = false;
+        this.connections = new ConnectionTracker();
+    }
+
+    /**
+     * Context that sends through a client shared with other virtual users.
+     * The client must not have a cookie handler or follow redirects by itself.
+     */
+    public ExecutionContext(HttpClient sharedClient) {
+        this.cookieManager = new CookieManager();
+        this.cookieManager.setCookiePolicy(CookiePolicy.ACCEPT_ALL);
+        this.httpClient = sharedClient;
+        this.sharedTransport = true;
+        this.connections = null;
+    }
+
+    /**
+     * Sends a request as this virtual user.
+     * On a shared client the user's cookies are attached and stored here, and redirects
+     * are followed here too, so cookies set on intermediate responses are not lost.
+     * On an own client it also records whether the request reused a connection.
+     */
+    public <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler)
+            throws IOException, InterruptedException {
+        EngineActivity.requestStarted();
+        try {
+            return exchange(request, handler);
+        } finally {
+            EngineActivity.requestFinished();
+        }
+    }
+
+    private <T> HttpResponse<T> exchange(HttpRequest request, HttpResponse.BodyHandler<T> handler)
+            throws IOException, InterruptedException {
+        if (!sharedTransport) {
+            connectionReused = connections.acquire(request.uri(), System.nanoTime());
+            // a failed exchange leaves no connection behind: nothing is released
+            HttpResponse<T> response = httpClient.send(request, handler);
+            connections.release(response.uri(), response.headers(), System.nanoTime());
+            return response;
+        }
+
+        HttpRequest current = request;
+        for (int hop = 0; ; hop++) {
+            HttpResponse<T> response = httpClient.send(withCookies(current), handler);
+            cookieManager.put(response.uri(), response.headers().map());
+
+            HttpRequest redirect = hop < MAX_REDIRECTS ? redirectOf(current, response) : null;
+            if (redirect == null) {
+                return response;
+            }
+            current = redirect;
+        }
+    }
+
+    private HttpRequest withCookies(HttpRequest request) throws IOException {
+        Map<String, List<String>> cookies = cookieManager.get(request.uri(), request.headers().map());
+        List<String> values = cookies.get("Cookie");
+        if (values == null || values.isEmpty()) {
+            return request;
+        }
+        return HttpRequest.newBuilder(request, (name, value) -> !name.equalsIgnoreCase("Cookie"))
+                .header("Cookie", String.join("; ", values))
+                .build();
+    }
+
+    /** Mirrors HttpClient.Redirect.NORMAL: never downgrades https to http. */
+    private static HttpRequest redirectOf(HttpRequest request, HttpResponse<?> response) {
+        int status = response.statusCode();
+        if (status != 301 && status != 302 && status != 303 && status != 307 && status != 308) {
+            return null;
+        }
+        String location = response.headers().firstValue("Location").orElse(null);
+        if (location == null) {
+            return null;
+        }
+        URI target = request.uri().resolve(location);
+        if ("https".equalsIgnoreCase(request.uri().getScheme()) && !"https".equalsIgnoreCase(target.getScheme())) {
+            return null;
+        }
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(request, (name, value) -> true).uri(target);
+        boolean keepMethod = status == 307 || status == 308
+                || (status != 303 && !request.method().equalsIgnoreCase("POST"));
+        if (!keepMethod) {
+            builder.GET();
+        }
+        return builder.build();
+    }
+
+    /**
+     * The reusable body buffer, at least minCapacity long.
+     * Growing keeps the bytes already in it (see {@link ResponseBody}).
+     */
+    public byte[] bodyBuffer(int minCapacity) {
+        if (bodyBuffer == null) {
+            bodyBuffer = new byte[Math.max(minCapacity, INITIAL_BODY_BUFFER)];
+        } else if (bodyBuffer.length < minCapacity) {
+            bodyBuffer = Arrays.copyOf(bodyBuffer, Math.max(minCapacity, bodyBuffer.length * 2));
+        }
+        return bodyBuffer;
+    }
+
+    /** True only the first time the given feeder asks since this user started (or was reset). */
+    public boolean markFed(Object feeder) {
+        if (fedBy == null) fedBy = new HashSet<>(2);
+        return fedBy.add(feeder);
+    }
+
+    /** Forget everything a previous user left behind (variables, cookies and fed rows). */
+    public void reset() {
+        variables.clear();
+        clearCookies();
+        fedBy = null;
     }
 
     public void clearCookies() {
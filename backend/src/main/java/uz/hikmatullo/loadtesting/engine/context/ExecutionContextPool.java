@@ -0,0 +1,38 @@
+package uz.hikmatullo.loadtesting.engine.context;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Reuses ExecutionContexts (and therefore their HttpClient connections) between
+ * short-lived users, e.g. one arrival of an open-model test.
+ * A context is reset before it is handed out again, so no variables or cookies leak.
+ */
+public class ExecutionContextPool {
+
+    private final Queue<ExecutionContext> idle = new ConcurrentLinkedQueue<>();
+    private final HttpClientPool clients;
+
+    public ExecutionContextPool() {
+        this(HttpClientPool.perUser());
+    }
+
+    public ExecutionContextPool(HttpClientPool clients) {
+        this.clients = clients;
+    }
+
+    public ExecutionContext acquire() {
+        ExecutionContext ctx = idle.poll();
+        if (ctx == null) {
+            return clients.newContext();
+        }
+        ctx.reset();
+        return ctx;
+    }
+
+    public void release(ExecutionContext ctx) {
+        if (ctx != null) {
+            idle.offer(ctx);
+        }
+    }
+}
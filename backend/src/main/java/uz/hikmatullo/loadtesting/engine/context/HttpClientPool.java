@@ -0,0 +1,76 @@
+package uz.hikmatullo.loadtesting.engine.context;
+
+import uz.hikmatullo.loadtesting.model.entity.LoadProfile;
+import uz.hikmatullo.loadtesting.model.enums.ConnectionMode;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out ExecutionContexts for one test run according to its {@link ConnectionMode}.
+ * - PER_USER: each context builds its own HttpClient (own selector thread and connections)
+ * - SHARED: contexts are spread round-robin over a fixed set of HttpClients, so thousands
+ *   of virtual users use a handful of selector threads and reuse each other's connections.
+ *   Each context still keeps its own CookieManager, applied per request by {@link ExecutionContext#send}.
+ */
+public class HttpClientPool implements AutoCloseable {
+
+    private final HttpClient[] clients;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private HttpClientPool(HttpClient[] clients) {
+        this.clients = clients;
+    }
+
+    public static HttpClientPool forProfile(LoadProfile profile) {
+        if (profile == null || profile.getConnectionMode() != ConnectionMode.SHARED) {
+            return perUser();
+        }
+        return shared(profile.getSharedClients() > 0
+                ? profile.getSharedClients()
+                : Runtime.getRuntime().availableProcessors());
+    }
+
+    public static HttpClientPool perUser() {
+        return new HttpClientPool(new HttpClient[0]);
+    }
+
+    public static HttpClientPool shared(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be > 0");
+        }
+        HttpClient[] clients = new HttpClient[size];
+        for (int i = 0; i < size; i++) {
+            // no cookie handler and no automatic redirects: both are done per context
+            clients[i] = HttpClient.newBuilder()
+                    .followRedirects(HttpClient.Redirect.NEVER)
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+        }
+        return new HttpClientPool(clients);
+    }
+
+    public boolean isShared() {
+        return clients.length > 0;
+    }
+
+    public int size() {
+        return clients.length;
+    }
+
+    public ExecutionContext newContext() {
+        if (!isShared()) {
+            return new ExecutionContext();
+        }
+        return new ExecutionContext(clients[Math.floorMod(next.getAndIncrement(), clients.length)]);
+    }
+
+    @Override
+    public void close() {
+        for (HttpClient client : clients) {
+            client.shutdownNow();
+        }
+    }
+}
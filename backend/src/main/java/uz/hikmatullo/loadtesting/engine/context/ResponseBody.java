@@ -0,0 +1,135 @@
+package uz.hikmatullo.loadtesting.engine.context;
+
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * Response body as read by {@link #handler}: the number of bytes that arrived,
+ * when captured the first {@code length} of them, and when headers and last byte came in.
+ * - Nothing is decoded; text() is for the callers that really need a String
+ * - Captured bytes live in the virtual user's reusable buffer and are only valid
+ *   until the same user sends its next request
+ */
+public final class ResponseBody {
+
+    // bodies larger than this are counted in full but captured only up to here
+    public static final int DEFAULT_CAPTURE_LIMIT = 8 * 1024 * 1024;
+
+    private final byte[] bytes;
+    private final int length;
+    private final long received;
+
+    // System.nanoTime() when the headers arrived and when the last byte did
+    private final long headersAtNanos;
+    private final long completedAtNanos;
+
+    private ResponseBody(byte[] bytes, int length, long received, long headersAtNanos, long completedAtNanos) {
+        this.bytes = bytes;
+        this.length = length;
+        this.received = received;
+        this.headersAtNanos = headersAtNanos;
+        this.completedAtNanos = completedAtNanos;
+    }
+
+    /** Captured bytes (buffer may be longer than {@link #length()}), or null when discarded. */
+    public byte[] bytes() {
+        return bytes;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    /** Body bytes that came over the wire, captured or not. */
+    public long received() {
+        return received;
+    }
+
+    public long headersAtNanos() {
+        return headersAtNanos;
+    }
+
+    public long completedAtNanos() {
+        return completedAtNanos;
+    }
+
+    public boolean isTruncated() {
+        return bytes != null && received > length;
+    }
+
+    public String text(Charset charset) {
+        return bytes == null ? "" : new String(bytes, 0, length, charset);
+    }
+
+    public static HttpResponse.BodyHandler<ResponseBody> handler(BodyMode mode, ExecutionContext ctx) {
+        return handler(mode, ctx, DEFAULT_CAPTURE_LIMIT);
+    }
+
+    public static HttpResponse.BodyHandler<ResponseBody> handler(BodyMode mode, ExecutionContext ctx, int captureLimit) {
+        // the handler is called as soon as the status line and headers are in
+        return info -> new Reader(mode == BodyMode.CAPTURE ? ctx : null, captureLimit, System.nanoTime());
+    }
+
+    /** Counts every chunk; copies into the context's buffer only when capturing. */
+    private static final class Reader implements HttpResponse.BodySubscriber<ResponseBody> {
+
+        private final CompletableFuture<ResponseBody> result = new CompletableFuture<>();
+        private final ExecutionContext ctx;
+        private final int limit;
+        private final long headersAtNanos;
+
+        private byte[] buffer;
+        private int length;
+        private long received;
+
+        Reader(ExecutionContext ctx, int limit, long headersAtNanos) {
+            this.ctx = ctx;
+            this.limit = limit;
+            this.headersAtNanos = headersAtNanos;
+        }
+
+        @Override
+        public CompletionStage<ResponseBody> getBody() {
+            return result;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> items) {
+            for (ByteBuffer item : items) {
+                int n = item.remaining();
+                received += n;
+                int take = ctx == null ? 0 : Math.min(n, limit - length);
+                if (take > 0) {
+                    buffer = ctx.bodyBuffer(length + take);
+                    item.get(buffer, length, take);
+                    length += take;
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            result.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            result.complete(new ResponseBody(ctx == null ? null : bufferOrEmpty(), length, received,
+                    headersAtNanos, System.nanoTime()));
+        }
+
+        private byte[] bufferOrEmpty() {
+            return buffer != null ? buffer : ctx.bodyBuffer(0);
+        }
+    }
+}
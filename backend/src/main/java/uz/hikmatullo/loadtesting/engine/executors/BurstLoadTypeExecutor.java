@@ -0,0 +1,101 @@
+package uz.hikmatullo.loadtesting.engine.executors;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import uz.hikmatullo.loadtesting.engine.aggregator.IncrementalMetricsAggregator;
+import uz.hikmatullo.loadtesting.engine.context.ExecutionContext;
+import uz.hikmatullo.loadtesting.engine.context.HttpClientPool;
+import uz.hikmatullo.loadtesting.engine.recorder.MetricsRecorder;
+import uz.hikmatullo.loadtesting.engine.scenario.CompiledScenario;
+import uz.hikmatullo.loadtesting.model.entity.LoadTest;
+import uz.hikmatullo.loadtesting.model.entity.metrics.TestExecutionReport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * BURST: runs exactly totalRequests scenario iterations as fast as possible.
+ * maxConcurrency workers pull permits from {@link IterationPermits} until it is empty,
+ * so there are never more than maxConcurrency iterations in flight.
+ * The timeline's activeUsers shows the saturation curve: flat at maxConcurrency
+ * while permits remain, then tailing off as workers run out of work.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BurstLoadTypeExecutor {
+
+    private final VirtualUserRunner virtualUserRunner;
+
+    public TestExecutionReport run(LoadTest loadTest) {
+        return run(loadTest, new IncrementalMetricsAggregator(loadTest.getId(), loadTest.getSteps()));
+    }
+
+    /** Runs the test into a caller-owned aggregator, which can be snapshotted while it runs. */
+    public TestExecutionReport run(LoadTest loadTest, IncrementalMetricsAggregator aggregator) {
+        return run(loadTest, aggregator, new AtomicBoolean(false));
+    }
+
+    /** Same, but raising stopFlag ends the test early (cancel); the report covers what ran. */
+    public TestExecutionReport run(LoadTest loadTest, IncrementalMetricsAggregator aggregator, AtomicBoolean stopFlag) {
+        ExecutionResult result = execute(loadTest, aggregator, stopFlag);
+        log.info("Total metrics collected = {}", aggregator.count());
+
+        TestExecutionReport report = aggregator.buildReport(result.startedAt(), result.finishedAt());
+        report.setTimeToCompleteMs(result.finishedAt() - result.startedAt());
+        return report;
+    }
+
+    public ExecutionResult execute(LoadTest loadTest, MetricsRecorder recorder) {
+        return execute(loadTest, recorder, new AtomicBoolean(false));
+    }
+
+    public ExecutionResult execute(LoadTest loadTest, MetricsRecorder recorder, AtomicBoolean stopFlag) {
+
+        int totalRequests = loadTest.getProfile().getTotalRequests();
+        int maxConcurrency = Math.min(loadTest.getProfile().getMaxConcurrency(), totalRequests);
+
+        log.info("Running BURST load test: {} iterations, at most {} in flight", totalRequests, maxConcurrency);
+
+        IterationPermits permits = new IterationPermits(totalRequests);
+
+        HttpClientPool clients = HttpClientPool.forProfile(loadTest.getProfile());
+        CompiledScenario scenario = CompiledScenario.compile(loadTest);
+
+        long startedAt = System.currentTimeMillis();
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        List<Future<?>> futures = new ArrayList<>(maxConcurrency);
+
+        for (int i = 0; i < maxConcurrency; i++) {
+            futures.add(executor.submit(() -> {
+                ExecutionContext ctx = clients.newContext();
+                recorder.onVirtualUserStarted();
+                try {
+                    while (!stopFlag.get() && permits.tryAcquire()) {
+                        virtualUserRunner.runIteration(scenario, ctx, recorder, stopFlag);
+                    }
+                } finally {
+                    recorder.onVirtualUserStopped();
+                }
+            }));
+        }
+
+        // wait for all workers to run out of permits
+        virtualUserRunner.awaitAll(futures);
+        executor.shutdownNow();
+        clients.close();
+
+        long finishedAt = System.currentTimeMillis();
+
+        log.info("BURST load completed in {} ms. Total metrics collected = {}",
+                finishedAt - startedAt, recorder.count());
+
+        return new ExecutionResult(startedAt, finishedAt);
+    }
+}
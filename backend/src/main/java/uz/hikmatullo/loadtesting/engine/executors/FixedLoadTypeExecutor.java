@@ -3,20 +3,13 @@ package uz.hikmatullo.loadtesting.engine.executors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import uz.hikmatullo.loadtesting.engine.aggregator.SimpleMetricsAggregator;
-import uz.hikmatullo.loadtesting.engine.context.ExecutionContext;
+import uz.hikmatullo.loadtesting.engine.aggregator.IncrementalMetricsAggregator;
+import uz.hikmatullo.loadtesting.engine.context.HttpClientPool;
+import uz.hikmatullo.loadtesting.engine.recorder.MetricsRecorder;
+import uz.hikmatullo.loadtesting.engine.scenario.CompiledScenario;
 import uz.hikmatullo.loadtesting.model.entity.LoadTest;
-import uz.hikmatullo.loadtesting.model.entity.RequestStep;
-import uz.hikmatullo.loadtesting.model.entity.metrics.RequestMetrics;
 import uz.hikmatullo.loadtesting.model.entity.metrics.TestExecutionReport;
-import uz.hikmatullo.loadtesting.util.ExtractionRuleUtil;
-import uz.hikmatullo.loadtesting.util.HttpRequestUtil;
-
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.time.Duration;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.*;
@@ -27,42 +20,47 @@ import java.util.concurrent.atomic.AtomicBoolean;
 @RequiredArgsConstructor
 public class FixedLoadTypeExecutor {
 
-    private final SimpleMetricsAggregator simpleMetricsAggregator;
+    private final VirtualUserRunner virtualUserRunner;
 
     public TestExecutionReport run(LoadTest loadTest) {
-        ExecutionResult result = execute(loadTest);
-        log.info("Test started At: {}", result.startedAt());
-        List<RequestMetrics> metrics = result.metrics();
-        log.info("Total metrics collected = {}", metrics.size());
+        return run(loadTest, new IncrementalMetricsAggregator(loadTest.getId(), loadTest.getSteps()));
+    }
+
+    /** Runs the test into a caller-owned aggregator, which can be snapshotted while it runs. */
+    public TestExecutionReport run(LoadTest loadTest, IncrementalMetricsAggregator aggregator) {
+        return run(loadTest, aggregator, new AtomicBoolean(false));
+    }
 
+    /** Same, but raising stopFlag ends the test early (cancel); the report covers what ran. */
+    public TestExecutionReport run(LoadTest loadTest, IncrementalMetricsAggregator aggregator, AtomicBoolean stopFlag) {
+        ExecutionResult result = execute(loadTest, aggregator, stopFlag);
+        log.info("Test started At: {}", result.startedAt());
+        log.info("Total metrics collected = {}", aggregator.count());
         log.info("Test finished At: {}", result.finishedAt());
-        return simpleMetricsAggregator.buildReport(
-                loadTest.getId(),
-                result.startedAt(),
-                result.finishedAt(),
-                metrics,
-                loadTest.getSteps()
-        );
+
+        return aggregator.buildReport(result.startedAt(), result.finishedAt());
     }
 
 
-    public ExecutionResult execute(LoadTest loadTest) {
+    public ExecutionResult execute(LoadTest loadTest, MetricsRecorder recorder) {
+        return execute(loadTest, recorder, new AtomicBoolean(false));
+    }
+
+    public ExecutionResult execute(LoadTest loadTest, MetricsRecorder recorder, AtomicBoolean stopFlag) {
 
         int users = loadTest.getProfile().getVirtualUsers();
         int durationSeconds = loadTest.getProfile().getDurationSeconds();
 
         log.info("Running FIXED load test: {} VUs for {} seconds", users, durationSeconds);
 
-        long startedAt = System.currentTimeMillis();
+        HttpClientPool clients = HttpClientPool.forProfile(loadTest.getProfile());
+        CompiledScenario scenario = CompiledScenario.compile(loadTest);
 
-        // --- concurrent-safe collection for metrics
-        List<RequestMetrics> allMetrics = new CopyOnWriteArrayList<>();
+        long startedAt = System.currentTimeMillis();
 
         // --- virtual thread executor
         ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
 
-        AtomicBoolean stopFlag = new AtomicBoolean(false);
-
         // schedule shutdown
         ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
         scheduler.schedule(() -> stopFlag.set(true), durationSeconds, TimeUnit.SECONDS);
@@ -71,136 +69,21 @@ public class FixedLoadTypeExecutor {
 
         for (int i = 0; i < users; i++) {
             futures.add(executor.submit(() ->
-                    runSingleVirtualUser(loadTest, allMetrics, stopFlag)
+                    virtualUserRunner.runUntilStopped(scenario, clients.newContext(), recorder, stopFlag)
             ));
         }
 
         // wait for all VUs to finish
-        futures.forEach(f -> {
-            try { f.get(); }
-            catch (Exception ignored) {}
-        });
+        virtualUserRunner.awaitAll(futures);
 
         executor.shutdownNow();
         scheduler.shutdownNow();
+        clients.close();
 
         long finishedAt = System.currentTimeMillis();
 
-        log.info("FIXED load completed. Total metrics collected = {}", allMetrics.size());
-
-        return new ExecutionResult(allMetrics, startedAt, finishedAt);
-    }
-
-    /**
-     * Runs steps in a loop until test duration expires.
-     */
-    private void runSingleVirtualUser(
-            LoadTest loadTest,
-            List<RequestMetrics> metricsCollector,
-            AtomicBoolean stopFlag
-    ) {
-        ExecutionContext ctx = new ExecutionContext();
-        HttpClient client = ctx.getHttpClient();
-
-        while (!stopFlag.get()) {
-
-            for (RequestStep step : loadTest.getSteps()) {
-
-                if (stopFlag.get()) break;
-
-                long st = System.currentTimeMillis();
-
-                try {
-                    HttpRequest request = HttpRequestUtil.buildRequest(step, ctx);
-
-                    HttpResponse<String> response = client.send(
-                            request,
-                            HttpResponse.BodyHandlers.ofString()
-                    );
-
-                    int status = response.statusCode();
-                    boolean success = status >= 200 && status < 400;
-                    long end = System.currentTimeMillis();
-
-                    // Add metric for this request
-                    metricsCollector.add(buildMetric(
-                            step,
-                            response,
-                            st,
-                            end,
-                            success,
-                            success ? null : "http_" + status
-                    ));
-
-                    // If HTTP error → stop only this iteration, not the whole VU
-                    if (!success) {
-                        break;
-                    }
-
-                    // ---- Extraction rules (run only when successful)
-                    for (var rule : step.getExtractionRules()) {
-                        try {
-                            ExtractionRuleUtil.applyRule(rule, response.body(), ctx);
-                        } catch (Exception e) {
-                            metricsCollector.add(buildMetric(
-                                    step,
-                                    response,
-                                    st,
-                                    System.currentTimeMillis(),
-                                    false,
-                                    "extraction_error"
-                            ));
-                            break; // stop processing this step, continue loop
-                        }
-                    }
-
-                } catch (Exception e) {
-                    // Network / timeout / TLS errors
-                    long end = System.currentTimeMillis();
-
-                    metricsCollector.add(buildMetric(
-                            step,
-                            null,
-                            st,
-                            end,
-                            false,
-                            classifyError(e)
-                    ));
-
-                    // Stop this iteration but keep VU alive
-                    break;
-                }
-            }
-        }
-    }
-
-
-    /** Build RequestMetrics */
-    private RequestMetrics buildMetric(RequestStep step,
-                                      HttpResponse<String> response,
-                                      long start,
-                                      long end,
-                                      boolean success,
-                                      String errorType) {
-
-        return RequestMetrics.builder()
-                .stepId(step.getId())
-                .startTimeMs(start)
-                .endTimeMs(end)
-                .statusCode(response != null ? response.statusCode() : 0)
-                .success(success)
-                .errorType(errorType)
-                .latencyMs(end - start)
-                .bytesSent(step.getBody() != null ? step.getBody().length() : 0)
-                .bytesReceived(response != null ? response.body().length() : 0)
-                .build();
-    }
+        log.info("FIXED load completed. Total metrics collected = {}", recorder.count());
 
-    private String classifyError(Exception e) {
-        String msg = e.getMessage();
-        if (msg == null) return "unknown_error";
-        if (msg.contains("timeout")) return "timeout";
-        if (msg.contains("Connection")) return "connection_error";
-        return "request_error";
+        return new ExecutionResult(startedAt, finishedAt);
     }
 }
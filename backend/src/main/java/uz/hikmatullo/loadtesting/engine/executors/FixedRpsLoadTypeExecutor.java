@@ -0,0 +1,162 @@
+package uz.hikmatullo.loadtesting.engine.executors;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import uz.hikmatullo.loadtesting.engine.aggregator.IncrementalMetricsAggregator;
+import uz.hikmatullo.loadtesting.engine.context.ExecutionContext;
+import uz.hikmatullo.loadtesting.engine.context.ExecutionContextPool;
+import uz.hikmatullo.loadtesting.engine.context.HttpClientPool;
+import uz.hikmatullo.loadtesting.engine.recorder.MetricsRecorder;
+import uz.hikmatullo.loadtesting.engine.scenario.CompiledScenario;
+import uz.hikmatullo.loadtesting.model.entity.LoadTest;
+import uz.hikmatullo.loadtesting.model.entity.metrics.ScheduleMetrics;
+import uz.hikmatullo.loadtesting.model.entity.metrics.TestExecutionReport;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * FIXED_RPS: open workload model.
+ * - Iteration number i is due at start + i / targetRps, whatever the server does
+ * - Every arrival runs on its own virtual thread, so a slow response never delays the next arrival
+ * - Latency of the first step is measured from the intended send time (coordinated omission)
+ * - An arrival dispatched later than {@link #missToleranceNanos} after its slot counts as a schedule miss
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FixedRpsLoadTypeExecutor {
+
+    // how long to wait for in-flight arrivals after the schedule has ended
+    private static final long DRAIN_TIMEOUT_SECONDS = 60;
+
+    private final VirtualUserRunner virtualUserRunner;
+
+    public TestExecutionReport run(LoadTest loadTest) {
+        return run(loadTest, new IncrementalMetricsAggregator(loadTest.getId(), loadTest.getSteps()));
+    }
+
+    /** Runs the test into a caller-owned aggregator, which can be snapshotted while it runs. */
+    public TestExecutionReport run(LoadTest loadTest, IncrementalMetricsAggregator aggregator) {
+        return run(loadTest, aggregator, new AtomicBoolean(false));
+    }
+
+    /** Same, but raising stopFlag ends the test early (cancel); the report covers what ran. */
+    public TestExecutionReport run(LoadTest loadTest, IncrementalMetricsAggregator aggregator, AtomicBoolean stopFlag) {
+        ScheduleResult result = execute(loadTest, aggregator, stopFlag);
+        log.info("Total metrics collected = {}", aggregator.count());
+
+        TestExecutionReport report = aggregator.buildReport(result.startedAt(), result.finishedAt());
+        report.setSchedule(result.schedule());
+        return report;
+    }
+
+    public ScheduleResult execute(LoadTest loadTest, MetricsRecorder recorder) {
+        return execute(loadTest, recorder, new AtomicBoolean(false));
+    }
+
+    public ScheduleResult execute(LoadTest loadTest, MetricsRecorder recorder, AtomicBoolean stopFlag) {
+
+        int targetRps = loadTest.getProfile().getTargetRps();
+        int durationSeconds = loadTest.getProfile().getDurationSeconds();
+
+        log.info("Running FIXED_RPS load test: {} iterations/s for {} seconds", targetRps, durationSeconds);
+
+        long scheduledIterations = (long) targetRps * durationSeconds;
+        long missTolerance = missToleranceNanos(targetRps);
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        HttpClientPool clients = HttpClientPool.forProfile(loadTest.getProfile());
+        CompiledScenario scenario = CompiledScenario.compile(loadTest);
+        ExecutionContextPool contexts = new ExecutionContextPool(clients);
+
+        long recordedBefore = recorder.count();
+        long dispatched = 0;
+        long misses = 0;
+        long maxLagNanos = 0;
+
+        long startedAt = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+
+        for (long i = 0; i < scheduledIterations; i++) {
+            long due = startNanos + arrivalOffsetNanos(i, targetRps);
+            if (!virtualUserRunner.parkUntil(due, stopFlag)) {
+                log.info("FIXED_RPS stopped early: {} of {} arrivals dispatched", dispatched, scheduledIterations);
+                break;
+            }
+
+            long lagNanos = System.nanoTime() - due;
+            if (lagNanos > missTolerance) misses++;
+            if (lagNanos > maxLagNanos) maxLagNanos = lagNanos;
+
+            // wall-clock time at which this arrival should have been sent
+            long intendedStartMs = startedAt + TimeUnit.NANOSECONDS.toMillis(due - startNanos);
+
+            executor.submit(() -> {
+                ExecutionContext ctx = contexts.acquire();
+                try {
+                    virtualUserRunner.runIteration(scenario, ctx, recorder, stopFlag, intendedStartMs);
+                } finally {
+                    contexts.release(ctx);
+                }
+            });
+            dispatched++;
+        }
+        long dispatchWindowNanos = System.nanoTime() - startNanos;
+
+        // schedule is over: let in-flight arrivals finish, but do not start new steps forever
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("FIXED_RPS: in-flight requests did not finish in {} seconds, cancelling", DRAIN_TIMEOUT_SECONDS);
+                stopFlag.set(true);
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stopFlag.set(true);
+            executor.shutdownNow();
+        }
+        stopFlag.set(true);
+        clients.close();
+
+        long finishedAt = System.currentTimeMillis();
+        // a dispatcher that fell behind stretches the window, which lowers dispatched RPS
+        double dispatchSeconds = Math.max(durationSeconds, dispatchWindowNanos / 1e9);
+        // completed requests over the whole run, drain included: a saturated target answers
+        // fewer than were dispatched, and the queue it built up stretches the run
+        double runSeconds = Math.max(durationSeconds, (finishedAt - startedAt) / 1000.0);
+
+        ScheduleMetrics schedule = ScheduleMetrics.builder()
+                .targetRps(targetRps)
+                .achievedRps((recorder.count() - recordedBefore) / runSeconds)
+                .dispatchedRps(dispatched / dispatchSeconds)
+                .scheduledIterations(scheduledIterations)
+                .dispatchedIterations(dispatched)
+                .scheduleMisses(misses)
+                .maxScheduleLagMs(TimeUnit.NANOSECONDS.toMillis(maxLagNanos))
+                .build();
+
+        log.info("FIXED_RPS load completed. dispatched={}, misses={}, max lag={}ms",
+                dispatched, misses, schedule.getMaxScheduleLagMs());
+
+        return new ScheduleResult(startedAt, finishedAt, schedule);
+    }
+
+    /** Offset from test start of arrival number {@code i} (0-based). */
+    static long arrivalOffsetNanos(long i, int targetRps) {
+        long second = TimeUnit.SECONDS.toNanos(1);
+        // whole seconds first, so the multiplication cannot overflow on long tests
+        return i / targetRps * second + (i % targetRps) * second / targetRps;
+    }
+
+    /** Late by more than one inter-arrival gap (and at least 1 ms) counts as a miss. */
+    static long missToleranceNanos(int targetRps) {
+        return Math.max(TimeUnit.MILLISECONDS.toNanos(1), TimeUnit.SECONDS.toNanos(1) / targetRps);
+    }
+
+    public record ScheduleResult(long startedAt, long finishedAt, ScheduleMetrics schedule) {}
+}
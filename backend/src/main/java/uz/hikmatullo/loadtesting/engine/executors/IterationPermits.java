@@ -0,0 +1,27 @@
+package uz.hikmatullo.loadtesting.engine.executors;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out exactly {@code total} iteration permits to a fixed set of workers.
+ * Concurrency is bounded by the number of workers, not by the permits, so a
+ * worker never blocks: it either takes a permit with one atomic decrement or
+ * learns that the pool is empty and exits. There is no lock, queue or parking.
+ */
+public class IterationPermits {
+
+    private final AtomicLong remaining;
+
+    public IterationPermits(long total) {
+        this.remaining = new AtomicLong(total);
+    }
+
+    public boolean tryAcquire() {
+        // may go below zero once every worker has seen the pool empty; that is harmless
+        return remaining.getAndDecrement() > 0;
+    }
+
+    public long remaining() {
+        return Math.max(0, remaining.get());
+    }
+}
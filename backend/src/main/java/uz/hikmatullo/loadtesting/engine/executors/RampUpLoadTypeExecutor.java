@@ -0,0 +1,110 @@
+package uz.hikmatullo.loadtesting.engine.executors;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import uz.hikmatullo.loadtesting.engine.aggregator.IncrementalMetricsAggregator;
+import uz.hikmatullo.loadtesting.engine.context.HttpClientPool;
+import uz.hikmatullo.loadtesting.engine.recorder.MetricsRecorder;
+import uz.hikmatullo.loadtesting.engine.scenario.CompiledScenario;
+import uz.hikmatullo.loadtesting.model.entity.LoadTest;
+import uz.hikmatullo.loadtesting.model.entity.metrics.TestExecutionReport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * RAMP_UP: starts virtual users linearly over rampUpSeconds, then holds
+ * the target until durationSeconds (measured from test start) expires.
+ *---
+ * VU number i (1-based) is due at exactly start + i * rampUp / virtualUsers.
+ * Deadlines are computed from the start instant, not from the previous wake-up,
+ * so late wake-ups never accumulate into drift; a late loop simply starts
+ * every VU that is already due.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RampUpLoadTypeExecutor {
+
+    private final VirtualUserRunner virtualUserRunner;
+
+    public TestExecutionReport run(LoadTest loadTest) {
+        return run(loadTest, new IncrementalMetricsAggregator(loadTest.getId(), loadTest.getSteps()));
+    }
+
+    /** Runs the test into a caller-owned aggregator, which can be snapshotted while it runs. */
+    public TestExecutionReport run(LoadTest loadTest, IncrementalMetricsAggregator aggregator) {
+        return run(loadTest, aggregator, new AtomicBoolean(false));
+    }
+
+    /** Same, but raising stopFlag ends the test early (cancel); the report covers what ran. */
+    public TestExecutionReport run(LoadTest loadTest, IncrementalMetricsAggregator aggregator, AtomicBoolean stopFlag) {
+        ExecutionResult result = execute(loadTest, aggregator, stopFlag);
+        log.info("Total metrics collected = {}", aggregator.count());
+
+        return aggregator.buildReport(result.startedAt(), result.finishedAt());
+    }
+
+    public ExecutionResult execute(LoadTest loadTest, MetricsRecorder recorder) {
+        return execute(loadTest, recorder, new AtomicBoolean(false));
+    }
+
+    public ExecutionResult execute(LoadTest loadTest, MetricsRecorder recorder, AtomicBoolean stopFlag) {
+
+        int users = loadTest.getProfile().getVirtualUsers();
+        int durationSeconds = loadTest.getProfile().getDurationSeconds();
+        int rampUpSeconds = loadTest.getProfile().getRampUpSeconds();
+
+        log.info("Running RAMP_UP load test: 0 -> {} VUs over {} seconds, {} seconds total",
+                users, rampUpSeconds, durationSeconds);
+
+        HttpClientPool clients = HttpClientPool.forProfile(loadTest.getProfile());
+        CompiledScenario scenario = CompiledScenario.compile(loadTest);
+
+        long startedAt = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        long rampNanos = TimeUnit.SECONDS.toNanos(rampUpSeconds);
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+        // schedule shutdown
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        scheduler.schedule(() -> stopFlag.set(true), durationSeconds, TimeUnit.SECONDS);
+
+        List<Future<?>> futures = new ArrayList<>(users);
+
+        for (int i = 1; i <= users; i++) {
+            long due = startNanos + dueOffsetNanos(i, users, rampNanos);
+            if (!virtualUserRunner.parkUntil(due, stopFlag)) {
+                log.info("RAMP_UP stopped before reaching target: {} of {} VUs started", i - 1, users);
+                break;
+            }
+            futures.add(executor.submit(() ->
+                    virtualUserRunner.runUntilStopped(scenario, clients.newContext(), recorder, stopFlag)
+            ));
+        }
+
+        // wait for all VUs to finish
+        virtualUserRunner.awaitAll(futures);
+
+        executor.shutdownNow();
+        scheduler.shutdownNow();
+        clients.close();
+
+        long finishedAt = System.currentTimeMillis();
+
+        log.info("RAMP_UP load completed. Total metrics collected = {}", recorder.count());
+
+        return new ExecutionResult(startedAt, finishedAt);
+    }
+
+    /** Offset from test start at which VU number {@code i} (1-based) must be running. */
+    static long dueOffsetNanos(int i, int users, long rampNanos) {
+        if (rampNanos <= 0) return 0;
+        // split into quotient and remainder so rampNanos * i cannot overflow
+        return rampNanos / users * i + rampNanos % users * i / users;
+    }
+}
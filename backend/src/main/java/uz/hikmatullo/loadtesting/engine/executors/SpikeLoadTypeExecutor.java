@@ -0,0 +1,152 @@
+package uz.hikmatullo.loadtesting.engine.executors;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import uz.hikmatullo.loadtesting.engine.aggregator.IncrementalMetricsAggregator;
+import uz.hikmatullo.loadtesting.engine.aggregator.SpikePhaseRecorder;
+import uz.hikmatullo.loadtesting.engine.context.ExecutionContext;
+import uz.hikmatullo.loadtesting.engine.context.HttpClientPool;
+import uz.hikmatullo.loadtesting.engine.recorder.MetricsRecorder;
+import uz.hikmatullo.loadtesting.engine.scenario.CompiledScenario;
+import uz.hikmatullo.loadtesting.model.entity.LoadProfile;
+import uz.hikmatullo.loadtesting.model.entity.LoadTest;
+import uz.hikmatullo.loadtesting.model.entity.metrics.TestExecutionReport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongConsumer;
+
+/**
+ * SPIKE: baselineUsers run from the start; at spikeStartSeconds the remaining
+ * virtualUsers - baselineUsers are injected over rampUpSeconds (0 = all at once),
+ * held for spikeHoldSeconds, then stopped so the rest of the test is recovery.
+ *---
+ * Every ExecutionContext is created before the clock starts, and each spike VU
+ * parks on its own absolute deadline instead of waiting for a dispatcher loop,
+ * so thousands of VUs can be injected within a few hundred milliseconds.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SpikeLoadTypeExecutor {
+
+    private final VirtualUserRunner virtualUserRunner;
+
+    public TestExecutionReport run(LoadTest loadTest) {
+        return run(loadTest, new IncrementalMetricsAggregator(loadTest.getId(), loadTest.getSteps()));
+    }
+
+    /** Runs the test into a caller-owned aggregator, which can be snapshotted while it runs. */
+    public TestExecutionReport run(LoadTest loadTest, IncrementalMetricsAggregator aggregator) {
+        return run(loadTest, aggregator, new AtomicBoolean(false));
+    }
+
+    /** Same, but raising stopFlag ends the test early (cancel); the report covers what ran. */
+    public TestExecutionReport run(LoadTest loadTest, IncrementalMetricsAggregator aggregator, AtomicBoolean stopFlag) {
+        LoadProfile profile = loadTest.getProfile();
+        SpikePhaseRecorder phases = new SpikePhaseRecorder(
+                aggregator,
+                TimeUnit.SECONDS.toMillis(profile.getSpikeStartSeconds()),
+                recoveryStartOffsetMs(profile)
+        );
+
+        ExecutionResult result = execute(loadTest, phases, phases::start, stopFlag);
+        log.info("Total metrics collected = {}", aggregator.count());
+
+        TestExecutionReport report = aggregator.buildReport(result.startedAt(), result.finishedAt());
+        report.setPhases(phases.buildPhases(result.finishedAt()));
+        report.setRecoveryTimeMs(phases.recoveryTimeMs());
+        return report;
+    }
+
+    public ExecutionResult execute(LoadTest loadTest, MetricsRecorder recorder) {
+        return execute(loadTest, recorder, startedAt -> {}, new AtomicBoolean(false));
+    }
+
+    private ExecutionResult execute(LoadTest loadTest, MetricsRecorder recorder, LongConsumer onStart,
+                                    AtomicBoolean stopFlag) {
+
+        LoadProfile profile = loadTest.getProfile();
+        int baselineUsers = Math.max(0, profile.getBaselineUsers());
+        int spikeUsers = Math.max(0, profile.getVirtualUsers() - baselineUsers);
+        int durationSeconds = profile.getDurationSeconds();
+        long recoveryOffsetMs = recoveryStartOffsetMs(profile);
+
+        log.info("Running SPIKE load test: {} -> {} VUs at {}s over {}s, {} seconds total",
+                baselineUsers, profile.getVirtualUsers(), profile.getSpikeStartSeconds(),
+                profile.getRampUpSeconds(), durationSeconds);
+
+        // setup is done before the clock starts so it never delays injection
+        HttpClientPool clients = HttpClientPool.forProfile(profile);
+        CompiledScenario scenario = CompiledScenario.compile(loadTest);
+        List<ExecutionContext> baselineContexts = createContexts(clients, baselineUsers);
+        List<ExecutionContext> spikeContexts = createContexts(clients, spikeUsers);
+
+        AtomicBoolean spikeStopFlag = new AtomicBoolean(false);
+
+        long startedAt = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        long spikeStartNanos = startNanos + TimeUnit.SECONDS.toNanos(profile.getSpikeStartSeconds());
+        long rampNanos = TimeUnit.SECONDS.toNanos(profile.getRampUpSeconds());
+        onStart.accept(startedAt);
+
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        scheduler.schedule(() -> stopFlag.set(true), durationSeconds, TimeUnit.SECONDS);
+        if (recoveryOffsetMs != Long.MAX_VALUE) {
+            scheduler.schedule(() -> spikeStopFlag.set(true), recoveryOffsetMs, TimeUnit.MILLISECONDS);
+        }
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        List<Future<?>> futures = new ArrayList<>(baselineUsers + spikeUsers);
+
+        for (ExecutionContext ctx : baselineContexts) {
+            futures.add(executor.submit(() ->
+                    virtualUserRunner.runUntilStopped(scenario, ctx, recorder, stopFlag)
+            ));
+        }
+
+        for (int i = 1; i <= spikeUsers; i++) {
+            ExecutionContext ctx = spikeContexts.get(i - 1);
+            long due = spikeStartNanos + RampUpLoadTypeExecutor.dueOffsetNanos(i, spikeUsers, rampNanos);
+            futures.add(executor.submit(() -> {
+                // spike VUs stop with the run (cancel, threshold) or when their phase ends
+                if (virtualUserRunner.parkUntil(due, stopFlag, spikeStopFlag)) {
+                    virtualUserRunner.runUntilStopped(scenario, ctx, recorder, stopFlag, spikeStopFlag);
+                }
+            }));
+        }
+
+        // wait for all VUs to finish
+        virtualUserRunner.awaitAll(futures);
+
+        executor.shutdownNow();
+        scheduler.shutdownNow();
+        clients.close();
+
+        long finishedAt = System.currentTimeMillis();
+
+        log.info("SPIKE load completed. Total metrics collected = {}", recorder.count());
+
+        return new ExecutionResult(startedAt, finishedAt);
+    }
+
+    /** Offset from test start at which the spike VUs are stopped, or Long.MAX_VALUE if they hold to the end. */
+    static long recoveryStartOffsetMs(LoadProfile profile) {
+        if (profile.getSpikeHoldSeconds() <= 0) return Long.MAX_VALUE;
+        long offsetSeconds = (long) profile.getSpikeStartSeconds() + profile.getRampUpSeconds() + profile.getSpikeHoldSeconds();
+        return offsetSeconds < profile.getDurationSeconds()
+                ? TimeUnit.SECONDS.toMillis(offsetSeconds)
+                : Long.MAX_VALUE;
+    }
+
+    private List<ExecutionContext> createContexts(HttpClientPool clients, int count) {
+        List<ExecutionContext> contexts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            contexts.add(clients.newContext());
+        }
+        return contexts;
+    }
+}
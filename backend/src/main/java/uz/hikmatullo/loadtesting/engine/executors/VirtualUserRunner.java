@@ -0,0 +1,358 @@
+package uz.hikmatullo.loadtesting.engine.executors;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import uz.hikmatullo.loadtesting.engine.EngineActivity;
+import uz.hikmatullo.loadtesting.engine.context.ExecutionContext;
+import uz.hikmatullo.loadtesting.engine.context.ResponseBody;
+import uz.hikmatullo.loadtesting.engine.feeder.CompiledFeeder;
+import uz.hikmatullo.loadtesting.engine.recorder.MetricsRecorder;
+import uz.hikmatullo.loadtesting.engine.scenario.CompiledScenario;
+import uz.hikmatullo.loadtesting.engine.scenario.CompiledStep;
+import uz.hikmatullo.loadtesting.model.entity.RequestStep;
+import uz.hikmatullo.loadtesting.model.entity.metrics.RequestMetrics;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Virtual-user machinery shared by all executors:
+ * running the step scenario, recording metrics and honouring the stop flag.
+ */
+@Slf4j
+@Component
+public class VirtualUserRunner {
+
+    static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    // System.nanoTime() has no fixed origin; anchored to the wall clock once, it gives epoch nanos at its resolution
+    private static final long EPOCH_NANOS_OFFSET = epochNanos(Instant.now()) - System.nanoTime();
+
+    /**
+     * Runs steps in a loop until test duration expires.
+     * With pacing, each iteration is stretched to the target duration; an iteration
+     * that already took longer is followed by the next one immediately (no catching up).
+     */
+    public void runUntilStopped(
+            CompiledScenario scenario,
+            ExecutionContext ctx,
+            MetricsRecorder recorder,
+            AtomicBoolean stopFlag
+    ) {
+        loop(scenario, ctx, recorder, stopFlag::get);
+    }
+
+    /**
+     * Same, for a virtual user that belongs to one phase of the test (e.g. the spike):
+     * it stops when either the run or its phase is stopped.
+     */
+    public void runUntilStopped(
+            CompiledScenario scenario,
+            ExecutionContext ctx,
+            MetricsRecorder recorder,
+            AtomicBoolean stopFlag,
+            AtomicBoolean phaseStopFlag
+    ) {
+        loop(scenario, ctx, recorder, () -> stopFlag.get() || phaseStopFlag.get());
+    }
+
+    private void loop(CompiledScenario scenario, ExecutionContext ctx, MetricsRecorder recorder, BooleanSupplier stopped) {
+        long pacingNanos = scenario.getPacingNanos();
+        recorder.onVirtualUserStarted();
+        try {
+            while (!stopped.getAsBoolean()) {
+                long iterationStart = System.nanoTime();
+                iteration(scenario, ctx, recorder, stopped, 0);
+                if (pacingNanos > 0) {
+                    pause(iterationStart + pacingNanos - System.nanoTime(), null, recorder, stopped);
+                }
+            }
+        } finally {
+            recorder.onVirtualUserStopped();
+        }
+    }
+
+    /**
+     * Runs one pass over all steps.
+     * An HTTP or network error stops only this iteration, not the virtual user.
+     * A step's think time follows its recorded response, so it never counts as latency.
+     */
+    public void runIteration(
+            CompiledScenario scenario,
+            ExecutionContext ctx,
+            MetricsRecorder recorder,
+            AtomicBoolean stopFlag
+    ) {
+        runIteration(scenario, ctx, recorder, stopFlag, 0);
+    }
+
+    /**
+     * Same as {@link #runIteration(CompiledScenario, ExecutionContext, MetricsRecorder, AtomicBoolean)},
+     * but the first step's latency is measured from {@code intendedStartMs} instead of the
+     * moment it was actually sent. Open-model executors use this so that time spent waiting
+     * for a free thread or a slow server is not hidden (coordinated omission).
+     * Pass 0 to measure from the actual send time.
+     */
+    public void runIteration(
+            CompiledScenario scenario,
+            ExecutionContext ctx,
+            MetricsRecorder recorder,
+            AtomicBoolean stopFlag,
+            long intendedStartMs
+    ) {
+        iteration(scenario, ctx, recorder, stopFlag::get, intendedStartMs);
+    }
+
+    private void iteration(CompiledScenario scenario, ExecutionContext ctx, MetricsRecorder recorder,
+                           BooleanSupplier stopped, long intendedStartMs) {
+        EngineActivity.iterationStarted();
+        try {
+            iterate(scenario, ctx, recorder, stopped, intendedStartMs);
+        } finally {
+            EngineActivity.iterationFinished();
+        }
+    }
+
+    private void iterate(CompiledScenario scenario, ExecutionContext ctx, MetricsRecorder recorder,
+                         BooleanSupplier stopped, long intendedStartMs) {
+        if (!feed(scenario, ctx, recorder)) return;
+
+        boolean first = true;
+
+        for (CompiledStep compiled : scenario.getSteps()) {
+            RequestStep step = compiled.step();
+
+            if (stopped.getAsBoolean()) break;
+
+            long startedAtNanos = System.nanoTime();
+            long st = first && intendedStartMs > 0
+                    ? Math.min(intendedStartMs, System.currentTimeMillis())
+                    : System.currentTimeMillis();
+            first = false;
+
+            HttpRequest request = null;
+            try {
+                request = compiled.request().build(ctx);
+
+                // bodies nobody reads are only counted; others land in this user's reusable buffer
+                long sentAtNanos = System.nanoTime();
+                HttpResponse<ResponseBody> response = ctx.send(
+                        request,
+                        ResponseBody.handler(compiled.bodyMode(), ctx)
+                );
+                ResponseBody body = response.body();
+
+                long end = System.currentTimeMillis();
+                String error = scenario.getValidator()
+                        .check(response.statusCode(), end - st, body.bytes(), body.length());
+                boolean success = error == null;
+
+                // Add metric for this request
+                RequestMetrics metric = buildMetric(
+                        step,
+                        request,
+                        response,
+                        st,
+                        startedAtNanos,
+                        end,
+                        success,
+                        error
+                );
+                metric.setTtfbMicros(micros(body.headersAtNanos() - sentAtNanos));
+                metric.setDownloadMicros(micros(body.completedAtNanos() - body.headersAtNanos()));
+                metric.setConnectionReused(ctx.getConnectionReused());
+                recorder.record(metric);
+
+                // If HTTP error or failed validation → stop only this iteration, not the whole VU
+                if (!success) {
+                    break;
+                }
+
+                // ---- Extraction rules (run only when successful)
+                if (!compiled.extraction().isEmpty()) {
+                    try {
+                        compiled.extraction().apply(body.text(charsetOf(response)), ctx);
+                    } catch (Exception e) {
+                        recorder.record(buildMetric(
+                                step,
+                                request,
+                                response,
+                                st,
+                                startedAtNanos,
+                                System.currentTimeMillis(),
+                                false,
+                                body.isTruncated() ? "body_too_large" : "extraction_error"
+                        ));
+                        // stop processing this step's rules, continue loop
+                    }
+                }
+
+            } catch (Exception e) {
+                // Network / timeout / TLS errors
+                long end = System.currentTimeMillis();
+
+                recorder.record(buildMetric(
+                        step,
+                        request,
+                        null,
+                        st,
+                        startedAtNanos,
+                        end,
+                        false,
+                        classifyError(e)
+                ));
+
+                // Stop this iteration but keep VU alive
+                break;
+            }
+
+            // ---- Think time
+            if (!compiled.thinkTime().isNone()
+                    && !pause(compiled.thinkTime().nextNanos(), step.getId(), recorder, stopped)) {
+                break;
+            }
+        }
+    }
+
+    /** Wait for all VUs to finish. */
+    public void awaitAll(List<Future<?>> futures) {
+        futures.forEach(f -> {
+            try { f.get(); }
+            catch (Exception ignored) {}
+        });
+    }
+
+    /**
+     * Parks the current thread until the absolute {@code System.nanoTime()} deadline.
+     * Deadlines are absolute, so oversleeping once never shifts later deadlines.
+     * Returns false if the stop flag was raised while waiting; long waits are cut into
+     * slices so a raised flag is noticed within {@link #MAX_PARK_NANOS}.
+     */
+    public boolean parkUntil(long deadlineNanos, AtomicBoolean stopFlag) {
+        return parkUntil(deadlineNanos, stopFlag::get);
+    }
+
+    /** Same, waking early when either the run or the phase is stopped. */
+    public boolean parkUntil(long deadlineNanos, AtomicBoolean stopFlag, AtomicBoolean phaseStopFlag) {
+        return parkUntil(deadlineNanos, () -> stopFlag.get() || phaseStopFlag.get());
+    }
+
+    private static boolean parkUntil(long deadlineNanos, BooleanSupplier stopped) {
+        while (!stopped.getAsBoolean()) {
+            long remaining = deadlineNanos - System.nanoTime();
+            if (remaining <= 0) return true;
+            LockSupport.parkNanos(Math.min(remaining, MAX_PARK_NANOS));
+        }
+        return false;
+    }
+
+    /**
+     * Puts this iteration's data rows into the context before the first step.
+     * A row that cannot be read fails the iteration against its first step.
+     */
+    private boolean feed(CompiledScenario scenario, ExecutionContext ctx, MetricsRecorder recorder) {
+        if (scenario.getFeeders().isEmpty()) return true;
+        try {
+            for (CompiledFeeder feeder : scenario.getFeeders()) {
+                feeder.feed(ctx);
+            }
+            return true;
+        } catch (Exception e) {
+            log.debug("Data feeder failed: {}", e.getMessage());
+            if (!scenario.getSteps().isEmpty()) {
+                long now = System.currentTimeMillis();
+                recorder.record(buildMetric(scenario.getSteps().getFirst().step(), null, null,
+                        now, System.nanoTime(), now, false, "feeder_error"));
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Deliberate wait (think time or pacing) that parks the virtual thread, leaving its
+     * carrier free for other users. The time actually waited goes to the recorder as a
+     * pause, never as latency. Returns false if the stop flag cut the wait short.
+     */
+    private boolean pause(long nanos, String stepId, MetricsRecorder recorder, BooleanSupplier stopped) {
+        if (nanos <= 0) return true;
+        long from = System.nanoTime();
+        boolean completed = parkUntil(from + nanos, stopped);
+        recorder.recordPause(stepId, micros(System.nanoTime() - from));
+        return completed;
+    }
+
+    /** Build RequestMetrics; byte counts are real body bytes, not chars. */
+    private RequestMetrics buildMetric(RequestStep step,
+                                      HttpRequest request,
+                                      HttpResponse<ResponseBody> response,
+                                      long start,
+                                      long startedAtNanos,
+                                      long end,
+                                      boolean success,
+                                      String errorType) {
+
+        return RequestMetrics.builder()
+                .stepId(step.getId())
+                .startTimeMs(start)
+                .startNanos(EPOCH_NANOS_OFFSET + startedAtNanos)
+                .endTimeMs(end)
+                .statusCode(response != null ? response.statusCode() : 0)
+                .success(success)
+                .errorType(errorType)
+                .latencyMs(end - start)
+                .bytesSent(request != null ? bytesSent(request) : 0)
+                .bytesReceived(response != null ? response.body().received() : 0)
+                .build();
+    }
+
+    private static long epochNanos(Instant instant) {
+        return TimeUnit.SECONDS.toNanos(instant.getEpochSecond()) + instant.getNano();
+    }
+
+    private static long micros(long nanos) {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    private static long bytesSent(HttpRequest request) {
+        // the publisher knows the encoded length of the resolved body
+        return request.bodyPublisher()
+                .map(HttpRequest.BodyPublisher::contentLength)
+                .filter(length -> length > 0)
+                .orElse(0L);
+    }
+
+    /** Charset of the response's Content-Type, UTF-8 if none is given. */
+    static Charset charsetOf(HttpResponse<?> response) {
+        String contentType = response.headers().firstValue("Content-Type").orElse(null);
+        if (contentType != null) {
+            for (String param : contentType.split(";")) {
+                String p = param.trim();
+                if (p.regionMatches(true, 0, "charset=", 0, 8)) {
+                    try {
+                        return Charset.forName(p.substring(8).replace("\"", ""));
+                    } catch (IllegalArgumentException ignored) {
+                        // unknown charset: keep UTF-8, like HttpClient does
+                    }
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    private String classifyError(Exception e) {
+        String msg = e.getMessage();
+        if (msg == null) return "unknown_error";
+        if (msg.contains("timeout")) return "timeout";
+        if (msg.contains("Connection")) return "connection_error";
+        return "request_error";
+    }
+}
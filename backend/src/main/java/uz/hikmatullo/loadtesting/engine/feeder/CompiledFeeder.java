@@ -0,0 +1,72 @@
+package uz.hikmatullo.loadtesting.engine.feeder;
+
+import lombok.extern.slf4j.Slf4j;
+import uz.hikmatullo.loadtesting.engine.context.ExecutionContext;
+import uz.hikmatullo.loadtesting.model.entity.DataFeeder;
+import uz.hikmatullo.loadtesting.model.entity.DataFile;
+import uz.hikmatullo.loadtesting.model.enums.FeederStrategy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A DataFeeder opened for one run: picks a row per iteration or per VU and puts its
+ * values into the context's variables, where {{var}} placeholders find them.
+ * The row cursor is shared by all VUs of the run, so SEQUENTIAL and UNIQUE_PER_VU
+ * never hand the same row out twice before the file wraps around.
+ */
+@Slf4j
+public final class CompiledFeeder {
+
+    private final MappedRows rows;
+    private final FeederStrategy strategy;
+    private final String name;
+    private final AtomicLong cursor = new AtomicLong();
+    private final AtomicBoolean wrapped = new AtomicBoolean();
+
+    CompiledFeeder(MappedRows rows, FeederStrategy strategy, String name) {
+        if (rows.size() == 0) {
+            throw new IllegalStateException("Data file " + name + " has no rows");
+        }
+        this.rows = rows;
+        this.strategy = strategy == null ? FeederStrategy.SEQUENTIAL : strategy;
+        this.name = name;
+    }
+
+    public static CompiledFeeder open(DataFeeder feeder) {
+        DataFile file = feeder.getFile();
+        if (file == null) {
+            throw new IllegalStateException("Data file " + feeder.getFileId() + " is not attached to the test");
+        }
+        try {
+            MappedRows rows = MappedRows.open(Path.of(file.getDataPath()), Path.of(file.getIndexPath()),
+                    file.getFormat(), file.getColumns());
+            return new CompiledFeeder(rows, feeder.getStrategy(), file.getName());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open data file " + file.getName(), e);
+        }
+    }
+
+    /** Called at the start of every iteration. */
+    public void feed(ExecutionContext ctx) {
+        switch (strategy) {
+            case SEQUENTIAL -> ctx.getVariables().putAll(rows.row(next()));
+            case RANDOM -> ctx.getVariables().putAll(rows.row(ThreadLocalRandom.current().nextLong(rows.size())));
+            case UNIQUE_PER_VU -> {
+                if (ctx.markFed(this)) ctx.getVariables().putAll(rows.row(next()));
+            }
+        }
+    }
+
+    private long next() {
+        long n = cursor.getAndIncrement();
+        if (n == rows.size() && strategy == FeederStrategy.UNIQUE_PER_VU && wrapped.compareAndSet(false, true)) {
+            log.warn("Data file {} has {} rows but more VUs were started; rows are reused from now on", name, rows.size());
+        }
+        return n % rows.size();
+    }
+}
@@ -0,0 +1,108 @@
+package uz.hikmatullo.loadtesting.engine.feeder;
+
+import uz.hikmatullo.loadtesting.model.enums.DataFileFormat;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the row index of an uploaded data file in one streaming pass.
+ * - The index is a file of big-endian longs: the start offset of every row, then the
+ *   file size, so row i spans [offset(i), offset(i + 1)) and is read straight from disk
+ * - Blank lines are skipped; a CSV header line is not a row
+ * - CSV line breaks inside quoted fields do not end a row
+ * - Only the first line is kept in memory (header or first JSON object), never the rows
+ * Throws IllegalArgumentException when the content does not fit the format.
+ */
+public final class DataFileIndexer {
+
+    // a header or first JSON row longer than this is not a data file we can use
+    static final int MAX_FIRST_LINE = 1 << 20;
+
+    private static final int BUFFER = 1 << 16;
+
+    public record Result(long rows, List<String> columns) {}
+
+    private DataFileIndexer() {}
+
+    public static Result index(Path data, Path index, DataFileFormat format) throws IOException {
+        boolean csv = format == DataFileFormat.CSV;
+
+        ByteArrayOutputStream firstLine = new ByteArrayOutputStream();
+        boolean capturing = true;
+        long rows = 0;
+
+        try (InputStream in = Files.newInputStream(data);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(index), BUFFER))) {
+
+            byte[] buffer = new byte[BUFFER];
+            long pos = 0;
+            long lineStart = 0;
+            boolean quoted = false;
+            boolean blank = true;
+            boolean headerPending = csv;
+
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                for (int i = 0; i < n; i++, pos++) {
+                    byte b = buffer[i];
+                    if (b == '"' && csv) quoted = !quoted;
+
+                    if (b == '\n' && !quoted) {
+                        if (!blank) {
+                            if (headerPending) {
+                                headerPending = false;
+                            } else {
+                                out.writeLong(lineStart);
+                                rows++;
+                            }
+                            capturing = false;
+                        }
+                        lineStart = pos + 1;
+                        blank = true;
+                        continue;
+                    }
+                    if (b != '\r' && b != ' ' && b != '\t') blank = false;
+
+                    if (capturing && !blank) {
+                        if (firstLine.size() >= MAX_FIRST_LINE) {
+                            throw new IllegalArgumentException("First line is longer than " + MAX_FIRST_LINE + " bytes");
+                        }
+                        firstLine.write(b);
+                    }
+                }
+            }
+            if (!blank) {
+                if (!headerPending) {
+                    out.writeLong(lineStart);
+                    rows++;
+                }
+                headerPending = false;
+            }
+            if (csv && headerPending) {
+                throw new IllegalArgumentException("CSV file has no header line");
+            }
+            out.writeLong(pos);
+        }
+
+        String first = firstLine.toString(StandardCharsets.UTF_8).strip();
+        List<String> columns;
+        if (csv) {
+            columns = RowParser.csvFields(first);
+            for (String column : columns) {
+                if (column.isBlank()) {
+                    throw new IllegalArgumentException("CSV header has an empty column name");
+                }
+            }
+        } else if (first.isEmpty()) {
+            columns = List.of();
+        } else {
+            columns = new ArrayList<>(RowParser.jsonRow(first).keySet());
+        }
+        return new Result(rows, List.copyOf(columns));
+    }
+}
@@ -0,0 +1,122 @@
+package uz.hikmatullo.loadtesting.engine.feeder;
+
+import uz.hikmatullo.loadtesting.model.enums.DataFileFormat;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Random access to the rows of an indexed data file (see {@link DataFileIndexer}).
+ * - Data and index are memory-mapped read-only, so a file of millions of rows costs
+ *   page cache, not heap; the OS loads only the pages that are actually read
+ * - Files larger than 2 GB are mapped in 1 GB chunks; a row may span two chunks
+ * - Only absolute reads are used, so one instance is safe to share between all VUs
+ */
+public final class MappedRows {
+
+    static final int CHUNK_BITS = 30;
+    private static final long CHUNK = 1L << CHUNK_BITS;
+
+    private final MappedByteBuffer[] data;
+    private final MappedByteBuffer[] index;
+    private final long rows;
+    private final DataFileFormat format;
+    private final String[] columns;
+
+    private MappedRows(MappedByteBuffer[] data, MappedByteBuffer[] index, long rows,
+                       DataFileFormat format, List<String> columns) {
+        this.data = data;
+        this.index = index;
+        this.rows = rows;
+        this.format = format;
+        this.columns = columns == null ? new String[0] : columns.toArray(String[]::new);
+    }
+
+    /**
+     * @param columns CSV header as found by the indexer; ignored for JSONL
+     */
+    public static MappedRows open(Path data, Path index, DataFileFormat format, List<String> columns)
+            throws IOException {
+        MappedByteBuffer[] indexChunks = map(index);
+        long indexSize = size(indexChunks);
+        if (indexSize < Long.BYTES || indexSize % Long.BYTES != 0) {
+            throw new IOException("Corrupt row index " + index);
+        }
+        return new MappedRows(map(data), indexChunks, indexSize / Long.BYTES - 1, format, columns);
+    }
+
+    public long size() {
+        return rows;
+    }
+
+    /** Variables of row {@code i}, keyed by column name (CSV) or JSON key (JSONL). */
+    public Map<String, Object> row(long i) {
+        if (i < 0 || i >= rows) {
+            throw new IndexOutOfBoundsException("Row " + i + " of " + rows);
+        }
+        long start = offset(i);
+        long length = offset(i + 1) - start;
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Row " + i + " is larger than 2 GB");
+        }
+        byte[] bytes = new byte[(int) length];
+        read(start, bytes);
+        // the slice ends where the next row starts: drop the line break and blank lines before it
+        String line = new String(bytes, StandardCharsets.UTF_8).stripTrailing();
+
+        if (format == DataFileFormat.JSONL) {
+            return RowParser.jsonRow(line);
+        }
+        List<String> fields = RowParser.csvFields(line);
+        Map<String, Object> row = new HashMap<>(columns.length * 2);
+        for (int c = 0; c < columns.length; c++) {
+            row.put(columns[c], c < fields.size() ? fields.get(c) : "");
+        }
+        return row;
+    }
+
+    private long offset(long i) {
+        long pos = i * Long.BYTES;
+        // chunks are a multiple of 8 bytes, so a long never spans two of them
+        return index[(int) (pos >>> CHUNK_BITS)].getLong((int) (pos & (CHUNK - 1)));
+    }
+
+    private void read(long pos, byte[] into) {
+        int done = 0;
+        while (done < into.length) {
+            MappedByteBuffer chunk = data[(int) (pos >>> CHUNK_BITS)];
+            int at = (int) (pos & (CHUNK - 1));
+            int n = Math.min(into.length - done, chunk.capacity() - at);
+            chunk.get(at, into, done, n);
+            done += n;
+            pos += n;
+        }
+    }
+
+    private static MappedByteBuffer[] map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int count = (int) Math.max(1, (size + CHUNK - 1) >>> CHUNK_BITS);
+            MappedByteBuffer[] chunks = new MappedByteBuffer[count];
+            for (int c = 0; c < count; c++) {
+                long from = c * CHUNK;
+                chunks[c] = channel.map(FileChannel.MapMode.READ_ONLY, from, Math.min(CHUNK, size - from));
+            }
+            // the mapping stays valid after the channel is closed
+            return chunks;
+        }
+    }
+
+    private static long size(MappedByteBuffer[] chunks) {
+        long size = 0;
+        for (MappedByteBuffer chunk : chunks) size += chunk.capacity();
+        return size;
+    }
+}
@@ -0,0 +1,82 @@
+package uz.hikmatullo.loadtesting.engine.feeder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns one line of a data file into values.
+ * - CSV: comma separated, fields may be quoted with "..." and "" is a literal quote
+ * - JSONL: one JSON object; scalars keep their JSON type, nested objects and arrays
+ *   stay JSON text so they can be pasted into a request body as they are
+ * A leading byte order mark is ignored.
+ */
+final class RowParser {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final TypeReference<LinkedHashMap<String, Object>> OBJECT = new TypeReference<>() {};
+
+    private RowParser() {}
+
+    static List<String> csvFields(String line) {
+        line = withoutBom(line);
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    static Map<String, Object> jsonRow(String line) {
+        Map<String, Object> row;
+        try {
+            row = JSON.readValue(withoutBom(line), OBJECT);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Line is not a JSON object: " + e.getOriginalMessage());
+        }
+        if (row == null) {
+            throw new IllegalArgumentException("Line is not a JSON object");
+        }
+        for (Map.Entry<String, Object> entry : row.entrySet()) {
+            Object value = entry.getValue();
+            if (value instanceof Map || value instanceof List) {
+                try {
+                    entry.setValue(JSON.writeValueAsString(value));
+                } catch (JsonProcessingException e) {
+                    throw new IllegalArgumentException("Cannot write back nested value of " + entry.getKey());
+                }
+            }
+        }
+        return row;
+    }
+
+    private static String withoutBom(String s) {
+        return !s.isEmpty() && s.charAt(0) == '\uFEFF' ? s.substring(1) : s;
+    }
+}
@@ -0,0 +1,28 @@
+package uz.hikmatullo.loadtesting.engine.recorder;
+
+import uz.hikmatullo.loadtesting.model.entity.metrics.RequestMetrics;
+
+/**
+ * Sink for per-request metrics produced by executors.
+ * Implementations must allow {@link #record} to be called concurrently
+ * from any number of virtual users.
+ */
+public interface MetricsRecorder {
+
+    void record(RequestMetrics metric);
+
+    /** Number of samples recorded so far (may be approximate while recording). */
+    long count();
+
+    /** Called when a virtual user starts its loop; lets recorders track concurrency. */
+    default void onVirtualUserStarted() {}
+
+    /** Called when a virtual user leaves its loop. */
+    default void onVirtualUserStopped() {}
+
+    /**
+     * Called after a virtual user paused on purpose: think time after {@code stepId},
+     * or pacing between iterations when {@code stepId} is null.
+     */
+    default void recordPause(String stepId, long micros) {}
+}
@@ -0,0 +1,124 @@
+package uz.hikmatullo.loadtesting.engine.samples;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scans the raw samples a {@link RawSampleWriter} left in a directory.
+ * - Segments are mapped read-only; a scan reads straight from the page cache and
+ *   allocates nothing per row, so any aggregate can be recomputed for runs of any size
+ * - Works on a finished run and on one that died mid-run (unwritten rows are skipped)
+ */
+public final class RawSampleReader {
+
+    private final List<SampleSegment> segments;
+    private final long rows;
+    private final List<String> steps;
+    private final List<String> errors;
+
+    private RawSampleReader(List<SampleSegment> segments, long rows, List<String> steps, List<String> errors) {
+        this.segments = segments;
+        this.rows = rows;
+        this.steps = steps;
+        this.errors = errors;
+    }
+
+    public static RawSampleReader open(Path directory) throws IOException {
+        long rows;
+        List<String> steps;
+        List<String> errors;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                Files.newInputStream(directory.resolve(RawSampleWriter.META))))) {
+            if (in.readInt() != RawSampleWriter.META_MAGIC || in.readInt() != SampleSegment.VERSION) {
+                throw new IOException("Not a raw sample directory of version " + SampleSegment.VERSION + ": " + directory);
+            }
+            in.readInt();   // segment rows; each segment carries its own capacity
+            rows = in.readLong();
+            steps = readStrings(in);
+            errors = readStrings(in);
+        }
+
+        List<SampleSegment> segments = new ArrayList<>();
+        long capacity = 0;
+        Path file;
+        while (Files.exists(file = RawSampleWriter.segmentFile(directory, segments.size()))) {
+            SampleSegment segment = SampleSegment.open(file);
+            segments.add(segment);
+            capacity += segment.capacity();
+        }
+        // -1: the writer never closed, so every row that was mapped is a candidate
+        return new RawSampleReader(segments, rows < 0 ? capacity : Math.min(rows, capacity), steps, errors);
+    }
+
+    /** Upper bound of samples; rows that were never written are skipped by {@link #scan}. */
+    public long rows() {
+        return rows;
+    }
+
+    /** Calls the visitor for every written sample, in the order rows were claimed. */
+    public void scan(SampleVisitor visitor) {
+        long remaining = rows;
+        for (SampleSegment segment : segments) {
+            int n = (int) Math.min(remaining, segment.capacity());
+            for (int row = 0; row < n; row++) {
+                if (!segment.isWritten(row)) continue;
+                visitor.sample(segment.startNanos(row), segment.latencyMs(row), segment.stepIndex(row),
+                        segment.status(row), segment.errorCode(row), segment.bytes(row));
+            }
+            remaining -= n;
+            if (remaining == 0) break;
+        }
+    }
+
+    /** Writes every sample as one CSV line, with step ids and error types spelled out. */
+    public void exportCsv(Writer out) throws IOException {
+        out.write("start_nanos,step_id,status,error,latency_ms,bytes\n");
+        StringBuilder line = new StringBuilder(96);
+        IOException[] failure = new IOException[1];
+        scan((startNanos, latencyMs, stepIndex, status, errorCode, bytes) -> {
+            if (failure[0] != null) return;
+            line.setLength(0);
+            line.append(startNanos).append(',')
+                    .append(csv(stepId(stepIndex))).append(',')
+                    .append(status).append(',')
+                    .append(csv(error(errorCode))).append(',')
+                    .append(latencyMs).append(',')
+                    .append(bytes).append('\n');
+            try {
+                out.append(line);
+            } catch (IOException e) {
+                failure[0] = e;
+            }
+        });
+        if (failure[0] != null) throw failure[0];
+        out.flush();
+    }
+
+    private static String csv(String value) {
+        if (value == null) return "";
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) return value;
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /** Step id of a step index, null for -1 (a sample without a step). */
+    public String stepId(int stepIndex) {
+        return stepIndex >= 0 && stepIndex < steps.size() ? steps.get(stepIndex) : null;
+    }
+
+    /** Error type of an error code, null for 0 (success). */
+    public String error(int errorCode) {
+        return errorCode > 0 && errorCode <= errors.size() ? errors.get(errorCode - 1) : null;
+    }
+
+    private static List<String> readStrings(DataInputStream in) throws IOException {
+        int n = in.readInt();
+        List<String> values = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            values.add(in.readUTF());
+        }
+        return List.copyOf(values);
+    }
+}
@@ -0,0 +1,202 @@
+package uz.hikmatullo.loadtesting.engine.samples;
+
+import lombok.extern.slf4j.Slf4j;
+import uz.hikmatullo.loadtesting.model.entity.metrics.RequestMetrics;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Spills every raw sample of a run to memory-mapped {@link SampleSegment}s in one directory.
+ * - append() claims a row with one atomic increment and writes it with absolute puts,
+ *   so any number of virtual users write in parallel and nothing is kept on the heap
+ * - A new segment is mapped when the previous one is full; rows past maxRows are dropped
+ *   and counted, so a runaway test cannot fill the disk
+ * - Step ids and error types are stored as small codes; their dictionaries go to
+ *   {@code samples.meta}, rewritten whenever a new entry appears, so the files stay
+ *   readable even if the process dies mid-run
+ * - An I/O error disables the writer (logged once) rather than failing requests
+ */
+@Slf4j
+public final class RawSampleWriter implements Closeable {
+
+    public static final int DEFAULT_SEGMENT_ROWS = 1 << 20;
+
+    static final String META = "samples.meta";
+    static final int META_MAGIC = 0x4C54534D;   // "LTSM"
+
+    // step indexes are signed shorts (-1 = no step); error codes unsigned with 0 = no error
+    private static final int MAX_STEPS = Short.MAX_VALUE;
+    private static final int MAX_ERRORS = 0xFFFF - 1;
+    private static final String OTHER_ERROR = "other";
+
+    private final Path directory;
+    private final int segmentRows;
+    private final long maxRows;
+
+    private final AtomicLong next = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final List<SampleSegment> segments = new CopyOnWriteArrayList<>();
+
+    private final Map<String, Integer> stepCodes = new ConcurrentHashMap<>();
+    private final List<String> steps = new CopyOnWriteArrayList<>();
+    private final Map<String, Integer> errorCodes = new ConcurrentHashMap<>();
+    private final List<String> errors = new CopyOnWriteArrayList<>();
+
+    private volatile boolean closed;
+
+    private RawSampleWriter(Path directory, int segmentRows, long maxRows) {
+        this.directory = directory;
+        this.segmentRows = segmentRows;
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * @param stepIds declared steps, so step indexes follow the scenario order
+     * @param maxRows samples beyond this many are dropped
+     */
+    public static RawSampleWriter open(Path directory, List<String> stepIds, int segmentRows, long maxRows)
+            throws IOException {
+        if (segmentRows <= 0 || SampleSegment.fileSize(segmentRows) > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("segmentRows must be between 1 and "
+                    + (Integer.MAX_VALUE - SampleSegment.HEADER) / SampleSegment.ROW_BYTES);
+        }
+        Files.createDirectories(directory);
+        RawSampleWriter writer = new RawSampleWriter(directory, segmentRows, Math.max(0, maxRows));
+        for (String stepId : stepIds) {
+            writer.stepCodes.computeIfAbsent(stepId, id -> {
+                writer.steps.add(id);
+                return writer.steps.size() - 1;
+            });
+        }
+        writer.writeMeta(-1);
+        return writer;
+    }
+
+    public void append(RequestMetrics m) {
+        if (m == null || closed) return;
+
+        long row = next.getAndIncrement();
+        if (row >= maxRows) {
+            dropped.incrementAndGet();
+            return;
+        }
+        SampleSegment segment = segment((int) (row / segmentRows));
+        if (segment == null) return;
+
+        segment.write((int) (row % segmentRows),
+                m.getStartNanos(),
+                m.getBytesReceived(),
+                (int) Math.min(Integer.MAX_VALUE, Math.max(0, m.getLatencyMs())),
+                stepCode(m.getStepId()),
+                m.getStatusCode(),
+                errorCode(m.getErrorType()));
+    }
+
+    /** Samples written so far. */
+    public long rows() {
+        return Math.min(next.get(), maxRows);
+    }
+
+    public long dropped() {
+        return dropped.get();
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        for (SampleSegment segment : segments) {
+            segment.force();
+        }
+        writeMeta(rows());
+        if (dropped.get() > 0) {
+            log.warn("{} raw samples over the limit of {} were not written to {}", dropped.get(), maxRows, directory);
+        }
+    }
+
+    private SampleSegment segment(int number) {
+        if (number < segments.size()) return segments.get(number);
+        synchronized (this) {
+            try {
+                while (!closed && segments.size() <= number) {
+                    segments.add(SampleSegment.create(segmentFile(directory, segments.size()), segmentRows));
+                }
+            } catch (IOException e) {
+                log.warn("Raw samples disabled, cannot map a segment in {}: {}", directory, e.getMessage());
+                closed = true;
+            }
+            return number < segments.size() ? segments.get(number) : null;
+        }
+    }
+
+    private int stepCode(String stepId) {
+        if (stepId == null) return -1;
+        Integer code = stepCodes.get(stepId);
+        return code != null ? code : newCode(stepCodes, steps, stepId, 0, MAX_STEPS, null);
+    }
+
+    private int errorCode(String errorType) {
+        if (errorType == null) return 0;
+        Integer code = errorCodes.get(errorType);
+        return code != null ? code : newCode(errorCodes, errors, errorType, 1, MAX_ERRORS, OTHER_ERROR);
+    }
+
+    /** Adds a dictionary entry; when full, maps to {@code overflow} (or -1 when there is none). */
+    private synchronized int newCode(Map<String, Integer> codes, List<String> dictionary, String key,
+                                     int first, int limit, String overflow) {
+        Integer code = codes.get(key);
+        if (code != null) return code;
+        if (dictionary.size() >= limit - 1) {
+            if (overflow == null) return -1;
+            key = overflow;
+            code = codes.get(key);
+            if (code != null) return code;
+        }
+        dictionary.add(key);
+        code = dictionary.size() - 1 + first;
+        codes.put(key, code);
+        try {
+            writeMeta(-1);
+        } catch (IOException e) {
+            log.warn("Cannot update {} in {}: {}", META, directory, e.getMessage());
+        }
+        return code;
+    }
+
+    /** @param rows final row count, or -1 while the run is still writing */
+    private synchronized void writeMeta(long rows) throws IOException {
+        Path tmp = directory.resolve(META + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(META_MAGIC);
+            out.writeInt(SampleSegment.VERSION);
+            out.writeInt(segmentRows);
+            out.writeLong(rows);
+            writeStrings(out, steps);
+            writeStrings(out, errors);
+        }
+        Files.move(tmp, directory.resolve(META), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            out.writeUTF(value);
+        }
+    }
+
+    static Path segmentFile(Path directory, int number) {
+        return directory.resolve(String.format("segment-%05d.col", number));
+    }
+}
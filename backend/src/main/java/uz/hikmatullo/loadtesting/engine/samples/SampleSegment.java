@@ -0,0 +1,124 @@
+package uz.hikmatullo.loadtesting.engine.samples;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * One memory-mapped file of raw samples, laid out column by column.
+ * - A header, then one fixed-width array per column, each {@code capacity} rows long:
+ *   startNanos (long), bytes (long), latencyMs (int), stepIndex, status and errorCode (short),
+ *   written (byte)
+ * - Row i of a column lives at a fixed offset, so writers fill different rows in parallel
+ *   with absolute puts and a reader scanning one column touches only that column's pages
+ * - The file is created at full size; pages never written stay sparse on disk
+ * - startNanos is epoch nanoseconds, 0 when the sample did not carry one
+ * - A row whose written byte is 0 was never written
+ */
+final class SampleSegment {
+
+    static final int MAGIC = 0x4C545347;   // "LTSG"
+    static final int VERSION = 1;
+    static final int HEADER = 64;
+
+    // columns are laid out widest first, so every column starts aligned to its width
+    static final int ROW_BYTES = Long.BYTES * 2 + Integer.BYTES + Short.BYTES * 3 + Byte.BYTES;
+
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+
+    private final int bytesAt;
+    private final int latencyAt;
+    private final int stepAt;
+    private final int statusAt;
+    private final int errorAt;
+    private final int writtenAt;
+
+    private SampleSegment(MappedByteBuffer buffer, int capacity) {
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.bytesAt = HEADER + capacity * Long.BYTES;
+        this.latencyAt = bytesAt + capacity * Long.BYTES;
+        this.stepAt = latencyAt + capacity * Integer.BYTES;
+        this.statusAt = stepAt + capacity * Short.BYTES;
+        this.errorAt = statusAt + capacity * Short.BYTES;
+        this.writtenAt = errorAt + capacity * Short.BYTES;
+    }
+
+    static long fileSize(int capacity) {
+        return HEADER + (long) capacity * ROW_BYTES;
+    }
+
+    static SampleSegment create(Path file, int capacity) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize(capacity));
+            buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, capacity);
+            return new SampleSegment(buffer, capacity);
+        }
+    }
+
+    static SampleSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER) {
+                throw new IOException("Not a sample segment: " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int capacity = buffer.getInt(8);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                    || capacity <= 0 || channel.size() != fileSize(capacity)) {
+                throw new IOException("Not a sample segment of version " + VERSION + ": " + file);
+            }
+            return new SampleSegment(buffer, capacity);
+        }
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    void write(int row, long startNanos, long bytes, int latencyMs, int stepIndex, int status, int errorCode) {
+        buffer.putLong(bytesAt + row * Long.BYTES, bytes);
+        buffer.putInt(latencyAt + row * Integer.BYTES, latencyMs);
+        buffer.putShort(stepAt + row * Short.BYTES, (short) stepIndex);
+        buffer.putShort(statusAt + row * Short.BYTES, (short) status);
+        buffer.putShort(errorAt + row * Short.BYTES, (short) errorCode);
+        buffer.putLong(HEADER + row * Long.BYTES, startNanos);
+        // written last: marks the row as complete
+        buffer.put(writtenAt + row, (byte) 1);
+    }
+
+    boolean isWritten(int row) {
+        return buffer.get(writtenAt + row) != 0;
+    }
+
+    long startNanos(int row) {
+        return buffer.getLong(HEADER + row * Long.BYTES);
+    }
+
+    long bytes(int row) {
+        return buffer.getLong(bytesAt + row * Long.BYTES);
+    }
+
+    int latencyMs(int row) {
+        return buffer.getInt(latencyAt + row * Integer.BYTES);
+    }
+
+    int stepIndex(int row) {
+        return buffer.getShort(stepAt + row * Short.BYTES);
+    }
+
+    int status(int row) {
+        return Short.toUnsignedInt(buffer.getShort(statusAt + row * Short.BYTES));
+    }
+
+    int errorCode(int row) {
+        return Short.toUnsignedInt(buffer.getShort(errorAt + row * Short.BYTES));
+    }
+
+    void force() {
+        buffer.force();
+    }
+}
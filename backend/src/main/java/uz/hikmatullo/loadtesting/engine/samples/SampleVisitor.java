@@ -0,0 +1,12 @@
+package uz.hikmatullo.loadtesting.engine.samples;
+
+/**
+ * Receives raw samples one by one as primitives, so a scan allocates nothing per row.
+ * Step and error are indexes into the reader's dictionaries; errorCode 0 means no error.
+ * startNanos is the epoch nanosecond the request started, 0 if the sample did not carry one.
+ */
+@FunctionalInterface
+public interface SampleVisitor {
+
+    void sample(long startNanos, int latencyMs, int stepIndex, int status, int errorCode, long bytes);
+}
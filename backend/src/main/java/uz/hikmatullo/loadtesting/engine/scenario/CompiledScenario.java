@@ -0,0 +1,57 @@
+package uz.hikmatullo.loadtesting.engine.scenario;
+
+import lombok.Getter;
+import uz.hikmatullo.loadtesting.engine.feeder.CompiledFeeder;
+import uz.hikmatullo.loadtesting.model.entity.DataFeeder;
+import uz.hikmatullo.loadtesting.model.entity.LoadTest;
+import uz.hikmatullo.loadtesting.model.entity.RequestStep;
+import uz.hikmatullo.loadtesting.util.ResponseValidator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A LoadTest compiled once per run and shared by all of its virtual users.
+ * Per-request work that depends only on the test definition belongs here,
+ * not in the iteration loop.
+ */
+@Getter
+public class CompiledScenario {
+
+    private final LoadTest loadTest;
+    private final List<CompiledStep> steps;
+    private final ResponseValidator validator;
+    private final List<CompiledFeeder> feeders;
+
+    // target iteration duration for closed-model loops (0 = no pacing)
+    private final long pacingNanos;
+
+    private CompiledScenario(LoadTest loadTest, List<CompiledStep> steps, ResponseValidator validator,
+                             List<CompiledFeeder> feeders, long pacingNanos) {
+        this.loadTest = loadTest;
+        this.steps = steps;
+        this.validator = validator;
+        this.feeders = feeders;
+        this.pacingNanos = pacingNanos;
+    }
+
+    public static CompiledScenario compile(LoadTest loadTest) {
+        List<RequestStep> source = loadTest.getSteps() == null ? List.of() : loadTest.getSteps();
+        ResponseValidator validator = ResponseValidator.compile(loadTest.getValidationRules());
+        List<CompiledStep> steps = new ArrayList<>(source.size());
+        for (RequestStep step : source) {
+            steps.add(CompiledStep.compile(step, validator.readsBody()));
+        }
+        List<CompiledFeeder> feeders = new ArrayList<>();
+        if (loadTest.getFeeders() != null) {
+            for (DataFeeder feeder : loadTest.getFeeders()) {
+                feeders.add(CompiledFeeder.open(feeder));
+            }
+        }
+        long pacingNanos = loadTest.getProfile() == null
+                ? 0
+                : TimeUnit.MILLISECONDS.toNanos(Math.max(0, loadTest.getProfile().getPacingMs()));
+        return new CompiledScenario(loadTest, List.copyOf(steps), validator, List.copyOf(feeders), pacingNanos);
+    }
+}
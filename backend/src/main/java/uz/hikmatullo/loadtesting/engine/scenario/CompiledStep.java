@@ -0,0 +1,35 @@
+package uz.hikmatullo.loadtesting.engine.scenario;
+
+import uz.hikmatullo.loadtesting.engine.context.BodyMode;
+import uz.hikmatullo.loadtesting.model.entity.RequestStep;
+import uz.hikmatullo.loadtesting.util.ExtractionPlan;
+import uz.hikmatullo.loadtesting.util.RequestTemplate;
+
+/**
+ * A RequestStep together with everything precompiled for it.
+ */
+public record CompiledStep(
+        RequestStep step,
+        RequestTemplate request,
+        ExtractionPlan extraction,
+        BodyMode bodyMode,
+        ThinkTimeSampler thinkTime
+) {
+    public static CompiledStep compile(RequestStep step) {
+        return compile(step, false);
+    }
+
+    /**
+     * @param validationReadsBody whether the test's validation rules look at response bodies
+     */
+    public static CompiledStep compile(RequestStep step, boolean validationReadsBody) {
+        ExtractionPlan extraction = ExtractionPlan.compile(step == null ? null : step.getExtractionRules());
+        return new CompiledStep(
+                step,
+                RequestTemplate.compile(step),
+                extraction,
+                validationReadsBody || !extraction.isEmpty() ? BodyMode.CAPTURE : BodyMode.DISCARD,
+                ThinkTimeSampler.compile(step == null ? null : step.getThinkTime())
+        );
+    }
+}
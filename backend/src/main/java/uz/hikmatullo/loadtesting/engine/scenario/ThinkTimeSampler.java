@@ -0,0 +1,70 @@
+package uz.hikmatullo.loadtesting.engine.scenario;
+
+import uz.hikmatullo.loadtesting.model.entity.ThinkTime;
+import uz.hikmatullo.loadtesting.model.enums.ThinkTimeType;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Think time of one step, converted to nanoseconds once per test.
+ * - Each call draws a fresh pause from the step's distribution
+ * - Uses ThreadLocalRandom, so thousands of virtual users never contend on one generator
+ * Safe to share between all virtual users of a test.
+ */
+public final class ThinkTimeSampler {
+
+    public static final ThinkTimeSampler NONE = new ThinkTimeSampler(ThinkTimeType.FIXED, 0, 0, 0);
+
+    private final ThinkTimeType type;
+    private final long durationNanos;   // FIXED pause or EXPONENTIAL mean
+    private final long minNanos;
+    private final long maxNanos;        // UNIFORM upper bound or EXPONENTIAL cap (0 = none)
+
+    private ThinkTimeSampler(ThinkTimeType type, long durationNanos, long minNanos, long maxNanos) {
+        this.type = type;
+        this.durationNanos = durationNanos;
+        this.minNanos = minNanos;
+        this.maxNanos = maxNanos;
+    }
+
+    public static ThinkTimeSampler compile(ThinkTime thinkTime) {
+        if (thinkTime == null || thinkTime.getType() == null) return NONE;
+
+        ThinkTimeSampler sampler = new ThinkTimeSampler(
+                thinkTime.getType(),
+                nanos(thinkTime.getDurationMs()),
+                nanos(thinkTime.getMinMs()),
+                nanos(thinkTime.getMaxMs())
+        );
+        return sampler.isNone() ? NONE : sampler;
+    }
+
+    /** True when this step never pauses. */
+    public boolean isNone() {
+        return switch (type) {
+            case FIXED, EXPONENTIAL -> durationNanos == 0;
+            case UNIFORM -> maxNanos == 0;
+        };
+    }
+
+    /** Next pause in nanoseconds; 0 means "go on immediately". */
+    public long nextNanos() {
+        return switch (type) {
+            case FIXED -> durationNanos;
+            case UNIFORM -> maxNanos <= minNanos
+                    ? minNanos
+                    : ThreadLocalRandom.current().nextLong(minNanos, maxNanos + 1);
+            case EXPONENTIAL -> {
+                if (durationNanos == 0) yield 0;
+                // inverse CDF; 1 - nextDouble() is in (0, 1], so the log is finite
+                long pause = (long) (-durationNanos * Math.log(1 - ThreadLocalRandom.current().nextDouble()));
+                yield maxNanos > 0 ? Math.min(pause, maxNanos) : pause;
+            }
+        };
+    }
+
+    private static long nanos(int ms) {
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, ms));
+    }
+}
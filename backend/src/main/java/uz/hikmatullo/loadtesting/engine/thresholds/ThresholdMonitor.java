@@ -0,0 +1,234 @@
+package uz.hikmatullo.loadtesting.engine.thresholds;
+
+import lombok.extern.slf4j.Slf4j;
+import uz.hikmatullo.loadtesting.engine.aggregator.IncrementalMetricsAggregator;
+import uz.hikmatullo.loadtesting.engine.aggregator.WindowCounts;
+import uz.hikmatullo.loadtesting.model.entity.RequestStep;
+import uz.hikmatullo.loadtesting.model.entity.Threshold;
+import uz.hikmatullo.loadtesting.model.entity.metrics.MetricsAccumulator;
+import uz.hikmatullo.loadtesting.model.entity.metrics.ThresholdResult;
+import uz.hikmatullo.loadtesting.model.entity.metrics.ThresholdVerdict;
+import uz.hikmatullo.loadtesting.model.enums.ThresholdMetric;
+import uz.hikmatullo.loadtesting.model.enums.ThresholdOperator;
+import uz.hikmatullo.loadtesting.util.LatencyHistogram;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Checks a test's thresholds against its {@link IncrementalMetricsAggregator} while it runs.
+ * - Whole-run thresholds read the accumulators as they are; they pass or fail on the final value
+ * - Windowed thresholds subtract the counts kept from windowSeconds ago (histograms included,
+ *   see {@link WindowCounts}); any window that breaks one fails it
+ * - Nothing is judged during graceSeconds; after that an abortOnFail threshold that breaks
+ *   raises the run's stop flag, so the executors wind down like on cancel
+ * - A metric with nothing to measure yet (no requests in the window) is skipped, not failed
+ * Evaluation costs O(histogram buckets) per scope and tick, independent of the request rate.
+ * One thread evaluates at a time; recording goes on concurrently.
+ */
+@Slf4j
+public final class ThresholdMonitor {
+
+    private static final class State {
+        final Threshold threshold;
+        final String stepId;   // null = global
+        final String description;
+        boolean failed;
+        Double lastValue;
+        Double worstValue;
+        Long firstFailedAtMs;
+
+        State(Threshold threshold, String stepId) {
+            this.threshold = threshold;
+            this.stepId = stepId;
+            this.description = describe(threshold);
+        }
+    }
+
+    private final IncrementalMetricsAggregator aggregator;
+    private final AtomicBoolean stopFlag;
+    private final long startedAtMs;
+    private final List<State> states = new ArrayList<>();
+
+    // stepId ("" = global) -> counts of earlier ticks, oldest first, for windowed thresholds
+    private final Map<String, ArrayDeque<WindowCounts>> history = new HashMap<>();
+    private final Map<String, Long> longestWindowMs = new HashMap<>();
+
+    private State aborting;
+
+    public ThresholdMonitor(List<Threshold> thresholds, List<RequestStep> steps,
+                            IncrementalMetricsAggregator aggregator, AtomicBoolean stopFlag, long startedAtMs) {
+        this.aggregator = aggregator;
+        this.stopFlag = stopFlag;
+        this.startedAtMs = startedAtMs;
+
+        Map<String, String> stepIds = new HashMap<>();
+        if (steps != null) {
+            for (RequestStep step : steps) stepIds.putIfAbsent(step.getName(), step.getId());
+        }
+        for (Threshold threshold : thresholds) {
+            String stepId = threshold.getStep() == null ? null : stepIds.get(threshold.getStep());
+            if (threshold.getStep() != null && stepId == null) {
+                throw new IllegalArgumentException("Threshold refers to unknown step " + threshold.getStep());
+            }
+            states.add(new State(threshold, stepId));
+            if (threshold.getWindowSeconds() > 0) {
+                longestWindowMs.merge(scope(stepId), threshold.getWindowSeconds() * 1000L, Math::max);
+            }
+        }
+    }
+
+    /** One evaluation tick; aborts the run when an abortOnFail threshold is broken. */
+    public synchronized void evaluate(long nowMs) {
+        Map<String, WindowCounts> current = new HashMap<>();
+        for (State state : states) {
+            long elapsedMs = nowMs - startedAtMs;
+            boolean afterGrace = elapsedMs >= state.threshold.getGraceSeconds() * 1000L;
+
+            WindowCounts now = current.computeIfAbsent(scope(state.stepId), s -> counts(state.stepId, nowMs));
+            Double value = value(state, now, nowMs);
+            state.lastValue = value;
+            if (value == null || !afterGrace) continue;
+
+            boolean holds = state.threshold.getOperator().holds(value, state.threshold.getValue());
+            state.worstValue = worse(state.threshold.getOperator(), state.worstValue, value);
+            if (holds) continue;
+
+            if (state.firstFailedAtMs == null) state.firstFailedAtMs = elapsedMs;
+            if (state.threshold.getWindowSeconds() > 0) state.failed = true;
+
+            if (state.threshold.isAbortOnFail() && aborting == null) {
+                aborting = state;
+                log.warn("Threshold {} broken ({}), aborting the run", state.description, value);
+                stopFlag.set(true);
+            }
+        }
+        remember(current);
+    }
+
+    /** Final judgement, after the run ended; includes one last evaluation at {@code finishedAtMs}. */
+    public synchronized ThresholdVerdict verdict(long finishedAtMs) {
+        evaluate(finishedAtMs);
+
+        List<ThresholdResult> results = new ArrayList<>();
+        boolean passed = true;
+        for (State state : states) {
+            boolean ok;
+            if (state.threshold.getWindowSeconds() > 0) {
+                ok = !state.failed;
+            } else {
+                ok = state.lastValue == null
+                        || state.threshold.getOperator().holds(state.lastValue, state.threshold.getValue());
+            }
+            // an aborted run never reached its end: the threshold that stopped it failed
+            if (state == aborting) ok = false;
+            passed &= ok;
+            results.add(ThresholdResult.builder()
+                    .threshold(state.description)
+                    .passed(ok)
+                    .lastValue(state.lastValue)
+                    .worstValue(state.worstValue)
+                    .firstFailedAtSeconds(state.firstFailedAtMs == null ? null : state.firstFailedAtMs / 1000)
+                    .build());
+        }
+        return ThresholdVerdict.builder()
+                .passed(passed)
+                .aborted(aborting != null)
+                .abortedBy(abortedBy())
+                .results(results)
+                .build();
+    }
+
+    public synchronized boolean isAborted() {
+        return aborting != null;
+    }
+
+    public synchronized String abortedBy() {
+        return aborting == null ? null : aborting.description;
+    }
+
+    // -------------------------------------------------------
+    // Measuring
+    // -------------------------------------------------------
+
+    private WindowCounts counts(String stepId, long nowMs) {
+        MetricsAccumulator acc = stepId == null
+                ? aggregator.getState().getGlobal()
+                : aggregator.getState().getSteps().get(stepId);
+        return acc == null ? WindowCounts.empty(nowMs) : WindowCounts.read(acc, nowMs);
+    }
+
+    private Double value(State state, WindowCounts now, long nowMs) {
+        int windowSeconds = state.threshold.getWindowSeconds();
+        WindowCounts base = windowSeconds == 0 ? null : base(scope(state.stepId), nowMs - windowSeconds * 1000L);
+        long fromMs = base == null ? startedAtMs : base.timestampMs();
+
+        long requests = now.requestsSince(base);
+        long successes = now.successesSince(base);
+        long windowMs = nowMs - fromMs;
+
+        ThresholdMetric metric = state.threshold.getMetric();
+        if (metric == ThresholdMetric.RPS) {
+            return windowMs <= 0 ? null : requests * 1000.0 / windowMs;
+        }
+        if (requests <= 0) return null;
+        if (metric == ThresholdMetric.ERROR_RATE) {
+            return (requests - successes) * 100.0 / requests;
+        }
+
+        LatencyHistogram latencies = now.latenciesSince(base);
+        return (double) switch (metric) {
+            case P50 -> latencies.p50();
+            case P90 -> latencies.p90();
+            case P95 -> latencies.p95();
+            case P99 -> latencies.p99();
+            default -> latencies.mean();
+        };
+    }
+
+    /** Latest earlier tick at or before {@code atMs}; null = count from the start of the run. */
+    private WindowCounts base(String scope, long atMs) {
+        ArrayDeque<WindowCounts> ticks = history.get(scope);
+        if (ticks == null) return null;
+        WindowCounts base = null;
+        for (WindowCounts tick : ticks) {
+            if (tick.timestampMs() > atMs) break;
+            base = tick;
+        }
+        return base;
+    }
+
+    private void remember(Map<String, WindowCounts> current) {
+        current.forEach((scope, counts) -> {
+            Long keepMs = longestWindowMs.get(scope);
+            if (keepMs == null || counts.latencies() == null) return;
+            ArrayDeque<WindowCounts> ticks = history.computeIfAbsent(scope, s -> new ArrayDeque<>());
+            ticks.addLast(counts);
+            // keep one tick at or before the longest window, it is the base of that window
+            while (ticks.size() > 1) {
+                Iterator<WindowCounts> it = ticks.iterator();
+                it.next();
+                if (it.next().timestampMs() > counts.timestampMs() - keepMs) break;
+                ticks.removeFirst();
+            }
+        });
+    }
+
+    private static Double worse(ThresholdOperator operator, Double worst, double value) {
+        if (worst == null) return value;
+        boolean upperBound = operator == ThresholdOperator.LT || operator == ThresholdOperator.LTE;
+        return upperBound ? Math.max(worst, value) : Math.min(worst, value);
+    }
+
+    private static String scope(String stepId) {
+        return stepId == null ? "" : stepId;
+    }
+
+    static String describe(Threshold t) {
+        String metric = t.getMetric().name().toLowerCase(Locale.ROOT);
+        String value = t.getValue() == Math.rint(t.getValue()) ? String.valueOf((long) t.getValue()) : String.valueOf(t.getValue());
+        return metric + (t.getStep() == null ? "" : "{" + t.getStep() + "}")
+                + " " + t.getOperator().symbol() + " " + value
+                + (t.getWindowSeconds() > 0 ? " over " + t.getWindowSeconds() + "s" : "");
+    }
+}
@@ -0,0 +1,18 @@
+package uz.hikmatullo.loadtesting.mapper;
+
+import uz.hikmatullo.loadtesting.model.entity.DataFile;
+import uz.hikmatullo.loadtesting.model.response.DataFileResponse;
+
+public class DataFileMapper {
+    public static DataFileResponse toResponse(DataFile file) {
+        return DataFileResponse.builder()
+                .id(file.getId())
+                .name(file.getName())
+                .format(file.getFormat())
+                .rows(file.getRows())
+                .columns(file.getColumns())
+                .sizeBytes(file.getSizeBytes())
+                .uploadedAt(file.getUploadedAt())
+                .build();
+    }
+}
@@ -18,6 +18,9 @@ public class LoadTestMapper {
                 .profile(toEntity(request.getProfile()))
                 .steps(toRequestSteps(request.getSteps()))
                 .validationRules(toValidationRules(request.getValidationRules()))
+                .feeders(toDataFeeders(request.getFeeders()))
+                .recordSamples(request.isRecordSamples())
+                .thresholds(toThresholds(request.getThresholds()))
                 .startAt(request.getStartAt())
                 .createdAt(Instant.now())
                 .status(LoadTestStatus.DRAFT)
@@ -33,6 +36,12 @@ public class LoadTestMapper {
                 .targetRps(request.targetRps())
                 .totalRequests(request.totalRequests())
                 .maxConcurrency(request.maxConcurrency())
+                .baselineUsers(request.baselineUsers())
+                .spikeStartSeconds(request.spikeStartSeconds())
+                .spikeHoldSeconds(request.spikeHoldSeconds())
+                .connectionMode(request.connectionMode())
+                .sharedClients(request.sharedClients())
+                .pacingMs(request.pacingMs())
                 .build();
     }
 
@@ -52,6 +61,17 @@ public class LoadTestMapper {
                 .queryParams(request.getQueryParams())
                 .timeoutMs(request.getTimeoutMs())
                 .extractionRules(toExtractionRules(request.getExtractionRules()))
+                .thinkTime(toThinkTime(request.getThinkTime()))
+                .build();
+    }
+
+    public static ThinkTime toThinkTime(ThinkTimeRequest request) {
+        if (request == null) return null;
+        return ThinkTime.builder()
+                .type(request.type())
+                .durationMs(request.durationMs())
+                .minMs(request.minMs())
+                .maxMs(request.maxMs())
                 .build();
     }
 
@@ -81,6 +101,39 @@ public class LoadTestMapper {
                 .build();
     }
 
+    public static List<DataFeeder> toDataFeeders(List<DataFeederRequest> list) {
+        if (list == null) return List.of();
+        return list.stream()
+                .map(LoadTestMapper::toDataFeeder)
+                .toList();
+    }
+
+    public static DataFeeder toDataFeeder(DataFeederRequest request) {
+        return DataFeeder.builder()
+                .fileId(request.fileId())
+                .strategy(request.strategy())
+                .build();
+    }
+
+    public static List<Threshold> toThresholds(List<ThresholdRequest> list) {
+        if (list == null) return List.of();
+        return list.stream()
+                .map(LoadTestMapper::toThreshold)
+                .toList();
+    }
+
+    public static Threshold toThreshold(ThresholdRequest request) {
+        return Threshold.builder()
+                .step(request.step())
+                .metric(request.metric())
+                .operator(request.operator())
+                .value(request.value())
+                .windowSeconds(request.windowSeconds())
+                .abortOnFail(request.abortOnFail())
+                .graceSeconds(request.graceSeconds())
+                .build();
+    }
+
     public static LoadTestResponse toResponse(LoadTest entity) {
         return LoadTestResponse.builder()
                 .id(entity.getId())
@@ -89,6 +142,9 @@ public class LoadTestMapper {
                 .profile(toProfileResponse(entity.getProfile()))
                 .steps(toRequestStepResponses(entity.getSteps()))
                 .validationRules(toValidationRuleResponses(entity.getValidationRules()))
+                .feeders(toDataFeederResponses(entity.getFeeders()))
+                .recordSamples(entity.isRecordSamples())
+                .thresholds(toThresholdResponses(entity.getThresholds()))
                 .createdAt(entity.getCreatedAt())
                 .status(entity.getStatus())
                 .startAt(entity.getStartAt())
@@ -105,6 +161,12 @@ public class LoadTestMapper {
                 .targetRps(profile.getTargetRps())
                 .totalRequests(profile.getTotalRequests())
                 .maxConcurrency(profile.getMaxConcurrency())
+                .baselineUsers(profile.getBaselineUsers())
+                .spikeStartSeconds(profile.getSpikeStartSeconds())
+                .spikeHoldSeconds(profile.getSpikeHoldSeconds())
+                .connectionMode(profile.getConnectionMode())
+                .sharedClients(profile.getSharedClients())
+                .pacingMs(profile.getPacingMs())
                 .build();
     }
 
@@ -125,6 +187,17 @@ public class LoadTestMapper {
                 .queryParams(step.getQueryParams())
                 .timeoutMs(step.getTimeoutMs())
                 .extractionRules(toExtractionRuleResponses(step.getExtractionRules()))
+                .thinkTime(toThinkTimeResponse(step.getThinkTime()))
+                .build();
+    }
+
+    public static ThinkTimeResponse toThinkTimeResponse(ThinkTime thinkTime) {
+        if (thinkTime == null) return null;
+        return ThinkTimeResponse.builder()
+                .type(thinkTime.getType())
+                .durationMs(thinkTime.getDurationMs())
+                .minMs(thinkTime.getMinMs())
+                .maxMs(thinkTime.getMaxMs())
                 .build();
     }
 
@@ -154,5 +227,36 @@ public class LoadTestMapper {
                 .build();
     }
 
+    public static List<DataFeederResponse> toDataFeederResponses(List<DataFeeder> list) {
+        if (list == null) return List.of();
+        return list.stream()
+                .map(LoadTestMapper::toDataFeederResponse)
+                .toList();
+    }
+
+    public static DataFeederResponse toDataFeederResponse(DataFeeder feeder) {
+        return DataFeederResponse.builder()
+                .fileId(feeder.getFileId())
+                .strategy(feeder.getStrategy())
+                .build();
+    }
+
+    public static List<ThresholdResponse> toThresholdResponses(List<Threshold> list) {
+        if (list == null) return List.of();
+        return list.stream()
+                .map(LoadTestMapper::toThresholdResponse)
+                .toList();
+    }
 
+    public static ThresholdResponse toThresholdResponse(Threshold threshold) {
+        return ThresholdResponse.builder()
+                .step(threshold.getStep())
+                .metric(threshold.getMetric())
+                .operator(threshold.getOperator())
+                .value(threshold.getValue())
+                .windowSeconds(threshold.getWindowSeconds())
+                .abortOnFail(threshold.isAbortOnFail())
+                .graceSeconds(threshold.getGraceSeconds())
+                .build();
+    }
 }
@@ -9,6 +9,7 @@ public class NodeMapper {
                 .id(node.getId())
                 .clusterId(node.getClusterId())
                 .ip(node.getIp())
+                .port(node.getPort())
                 .connectedAt(node.getConnectedAt())
                 .status(node.getStatus())
                 .build();
@@ -0,0 +1,19 @@
+package uz.hikmatullo.loadtesting.mapper;
+
+import uz.hikmatullo.loadtesting.model.entity.TestRun;
+import uz.hikmatullo.loadtesting.model.response.TestRunResponse;
+
+public class TestRunMapper {
+    public static TestRunResponse toResponse(TestRun run) {
+        return TestRunResponse.builder()
+                .id(run.getId())
+                .testId(run.getTestId())
+                .status(run.getStatus())
+                .createdAt(run.getCreatedAt())
+                .startedAt(run.getStartedAt())
+                .finishedAt(run.getFinishedAt())
+                .error(run.getError())
+                .thresholdsPassed(run.getThresholdsPassed())
+                .build();
+    }
+}
@@ -0,0 +1,18 @@
+package uz.hikmatullo.loadtesting.model.entity;
+
+import lombok.*;
+import uz.hikmatullo.loadtesting.model.enums.FeederStrategy;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DataFeeder {
+
+    private String fileId;
+    private FeederStrategy strategy;
+
+    // resolved from fileId when the test is saved
+    private DataFile file;
+}
@@ -0,0 +1,32 @@
+package uz.hikmatullo.loadtesting.model.entity;
+
+import lombok.*;
+import uz.hikmatullo.loadtesting.model.enums.DataFileFormat;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DataFile {
+
+    @Builder.Default
+    private String id = UUID.randomUUID().toString();
+
+    // name it was uploaded under, e.g. users.csv
+    private String name;
+    private DataFileFormat format;
+
+    private long rows;
+    private List<String> columns;
+    private long sizeBytes;
+    private Instant uploadedAt;
+
+    // the file itself and its row offsets (see DataFileIndexer)
+    private String dataPath;
+    private String indexPath;
+}
@@ -1,6 +1,7 @@
 package uz.hikmatullo.loadtesting.model.entity;
 
 import lombok.*;
+import uz.hikmatullo.loadtesting.model.enums.ConnectionMode;
 import uz.hikmatullo.loadtesting.model.enums.LoadType;
 
 import java.util.UUID;
@@ -56,5 +57,43 @@ public class LoadProfile {
      * Meaning: maximum concurrent requests allowed during the burst
      */
     private int maxConcurrency;
+
+    /**
+     * Used by: SPIKE
+     * Meaning: VUs running before the spike and again during recovery (0 = idle baseline)
+     */
+    private int baselineUsers;
+
+    /**
+     * Used by: SPIKE
+     * Meaning: seconds of baseline load before the spike starts
+     */
+    private int spikeStartSeconds;
+
+    /**
+     * Used by: SPIKE
+     * Meaning: how long the spike is held once reached; the rest of the test is recovery
+     * (0 = hold until the end, no recovery window)
+     */
+    private int spikeHoldSeconds;
+
+    /**
+     * Used by: all types
+     * Meaning: whether VUs own their connections or share a pool of clients (null = PER_USER)
+     */
+    private ConnectionMode connectionMode;
+
+    /**
+     * Used by: all types when connectionMode = SHARED
+     * Meaning: number of shared HttpClients (0 = one per CPU core)
+     */
+    private int sharedClients;
+
+    /**
+     * Used by: FIXED, RAMP_UP, SPIKE
+     * Meaning: target duration of one iteration; a VU that finishes early waits out the rest
+     * (0 = start the next iteration right away)
+     */
+    private int pacingMs;
 }
 
@@ -24,6 +24,15 @@ public class LoadTest {
     private List<RequestStep> steps;
     private List<ValidationRule> validationRules;
 
+    // test data injected as {{var}} variables (see DataFeeder)
+    private List<DataFeeder> feeders;
+
+    // keep every raw request sample on disk for later analysis (see RawSampleWriter)
+    private boolean recordSamples;
+
+    // pass/fail gates on aggregate metrics, checked while the run executes
+    private List<Threshold> thresholds;
+
     private Instant createdAt = Instant.now();
     private LoadTestStatus status;
     private Instant startAt;
@@ -26,4 +26,7 @@ public class RequestStep {
     private Integer timeoutMs;
 
     private List<ExtractionRule> extractionRules = new ArrayList<>();
+
+    // pause after this step before the next one starts (null = none)
+    private ThinkTime thinkTime;
 }
@@ -0,0 +1,51 @@
+package uz.hikmatullo.loadtesting.model.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+import uz.hikmatullo.loadtesting.engine.aggregator.IncrementalMetricsAggregator;
+import uz.hikmatullo.loadtesting.model.enums.RunStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One execution of a LoadTest. Started asynchronously; polled, cancelled and reported by id.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TestRun {
+
+    @Builder.Default
+    private String id = UUID.randomUUID().toString();
+
+    private String testId;
+
+    private volatile RunStatus status;
+
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+
+    // why the run FAILED
+    private String error;
+
+    // verdict of the test's thresholds; null when it has none or the run did not finish them
+    private Boolean thresholdsPassed;
+
+    // live state while the run executes; partial reports are built from it
+    // (the final report is kept by ReportRepository)
+    @JsonIgnore
+    private IncrementalMetricsAggregator aggregator;
+
+    // raised to end the run early; executors also raise it themselves when the duration is over
+    @JsonIgnore
+    @Builder.Default
+    private AtomicBoolean stopFlag = new AtomicBoolean(false);
+
+    @JsonIgnore
+    private volatile boolean cancelRequested;
+}
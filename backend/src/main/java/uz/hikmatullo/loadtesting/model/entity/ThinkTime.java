@@ -0,0 +1,23 @@
+package uz.hikmatullo.loadtesting.model.entity;
+
+import lombok.*;
+import uz.hikmatullo.loadtesting.model.enums.ThinkTimeType;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ThinkTime {
+
+    private ThinkTimeType type;
+
+    // FIXED: the pause; EXPONENTIAL: the mean pause
+    private int durationMs;
+
+    // UNIFORM: lower bound
+    private int minMs;
+
+    // UNIFORM: upper bound; EXPONENTIAL: optional cap (0 = uncapped)
+    private int maxMs;
+}
@@ -0,0 +1,34 @@
+package uz.hikmatullo.loadtesting.model.entity;
+
+import lombok.*;
+import uz.hikmatullo.loadtesting.model.enums.ThresholdMetric;
+import uz.hikmatullo.loadtesting.model.enums.ThresholdOperator;
+
+/**
+ * Pass/fail gate on an aggregate metric, e.g. "p95 of checkout < 300 over 10s".
+ * Evaluated continuously while the run executes (see ThresholdMonitor).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Threshold {
+
+    // name of the step it applies to; null = the whole test
+    private String step;
+
+    private ThresholdMetric metric;
+    private ThresholdOperator operator;
+    private double value;
+
+    // 0 = over the whole run (judged on the final value);
+    // otherwise over the last windowSeconds (fails when any window breaks it)
+    private int windowSeconds;
+
+    // stop the run as soon as the threshold is broken
+    private boolean abortOnFail;
+
+    // warm-up: nothing is judged or aborted before this many seconds into the run
+    private int graceSeconds;
+}
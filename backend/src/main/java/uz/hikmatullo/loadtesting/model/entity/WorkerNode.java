@@ -13,6 +13,8 @@ public class WorkerNode {
     private String id = UUID.randomUUID().toString();
     private String clusterId;
     private String ip;
+    // port the worker's own API listens on (0 = unknown, assume the default)
+    private int port;
     private Instant connectedAt = Instant.now();
     private WorkerStatusEnum status;
 
@@ -22,4 +24,9 @@ public class WorkerNode {
         this.status = WorkerStatusEnum.ALIVE;
     }
 
+    public WorkerNode(String clusterId, String ip, int port) {
+        this(clusterId, ip);
+        this.port = port;
+    }
+
 }
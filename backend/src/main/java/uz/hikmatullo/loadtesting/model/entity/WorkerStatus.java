@@ -8,6 +8,7 @@ import lombok.Builder;
 import uz.hikmatullo.loadtesting.model.enums.WorkerStatusEnum;
 
 import java.time.Instant;
+import java.util.List;
 
 @Getter
 @Setter
@@ -21,4 +22,15 @@ public class WorkerStatus {
     private long freeMemory;
     private int activeTasks;
     private WorkerStatusEnum status;
+
+    // full resource sample of the last heartbeat; null until the worker sent one
+    private WorkerTelemetry telemetry;
+
+    // resources the worker is running out of, e.g. "cpu", "gc"; empty when it is fine
+    private List<String> bottlenecks;
+
+    public WorkerStatus(Instant lastHeartbeat, double cpuLoad, long freeMemory, int activeTasks,
+                        WorkerStatusEnum status) {
+        this(lastHeartbeat, cpuLoad, freeMemory, activeTasks, status, null, List.of());
+    }
 }
@@ -0,0 +1,48 @@
+package uz.hikmatullo.loadtesting.model.entity;
+
+import lombok.*;
+
+/**
+ * Resource usage of a worker process, sampled for every heartbeat.
+ * Tells the coordinator whether a worker is itself the bottleneck, in which case the
+ * latencies it measures say more about the worker than about the system under test.
+ * Values the platform cannot provide are -1.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WorkerTelemetry {
+
+    // 0..1, averaged since the previous sample by the JVM
+    private double processCpuLoad;
+    private double systemCpuLoad;
+    private int availableProcessors;
+
+    private long heapUsedBytes;
+    private long heapCommittedBytes;
+    // -1 when the heap has no limit
+    private long heapMaxBytes;
+    private long nonHeapUsedBytes;
+
+    // garbage collection since the previous sample
+    private long gcCount;
+    private long gcTimeMs;
+    // share of the interval spent collecting, 0..1
+    private double gcTimeRatio;
+
+    private int platformThreads;
+    // platform threads that virtual threads run on
+    private int carrierThreads;
+    // virtual users inside an iteration, over all tests running on the worker
+    private int activeVirtualUsers;
+    // requests sent by the engine and not yet answered
+    private int inFlightRequests;
+
+    private long openFileDescriptors;
+    private long maxFileDescriptors;
+    private long openSockets;
+
+    private long intervalMs;
+}
@@ -0,0 +1,26 @@
+package uz.hikmatullo.loadtesting.model.entity.metrics;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serializable copy of an AggregationState: what a worker sends back instead of raw samples.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AggregationSnapshot {
+
+    private String testId;
+
+    private MetricsSnapshot global;
+
+    // stepId -> snapshot
+    private Map<String, MetricsSnapshot> steps;
+
+    private List<TimelinePoint> timeline;
+}
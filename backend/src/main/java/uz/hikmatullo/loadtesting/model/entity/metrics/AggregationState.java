@@ -1,8 +1,16 @@
 package uz.hikmatullo.loadtesting.model.entity.metrics;
 
 import lombok.*;
-import java.util.*;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Live, incrementally updated aggregate of a running test.
+ * Holds no raw samples: every request is folded into the global,
+ * per-step and per-second accumulators as soon as it is recorded.
+ */
 @Getter
 @Setter
 @NoArgsConstructor
@@ -12,9 +20,20 @@ public class AggregationState {
 
     private String testId;
 
-    private Map<String, List<RequestMetrics>> perStepRawMetrics = new HashMap<>();
+    @Builder.Default
+    private MetricsAccumulator global = new MetricsAccumulator();
+
+    // stepId -> accumulator
+    @Builder.Default
+    private Map<String, MetricsAccumulator> steps = new ConcurrentHashMap<>();
+
+    // epoch second -> accumulator
+    @Builder.Default
+    private Map<Long, TimelineAccumulator> timeline = new ConcurrentHashMap<>();
 
-    private Map<Long, TimelinePoint> timeline = new HashMap<>();
+    // virtual users currently inside their loop
+    @Builder.Default
+    private AtomicInteger activeUsers = new AtomicInteger();
 
     private long startedAt;
     private long finishedAt;
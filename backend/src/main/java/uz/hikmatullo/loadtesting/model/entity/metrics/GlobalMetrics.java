@@ -28,5 +28,8 @@ public class GlobalMetrics {
     private double rpsAverage;
     private double rpsPeak;
 
+    private TimingBreakdown timings;
+    private ThinkTimeMetrics thinkTime;
+
     private long testDurationSeconds;
 }
@@ -0,0 +1,27 @@
+package uz.hikmatullo.loadtesting.model.entity.metrics;
+
+import lombok.*;
+
+/**
+ * Serializable copy of a LatencyHistogram: only non-empty buckets are kept.
+ * Snapshots with the same range/precision can be merged on another node.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HistogramSnapshot {
+
+    private long highestTrackableValue;
+    private int significantDigits;
+
+    private long totalCount;
+    private long sum;
+    private long min;
+    private long max;
+
+    // bucket index -> count, for non-empty buckets only
+    private int[] indexes;
+    private long[] counts;
+}
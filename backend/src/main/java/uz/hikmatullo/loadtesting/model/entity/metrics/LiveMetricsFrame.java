@@ -0,0 +1,31 @@
+package uz.hikmatullo.loadtesting.model.entity.metrics;
+
+import lombok.*;
+import uz.hikmatullo.loadtesting.model.enums.RunStatus;
+
+import java.util.List;
+
+/**
+ * One push of live metrics for a running test.
+ * The timeline holds the last few seconds; clients replace points by timestampSecond,
+ * so a frame that never reached a slow client is covered by the next one.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LiveMetricsFrame {
+
+    private String runId;
+    private String testId;
+    private RunStatus status;
+
+    private long timestampMs;
+    private int activeUsers;
+
+    private RollingMetrics global;
+    private List<RollingMetrics> steps;
+
+    private List<TimelinePoint> timeline;
+}
@@ -0,0 +1,127 @@
+package uz.hikmatullo.loadtesting.model.entity.metrics;
+
+import lombok.Getter;
+import uz.hikmatullo.loadtesting.util.LatencyHistogram;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running totals for one scope (whole test or a single step).
+ * Updated once per request from many virtual users at the same time.
+ */
+@Getter
+public class MetricsAccumulator {
+
+    private final LongAdder totalRequests = new LongAdder();
+    private final LongAdder successfulRequests = new LongAdder();
+
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final TimingAccumulator timings = new TimingAccumulator();
+
+    // think time and pacing; kept apart from latencies
+    private final LongAdder pauses = new LongAdder();
+    private final LongAdder pauseMicros = new LongAdder();
+
+    private final Map<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    // epoch second -> requests started in that second
+    private final Map<Long, LongAdder> requestsPerSecond = new ConcurrentHashMap<>();
+
+    public void add(RequestMetrics m) {
+        totalRequests.increment();
+        if (m.isSuccess()) {
+            successfulRequests.increment();
+        } else {
+            errors.computeIfAbsent(String.valueOf(m.getErrorType()), k -> new LongAdder()).increment();
+        }
+        latencies.record(m.getLatencyMs());
+        timings.add(m);
+        statusCodes.computeIfAbsent(m.getStatusCode(), k -> new LongAdder()).increment();
+        requestsPerSecond.computeIfAbsent(m.getStartTimeMs() / 1000, k -> new LongAdder()).increment();
+    }
+
+    public void addPause(long micros) {
+        pauses.increment();
+        pauseMicros.add(micros);
+    }
+
+    /** Adds everything counted in a snapshot of another accumulator. */
+    public void merge(MetricsSnapshot snapshot) {
+        if (snapshot == null) return;
+        totalRequests.add(snapshot.getTotalRequests());
+        successfulRequests.add(snapshot.getSuccessfulRequests());
+        latencies.merge(snapshot.getLatencies());
+        timings.merge(snapshot.getTimings());
+        pauses.add(snapshot.getPauses());
+        pauseMicros.add(snapshot.getPauseMicros());
+        if (snapshot.getStatusCodes() != null) {
+            snapshot.getStatusCodes().forEach((code, count) ->
+                    statusCodes.computeIfAbsent(code, k -> new LongAdder()).add(count));
+        }
+        if (snapshot.getErrors() != null) {
+            snapshot.getErrors().forEach((type, count) ->
+                    errors.computeIfAbsent(type, k -> new LongAdder()).add(count));
+        }
+        if (snapshot.getRequestsPerSecond() != null) {
+            snapshot.getRequestsPerSecond().forEach((second, count) ->
+                    requestsPerSecond.computeIfAbsent(second, k -> new LongAdder()).add(count));
+        }
+    }
+
+    public MetricsSnapshot snapshot() {
+        Map<Long, Long> perSecond = new HashMap<>();
+        requestsPerSecond.forEach((second, count) -> perSecond.put(second, count.sum()));
+
+        return MetricsSnapshot.builder()
+                .totalRequests(total())
+                .successfulRequests(successes())
+                .latencies(latencies.snapshot())
+                .timings(timings.snapshot())
+                .pauses(pauses.sum())
+                .pauseMicros(pauseMicros.sum())
+                .statusCodes(statusCodeDistribution())
+                .errors(errorDistribution())
+                .requestsPerSecond(perSecond)
+                .build();
+    }
+
+    public long total() {
+        return totalRequests.sum();
+    }
+
+    public long successes() {
+        return successfulRequests.sum();
+    }
+
+    public long peakRequestsPerSecond() {
+        return requestsPerSecond.values().stream()
+                .mapToLong(LongAdder::sum)
+                .max().orElse(0);
+    }
+
+    public ThinkTimeMetrics thinkTime() {
+        long count = pauses.sum();
+        long micros = pauseMicros.sum();
+        return ThinkTimeMetrics.builder()
+                .pauses(count)
+                .totalMs(micros / 1000)
+                .meanMs(count == 0 ? 0 : micros / 1000.0 / count)
+                .build();
+    }
+
+    public Map<Integer, Long> statusCodeDistribution() {
+        Map<Integer, Long> result = new HashMap<>();
+        statusCodes.forEach((code, count) -> result.put(code, count.sum()));
+        return result;
+    }
+
+    public Map<String, Long> errorDistribution() {
+        Map<String, Long> result = new HashMap<>();
+        errors.forEach((type, count) -> result.put(type, count.sum()));
+        return result;
+    }
+}
@@ -0,0 +1,32 @@
+package uz.hikmatullo.loadtesting.model.entity.metrics;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Baseline and candidate side by side, for the whole run or one step.
+ * Either side is null when that run recorded nothing for the step.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MetricsDiff {
+
+    // null for the global diff
+    private String stepId;
+    private String stepName;
+
+    private MetricsSummary baseline;
+    private MetricsSummary candidate;
+
+    // Mann-Whitney over the latency histograms: P(candidate request slower than baseline one)
+    // 0.5 = no shift; pValue says whether the shift is more than chance
+    private Double latencyShiftProbability;
+    private Double latencyShiftPValue;
+
+    // significant and large enough; empty when nothing got worse
+    private List<Regression> regressions;
+}
@@ -0,0 +1,34 @@
+package uz.hikmatullo.loadtesting.model.entity.metrics;
+
+import lombok.*;
+
+import java.util.Map;
+
+/**
+ * Serializable copy of a MetricsAccumulator, used to merge results from several workers.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MetricsSnapshot {
+
+    private long totalRequests;
+    private long successfulRequests;
+
+    private HistogramSnapshot latencies;
+
+    // null when sent by a worker that does not measure phases
+    private TimingSnapshot timings;
+
+    // think time and pacing
+    private long pauses;
+    private long pauseMicros;
+
+    private Map<Integer, Long> statusCodes;
+    private Map<String, Long> errors;
+
+    // epoch second -> requests started in that second
+    private Map<Long, Long> requestsPerSecond;
+}
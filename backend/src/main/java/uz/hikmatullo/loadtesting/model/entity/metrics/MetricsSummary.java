@@ -0,0 +1,26 @@
+package uz.hikmatullo.loadtesting.model.entity.metrics;
+
+import lombok.*;
+
+/**
+ * Headline numbers of one run (or one step of it), read from its stored histograms.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MetricsSummary {
+
+    private long totalRequests;
+    private long failedRequests;
+    private double errorRate;
+
+    private double rpsAverage;
+
+    private long meanLatency;
+    private long p50;
+    private long p90;
+    private long p95;
+    private long p99;
+}
@@ -0,0 +1,32 @@
+package uz.hikmatullo.loadtesting.model.entity.metrics;
+
+import lombok.*;
+
+/**
+ * Metrics for one time window of a phased test (SPIKE: pre-spike, spike, recovery).
+ * Requests are assigned to the window in which they were started.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PhaseMetrics {
+
+    private String name;
+
+    private long startedAt;
+    private long finishedAt;
+
+    private long totalRequests;
+    private long failedRequests;
+    private double errorRate;
+
+    private long meanLatency;
+    private long maxLatency;
+    private long p50;
+    private long p95;
+    private long p99;
+
+    private double rpsAverage;
+}
@@ -0,0 +1,25 @@
+package uz.hikmatullo.loadtesting.model.entity.metrics;
+
+import lombok.*;
+
+/**
+ * One metric that got significantly worse than in the baseline run.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Regression {
+
+    // p50, p95, p99, errorRate or rps
+    private String metric;
+
+    private double baseline;
+    private double candidate;
+
+    // relative change; null when the baseline was 0 (e.g. no errors before)
+    private Double changePercent;
+
+    private double pValue;
+}
@@ -12,6 +12,7 @@ public class RequestMetrics {
     private String stepId;          // which RequestStep this belongs to
     private long startTimeMs;       // epoch millis
     private long endTimeMs;         // epoch millis
+    private long startNanos;        // epoch nanos the step actually started (System.nanoTime() resolution); 0 if unknown
 
     private int statusCode;         // HTTP 200, 500, 404 etc.
     private boolean success;        // based on ValidationRules
@@ -19,6 +20,11 @@ public class RequestMetrics {
 
     private long latencyMs;         // endTimeMs - startTimeMs
 
+    // phases measured with System.nanoTime(); 0 when no response arrived
+    private long ttfbMicros;        // request sent -> response headers received
+    private long downloadMicros;    // headers -> last body byte
+    private Boolean connectionReused; // null when the transport cannot tell (shared client)
+
     private long bytesSent;
     private long bytesReceived;
 }
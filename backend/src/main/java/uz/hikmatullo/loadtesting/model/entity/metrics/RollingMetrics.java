@@ -0,0 +1,36 @@
+package uz.hikmatullo.loadtesting.model.entity.metrics;
+
+import lombok.*;
+
+import java.util.Map;
+
+/**
+ * Recent metrics of one scope (whole test or a single step) in a live frame.
+ * Window fields cover the last windowMs only; totals cover the run so far.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RollingMetrics {
+
+    // null for the whole test
+    private String stepId;
+    private String stepName;
+
+    private long windowMs;
+    private long windowRequests;
+    private long windowFailures;
+    private double windowRps;
+
+    private long p50;
+    private long p95;
+    private long p99;
+
+    private long totalRequests;
+    private long totalFailures;
+
+    // error type -> count since the run started
+    private Map<String, Long> errorDistribution;
+}
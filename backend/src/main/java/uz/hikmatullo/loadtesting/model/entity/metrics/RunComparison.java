@@ -0,0 +1,30 @@
+package uz.hikmatullo.loadtesting.model.entity.metrics;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Runs of one test compared against a baseline run.
+ * A change is a regression only when it is both statistically significant (p below alpha)
+ * and large enough to matter (at least minChangePercent worse).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RunComparison {
+
+    private String testId;
+    private String baselineRunId;
+
+    private double alpha;
+    private double minChangePercent;
+
+    // one per compared run, in the order they were asked for
+    private List<RunDiff> runs;
+
+    // true when any run regressed
+    private boolean regressed;
+}
@@ -0,0 +1,24 @@
+package uz.hikmatullo.loadtesting.model.entity.metrics;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * One run against the baseline: globally, per step and by timeline shape.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RunDiff {
+
+    private String runId;
+
+    private MetricsDiff global;
+    private List<MetricsDiff> steps;
+    private TimelineDiff timeline;
+
+    private boolean regressed;
+}
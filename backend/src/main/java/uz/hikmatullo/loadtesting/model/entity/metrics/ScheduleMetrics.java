@@ -0,0 +1,25 @@
+package uz.hikmatullo.loadtesting.model.entity.metrics;
+
+import lombok.*;
+
+/**
+ * How well an open-model executor kept to its arrival schedule.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScheduleMetrics {
+
+    private double targetRps;
+    private double achievedRps;     // requests completed per second
+    private double dispatchedRps;   // iterations actually dispatched per second
+
+    private long scheduledIterations;
+    private long dispatchedIterations;
+
+    // dispatched later than the tolerance after their intended send time
+    private long scheduleMisses;
+    private long maxScheduleLagMs;
+}
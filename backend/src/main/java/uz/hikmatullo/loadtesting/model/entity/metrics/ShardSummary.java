@@ -0,0 +1,36 @@
+package uz.hikmatullo.loadtesting.model.entity.metrics;
+
+import lombok.*;
+
+/**
+ * One worker's part of a distributed run.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ShardSummary {
+
+    private String workerId;
+    private String address;
+
+    // share of the load profile this worker was given
+    private double weight;
+    private int virtualUsers;
+    private int targetRps;
+    private int totalRequests;
+
+    private long startedAt;
+    private long finishedAt;
+    private long totalRequestsSent;
+
+    // metrics arrived as live batches rather than with the final response
+    private boolean streamed;
+
+    // worker clock minus coordinator clock, as estimated when the shard was received
+    private long clockOffsetMs;
+
+    // set when the worker could not run its shard; its load is missing from the report
+    private String error;
+}
@@ -33,6 +33,9 @@ public class StepMetrics {
     private double rpsAverage;
     private double rpsPeak;
 
+    private TimingBreakdown timings;
+    private ThinkTimeMetrics thinkTime;
+
     private Map<Integer, Long> statusCodeDistribution; // 200 -> 1234, etc.
     private Map<String, Long> errorDistribution;       // timeout -> 45, status_500 -> 12
 }
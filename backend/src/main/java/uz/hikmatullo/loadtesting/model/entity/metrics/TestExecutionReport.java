@@ -16,6 +16,24 @@ public class TestExecutionReport {
     private List<StepMetrics> steps;
     private List<TimelinePoint> timeline;
 
+    // only set by open-model executors (FIXED_RPS)
+    private ScheduleMetrics schedule;
+
+    // only set by BURST: wall-clock time to run all totalRequests iterations
+    private Long timeToCompleteMs;
+
+    // only set by SPIKE: pre-spike / spike / recovery windows
+    private List<PhaseMetrics> phases;
+
+    // only set by SPIKE: time from the end of the spike until p99 is back at the pre-spike level
+    private Long recoveryTimeMs;
+
+    // only set by distributed runs: what each worker was given and how it went
+    private List<ShardSummary> shards;
+
+    // only set when the test has thresholds
+    private ThresholdVerdict thresholds;
+
     private long startedAt;
     private long finishedAt;
 }
@@ -0,0 +1,19 @@
+package uz.hikmatullo.loadtesting.model.entity.metrics;
+
+import lombok.*;
+
+/**
+ * Time virtual users spent waiting on purpose (think time, pacing).
+ * Never part of latency; reported so it can be told apart from slow responses.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ThinkTimeMetrics {
+
+    private long pauses;
+    private long totalMs;
+    private double meanMs;
+}
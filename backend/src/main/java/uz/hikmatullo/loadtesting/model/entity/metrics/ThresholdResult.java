@@ -0,0 +1,27 @@
+package uz.hikmatullo.loadtesting.model.entity.metrics;
+
+import lombok.*;
+
+/**
+ * How one threshold fared during a run.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ThresholdResult {
+
+    // e.g. "p95{checkout} < 300 over 10s"
+    private String threshold;
+
+    private boolean passed;
+
+    // value at the end of the run (whole run, or the last window); null when nothing was measured
+    private Double lastValue;
+    // furthest from passing that was seen after the grace period
+    private Double worstValue;
+
+    // seconds into the run when it first broke; null when it never did
+    private Long firstFailedAtSeconds;
+}
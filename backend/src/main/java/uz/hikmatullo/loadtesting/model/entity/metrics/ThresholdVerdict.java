@@ -0,0 +1,24 @@
+package uz.hikmatullo.loadtesting.model.entity.metrics;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Outcome of a test's thresholds: passed only when every one of them did.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ThresholdVerdict {
+
+    private boolean passed;
+
+    // the run was stopped early by an abortOnFail threshold
+    private boolean aborted;
+    private String abortedBy;
+
+    private List<ThresholdResult> results;
+}
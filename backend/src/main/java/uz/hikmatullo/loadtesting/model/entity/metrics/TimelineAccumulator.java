@@ -0,0 +1,76 @@
+package uz.hikmatullo.loadtesting.model.entity.metrics;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running totals for one second of the timeline.
+ */
+@Getter
+public class TimelineAccumulator {
+
+    private final long timestampSecond;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    // highest number of active virtual users seen during this second
+    private final AtomicInteger activeUsers = new AtomicInteger();
+
+    public TimelineAccumulator(long timestampSecond) {
+        this.timestampSecond = timestampSecond;
+    }
+
+    public void add(RequestMetrics m) {
+        requests.increment();
+        if (m.isSuccess()) {
+            successes.increment();
+        } else {
+            failures.increment();
+        }
+    }
+
+    /**
+     * Adds a point recorded elsewhere for the same second.
+     * Active users are summed: each point comes from a different set of virtual users.
+     */
+    public void merge(TimelinePoint point) {
+        requests.add(point.getRequests());
+        successes.add(point.getSuccesses());
+        failures.add(point.getFailures());
+        activeUsers.addAndGet(point.getActiveUsers());
+    }
+
+    /**
+     * Adds a later slice of the same second from the same virtual users (streamed deltas):
+     * active users are the highest seen, not a sum.
+     */
+    public void append(TimelinePoint point) {
+        requests.add(point.getRequests());
+        successes.add(point.getSuccesses());
+        failures.add(point.getFailures());
+        observeActiveUsers(point.getActiveUsers());
+    }
+
+    public void observeActiveUsers(int users) {
+        // plain read first: the common case (no new maximum) costs no CAS
+        if (users > activeUsers.get()) {
+            activeUsers.accumulateAndGet(users, Math::max);
+        }
+    }
+
+    public TimelinePoint toPoint() {
+        long total = requests.sum();
+        return TimelinePoint.builder()
+                .timestampSecond(timestampSecond)
+                .requests(total)
+                .successes(successes.sum())
+                .failures(failures.sum())
+                .rps(total)
+                .activeUsers(activeUsers.get())
+                .build();
+    }
+}
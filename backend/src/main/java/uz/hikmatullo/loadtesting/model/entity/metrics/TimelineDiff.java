@@ -0,0 +1,25 @@
+package uz.hikmatullo.loadtesting.model.entity.metrics;
+
+import lombok.*;
+
+/**
+ * Shape of the per-second throughput of two runs, aligned on their first second.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimelineDiff {
+
+    private int baselineSeconds;
+    private int candidateSeconds;
+
+    // Pearson correlation of RPS over the seconds both runs have; 1 = same shape,
+    // null when there are too few seconds or one curve is flat
+    private Double rpsCorrelation;
+
+    // coefficient of variation of RPS (stddev / mean): how steady throughput was
+    private double baselineRpsVariation;
+    private double candidateRpsVariation;
+}
@@ -17,4 +17,7 @@ public class TimelinePoint {
     private long failures;
 
     private double rps;
+
+    // concurrent virtual users during this second (shows the ramp curve)
+    private int activeUsers;
 }
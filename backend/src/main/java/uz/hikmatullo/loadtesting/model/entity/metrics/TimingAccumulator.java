@@ -0,0 +1,77 @@
+package uz.hikmatullo.loadtesting.model.entity.metrics;
+
+import lombok.Getter;
+import uz.hikmatullo.loadtesting.util.LatencyHistogram;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Phase timings of the requests of one scope, in microseconds.
+ * Only requests that got a response are recorded.
+ */
+@Getter
+public class TimingAccumulator {
+
+    // phases longer than this are clamped; keeps each histogram at a few KB
+    public static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final LatencyHistogram timeToFirstByte = histogram();
+    private final LatencyHistogram download = histogram();
+    private final LatencyHistogram newConnectionTimeToFirstByte = histogram();
+    private final LatencyHistogram reusedConnectionTimeToFirstByte = histogram();
+
+    private static LatencyHistogram histogram() {
+        return new LatencyHistogram(HIGHEST_TRACKABLE_MICROS, LatencyHistogram.DEFAULT_SIGNIFICANT_DIGITS);
+    }
+
+    public void add(RequestMetrics m) {
+        if (m.getStatusCode() == 0) return;
+
+        timeToFirstByte.record(m.getTtfbMicros());
+        download.record(m.getDownloadMicros());
+        if (m.getConnectionReused() != null) {
+            (m.getConnectionReused() ? reusedConnectionTimeToFirstByte : newConnectionTimeToFirstByte)
+                    .record(m.getTtfbMicros());
+        }
+    }
+
+    public void merge(TimingSnapshot snapshot) {
+        if (snapshot == null) return;
+        timeToFirstByte.merge(snapshot.getTimeToFirstByte());
+        download.merge(snapshot.getDownload());
+        newConnectionTimeToFirstByte.merge(snapshot.getNewConnectionTimeToFirstByte());
+        reusedConnectionTimeToFirstByte.merge(snapshot.getReusedConnectionTimeToFirstByte());
+    }
+
+    public TimingSnapshot snapshot() {
+        return TimingSnapshot.builder()
+                .timeToFirstByte(timeToFirstByte.snapshot())
+                .download(download.snapshot())
+                .newConnectionTimeToFirstByte(newConnectionTimeToFirstByte.snapshot())
+                .reusedConnectionTimeToFirstByte(reusedConnectionTimeToFirstByte.snapshot())
+                .build();
+    }
+
+    public TimingBreakdown toBreakdown() {
+        return TimingBreakdown.builder()
+                .timeToFirstByte(metrics(timeToFirstByte))
+                .download(metrics(download))
+                .newConnectionTimeToFirstByte(metrics(newConnectionTimeToFirstByte))
+                .reusedConnectionTimeToFirstByte(metrics(reusedConnectionTimeToFirstByte))
+                .newConnections(newConnectionTimeToFirstByte.count())
+                .reusedConnections(reusedConnectionTimeToFirstByte.count())
+                .build();
+    }
+
+    private static TimingMetrics metrics(LatencyHistogram h) {
+        return TimingMetrics.builder()
+                .count(h.count())
+                .meanMicros(h.mean())
+                .p50Micros(h.p50())
+                .p90Micros(h.p90())
+                .p95Micros(h.p95())
+                .p99Micros(h.p99())
+                .maxMicros(h.max())
+                .build();
+    }
+}
@@ -0,0 +1,28 @@
+package uz.hikmatullo.loadtesting.model.entity.metrics;
+
+import lombok.*;
+
+/**
+ * Where the time of a step's requests went.
+ * Time to first byte on new vs. reused connections shows the cost of connection setup
+ * (DNS, TCP, TLS), which the HTTP client does not report separately.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimingBreakdown {
+
+    // request sent -> response headers
+    private TimingMetrics timeToFirstByte;
+    // headers -> last body byte
+    private TimingMetrics download;
+
+    private TimingMetrics newConnectionTimeToFirstByte;
+    private TimingMetrics reusedConnectionTimeToFirstByte;
+
+    // requests on a shared client are in neither count
+    private long newConnections;
+    private long reusedConnections;
+}
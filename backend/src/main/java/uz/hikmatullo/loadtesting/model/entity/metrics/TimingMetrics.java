@@ -0,0 +1,23 @@
+package uz.hikmatullo.loadtesting.model.entity.metrics;
+
+import lombok.*;
+
+/**
+ * Distribution of one request phase, in microseconds.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimingMetrics {
+
+    private long count;
+
+    private long meanMicros;
+    private long p50Micros;
+    private long p90Micros;
+    private long p95Micros;
+    private long p99Micros;
+    private long maxMicros;
+}
@@ -0,0 +1,19 @@
+package uz.hikmatullo.loadtesting.model.entity.metrics;
+
+import lombok.*;
+
+/**
+ * Serializable copy of a TimingAccumulator (all histograms in microseconds).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimingSnapshot {
+
+    private HistogramSnapshot timeToFirstByte;
+    private HistogramSnapshot download;
+    private HistogramSnapshot newConnectionTimeToFirstByte;
+    private HistogramSnapshot reusedConnectionTimeToFirstByte;
+}
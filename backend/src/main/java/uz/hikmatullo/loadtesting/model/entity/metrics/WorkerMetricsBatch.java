@@ -15,4 +15,10 @@ public class WorkerMetricsBatch {
     // epoch seconds (for timeline)
     private long timestampSecond;
     private List<RequestMetrics> metrics;
+
+    // increases by one per batch of a worker's run; lets the coordinator drop resent batches
+    private long sequence;
+
+    // what changed on the worker since its previous batch (see SnapshotDelta); sent instead of raw metrics
+    private AggregationSnapshot summary;
 }
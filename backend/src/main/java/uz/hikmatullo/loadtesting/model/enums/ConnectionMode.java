@@ -0,0 +1,6 @@
+package uz.hikmatullo.loadtesting.model.enums;
+
+public enum ConnectionMode {
+    PER_USER,   // Every virtual user owns an HttpClient and its connections (default)
+    SHARED      // Virtual users share a small pool of HttpClients; cookies stay per user
+}
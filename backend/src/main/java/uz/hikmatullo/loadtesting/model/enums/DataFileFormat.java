@@ -0,0 +1,6 @@
+package uz.hikmatullo.loadtesting.model.enums;
+
+public enum DataFileFormat {
+    CSV,    // First line is the header; its column names become variable names
+    JSONL   // One JSON object per line; its top-level keys become variable names
+}
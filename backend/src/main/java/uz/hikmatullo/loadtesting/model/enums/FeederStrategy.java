@@ -0,0 +1,7 @@
+package uz.hikmatullo.loadtesting.model.enums;
+
+public enum FeederStrategy {
+    SEQUENTIAL,     // Every iteration takes the next row, shared by all VUs; wraps around at the end
+    RANDOM,         // Every iteration takes a random row
+    UNIQUE_PER_VU   // Every VU takes the next row once and keeps it; rows repeat only when VUs outnumber them
+}
@@ -2,7 +2,9 @@ package uz.hikmatullo.loadtesting.model.enums;
 
 public enum LoadTestStatus {
     DRAFT,
+    QUEUED,
     RUNNING,
     COMPLETED,
+    CANCELLED,
     FAILED
 }
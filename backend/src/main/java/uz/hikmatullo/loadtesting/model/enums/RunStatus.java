@@ -0,0 +1,13 @@
+package uz.hikmatullo.loadtesting.model.enums;
+
+public enum RunStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    CANCELLED,
+    FAILED;
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == CANCELLED || this == FAILED;
+    }
+}
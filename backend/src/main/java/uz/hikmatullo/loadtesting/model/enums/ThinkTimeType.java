@@ -0,0 +1,7 @@
+package uz.hikmatullo.loadtesting.model.enums;
+
+public enum ThinkTimeType {
+    FIXED,        // Always durationMs
+    UNIFORM,      // Anywhere between minMs and maxMs, equally likely
+    EXPONENTIAL   // Mean of durationMs, many short pauses and a few long ones (capped at maxMs if set)
+}
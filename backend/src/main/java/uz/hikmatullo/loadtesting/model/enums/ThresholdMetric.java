@@ -0,0 +1,11 @@
+package uz.hikmatullo.loadtesting.model.enums;
+
+public enum ThresholdMetric {
+    P50,            // latency percentiles, ms
+    P90,
+    P95,
+    P99,
+    MEAN_LATENCY,   // ms
+    ERROR_RATE,     // failed requests, % of all
+    RPS             // requests per second
+}
@@ -0,0 +1,27 @@
+package uz.hikmatullo.loadtesting.model.enums;
+
+/** The condition that must hold for a threshold to pass: metric OPERATOR value. */
+public enum ThresholdOperator {
+    LT,
+    LTE,
+    GT,
+    GTE;
+
+    public boolean holds(double actual, double limit) {
+        return switch (this) {
+            case LT -> actual < limit;
+            case LTE -> actual <= limit;
+            case GT -> actual > limit;
+            case GTE -> actual >= limit;
+        };
+    }
+
+    public String symbol() {
+        return switch (this) {
+            case LT -> "<";
+            case LTE -> "<=";
+            case GT -> ">";
+            case GTE -> ">=";
+        };
+    }
+}
@@ -0,0 +1,8 @@
+package uz.hikmatullo.loadtesting.model.request;
+
+import uz.hikmatullo.loadtesting.model.enums.FeederStrategy;
+
+public record DataFeederRequest(
+        String fileId,
+        FeederStrategy strategy
+) { }
@@ -1,6 +1,7 @@
 package uz.hikmatullo.loadtesting.model.request;
 
 import lombok.Builder;
+import uz.hikmatullo.loadtesting.model.entity.WorkerTelemetry;
 
 @Builder
 public record HeartbeatRequest(
@@ -8,5 +9,6 @@ public record HeartbeatRequest(
         String clusterId,
         double cpuLoad,
         long freeMemory,
-        int activeTasks
+        int activeTasks,
+        WorkerTelemetry telemetry
 ) {}
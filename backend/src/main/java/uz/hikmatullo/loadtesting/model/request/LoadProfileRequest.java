@@ -1,5 +1,6 @@
 package uz.hikmatullo.loadtesting.model.request;
 
+import uz.hikmatullo.loadtesting.model.enums.ConnectionMode;
 import uz.hikmatullo.loadtesting.model.enums.LoadType;
 
 public record LoadProfileRequest(
@@ -9,6 +10,12 @@ public record LoadProfileRequest(
          int rampUpSeconds,
          int targetRps,
          int totalRequests,
-         int maxConcurrency
+         int maxConcurrency,
+         int baselineUsers,
+         int spikeStartSeconds,
+         int spikeHoldSeconds,
+         ConnectionMode connectionMode,
+         int sharedClients,
+         int pacingMs
 ) {
 }
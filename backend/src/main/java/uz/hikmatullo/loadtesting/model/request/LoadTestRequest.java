@@ -20,4 +20,7 @@ public class LoadTestRequest{
     private List<RequestStepRequest> steps = new ArrayList<>();
     private List<ValidationRuleRequest> validationRules = new ArrayList<>();
     private Instant startAt;
+    private List<DataFeederRequest> feeders = new ArrayList<>();
+    private boolean recordSamples;
+    private List<ThresholdRequest> thresholds = new ArrayList<>();
 }
@@ -1,5 +1,10 @@
 package uz.hikmatullo.loadtesting.model.request;
 
 public record NodeConnectRequest(
-        String clusterId
-) {}
+        String clusterId,
+        int port
+) {
+    public NodeConnectRequest(String clusterId) {
+        this(clusterId, 0);
+    }
+}
@@ -24,4 +24,5 @@ public class RequestStepRequest {
     private Map<String, String> queryParams = new HashMap<>();
     private Integer timeoutMs;
     private List<ExtractionRuleRequest> extractionRules = new ArrayList<>();
+    private ThinkTimeRequest thinkTime;
 }
@@ -0,0 +1,22 @@
+package uz.hikmatullo.loadtesting.model.request;
+
+import uz.hikmatullo.loadtesting.model.entity.LoadTest;
+
+/**
+ * Sent by the coordinator to a worker: run this slice of the test, starting at startAtEpochMs
+ * on the coordinator's clock. coordinatorTimeMs is when the request was sent, so the worker
+ * can estimate how far its own clock is off.
+ * With flushIntervalMs > 0 the worker streams metric batches while it runs instead of
+ * returning them all at the end.
+ */
+public record ShardRequest(
+        String workerId,
+        LoadTest loadTest,
+        long startAtEpochMs,
+        long coordinatorTimeMs,
+        long flushIntervalMs
+) {
+    public ShardRequest(String workerId, LoadTest loadTest, long startAtEpochMs, long coordinatorTimeMs) {
+        this(workerId, loadTest, startAtEpochMs, coordinatorTimeMs, 0);
+    }
+}
@@ -0,0 +1,10 @@
+package uz.hikmatullo.loadtesting.model.request;
+
+import uz.hikmatullo.loadtesting.model.enums.ThinkTimeType;
+
+public record ThinkTimeRequest(
+        ThinkTimeType type,
+        int durationMs,
+        int minMs,
+        int maxMs
+) { }
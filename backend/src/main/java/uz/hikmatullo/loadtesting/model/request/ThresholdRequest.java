@@ -0,0 +1,14 @@
+package uz.hikmatullo.loadtesting.model.request;
+
+import uz.hikmatullo.loadtesting.model.enums.ThresholdMetric;
+import uz.hikmatullo.loadtesting.model.enums.ThresholdOperator;
+
+public record ThresholdRequest(
+        String step,
+        ThresholdMetric metric,
+        ThresholdOperator operator,
+        double value,
+        int windowSeconds,
+        boolean abortOnFail,
+        int graceSeconds
+) { }
@@ -0,0 +1,11 @@
+package uz.hikmatullo.loadtesting.model.response;
+
+import lombok.Builder;
+import uz.hikmatullo.loadtesting.model.enums.FeederStrategy;
+
+@Builder
+public record DataFeederResponse(
+        String fileId,
+        FeederStrategy strategy
+) {
+}
@@ -0,0 +1,18 @@
+package uz.hikmatullo.loadtesting.model.response;
+
+import lombok.Builder;
+import uz.hikmatullo.loadtesting.model.enums.DataFileFormat;
+
+import java.time.Instant;
+import java.util.List;
+
+@Builder
+public record DataFileResponse(
+        String id,
+        String name,
+        DataFileFormat format,
+        long rows,
+        List<String> columns,
+        long sizeBytes,
+        Instant uploadedAt
+) {}
@@ -1,6 +1,7 @@
 package uz.hikmatullo.loadtesting.model.response;
 
 import lombok.Builder;
+import uz.hikmatullo.loadtesting.model.enums.ConnectionMode;
 import uz.hikmatullo.loadtesting.model.enums.LoadType;
 
 @Builder
@@ -12,5 +13,11 @@ public record LoadProfileResponse (
     int rampUpSeconds,
     int targetRps,
     int totalRequests,
-    int maxConcurrency){
+    int maxConcurrency,
+    int baselineUsers,
+    int spikeStartSeconds,
+    int spikeHoldSeconds,
+    ConnectionMode connectionMode,
+    int sharedClients,
+    int pacingMs){
 }
@@ -17,6 +17,9 @@ public record LoadTestResponse (
         LoadProfileResponse profile,
         List<RequestStepResponse> steps,
         List<ValidationRuleResponse> validationRules,
+        List<DataFeederResponse> feeders,
+        boolean recordSamples,
+        List<ThresholdResponse> thresholds,
         Instant createdAt,
         LoadTestStatus status,
         Instant startAt
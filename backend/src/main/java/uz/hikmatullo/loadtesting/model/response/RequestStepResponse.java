@@ -16,6 +16,7 @@ public record RequestStepResponse(
         Map<String, String> headers,
         Map<String, String> queryParams,
         Integer timeoutMs,
-        List<ExtractionRuleResponse> extractionRules
+        List<ExtractionRuleResponse> extractionRules,
+        ThinkTimeResponse thinkTime
 ) {
 }
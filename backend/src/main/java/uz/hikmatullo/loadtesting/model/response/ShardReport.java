@@ -0,0 +1,23 @@
+package uz.hikmatullo.loadtesting.model.response;
+
+import lombok.Builder;
+import uz.hikmatullo.loadtesting.model.entity.metrics.AggregationSnapshot;
+import uz.hikmatullo.loadtesting.model.entity.metrics.ScheduleMetrics;
+
+/**
+ * A worker's result for one shard: mergeable metrics instead of a finished report,
+ * so percentiles can be computed over all workers together.
+ * Times are in the worker's clock; clockOffsetMs converts them to the coordinator's.
+ * When every streamed batch reached the coordinator, streamed is true and metrics is null.
+ */
+@Builder
+public record ShardReport(
+        String workerId,
+        long startedAt,
+        long finishedAt,
+        long clockOffsetMs,
+        AggregationSnapshot metrics,
+        boolean streamed,
+        ScheduleMetrics schedule,
+        Long timeToCompleteMs
+) {}
@@ -0,0 +1,18 @@
+package uz.hikmatullo.loadtesting.model.response;
+
+import lombok.Builder;
+import uz.hikmatullo.loadtesting.model.enums.RunStatus;
+
+import java.time.Instant;
+
+@Builder
+public record TestRunResponse(
+        String id,
+        String testId,
+        RunStatus status,
+        Instant createdAt,
+        Instant startedAt,
+        Instant finishedAt,
+        String error,
+        Boolean thresholdsPassed
+) {}
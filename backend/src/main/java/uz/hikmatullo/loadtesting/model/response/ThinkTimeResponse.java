@@ -0,0 +1,13 @@
+package uz.hikmatullo.loadtesting.model.response;
+
+import lombok.Builder;
+import uz.hikmatullo.loadtesting.model.enums.ThinkTimeType;
+
+@Builder
+public record ThinkTimeResponse(
+        ThinkTimeType type,
+        int durationMs,
+        int minMs,
+        int maxMs
+) {
+}
@@ -0,0 +1,17 @@
+package uz.hikmatullo.loadtesting.model.response;
+
+import lombok.Builder;
+import uz.hikmatullo.loadtesting.model.enums.ThresholdMetric;
+import uz.hikmatullo.loadtesting.model.enums.ThresholdOperator;
+
+@Builder
+public record ThresholdResponse(
+        String step,
+        ThresholdMetric metric,
+        ThresholdOperator operator,
+        double value,
+        int windowSeconds,
+        boolean abortOnFail,
+        int graceSeconds
+) {
+}
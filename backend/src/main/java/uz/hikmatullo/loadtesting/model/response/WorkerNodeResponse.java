@@ -10,6 +10,7 @@ public record WorkerNodeResponse(
         String id,
         String clusterId,
         String ip,
+        int port,
         Instant connectedAt,
         WorkerStatusEnum status
 ) {}
@@ -0,0 +1,49 @@
+package uz.hikmatullo.loadtesting.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+import uz.hikmatullo.loadtesting.model.entity.DataFile;
+import uz.hikmatullo.loadtesting.repository.store.DocumentCollection;
+import uz.hikmatullo.loadtesting.repository.store.DocumentStore;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Repository
+public class DataFileRepository {
+
+    private final Map<String, DataFile> store = new ConcurrentHashMap<>();
+
+    // null when the repository lives in memory only
+    private final DocumentCollection<DataFile> documents;
+
+    public DataFileRepository() {
+        this.documents = null;
+    }
+
+    @Autowired
+    public DataFileRepository(DocumentStore documentStore) {
+        this.documents = documentStore.open("data-files", DataFile.class);
+        for (String id : documents.ids()) {
+            documents.get(id).ifPresent(file -> store.put(id, file));
+        }
+    }
+
+    public void save(DataFile file) {
+        store.put(file.getId(), file);
+        if (documents != null) documents.put(file.getId(), file);
+    }
+
+    public Optional<DataFile> findById(String id) {
+        return Optional.ofNullable(store.get(id));
+    }
+
+    public List<DataFile> findAll() {
+        return new ArrayList<>(store.values());
+    }
+
+    public void deleteById(String id) {
+        store.remove(id);
+        if (documents != null) documents.delete(id);
+    }
+}
@@ -1,7 +1,10 @@
 package uz.hikmatullo.loadtesting.repository;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 import uz.hikmatullo.loadtesting.model.entity.LoadTest;
+import uz.hikmatullo.loadtesting.repository.store.DocumentCollection;
+import uz.hikmatullo.loadtesting.repository.store.DocumentStore;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -11,8 +14,24 @@ public class LoadTestRepository {
 
     private final Map<String, LoadTest> store = new ConcurrentHashMap<>();
 
+    // null when the repository lives in memory only
+    private final DocumentCollection<LoadTest> documents;
+
+    public LoadTestRepository() {
+        this.documents = null;
+    }
+
+    @Autowired
+    public LoadTestRepository(DocumentStore documentStore) {
+        this.documents = documentStore.open("load-tests", LoadTest.class);
+        for (String id : documents.ids()) {
+            documents.get(id).ifPresent(test -> store.put(id, test));
+        }
+    }
+
     public void save(LoadTest test) {
         store.put(test.getId(), test);
+        if (documents != null) documents.put(test.getId(), test);
     }
 
     public Optional<LoadTest> findById(String id) {
@@ -25,5 +44,6 @@ public class LoadTestRepository {
 
     public void deleteById(String id) {
         store.remove(id);
+        if (documents != null) documents.delete(id);
     }
 }
@@ -0,0 +1,76 @@
+package uz.hikmatullo.loadtesting.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+import uz.hikmatullo.loadtesting.model.entity.metrics.AggregationSnapshot;
+import uz.hikmatullo.loadtesting.model.entity.metrics.TestExecutionReport;
+import uz.hikmatullo.loadtesting.repository.store.DocumentCollection;
+import uz.hikmatullo.loadtesting.repository.store.DocumentStore;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Final reports of finished runs, keyed by run id, and the aggregation state each one was
+ * built from (histograms stay mergeable, so runs can be compared exactly later).
+ * Reports are large (a timeline point per second), so the persistent variant keeps none
+ * of them on the heap: each one is read from disk when asked for.
+ */
+@Repository
+public class ReportRepository {
+
+    // used only when there is no document store
+    private final Map<String, TestExecutionReport> memory = new ConcurrentHashMap<>();
+    private final Map<String, AggregationSnapshot> memorySnapshots = new ConcurrentHashMap<>();
+
+    private final DocumentCollection<TestExecutionReport> documents;
+    private final DocumentCollection<AggregationSnapshot> snapshots;
+
+    public ReportRepository() {
+        this.documents = null;
+        this.snapshots = null;
+    }
+
+    @Autowired
+    public ReportRepository(DocumentStore documentStore) {
+        this.documents = documentStore.open("reports", TestExecutionReport.class);
+        this.snapshots = documentStore.open("report-snapshots", AggregationSnapshot.class);
+    }
+
+    public void save(String runId, TestExecutionReport report) {
+        if (report == null) return;
+        if (documents != null) {
+            documents.put(runId, report);
+        } else {
+            memory.put(runId, report);
+        }
+    }
+
+    public void saveSnapshot(String runId, AggregationSnapshot snapshot) {
+        if (snapshot == null) return;
+        if (snapshots != null) {
+            snapshots.put(runId, snapshot);
+        } else {
+            memorySnapshots.put(runId, snapshot);
+        }
+    }
+
+    public Optional<TestExecutionReport> findByRunId(String runId) {
+        return documents != null ? documents.get(runId) : Optional.ofNullable(memory.get(runId));
+    }
+
+    public Optional<AggregationSnapshot> findSnapshotByRunId(String runId) {
+        return snapshots != null ? snapshots.get(runId) : Optional.ofNullable(memorySnapshots.get(runId));
+    }
+
+    public void deleteByRunId(String runId) {
+        if (documents != null) {
+            documents.delete(runId);
+            snapshots.delete(runId);
+        } else {
+            memory.remove(runId);
+            memorySnapshots.remove(runId);
+        }
+    }
+}
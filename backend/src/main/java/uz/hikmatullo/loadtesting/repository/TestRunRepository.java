@@ -0,0 +1,51 @@
+package uz.hikmatullo.loadtesting.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+import uz.hikmatullo.loadtesting.model.entity.TestRun;
+import uz.hikmatullo.loadtesting.repository.store.DocumentCollection;
+import uz.hikmatullo.loadtesting.repository.store.DocumentStore;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Repository
+public class TestRunRepository {
+
+    private final Map<String, TestRun> store = new ConcurrentHashMap<>();
+
+    // null when the repository lives in memory only
+    private final DocumentCollection<TestRun> documents;
+
+    public TestRunRepository() {
+        this.documents = null;
+    }
+
+    @Autowired
+    public TestRunRepository(DocumentStore documentStore) {
+        this.documents = documentStore.open("runs", TestRun.class);
+        for (String id : documents.ids()) {
+            documents.get(id).ifPresent(run -> store.put(id, run));
+        }
+    }
+
+    public void save(TestRun run) {
+        store.put(run.getId(), run);
+        if (documents != null) documents.put(run.getId(), run);
+    }
+
+    public Optional<TestRun> findById(String id) {
+        return Optional.ofNullable(store.get(id));
+    }
+
+    public List<TestRun> findByTestId(String testId) {
+        return store.values().stream()
+                .filter(run -> run.getTestId().equals(testId))
+                .sorted(Comparator.comparing(TestRun::getCreatedAt))
+                .toList();
+    }
+
+    public List<TestRun> findAll() {
+        return new ArrayList<>(store.values());
+    }
+}
@@ -0,0 +1,55 @@
+package uz.hikmatullo.loadtesting.repository.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Typed view of one {@link RecordLog}: documents are written as JSON and read back on demand,
+ * so only the ids live on the heap.
+ */
+public final class DocumentCollection<T> {
+
+    private final RecordLog log;
+    private final ObjectMapper mapper;
+    private final Class<T> type;
+
+    DocumentCollection(RecordLog log, ObjectMapper mapper, Class<T> type) {
+        this.log = log;
+        this.mapper = mapper;
+        this.type = type;
+    }
+
+    public void put(String id, T document) {
+        try {
+            log.put(id, mapper.writeValueAsBytes(document));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write " + type.getSimpleName() + " " + id, e);
+        }
+    }
+
+    public Optional<T> get(String id) {
+        byte[] json = log.get(id);
+        if (json == null) return Optional.empty();
+        try {
+            return Optional.of(mapper.readValue(json, type));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + type.getSimpleName() + " " + id, e);
+        }
+    }
+
+    public void delete(String id) {
+        log.delete(id);
+    }
+
+    public boolean contains(String id) {
+        return log.contains(id);
+    }
+
+    public List<String> ids() {
+        return log.keys();
+    }
+}
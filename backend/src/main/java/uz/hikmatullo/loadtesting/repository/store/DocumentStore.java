@@ -0,0 +1,60 @@
+package uz.hikmatullo.loadtesting.repository.store;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Embedded, file-backed storage for repositories: one {@link RecordLog} per collection
+ * under {@code loadtest.store.dir}, holding documents as JSON.
+ */
+@Slf4j
+@Component
+public class DocumentStore {
+
+    private final Path directory;
+    private final boolean sync;
+    private final ObjectMapper mapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+    private final List<RecordLog> open = new CopyOnWriteArrayList<>();
+
+    public DocumentStore(@Value("${loadtest.store.dir:${user.home}/.loadtest/store}") String directory,
+                         @Value("${loadtest.store.sync:false}") boolean sync) {
+        this.directory = Path.of(directory);
+        this.sync = sync;
+        log.info("Document store at {}", this.directory.toAbsolutePath());
+    }
+
+    public <T> DocumentCollection<T> open(String name, Class<T> type) {
+        try {
+            RecordLog recordLog = RecordLog.open(directory.resolve(name + ".log"), sync);
+            open.add(recordLog);
+            return new DocumentCollection<>(recordLog, mapper, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open store " + name, e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        for (RecordLog recordLog : open) {
+            try {
+                recordLog.close();
+            } catch (IOException e) {
+                log.warn("Could not close store log: {}", e.getMessage());
+            }
+        }
+    }
+}
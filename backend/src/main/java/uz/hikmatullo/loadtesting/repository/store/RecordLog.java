@@ -0,0 +1,280 @@
+package uz.hikmatullo.loadtesting.repository.store;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only key/value log on a single file.
+ * - Every put or delete is one record appended at the end; nothing is rewritten in place,
+ *   so a crash can only ever leave a torn last record, which is cut off on open
+ * - The in-memory index holds only key → (offset, length); values stay on disk and are
+ *   read with one positional read when asked for
+ * - Opening scans record headers only and seeks over the values
+ * - Superseded records are dropped by rewriting the live ones into a new file on open,
+ *   once they take up more than half of the log
+ * Record layout: value length (int), op (byte), key length (short), key, value, CRC32C (int).
+ * Writers are serialized; readers never block.
+ */
+@Slf4j
+public final class RecordLog implements Closeable {
+
+    private static final int MAGIC = 0x4C544C47;   // "LTLG"
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER = 8;
+    private static final int RECORD_HEADER = Integer.BYTES + 1 + Short.BYTES;
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+
+    // compaction is not worth it below this size
+    static final long COMPACT_MIN_BYTES = 1 << 20;
+
+    private record Slot(long offset, int length) {}
+
+    private final Path path;
+    private final boolean sync;
+    private final Map<String, Slot> index = new ConcurrentHashMap<>();
+
+    private FileChannel channel;
+    private long end;
+    private long liveBytes;
+
+    private RecordLog(Path path, boolean sync) {
+        this.path = path;
+        this.sync = sync;
+    }
+
+    /**
+     * Opens or creates the log.
+     * @param sync force every write to the device before it returns (slower, survives power loss)
+     */
+    public static RecordLog open(Path path, boolean sync) throws IOException {
+        RecordLog log = new RecordLog(path, sync);
+        log.load();
+        if (log.end > COMPACT_MIN_BYTES && log.liveBytes * 2 < log.end - FILE_HEADER) {
+            log.compact();
+        }
+        return log;
+    }
+
+    public byte[] get(String key) {
+        Slot slot = index.get(key);
+        return slot == null ? null : read(key, slot);
+    }
+
+    public boolean contains(String key) {
+        return index.containsKey(key);
+    }
+
+    public List<String> keys() {
+        return new ArrayList<>(index.keySet());
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public synchronized void put(String key, byte[] value) {
+        long offset = append(PUT, key, value);
+        Slot previous = index.put(key, new Slot(offset, value.length));
+        liveBytes += recordSize(key, value.length) - (previous == null ? 0 : recordSize(key, previous.length()));
+    }
+
+    public synchronized void delete(String key) {
+        Slot previous = index.remove(key);
+        if (previous == null) return;
+        append(DELETE, key, new byte[0]);
+        liveBytes -= recordSize(key, previous.length());
+    }
+
+    /** Bytes on disk, including superseded records. */
+    public synchronized long fileSize() {
+        return end;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) channel.close();
+    }
+
+    // -------------------------------------------------------
+    // Writing
+    // -------------------------------------------------------
+
+    private long append(byte op, String key, byte[] value) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Key is too long: " + key.length() + " chars");
+        }
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER + keyBytes.length + value.length + Integer.BYTES);
+        record.putInt(value.length).put(op).putShort((short) keyBytes.length).put(keyBytes).put(value);
+
+        CRC32C crc = new CRC32C();
+        crc.update(record.array(), Integer.BYTES, record.position() - Integer.BYTES);
+        record.putInt((int) crc.getValue());
+        record.flip();
+
+        long offset = end;
+        try {
+            long pos = offset;
+            while (record.hasRemaining()) {
+                pos += channel.write(record, pos);
+            }
+            if (sync) channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append to " + path, e);
+        }
+        end += record.capacity();
+        return offset;
+    }
+
+    private static long recordSize(String key, int valueLength) {
+        return RECORD_HEADER + key.getBytes(StandardCharsets.UTF_8).length + valueLength + Integer.BYTES;
+    }
+
+    // -------------------------------------------------------
+    // Reading
+    // -------------------------------------------------------
+
+    private byte[] read(String key, Slot slot) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer record = ByteBuffer.allocate(recordLength(keyBytes.length, slot.length()));
+        try {
+            readFully(channel, record, slot.offset());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + key + " from " + path, e);
+        }
+        if (!checksumMatches(record)) {
+            throw new IllegalStateException("Corrupt record " + key + " in " + path);
+        }
+        byte[] value = new byte[slot.length()];
+        record.get(RECORD_HEADER + keyBytes.length, value);
+        return value;
+    }
+
+    private static int recordLength(int keyLength, int valueLength) {
+        return RECORD_HEADER + keyLength + valueLength + Integer.BYTES;
+    }
+
+    private static boolean checksumMatches(ByteBuffer record) {
+        int crcAt = record.capacity() - Integer.BYTES;
+        CRC32C crc = new CRC32C();
+        crc.update(record.array(), Integer.BYTES, crcAt - Integer.BYTES);
+        return (int) crc.getValue() == record.getInt(crcAt);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer into, long pos) throws IOException {
+        while (into.hasRemaining()) {
+            int n = channel.read(into, pos + into.position());
+            if (n < 0) throw new IOException("Unexpected end of file");
+        }
+    }
+
+    // -------------------------------------------------------
+    // Opening
+    // -------------------------------------------------------
+
+    private void load() throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        if (channel.size() < FILE_HEADER) {
+            channel.truncate(0);
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER).putInt(MAGIC).putInt(VERSION).flip();
+            channel.write(header, 0);
+            end = FILE_HEADER;
+            return;
+        }
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER);
+        readFully(channel, header, 0);
+        if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            throw new IOException(path + " is not a record log of version " + VERSION);
+        }
+        scan();
+    }
+
+    private void scan() throws IOException {
+        long size = channel.size();
+        long pos = FILE_HEADER;
+        long lastStart = -1;
+        ByteBuffer head = ByteBuffer.allocate(RECORD_HEADER);
+        while (pos + RECORD_HEADER <= size) {
+            head.clear();
+            readFully(channel, head, pos);
+            int valueLength = head.getInt(0);
+            byte op = head.get(Integer.BYTES);
+            int keyLength = head.getShort(Integer.BYTES + 1);
+            if (valueLength < 0 || keyLength < 0 || (op != PUT && op != DELETE)) break;
+
+            long next = pos + recordLength(keyLength, valueLength);
+            if (next > size) break;
+
+            ByteBuffer keyBuffer = ByteBuffer.allocate(keyLength);
+            readFully(channel, keyBuffer, pos + RECORD_HEADER);
+            String key = new String(keyBuffer.array(), StandardCharsets.UTF_8);
+
+            Slot previous = op == PUT ? index.put(key, new Slot(pos, valueLength)) : index.remove(key);
+            if (op == PUT) liveBytes += next - pos;
+            if (previous != null) liveBytes -= recordSize(key, previous.length());
+
+            lastStart = pos;
+            pos = next;
+        }
+
+        // only the last record can be torn; values before it are checked when read
+        if (lastStart >= 0 && !intact(lastStart, pos)) {
+            log.warn("Dropping torn last record of {}", path);
+            channel.truncate(lastStart);
+            index.clear();
+            liveBytes = 0;
+            scan();
+            return;
+        }
+        if (pos < size) {
+            log.warn("Cutting {} trailing bytes off {}", size - pos, path);
+            channel.truncate(pos);
+        }
+        end = pos;
+    }
+
+    private boolean intact(long start, long next) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate((int) (next - start));
+        readFully(channel, record, start);
+        return checksumMatches(record);
+    }
+
+    /** Rewrites the live records into a fresh file and swaps it in atomically. */
+    private void compact() throws IOException {
+        Path tmp = path.resolveSibling(path.getFileName() + ".compact");
+        Files.deleteIfExists(tmp);
+        long before = end;
+        try (RecordLog fresh = new RecordLog(tmp, false)) {
+            fresh.load();
+            for (String key : keys()) {
+                fresh.put(key, get(key));
+            }
+            fresh.channel.force(true);
+        }
+        channel.close();
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        index.clear();
+        liveBytes = 0;
+        load();
+        log.info("Compacted {}: {} -> {} bytes", path, before, end);
+    }
+}
@@ -0,0 +1,54 @@
+package uz.hikmatullo.loadtesting.service.distributed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import uz.hikmatullo.loadtesting.config.MetricsBatchMessageConverter;
+import uz.hikmatullo.loadtesting.model.entity.ClusterMembership;
+import uz.hikmatullo.loadtesting.model.entity.metrics.WorkerMetricsBatch;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Worker → coordinator call that delivers one metrics batch. Throws when it was not accepted.
+ * Batches go out in the binary format; a coordinator that answers 415 gets JSON from then on.
+ */
+@Slf4j
+@Component
+public class CoordinatorMetricsClient {
+
+    private final RestTemplate restTemplate;
+
+    // coordinator address -> format it accepts
+    private final Map<String, MediaType> formats = new ConcurrentHashMap<>();
+
+    public CoordinatorMetricsClient(RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
+
+    public void send(ClusterMembership coordinator, WorkerMetricsBatch batch) {
+        String address = coordinator.getIp() + ":" + coordinator.getPort();
+        String url = "http://" + address + "/api/v1/metrics/batches";
+
+        MediaType format = formats.getOrDefault(address, MetricsBatchMessageConverter.MEDIA_TYPE);
+        try {
+            post(url, batch, format);
+        } catch (HttpClientErrorException.UnsupportedMediaType e) {
+            if (format.equals(MediaType.APPLICATION_JSON)) throw e;
+            log.info("Coordinator {} does not accept binary metrics batches, falling back to JSON", address);
+            formats.put(address, MediaType.APPLICATION_JSON);
+            post(url, batch, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    private void post(String url, WorkerMetricsBatch batch, MediaType format) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(format);
+        restTemplate.postForEntity(url, new HttpEntity<>(batch, headers), Void.class);
+    }
+}
@@ -0,0 +1,227 @@
+package uz.hikmatullo.loadtesting.service.distributed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import uz.hikmatullo.loadtesting.engine.aggregator.IncrementalMetricsAggregator;
+import uz.hikmatullo.loadtesting.exceptions.CustomBadRequestException;
+import uz.hikmatullo.loadtesting.exceptions.CustomNotFoundException;
+import uz.hikmatullo.loadtesting.model.entity.LoadProfile;
+import uz.hikmatullo.loadtesting.model.entity.LoadTest;
+import uz.hikmatullo.loadtesting.model.entity.WorkerNode;
+import uz.hikmatullo.loadtesting.model.entity.WorkerStatus;
+import uz.hikmatullo.loadtesting.model.entity.metrics.AggregationSnapshot;
+import uz.hikmatullo.loadtesting.model.entity.metrics.ScheduleMetrics;
+import uz.hikmatullo.loadtesting.model.entity.metrics.ShardSummary;
+import uz.hikmatullo.loadtesting.model.entity.metrics.TestExecutionReport;
+import uz.hikmatullo.loadtesting.model.enums.LoadType;
+import uz.hikmatullo.loadtesting.model.enums.WorkerStatusEnum;
+import uz.hikmatullo.loadtesting.model.request.ShardRequest;
+import uz.hikmatullo.loadtesting.model.response.ShardReport;
+import uz.hikmatullo.loadtesting.repository.ClusterRepository;
+import uz.hikmatullo.loadtesting.repository.WorkerNodeRepository;
+import uz.hikmatullo.loadtesting.repository.WorkerStatusRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Coordinator side of a distributed run.
+ * - Splits the profile over the cluster's ALIVE workers, weighted by their last heartbeat
+ * - Every worker gets the same start time a little in the future, so shards start together
+ *   instead of in the order the requests happened to arrive
+ * - Workers return histogram snapshots, not reports: percentiles are computed over all
+ *   samples at once, never by averaging per-worker percentiles
+ * - Workers stream metric batches every FLUSH_INTERVAL_MS into {@link LiveMetricsService},
+ *   so a partial report is available while the test runs
+ * A worker that fails is listed with its error and the report covers the others.
+ * Tests with thresholds or data feeders are rejected: both run only for runs of TestRunService.
+ */
+@Slf4j
+@Service
+public class DistributedExecutionService {
+
+    // time for every worker to receive its shard before the common start
+    static final long START_DELAY_MS = 2_000;
+
+    static final long FLUSH_INTERVAL_MS = 5_000;
+
+    private final ClusterRepository clusterRepository;
+    private final WorkerNodeRepository workerNodeRepository;
+    private final WorkerStatusRepository workerStatusRepository;
+    private final WorkerShardClient shardClient;
+    private final LiveMetricsService liveMetricsService;
+
+    public DistributedExecutionService(ClusterRepository clusterRepository,
+                                       WorkerNodeRepository workerNodeRepository,
+                                       WorkerStatusRepository workerStatusRepository,
+                                       WorkerShardClient shardClient,
+                                       LiveMetricsService liveMetricsService) {
+        this.clusterRepository = clusterRepository;
+        this.workerNodeRepository = workerNodeRepository;
+        this.workerStatusRepository = workerStatusRepository;
+        this.shardClient = shardClient;
+        this.liveMetricsService = liveMetricsService;
+    }
+
+    public TestExecutionReport run(LoadTest loadTest, String clusterId) {
+        if (loadTest.getThresholds() != null && !loadTest.getThresholds().isEmpty()) {
+            // nothing here evaluates them or can stop the workers early: refuse rather than ignore
+            throw new CustomBadRequestException("Test " + loadTest.getId()
+                    + " has thresholds, which are only evaluated for runs started through /api/v1/runs");
+        }
+        if (loadTest.getFeeders() != null && !loadTest.getFeeders().isEmpty()) {
+            // data files live on the coordinator and every worker would start its own cursor at row 0,
+            // handing the same rows to each shard
+            throw new CustomBadRequestException("Test " + loadTest.getId()
+                    + " uses data feeders, which are only supported for runs started through /api/v1/runs");
+        }
+        if (loadTest.isRecordSamples()) {
+            // workers run shards straight through the executor; nothing spills their requests to disk
+            log.warn("Test {} asks for raw samples, but distributed runs do not record them", loadTest.getId());
+        }
+        clusterRepository.findById(clusterId)
+                .orElseThrow(() -> new CustomNotFoundException("Cluster not found for id " + clusterId));
+
+        List<WorkerNode> workers = workerNodeRepository.findWorkerByClusterId(clusterId).stream()
+                .filter(w -> w.getStatus() == WorkerStatusEnum.ALIVE)
+                .toList();
+        if (workers.isEmpty()) {
+            throw new CustomBadRequestException("Cluster " + clusterId + " has no ALIVE workers");
+        }
+
+        List<WorkerStatus> statuses = workers.stream()
+                .map(w -> workerStatusRepository.findByWorkerId(w.getId()))
+                .toList();
+        double[] weights = ShardPlanner.weights(statuses);
+        List<LoadProfile> profiles = ShardPlanner.shard(loadTest.getProfile(), weights);
+
+        long startAt = System.currentTimeMillis() + START_DELAY_MS;
+        log.info("Distributing test {} over {} workers of cluster {}, start at {}",
+                loadTest.getId(), workers.size(), clusterId, startAt);
+
+        List<ShardSummary> summaries = new ArrayList<>();
+        List<Future<ShardReport>> futures = new ArrayList<>();
+
+        liveMetricsService.open(loadTest);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < workers.size(); i++) {
+                LoadProfile profile = profiles.get(i);
+                if (profile == null) continue;
+
+                WorkerNode worker = workers.get(i);
+                summaries.add(ShardSummary.builder()
+                        .workerId(worker.getId())
+                        .address(WorkerShardClient.address(worker))
+                        .weight(weights[i])
+                        .virtualUsers(profile.getVirtualUsers())
+                        .targetRps(profile.getTargetRps())
+                        .totalRequests(profile.getTotalRequests())
+                        .build());
+
+                LoadTest shard = withProfile(loadTest, profile);
+                futures.add(executor.submit(() -> shardClient.runShard(worker,
+                        new ShardRequest(worker.getId(), shard, startAt, System.currentTimeMillis(), FLUSH_INTERVAL_MS))));
+            }
+
+            List<ShardReport> reports = new ArrayList<>();
+            for (int i = 0; i < futures.size(); i++) {
+                ShardSummary summary = summaries.get(i);
+                try {
+                    ShardReport report = futures.get(i).get();
+                    reports.add(report);
+                    summary.setStreamed(report.streamed());
+                    summary.setStartedAt(report.startedAt() - report.clockOffsetMs());
+                    summary.setFinishedAt(report.finishedAt() - report.clockOffsetMs());
+                    summary.setClockOffsetMs(report.clockOffsetMs());
+                } catch (ExecutionException e) {
+                    log.error("Worker {} failed its shard of test {}: {}",
+                            summary.getWorkerId(), loadTest.getId(), e.getCause().getMessage());
+                    summary.setError(e.getCause().getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CustomBadRequestException("Interrupted while waiting for workers");
+                }
+            }
+
+            Map<String, AggregationSnapshot> streamed = liveMetricsService.close(loadTest.getId());
+            if (reports.isEmpty()) {
+                throw new CustomBadRequestException("No worker completed its shard of test " + loadTest.getId());
+            }
+            return merge(loadTest, reports, streamed, summaries);
+        } finally {
+            // no-op when already closed above; stops accepting batches when a worker call threw
+            liveMetricsService.close(loadTest.getId());
+        }
+    }
+
+    /** Streamed metrics are used for workers that delivered every batch, the returned ones for the rest. */
+    static TestExecutionReport merge(LoadTest loadTest, List<ShardReport> reports,
+                                     Map<String, AggregationSnapshot> streamed, List<ShardSummary> summaries) {
+        IncrementalMetricsAggregator aggregator =
+                new IncrementalMetricsAggregator(loadTest.getId(), loadTest.getSteps());
+
+        long startedAt = Long.MAX_VALUE;
+        long finishedAt = Long.MIN_VALUE;
+        for (ShardReport report : reports) {
+            AggregationSnapshot metrics = report.streamed() ? streamed.get(report.workerId()) : report.metrics();
+            aggregator.merge(metrics);
+            summaries.stream()
+                    .filter(s -> s.getWorkerId().equals(report.workerId()))
+                    .findFirst()
+                    .ifPresent(s -> s.setTotalRequestsSent(
+                            metrics == null || metrics.getGlobal() == null ? 0 : metrics.getGlobal().getTotalRequests()));
+            startedAt = Math.min(startedAt, report.startedAt() - report.clockOffsetMs());
+            finishedAt = Math.max(finishedAt, report.finishedAt() - report.clockOffsetMs());
+        }
+
+        TestExecutionReport merged = aggregator.buildReport(startedAt, finishedAt);
+        LoadType type = loadTest.getProfile().getType();
+        if (type == LoadType.FIXED_RPS) {
+            merged.setSchedule(mergeSchedules(reports));
+        }
+        if (type == LoadType.BURST) {
+            merged.setTimeToCompleteMs(finishedAt - startedAt);
+        }
+        merged.setShards(summaries);
+        return merged;
+    }
+
+    private static ScheduleMetrics mergeSchedules(List<ShardReport> reports) {
+        ScheduleMetrics merged = new ScheduleMetrics();
+        for (ShardReport report : reports) {
+            ScheduleMetrics s = report.schedule();
+            if (s == null) continue;
+            // all shards follow the same schedule window, so rates add up
+            merged.setTargetRps(merged.getTargetRps() + s.getTargetRps());
+            merged.setAchievedRps(merged.getAchievedRps() + s.getAchievedRps());
+            merged.setDispatchedRps(merged.getDispatchedRps() + s.getDispatchedRps());
+            merged.setScheduledIterations(merged.getScheduledIterations() + s.getScheduledIterations());
+            merged.setDispatchedIterations(merged.getDispatchedIterations() + s.getDispatchedIterations());
+            merged.setScheduleMisses(merged.getScheduleMisses() + s.getScheduleMisses());
+            merged.setMaxScheduleLagMs(Math.max(merged.getMaxScheduleLagMs(), s.getMaxScheduleLagMs()));
+        }
+        return merged;
+    }
+
+    static LoadTest withProfile(LoadTest loadTest, LoadProfile profile) {
+        return LoadTest.builder()
+                .id(loadTest.getId())
+                .name(loadTest.getName())
+                .description(loadTest.getDescription())
+                .profile(profile)
+                .steps(loadTest.getSteps())
+                .validationRules(loadTest.getValidationRules())
+                .feeders(loadTest.getFeeders())
+                .recordSamples(loadTest.isRecordSamples())
+                .thresholds(loadTest.getThresholds())
+                .createdAt(loadTest.getCreatedAt())
+                .status(loadTest.getStatus())
+                .startAt(loadTest.getStartAt())
+                .build();
+    }
+}
@@ -0,0 +1,117 @@
+package uz.hikmatullo.loadtesting.service.distributed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import uz.hikmatullo.loadtesting.engine.aggregator.IncrementalMetricsAggregator;
+import uz.hikmatullo.loadtesting.exceptions.CustomBadRequestException;
+import uz.hikmatullo.loadtesting.exceptions.CustomNotFoundException;
+import uz.hikmatullo.loadtesting.model.entity.LoadTest;
+import uz.hikmatullo.loadtesting.model.entity.RequestStep;
+import uz.hikmatullo.loadtesting.model.entity.metrics.AggregationSnapshot;
+import uz.hikmatullo.loadtesting.model.entity.metrics.RequestMetrics;
+import uz.hikmatullo.loadtesting.model.entity.metrics.TestExecutionReport;
+import uz.hikmatullo.loadtesting.model.entity.metrics.WorkerMetricsBatch;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coordinator-side live aggregate of running distributed tests, fed by worker batches.
+ * Each worker's batches are folded into that worker's own aggregator (deltas of the same
+ * virtual users); reports merge all workers, so active users add up across workers only.
+ */
+@Slf4j
+@Service
+public class LiveMetricsService {
+
+    private static final class WorkerStream {
+        final IncrementalMetricsAggregator aggregator;
+        long lastSequence;
+
+        WorkerStream(IncrementalMetricsAggregator aggregator) {
+            this.aggregator = aggregator;
+        }
+    }
+
+    private static final class LiveRun {
+        final LoadTest loadTest;
+        final long startedAt = System.currentTimeMillis();
+        final Map<String, WorkerStream> workers = new ConcurrentHashMap<>();
+
+        LiveRun(LoadTest loadTest) {
+            this.loadTest = loadTest;
+        }
+    }
+
+    // testId -> run currently accepting batches
+    private final Map<String, LiveRun> runs = new ConcurrentHashMap<>();
+
+    public void open(LoadTest loadTest) {
+        if (runs.putIfAbsent(loadTest.getId(), new LiveRun(loadTest)) != null) {
+            throw new CustomBadRequestException("Test " + loadTest.getId() + " is already running");
+        }
+    }
+
+    /** Stops accepting batches and returns each worker's final metrics, keyed by workerId. */
+    public Map<String, AggregationSnapshot> close(String testId) {
+        LiveRun run = runs.remove(testId);
+        Map<String, AggregationSnapshot> result = new HashMap<>();
+        if (run == null) return result;
+
+        run.workers.forEach((workerId, stream) -> {
+            synchronized (stream) {
+                result.put(workerId, stream.aggregator.snapshot());
+            }
+        });
+        return result;
+    }
+
+    public void ingest(WorkerMetricsBatch batch) {
+        LiveRun run = runs.get(batch.getTestId());
+        if (run == null) {
+            throw new CustomNotFoundException("No running test with id " + batch.getTestId());
+        }
+        if (batch.getWorkerId() == null) {
+            throw new CustomBadRequestException("Metrics batch has no workerId");
+        }
+
+        List<RequestStep> steps = run.loadTest.getSteps();
+        WorkerStream stream = run.workers.computeIfAbsent(batch.getWorkerId(),
+                id -> new WorkerStream(new IncrementalMetricsAggregator(batch.getTestId(), steps)));
+
+        // one worker's batches are applied in order, each exactly once
+        synchronized (stream) {
+            if (batch.getSequence() > 0 && batch.getSequence() <= stream.lastSequence) {
+                log.debug("Dropping resent batch {} from worker {}", batch.getSequence(), batch.getWorkerId());
+                return;
+            }
+            stream.lastSequence = batch.getSequence();
+
+            stream.aggregator.append(batch.getSummary());
+            if (batch.getMetrics() != null) {
+                for (RequestMetrics m : batch.getMetrics()) {
+                    stream.aggregator.record(m);
+                }
+            }
+        }
+    }
+
+    /** Partial report of a running test over everything received so far. */
+    public TestExecutionReport report(String testId) {
+        LiveRun run = runs.get(testId);
+        if (run == null) {
+            throw new CustomNotFoundException("No running test with id " + testId);
+        }
+
+        IncrementalMetricsAggregator merged =
+                new IncrementalMetricsAggregator(testId, run.loadTest.getSteps());
+        run.workers.values().forEach(stream -> {
+            synchronized (stream) {
+                merged.merge(stream.aggregator.snapshot());
+            }
+        });
+        return merged.buildReport(run.startedAt, System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,112 @@
+package uz.hikmatullo.loadtesting.service.distributed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import uz.hikmatullo.loadtesting.engine.LoadTestExecutor;
+import uz.hikmatullo.loadtesting.engine.aggregator.IncrementalMetricsAggregator;
+import uz.hikmatullo.loadtesting.exceptions.CustomBadRequestException;
+import uz.hikmatullo.loadtesting.model.entity.ClusterMembership;
+import uz.hikmatullo.loadtesting.model.entity.LoadTest;
+import uz.hikmatullo.loadtesting.model.entity.metrics.TestExecutionReport;
+import uz.hikmatullo.loadtesting.model.request.ShardRequest;
+import uz.hikmatullo.loadtesting.model.response.ShardReport;
+import uz.hikmatullo.loadtesting.repository.ClusterMembershipRepository;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Worker side of a distributed run: waits for the shared start time, runs its shard
+ * locally and hands back mergeable metrics, streamed while it runs when the coordinator asks for it.
+ */
+@Slf4j
+@Service
+public class ShardExecutionService {
+
+    // refuse start times so far ahead that the coordinator has probably given up on us
+    static final long MAX_START_DELAY_MS = TimeUnit.MINUTES.toMillis(5);
+
+    private final LoadTestExecutor loadTestExecutor;
+    private final ClusterMembershipRepository clusterMembershipRepository;
+    private final CoordinatorMetricsClient metricsClient;
+
+    public ShardExecutionService(LoadTestExecutor loadTestExecutor,
+                                 ClusterMembershipRepository clusterMembershipRepository,
+                                 CoordinatorMetricsClient metricsClient) {
+        this.loadTestExecutor = loadTestExecutor;
+        this.clusterMembershipRepository = clusterMembershipRepository;
+        this.metricsClient = metricsClient;
+    }
+
+    public ShardReport execute(ShardRequest request) {
+        LoadTest loadTest = request.loadTest();
+        if (loadTest == null || loadTest.getProfile() == null || loadTest.getProfile().getType() == null) {
+            throw new CustomBadRequestException("Shard has no load test or profile");
+        }
+
+        // includes the one-way network delay, which is small next to a whole second of timeline
+        long clockOffsetMs = System.currentTimeMillis() - request.coordinatorTimeMs();
+        long localStartAt = request.startAtEpochMs() + clockOffsetMs;
+
+        long waitMs = localStartAt - System.currentTimeMillis();
+        if (waitMs > MAX_START_DELAY_MS) {
+            throw new CustomBadRequestException("Shard start time is " + waitMs + " ms away");
+        }
+
+        log.info("Shard of test {} for worker {}: starting in {} ms (clock offset {} ms)",
+                loadTest.getId(), request.workerId(), Math.max(0, waitMs), clockOffsetMs);
+        sleepUntil(localStartAt);
+
+        IncrementalMetricsAggregator aggregator =
+                new IncrementalMetricsAggregator(loadTest.getId(), loadTest.getSteps());
+
+        WorkerMetricsStreamer streamer = null;
+        if (request.flushIntervalMs() > 0) {
+            Optional<ClusterMembership> coordinator = findCoordinator(request.workerId());
+            if (coordinator.isPresent()) {
+                streamer = new WorkerMetricsStreamer(metricsClient, coordinator.get(), request.workerId(), aggregator);
+                streamer.start(request.flushIntervalMs());
+            } else {
+                log.warn("No cluster membership for worker {}, metrics are returned at the end", request.workerId());
+            }
+        }
+
+        TestExecutionReport report;
+        boolean streamed;
+        try {
+            report = loadTestExecutor.run(loadTest, aggregator);
+        } finally {
+            streamed = streamer != null && streamer.finish();
+        }
+
+        return ShardReport.builder()
+                .workerId(request.workerId())
+                .startedAt(report.getStartedAt())
+                .finishedAt(report.getFinishedAt())
+                .clockOffsetMs(clockOffsetMs)
+                // if any batch got lost, the full result replaces what was streamed
+                .metrics(streamed ? null : aggregator.snapshot())
+                .streamed(streamed)
+                .schedule(report.getSchedule())
+                .timeToCompleteMs(report.getTimeToCompleteMs())
+                .build();
+    }
+
+    private Optional<ClusterMembership> findCoordinator(String workerId) {
+        return clusterMembershipRepository.findAllMasterNodes().stream()
+                .filter(m -> m.getGivenWorkerId() != null && m.getGivenWorkerId().equals(workerId))
+                .findFirst();
+    }
+
+    private static void sleepUntil(long epochMs) {
+        long waitMs;
+        while ((waitMs = epochMs - System.currentTimeMillis()) > 0) {
+            try {
+                Thread.sleep(waitMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CustomBadRequestException("Interrupted while waiting for shard start");
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package uz.hikmatullo.loadtesting.service.distributed;
+
+import uz.hikmatullo.loadtesting.model.entity.LoadProfile;
+import uz.hikmatullo.loadtesting.model.entity.WorkerStatus;
+import uz.hikmatullo.loadtesting.model.enums.LoadType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Splits one load profile into per-worker profiles.
+ * - Each worker's weight comes from its last heartbeat: idle CPU times free memory
+ *   relative to the roomiest worker, so a busy or small worker gets less load
+ * - Counts (VUs, RPS, requests) are split by largest remainder: the shards always add up
+ *   to exactly the original numbers and no worker is off by more than one
+ * - Durations, ramps, spike timing and pacing are copied as-is: every shard follows the same curve
+ */
+public final class ShardPlanner {
+
+    // even a fully loaded worker keeps a small share instead of dropping out silently
+    static final double MIN_CPU_WEIGHT = 0.05;
+
+    private ShardPlanner() {}
+
+    /** Weights in the same order as the statuses; a missing status counts as an idle worker. */
+    public static double[] weights(List<WorkerStatus> statuses) {
+        long maxFreeMemory = 0;
+        for (WorkerStatus status : statuses) {
+            if (status != null) maxFreeMemory = Math.max(maxFreeMemory, status.getFreeMemory());
+        }
+
+        double[] weights = new double[statuses.size()];
+        for (int i = 0; i < weights.length; i++) {
+            WorkerStatus status = statuses.get(i);
+            if (status == null) {
+                weights[i] = 1;
+                continue;
+            }
+            double cpu = Math.max(MIN_CPU_WEIGHT, 1 - Math.clamp(status.getCpuLoad(), 0, 1));
+            // no memory reported yet (first heartbeat) → do not penalize
+            double memory = maxFreeMemory <= 0 || status.getFreeMemory() <= 0
+                    ? 1
+                    : status.getFreeMemory() / (double) maxFreeMemory;
+            weights[i] = cpu * memory;
+        }
+        return weights;
+    }
+
+    /** Splits total proportionally to weights; the parts always sum to total. */
+    public static long[] split(long total, double[] weights) {
+        long[] parts = new long[weights.length];
+        if (weights.length == 0 || total <= 0) return parts;
+
+        double weightSum = Arrays.stream(weights).sum();
+        double[] remainders = new double[weights.length];
+        long assigned = 0;
+        for (int i = 0; i < weights.length; i++) {
+            double exact = weightSum > 0 ? total * weights[i] / weightSum : total / (double) weights.length;
+            parts[i] = (long) Math.floor(exact);
+            remainders[i] = exact - parts[i];
+            assigned += parts[i];
+        }
+
+        // hand out what rounding down left over, biggest remainder first (ties: lower index)
+        for (long left = total - assigned; left > 0; left--) {
+            int best = 0;
+            for (int i = 1; i < remainders.length; i++) {
+                if (remainders[i] > remainders[best]) best = i;
+            }
+            parts[best]++;
+            remainders[best] = -1;
+        }
+        return parts;
+    }
+
+    /**
+     * One profile per weight, in the same order. An entry is null when that worker's share
+     * rounds down to nothing (e.g. 3 VUs over 5 workers).
+     */
+    public static List<LoadProfile> shard(LoadProfile profile, double[] weights) {
+        long[] users = split(profile.getVirtualUsers(), weights);
+        long[] baseline = split(profile.getBaselineUsers(), weights);
+        long[] rps = split(profile.getTargetRps(), weights);
+        long[] requests = split(profile.getTotalRequests(), weights);
+        long[] concurrency = split(profile.getMaxConcurrency(), weights);
+
+        List<LoadProfile> shards = new ArrayList<>(weights.length);
+        for (int i = 0; i < weights.length; i++) {
+            LoadProfile shard = copy(profile);
+            shard.setVirtualUsers((int) users[i]);
+            shard.setBaselineUsers((int) Math.min(baseline[i], users[i]));
+            shard.setTargetRps((int) rps[i]);
+            shard.setTotalRequests((int) requests[i]);
+            // every worker with requests needs at least one slot, and never more slots than requests
+            shard.setMaxConcurrency((int) Math.clamp(concurrency[i], Math.min(1, requests[i]), requests[i]));
+
+            shards.add(primaryUnits(shard) > 0 ? shard : null);
+        }
+        return shards;
+    }
+
+    /** The number that decides whether a shard has any load at all. */
+    static long primaryUnits(LoadProfile profile) {
+        LoadType type = profile.getType();
+        if (type == LoadType.FIXED_RPS) return profile.getTargetRps();
+        if (type == LoadType.BURST) return profile.getTotalRequests();
+        return profile.getVirtualUsers();
+    }
+
+    private static LoadProfile copy(LoadProfile p) {
+        return LoadProfile.builder()
+                .id(p.getId())
+                .type(p.getType())
+                .virtualUsers(p.getVirtualUsers())
+                .durationSeconds(p.getDurationSeconds())
+                .rampUpSeconds(p.getRampUpSeconds())
+                .targetRps(p.getTargetRps())
+                .totalRequests(p.getTotalRequests())
+                .maxConcurrency(p.getMaxConcurrency())
+                .baselineUsers(p.getBaselineUsers())
+                .spikeStartSeconds(p.getSpikeStartSeconds())
+                .spikeHoldSeconds(p.getSpikeHoldSeconds())
+                .connectionMode(p.getConnectionMode())
+                .sharedClients(p.getSharedClients())
+                .pacingMs(p.getPacingMs())
+                .build();
+    }
+}
@@ -0,0 +1,130 @@
+package uz.hikmatullo.loadtesting.service.distributed;
+
+import lombok.extern.slf4j.Slf4j;
+import uz.hikmatullo.loadtesting.engine.aggregator.IncrementalMetricsAggregator;
+import uz.hikmatullo.loadtesting.engine.aggregator.SnapshotDelta;
+import uz.hikmatullo.loadtesting.model.entity.ClusterMembership;
+import uz.hikmatullo.loadtesting.model.entity.metrics.AggregationSnapshot;
+import uz.hikmatullo.loadtesting.model.entity.metrics.WorkerMetricsBatch;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams one shard's metrics to the coordinator while the shard runs.
+ * - Every interval the aggregator is snapshotted and only the difference to the previous
+ *   snapshot is sent, so a batch stays small however long the test runs
+ * - Batches that could not be delivered are kept in order and retried on the next tick;
+ *   past MAX_UNSENT the two oldest that were never tried are combined, so an unreachable
+ *   coordinator costs bounded memory and loses nothing
+ * - {@link #finish()} sends the last delta after the run, when the numbers are final
+ */
+@Slf4j
+public class WorkerMetricsStreamer {
+
+    static final int MAX_UNSENT = 32;
+    static final int FINAL_ATTEMPTS = 3;
+
+    private final CoordinatorMetricsClient client;
+    private final ClusterMembership coordinator;
+    private final String workerId;
+    private final IncrementalMetricsAggregator aggregator;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    // guarded by this: the scheduler and finish() never flush at the same time
+    private final Deque<WorkerMetricsBatch> unsent = new ArrayDeque<>();
+    private AggregationSnapshot lastSnapshot;
+    private long sequence;
+
+    public WorkerMetricsStreamer(CoordinatorMetricsClient client, ClusterMembership coordinator,
+                                 String workerId, IncrementalMetricsAggregator aggregator) {
+        this.client = client;
+        this.coordinator = coordinator;
+        this.workerId = workerId;
+        this.aggregator = aggregator;
+    }
+
+    public void start(long flushIntervalMs) {
+        scheduler.scheduleAtFixedRate(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /** Stops the periodic flush and sends what is left. Returns true if the coordinator got every batch. */
+    public boolean finish() {
+        scheduler.shutdownNow();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (this) {
+            enqueueDelta();
+            for (int attempt = 0; attempt < FINAL_ATTEMPTS && !unsent.isEmpty(); attempt++) {
+                sendUnsent();
+            }
+            if (!unsent.isEmpty()) {
+                log.warn("{} metrics batches of test {} were not delivered", unsent.size(), aggregator.getState().getTestId());
+            }
+            return unsent.isEmpty();
+        }
+    }
+
+    void flushQuietly() {
+        try {
+            synchronized (this) {
+                enqueueDelta();
+                sendUnsent();
+            }
+        } catch (Exception e) {
+            // never let an exception cancel the periodic task
+            log.error("Metrics flush failed: {}", e.getMessage());
+        }
+    }
+
+    private void enqueueDelta() {
+        AggregationSnapshot current = aggregator.snapshot();
+        AggregationSnapshot delta = SnapshotDelta.between(lastSnapshot, current);
+        lastSnapshot = current;
+
+        unsent.addLast(batch(++sequence, delta));
+        if (unsent.size() > MAX_UNSENT) {
+            // only the head was ever sent: it may have arrived with just the ack lost, and inside a
+            // later sequence the coordinator would count it twice. Combine the two after it instead;
+            // the result keeps the later sequence number
+            IncrementalMetricsAggregator combined = new IncrementalMetricsAggregator(current.getTestId(), null);
+            WorkerMetricsBatch head = unsent.pollFirst();
+            WorkerMetricsBatch first = unsent.pollFirst();
+            WorkerMetricsBatch second = unsent.pollFirst();
+            combined.append(first.getSummary());
+            combined.append(second.getSummary());
+            unsent.addFirst(batch(second.getSequence(), combined.snapshot()));
+            unsent.addFirst(head);
+        }
+    }
+
+    private void sendUnsent() {
+        while (!unsent.isEmpty()) {
+            try {
+                client.send(coordinator, unsent.peekFirst());
+            } catch (Exception e) {
+                log.warn("Metrics batch not delivered, {} waiting: {}", unsent.size(), e.getMessage());
+                return;
+            }
+            unsent.pollFirst();
+        }
+    }
+
+    private WorkerMetricsBatch batch(long sequence, AggregationSnapshot summary) {
+        return WorkerMetricsBatch.builder()
+                .workerId(workerId)
+                .testId(summary.getTestId())
+                .timestampSecond(System.currentTimeMillis() / 1000)
+                .sequence(sequence)
+                .summary(summary)
+                .build();
+    }
+}
@@ -0,0 +1,40 @@
+package uz.hikmatullo.loadtesting.service.distributed;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import uz.hikmatullo.loadtesting.exceptions.CustomBadRequestException;
+import uz.hikmatullo.loadtesting.model.entity.WorkerNode;
+import uz.hikmatullo.loadtesting.model.request.ShardRequest;
+import uz.hikmatullo.loadtesting.model.response.ShardReport;
+
+/**
+ * Coordinator → worker call that runs one shard. Blocks until the worker has finished it.
+ */
+@Component
+public class WorkerShardClient {
+
+    // workers that joined before they reported their port are assumed to run on the default one
+    static final int DEFAULT_WORKER_PORT = 7574;
+
+    private final RestTemplate restTemplate;
+
+    public WorkerShardClient(RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
+
+    public ShardReport runShard(WorkerNode worker, ShardRequest request) {
+        String url = "http://" + address(worker) + "/api/v1/worker/shards";
+
+        ResponseEntity<ShardReport> response = restTemplate.postForEntity(url, request, ShardReport.class);
+        if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+            throw new CustomBadRequestException("Worker " + worker.getId() + " returned an invalid shard report");
+        }
+        return response.getBody();
+    }
+
+    public static String address(WorkerNode worker) {
+        int port = worker.getPort() > 0 ? worker.getPort() : DEFAULT_WORKER_PORT;
+        return worker.getIp() + ":" + port;
+    }
+}
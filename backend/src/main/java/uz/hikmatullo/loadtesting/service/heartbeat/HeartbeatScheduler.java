@@ -5,6 +5,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import uz.hikmatullo.loadtesting.model.entity.ClusterMembership;
+import uz.hikmatullo.loadtesting.model.entity.WorkerTelemetry;
 import uz.hikmatullo.loadtesting.model.request.HeartbeatRequest;
 import uz.hikmatullo.loadtesting.repository.ClusterMembershipRepository;
 
@@ -36,14 +37,19 @@ public class HeartbeatScheduler {
         List<ClusterMembership> allMasterNodes = clusterMembershipRepository.findAllMasterNodes();
 
         log.debug("Found {} master nodes", allMasterNodes.size());
+        if (allMasterNodes.isEmpty()) return;
+
+        // one sample per tick: every master sees the same numbers for the same interval
+        WorkerTelemetry telemetry = metricsService.sample();
         for (ClusterMembership membership : allMasterNodes) {
 
             HeartbeatRequest req = HeartbeatRequest.builder()
                     .workerId(membership.getGivenWorkerId())
                     .clusterId(membership.getClusterId())
-                    .cpuLoad(metricsService.cpuLoad())
-                    .freeMemory(metricsService.freeMemory())
-                    .activeTasks(metricsService.activeTasks())
+                    .cpuLoad(WorkerMetricsService.cpuLoad(telemetry))
+                    .freeMemory(WorkerMetricsService.freeMemory(telemetry))
+                    .activeTasks(telemetry.getActiveVirtualUsers())
+                    .telemetry(telemetry)
                     .build();
 
             heartbeatClient.sendHeartbeat(membership, req);
@@ -1,22 +1,142 @@
 package uz.hikmatullo.loadtesting.service.heartbeat;
 
+import com.sun.management.OperatingSystemMXBean;
+import com.sun.management.UnixOperatingSystemMXBean;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import uz.hikmatullo.loadtesting.engine.EngineActivity;
+import uz.hikmatullo.loadtesting.model.entity.WorkerTelemetry;
 
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Samples this worker's own resource usage for the heartbeat.
+ * - CPU, memory, GC and file descriptors come from the platform MXBeans
+ * - GC count and time are reported per interval, as the difference to the previous sample
+ * - Carrier threads are counted among live platform threads; virtual users and in-flight
+ *   requests are counted by the engine itself (see {@link EngineActivity})
+ * - Sockets are counted from /proc/self/fd, so only on Linux
+ * A sample takes no stack traces; it is taken once per heartbeat.
+ */
+@Slf4j
 @Component
 public class WorkerMetricsService {
 
-    public double cpuLoad() {
-        // for now, fake data. We will implement it later when we start using metrics
-        return 0.25;
+    private static final Path PROC_FDS = Path.of("/proc/self/fd");
+    private static final String CARRIER_THREAD = "jdk.internal.misc.CarrierThread";
+
+    private final java.lang.management.OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+
+    private long lastSampleNanos = System.nanoTime();
+    private long lastGcCount = totalGcCount();
+    private long lastGcTimeMs = totalGcTimeMs();
+
+    public synchronized WorkerTelemetry sample() {
+        long now = System.nanoTime();
+        long intervalMs = Math.max(1, (now - lastSampleNanos) / 1_000_000);
+        long gcCount = totalGcCount();
+        long gcTimeMs = totalGcTimeMs();
+        long gcDeltaMs = Math.max(0, gcTimeMs - lastGcTimeMs);
+
+        MemoryUsage heap = memory.getHeapMemoryUsage();
+        MemoryUsage nonHeap = memory.getNonHeapMemoryUsage();
+
+        WorkerTelemetry telemetry = WorkerTelemetry.builder()
+                .processCpuLoad(os instanceof OperatingSystemMXBean sun ? unknownIfNegative(sun.getProcessCpuLoad()) : -1)
+                .systemCpuLoad(os instanceof OperatingSystemMXBean sun ? unknownIfNegative(sun.getCpuLoad()) : -1)
+                .availableProcessors(os.getAvailableProcessors())
+                .heapUsedBytes(heap.getUsed())
+                .heapCommittedBytes(heap.getCommitted())
+                .heapMaxBytes(heap.getMax())
+                .nonHeapUsedBytes(nonHeap.getUsed())
+                .gcCount(Math.max(0, gcCount - lastGcCount))
+                .gcTimeMs(gcDeltaMs)
+                .gcTimeRatio(Math.min(1, gcDeltaMs / (double) intervalMs))
+                .platformThreads(ManagementFactory.getThreadMXBean().getThreadCount())
+                .carrierThreads(carrierThreads())
+                .activeVirtualUsers(EngineActivity.activeVirtualUsers())
+                .inFlightRequests(EngineActivity.inFlightRequests())
+                .openFileDescriptors(os instanceof UnixOperatingSystemMXBean unix ? unix.getOpenFileDescriptorCount() : -1)
+                .maxFileDescriptors(os instanceof UnixOperatingSystemMXBean unix ? unix.getMaxFileDescriptorCount() : -1)
+                .openSockets(openSockets())
+                .intervalMs(intervalMs)
+                .build();
+
+        lastSampleNanos = now;
+        lastGcCount = gcCount;
+        lastGcTimeMs = gcTimeMs;
+        return telemetry;
+    }
+
+    /**
+     * Load used to weigh this worker against others: the machine's CPU when known, since
+     * other processes compete for it too, otherwise this process's.
+     */
+    public static double cpuLoad(WorkerTelemetry telemetry) {
+        if (telemetry.getSystemCpuLoad() >= 0) return telemetry.getSystemCpuLoad();
+        return Math.max(0, telemetry.getProcessCpuLoad());
+    }
+
+    /** Heap that can still be allocated before the limit; committed heap when there is none. */
+    public static long freeMemory(WorkerTelemetry telemetry) {
+        long limit = telemetry.getHeapMaxBytes() > 0 ? telemetry.getHeapMaxBytes() : telemetry.getHeapCommittedBytes();
+        return Math.max(0, limit - telemetry.getHeapUsedBytes());
+    }
+
+    private long totalGcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : collectors) total += Math.max(0, gc.getCollectionCount());
+        return total;
+    }
+
+    private long totalGcTimeMs() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : collectors) total += Math.max(0, gc.getCollectionTime());
+        return total;
+    }
+
+    private static int carrierThreads() {
+        ThreadGroup root = Thread.currentThread().getThreadGroup();
+        while (root.getParent() != null) root = root.getParent();
+        // enumerate() never lists virtual threads; no stack traces are taken
+        Thread[] threads = new Thread[root.activeCount() * 2 + 16];
+        int n = root.enumerate(threads, true);
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            if (threads[i].getClass().getName().equals(CARRIER_THREAD)) count++;
+        }
+        return count;
     }
 
-    public long freeMemory() {
-        // for now, fake data. We will implement it later when we start using metrics
-        return Runtime.getRuntime().freeMemory();
+    private static long openSockets() {
+        if (!Files.isDirectory(PROC_FDS)) return -1;
+        long count = 0;
+        try (DirectoryStream<Path> fds = Files.newDirectoryStream(PROC_FDS)) {
+            for (Path fd : fds) {
+                try {
+                    if (Files.readSymbolicLink(fd).toString().startsWith("socket:")) count++;
+                } catch (IOException e) {
+                    // closed while listing
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Cannot list {}: {}", PROC_FDS, e.getMessage());
+            return -1;
+        }
+        return count;
     }
 
-    public int activeTasks() {
-        // for now, fake data. We will implement it later when we start using metrics
-        return 0;
+    private static double unknownIfNegative(double value) {
+        return value < 0 || Double.isNaN(value) ? -1 : value;
     }
 }
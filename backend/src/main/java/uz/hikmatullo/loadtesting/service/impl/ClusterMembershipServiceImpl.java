@@ -2,6 +2,7 @@ package uz.hikmatullo.loadtesting.service.impl;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
@@ -23,6 +24,10 @@ public class ClusterMembershipServiceImpl implements ClusterMembershipService {
     private final ClusterMembershipRepository clusterMembershipRepository;
     private final ClusterMembershipValidator validator;
 
+    // sent to the coordinator so it can reach this worker's API to hand out shards
+    @Value("${server.port:7574}")
+    private int serverPort;
+
     public ClusterMembershipServiceImpl(RestTemplate restTemplate, ClusterMembershipRepository clusterMembershipRepository, ClusterMembershipValidator validator) {
         this.restTemplate = restTemplate;
         this.clusterMembershipRepository = clusterMembershipRepository;
@@ -50,7 +55,7 @@ public class ClusterMembershipServiceImpl implements ClusterMembershipService {
 
         String url = buildUrl(request);
 
-        NodeConnectRequest connectRequest = new NodeConnectRequest(request.clusterId());
+        NodeConnectRequest connectRequest = new NodeConnectRequest(request.clusterId(), serverPort);
 
         try {
             ResponseEntity<ClusterInfoResponse> response =
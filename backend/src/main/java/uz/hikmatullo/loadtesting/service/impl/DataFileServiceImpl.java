@@ -0,0 +1,140 @@
+package uz.hikmatullo.loadtesting.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import uz.hikmatullo.loadtesting.engine.feeder.DataFileIndexer;
+import uz.hikmatullo.loadtesting.exceptions.CustomBadRequestException;
+import uz.hikmatullo.loadtesting.exceptions.CustomNotFoundException;
+import uz.hikmatullo.loadtesting.mapper.DataFileMapper;
+import uz.hikmatullo.loadtesting.model.entity.DataFile;
+import uz.hikmatullo.loadtesting.model.entity.LoadTest;
+import uz.hikmatullo.loadtesting.model.enums.DataFileFormat;
+import uz.hikmatullo.loadtesting.model.response.DataFileResponse;
+import uz.hikmatullo.loadtesting.repository.DataFileRepository;
+import uz.hikmatullo.loadtesting.repository.LoadTestRepository;
+import uz.hikmatullo.loadtesting.service.interfaces.DataFileService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Test data files behind DataFeeders.
+ * - Uploads go straight from the request stream to {@code loadtest.data.dir}; nothing is buffered in memory
+ * - Each file is indexed once on upload, so runs can open it without reading it (see MappedRows)
+ * - A file that a saved test feeds from cannot be deleted
+ */
+@Slf4j
+@Service
+public class DataFileServiceImpl implements DataFileService {
+
+    private final DataFileRepository repository;
+    private final LoadTestRepository loadTestRepository;
+    private final Path directory;
+
+    public DataFileServiceImpl(DataFileRepository repository,
+                               LoadTestRepository loadTestRepository,
+                               @Value("${loadtest.data.dir:${user.home}/.loadtest/data}") String directory) {
+        this.repository = repository;
+        this.loadTestRepository = loadTestRepository;
+        this.directory = Path.of(directory);
+    }
+
+    @Override
+    public DataFileResponse upload(String name, DataFileFormat format, InputStream content) {
+        if (name == null || name.isBlank()) {
+            throw new CustomBadRequestException("Data file name is required");
+        }
+        DataFileFormat resolved = format != null ? format : formatOf(name);
+
+        DataFile file = DataFile.builder()
+                .name(name)
+                .format(resolved)
+                .uploadedAt(Instant.now())
+                .build();
+        Path data = directory.resolve(file.getId() + ".data");
+        Path index = directory.resolve(file.getId() + ".idx");
+
+        try {
+            Files.createDirectories(directory);
+            Files.copy(content, data);
+            DataFileIndexer.Result result = DataFileIndexer.index(data, index, resolved);
+            if (result.rows() == 0) {
+                throw new IllegalArgumentException("it has no rows");
+            }
+            file.setRows(result.rows());
+            file.setColumns(result.columns());
+            file.setSizeBytes(Files.size(data));
+        } catch (IllegalArgumentException e) {
+            deleteQuietly(data, index);
+            throw new CustomBadRequestException("Data file " + name + " is not valid " + resolved + ": " + e.getMessage());
+        } catch (IOException e) {
+            deleteQuietly(data, index);
+            throw new UncheckedIOException("Cannot store data file " + name, e);
+        }
+        file.setDataPath(data.toString());
+        file.setIndexPath(index.toString());
+        repository.save(file);
+
+        log.info("Data file stored: id={}, name={}, rows={}, bytes={}", file.getId(), name, file.getRows(), file.getSizeBytes());
+        return DataFileMapper.toResponse(file);
+    }
+
+    @Override
+    public DataFileResponse get(String id) {
+        return DataFileMapper.toResponse(find(id));
+    }
+
+    @Override
+    public List<DataFileResponse> getAll() {
+        return repository.findAll().stream()
+                .map(DataFileMapper::toResponse)
+                .toList();
+    }
+
+    @Override
+    public void delete(String id) {
+        DataFile file = find(id);
+        List<String> users = loadTestRepository.findAll().stream()
+                .filter(test -> test.getFeeders() != null
+                        && test.getFeeders().stream().anyMatch(f -> id.equals(f.getFileId())))
+                .map(LoadTest::getId)
+                .toList();
+        if (!users.isEmpty()) {
+            throw new CustomBadRequestException("Data file " + id + " is used by load tests " + users);
+        }
+        repository.deleteById(id);
+        // runs that already opened the file keep reading their mapping
+        deleteQuietly(Path.of(file.getDataPath()), Path.of(file.getIndexPath()));
+        log.info("Data file deleted. id={}", id);
+    }
+
+    @Override
+    public DataFile find(String id) {
+        return repository.findById(id)
+                .orElseThrow(() -> new CustomNotFoundException("Data file not found: " + id));
+    }
+
+    private static DataFileFormat formatOf(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".csv")) return DataFileFormat.CSV;
+        if (lower.endsWith(".jsonl") || lower.endsWith(".ndjson")) return DataFileFormat.JSONL;
+        throw new CustomBadRequestException("Cannot tell the format of " + name + "; pass format=CSV or format=JSONL");
+    }
+
+    private static void deleteQuietly(Path... files) {
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete {}: {}", file, e.getMessage());
+            }
+        }
+    }
+}
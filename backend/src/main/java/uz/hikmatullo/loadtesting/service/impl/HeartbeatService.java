@@ -1,17 +1,30 @@
 package uz.hikmatullo.loadtesting.service.impl;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import uz.hikmatullo.loadtesting.model.entity.WorkerStatus;
+import uz.hikmatullo.loadtesting.model.entity.WorkerTelemetry;
 import uz.hikmatullo.loadtesting.model.enums.WorkerStatusEnum;
 import uz.hikmatullo.loadtesting.model.request.HeartbeatRequest;
 import uz.hikmatullo.loadtesting.repository.WorkerStatusRepository;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 @Service
 public class HeartbeatService {
 
+    private static final Logger log = LoggerFactory.getLogger(HeartbeatService.class);
+
+    // beyond these a worker is likely slowing down its own requests, skewing their latency
+    static final double MAX_CPU_LOAD = 0.9;
+    static final double MAX_HEAP_USED = 0.9;
+    static final double MAX_GC_TIME_RATIO = 0.1;
+    static final double MAX_FILE_DESCRIPTORS_USED = 0.9;
+
     private final WorkerStatusRepository workerStatusRepository;
 
     public HeartbeatService(WorkerStatusRepository workerStatusRepository) {
@@ -19,6 +32,13 @@ public class HeartbeatService {
     }
 
     public void updateHeartbeat(HeartbeatRequest req) {
+        List<String> bottlenecks = bottlenecks(req.telemetry());
+        WorkerStatus previous = workerStatusRepository.findByWorkerId(req.workerId());
+        if (!bottlenecks.isEmpty()
+                && (previous == null || previous.getBottlenecks() == null || previous.getBottlenecks().isEmpty())) {
+            log.warn("Worker {} is saturated ({}); its latencies may be skewed", req.workerId(), bottlenecks);
+        }
+
         workerStatusRepository.save(req.workerId(),
                 WorkerStatus.builder()
                         .status(WorkerStatusEnum.ALIVE)
@@ -26,10 +46,32 @@ public class HeartbeatService {
                         .cpuLoad(req.cpuLoad())
                         .freeMemory(req.freeMemory())
                         .activeTasks(req.activeTasks())
+                        .telemetry(req.telemetry())
+                        .bottlenecks(bottlenecks)
                         .build()
         );
     }
 
+    /** Resources a worker is running out of, judged from one sample; unknown values never count. */
+    static List<String> bottlenecks(WorkerTelemetry t) {
+        List<String> result = new ArrayList<>();
+        if (t == null) return result;
+        if (t.getProcessCpuLoad() >= MAX_CPU_LOAD || t.getSystemCpuLoad() >= MAX_CPU_LOAD) {
+            result.add("cpu");
+        }
+        if (t.getHeapMaxBytes() > 0 && t.getHeapUsedBytes() >= MAX_HEAP_USED * t.getHeapMaxBytes()) {
+            result.add("heap");
+        }
+        if (t.getGcTimeRatio() >= MAX_GC_TIME_RATIO) {
+            result.add("gc");
+        }
+        if (t.getMaxFileDescriptors() > 0
+                && t.getOpenFileDescriptors() >= MAX_FILE_DESCRIPTORS_USED * t.getMaxFileDescriptors()) {
+            result.add("file_descriptors");
+        }
+        return result;
+    }
+
     public Map<String, WorkerStatus> getWorkerStatuses() {
         return workerStatusRepository.findAll();
     }
@@ -4,11 +4,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import uz.hikmatullo.loadtesting.engine.LoadTestExecutor;
 import uz.hikmatullo.loadtesting.mapper.LoadTestMapper;
+import uz.hikmatullo.loadtesting.model.entity.DataFeeder;
 import uz.hikmatullo.loadtesting.model.entity.LoadTest;
 import uz.hikmatullo.loadtesting.model.entity.metrics.TestExecutionReport;
 import uz.hikmatullo.loadtesting.model.request.LoadTestRequest;
 import uz.hikmatullo.loadtesting.model.response.LoadTestResponse;
 import uz.hikmatullo.loadtesting.repository.LoadTestRepository;
+import uz.hikmatullo.loadtesting.service.distributed.DistributedExecutionService;
+import uz.hikmatullo.loadtesting.service.interfaces.DataFileService;
 import uz.hikmatullo.loadtesting.service.interfaces.LoadTestService;
 import uz.hikmatullo.loadtesting.validators.LoadTestValidator;
 
@@ -21,11 +24,16 @@ public class LoadTestServiceImpl implements LoadTestService {
     private final LoadTestRepository repository;
     private final LoadTestValidator loadTestValidator;
     private final LoadTestExecutor loadTestExecutor;
+    private final DistributedExecutionService distributedExecutionService;
+    private final DataFileService dataFileService;
 
-    public LoadTestServiceImpl(LoadTestRepository repository, LoadTestValidator loadTestValidator, LoadTestExecutor loadTestExecutor) {
+    public LoadTestServiceImpl(LoadTestRepository repository, LoadTestValidator loadTestValidator, LoadTestExecutor loadTestExecutor,
+                               DistributedExecutionService distributedExecutionService, DataFileService dataFileService) {
         this.repository = repository;
         this.loadTestValidator = loadTestValidator;
         this.loadTestExecutor = loadTestExecutor;
+        this.distributedExecutionService = distributedExecutionService;
+        this.dataFileService = dataFileService;
     }
 
     @Override
@@ -34,6 +42,7 @@ public class LoadTestServiceImpl implements LoadTestService {
         loadTestValidator.validateForCreate(request);
 
         LoadTest entity = LoadTestMapper.toEntity(request);
+        attachDataFiles(entity);
 
         repository.save(entity);
 
@@ -51,6 +60,7 @@ public class LoadTestServiceImpl implements LoadTestService {
 
         LoadTest updated = LoadTestMapper.toEntity(request);
         updated.setId(id);
+        attachDataFiles(updated);
 
         repository.save(updated);
 
@@ -58,6 +68,12 @@ public class LoadTestServiceImpl implements LoadTestService {
         return LoadTestMapper.toResponse(updated);
     }
 
+    private void attachDataFiles(LoadTest loadTest) {
+        for (DataFeeder feeder : loadTest.getFeeders()) {
+            feeder.setFile(dataFileService.find(feeder.getFileId()));
+        }
+    }
+
     @Override
     public LoadTestResponse get(String id) {
         LoadTest loadTest = repository.findById(id)
@@ -91,4 +107,11 @@ public class LoadTestServiceImpl implements LoadTestService {
         return loadTestExecutor.run(loadTest);
 
     }
+
+    @Override
+    public TestExecutionReport executeDistributed(String id, String clusterId) {
+        LoadTest loadTest = repository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("LoadTest not found: " + id));
+        return distributedExecutionService.run(loadTest, clusterId);
+    }
 }
@@ -52,7 +52,7 @@ public class NodeServiceImpl implements NodeService {
         var cluster = clusterRepository.findById(request.clusterId())
                 .orElseThrow(() -> new CustomNotFoundException("Cluster not found for id " + request.clusterId()));
 
-        WorkerNode node = new WorkerNode(request.clusterId(), currentRequestIp);
+        WorkerNode node = new WorkerNode(request.clusterId(), currentRequestIp, request.port());
         repository.saveWorkerNode(node);
         createFirstHeartBeat(request, node);
 
@@ -0,0 +1,64 @@
+package uz.hikmatullo.loadtesting.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import uz.hikmatullo.loadtesting.engine.samples.RawSampleReader;
+import uz.hikmatullo.loadtesting.engine.samples.RawSampleWriter;
+import uz.hikmatullo.loadtesting.exceptions.CustomNotFoundException;
+import uz.hikmatullo.loadtesting.model.entity.LoadTest;
+import uz.hikmatullo.loadtesting.model.entity.RequestStep;
+import uz.hikmatullo.loadtesting.service.interfaces.RawSampleService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Raw per-request samples of runs whose test has recordSamples on.
+ * - One directory per run under {@code loadtest.samples.dir}
+ * - Failing to open the writer only loses the samples, never the run
+ */
+@Slf4j
+@Service
+public class RawSampleServiceImpl implements RawSampleService {
+
+    private final Path directory;
+    private final int segmentRows;
+    private final long maxRows;
+
+    public RawSampleServiceImpl(@Value("${loadtest.samples.dir:${user.home}/.loadtest/samples}") String directory,
+                                @Value("${loadtest.samples.segment-rows:" + RawSampleWriter.DEFAULT_SEGMENT_ROWS + "}") int segmentRows,
+                                @Value("${loadtest.samples.max-rows:100000000}") long maxRows) {
+        this.directory = Path.of(directory);
+        this.segmentRows = segmentRows;
+        this.maxRows = maxRows;
+    }
+
+    @Override
+    public RawSampleWriter open(String runId, LoadTest loadTest) {
+        if (!loadTest.isRecordSamples()) return null;
+
+        List<String> stepIds = loadTest.getSteps() == null ? List.of()
+                : loadTest.getSteps().stream().map(RequestStep::getId).toList();
+        try {
+            return RawSampleWriter.open(directory.resolve(runId), stepIds, segmentRows, maxRows);
+        } catch (IOException e) {
+            log.warn("Run {} will not record raw samples: {}", runId, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public RawSampleReader reader(String runId) {
+        try {
+            return RawSampleReader.open(directory.resolve(runId));
+        } catch (NoSuchFileException e) {
+            throw new CustomNotFoundException("Run " + runId + " has no raw samples");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read raw samples of run " + runId, e);
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package uz.hikmatullo.loadtesting.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import uz.hikmatullo.loadtesting.exceptions.CustomBadRequestException;
+import uz.hikmatullo.loadtesting.exceptions.CustomNotFoundException;
+import uz.hikmatullo.loadtesting.model.entity.RequestStep;
+import uz.hikmatullo.loadtesting.model.entity.TestRun;
+import uz.hikmatullo.loadtesting.model.entity.metrics.*;
+import uz.hikmatullo.loadtesting.repository.LoadTestRepository;
+import uz.hikmatullo.loadtesting.repository.ReportRepository;
+import uz.hikmatullo.loadtesting.repository.TestRunRepository;
+import uz.hikmatullo.loadtesting.service.interfaces.RunComparisonService;
+import uz.hikmatullo.loadtesting.util.LatencyHistogram;
+import uz.hikmatullo.loadtesting.util.SignificanceTests;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Compares runs from their stored aggregation snapshots, never from raw samples.
+ * - Latency: a tail test per percentile (do more requests exceed the baseline's p95?)
+ *   and a rank-sum test for the shift of the whole distribution
+ * - Errors: two-proportion test on the failure rate
+ * - Throughput: Welch's test on requests per second, first and last (partial) seconds dropped
+ * Cost depends on the number of histogram buckets and seconds, not on the request count.
+ */
+@Service
+@RequiredArgsConstructor
+public class RunComparisonServiceImpl implements RunComparisonService {
+
+    private static final double[] PERCENTILES = {50, 95, 99};
+
+    private final TestRunRepository runRepository;
+    private final ReportRepository reportRepository;
+    private final LoadTestRepository loadTestRepository;
+
+    /** A finished run with the state its report was built from. */
+    private record StoredRun(TestRun run, AggregationSnapshot snapshot, long durationSec) {}
+
+    @Override
+    public RunComparison compare(List<String> runIds, String baselineRunId, double alpha, double minChangePercent) {
+        if (runIds == null || runIds.isEmpty()) {
+            throw new CustomBadRequestException("At least one run to compare is required");
+        }
+        if (alpha <= 0 || alpha >= 1) {
+            throw new CustomBadRequestException("alpha must be between 0 and 1");
+        }
+        if (minChangePercent < 0) {
+            throw new CustomBadRequestException("minChangePercent must be >= 0");
+        }
+        String baselineId = baselineRunId != null ? baselineRunId : runIds.getFirst();
+        List<String> candidateIds = runIds.stream().filter(id -> !id.equals(baselineId)).distinct().toList();
+        if (candidateIds.isEmpty()) {
+            throw new CustomBadRequestException("Nothing to compare the baseline run with");
+        }
+
+        StoredRun baseline = load(baselineId);
+        String testId = baseline.run().getTestId();
+        Map<String, String> stepNames = stepNames(testId);
+
+        List<RunDiff> diffs = new ArrayList<>();
+        for (String candidateId : candidateIds) {
+            StoredRun candidate = load(candidateId);
+            if (!testId.equals(candidate.run().getTestId())) {
+                throw new CustomBadRequestException("Run " + candidateId + " belongs to another test than the baseline");
+            }
+            diffs.add(diff(baseline, candidate, stepNames, alpha, minChangePercent));
+        }
+
+        return RunComparison.builder()
+                .testId(testId)
+                .baselineRunId(baselineId)
+                .alpha(alpha)
+                .minChangePercent(minChangePercent)
+                .runs(diffs)
+                .regressed(diffs.stream().anyMatch(RunDiff::isRegressed))
+                .build();
+    }
+
+    private StoredRun load(String runId) {
+        TestRun run = runRepository.findById(runId)
+                .orElseThrow(() -> new CustomNotFoundException("Run not found: " + runId));
+        if (!run.getStatus().isFinished() || run.getStartedAt() == null) {
+            throw new CustomBadRequestException("Run " + runId + " has not finished (" + run.getStatus() + ")");
+        }
+        AggregationSnapshot snapshot = reportRepository.findSnapshotByRunId(runId)
+                .orElseThrow(() -> new CustomBadRequestException("Run " + runId + " has no stored histograms to compare"));
+        long durationSec = Math.max(1, Duration.between(run.getStartedAt(), run.getFinishedAt()).toSeconds());
+        return new StoredRun(run, snapshot, durationSec);
+    }
+
+    private Map<String, String> stepNames(String testId) {
+        Map<String, String> names = new LinkedHashMap<>();
+        loadTestRepository.findById(testId).ifPresent(test -> {
+            if (test.getSteps() == null) return;
+            for (RequestStep step : test.getSteps()) {
+                names.put(step.getId(), step.getName());
+            }
+        });
+        return names;
+    }
+
+    private RunDiff diff(StoredRun baseline, StoredRun candidate, Map<String, String> stepNames,
+                         double alpha, double minChangePercent) {
+        MetricsDiff global = diff(null, null, baseline.snapshot().getGlobal(), baseline.durationSec(),
+                candidate.snapshot().getGlobal(), candidate.durationSec(), alpha, minChangePercent);
+
+        // declared step order first, then steps only the runs know about
+        Set<String> order = new LinkedHashSet<>(stepNames.keySet());
+        order.addAll(steps(baseline).keySet());
+        order.addAll(steps(candidate).keySet());
+
+        List<MetricsDiff> steps = new ArrayList<>();
+        for (String stepId : order) {
+            MetricsSnapshot before = steps(baseline).get(stepId);
+            MetricsSnapshot after = steps(candidate).get(stepId);
+            if (before == null && after == null) continue;
+            steps.add(diff(stepId, stepNames.get(stepId), before, baseline.durationSec(),
+                    after, candidate.durationSec(), alpha, minChangePercent));
+        }
+
+        boolean regressed = !global.getRegressions().isEmpty()
+                || steps.stream().anyMatch(step -> !step.getRegressions().isEmpty());
+        return RunDiff.builder()
+                .runId(candidate.run().getId())
+                .global(global)
+                .steps(steps)
+                .timeline(timeline(baseline.snapshot().getTimeline(), candidate.snapshot().getTimeline()))
+                .regressed(regressed)
+                .build();
+    }
+
+    private static Map<String, MetricsSnapshot> steps(StoredRun run) {
+        return run.snapshot().getSteps() == null ? Map.of() : run.snapshot().getSteps();
+    }
+
+    // -------------------------------------------------------
+    // One scope (global or step)
+    // -------------------------------------------------------
+
+    private MetricsDiff diff(String stepId, String stepName,
+                             MetricsSnapshot before, long beforeSec,
+                             MetricsSnapshot after, long afterSec,
+                             double alpha, double minChangePercent) {
+        MetricsDiff.MetricsDiffBuilder diff = MetricsDiff.builder()
+                .stepId(stepId)
+                .stepName(stepName)
+                .baseline(summary(before, beforeSec))
+                .candidate(summary(after, afterSec))
+                .regressions(List.of());
+        if (before == null || after == null || before.getTotalRequests() == 0 || after.getTotalRequests() == 0) {
+            return diff.build();
+        }
+
+        List<Regression> regressions = new ArrayList<>();
+        HistogramSnapshot beforeLatencies = before.getLatencies();
+        HistogramSnapshot afterLatencies = after.getLatencies();
+
+        SignificanceTests.RankSum shift = SignificanceTests.rankSum(beforeLatencies, afterLatencies);
+        diff.latencyShiftProbability(shift.probabilityGreater()).latencyShiftPValue(shift.pValue());
+
+        LatencyHistogram beforeHistogram = LatencyHistogram.fromSnapshot(beforeLatencies);
+        LatencyHistogram afterHistogram = LatencyHistogram.fromSnapshot(afterLatencies);
+        for (double percentile : PERCENTILES) {
+            long b = beforeHistogram.percentile(percentile);
+            long c = afterHistogram.percentile(percentile);
+            Double change = change(b, c);
+            double p = SignificanceTests.exceedance(beforeLatencies, afterLatencies, percentile).pValue();
+            if (p < alpha && c > b && (change == null || change >= minChangePercent)) {
+                regressions.add(regression("p" + (int) percentile, b, c, change, p));
+            }
+        }
+
+        long failedBefore = before.getTotalRequests() - before.getSuccessfulRequests();
+        long failedAfter = after.getTotalRequests() - after.getSuccessfulRequests();
+        double errorsBefore = failedBefore * 100.0 / before.getTotalRequests();
+        double errorsAfter = failedAfter * 100.0 / after.getTotalRequests();
+        Double errorChange = change(errorsBefore, errorsAfter);
+        double errorP = SignificanceTests.proportions(failedBefore, before.getTotalRequests(),
+                failedAfter, after.getTotalRequests()).pValue();
+        if (errorP < alpha && errorsAfter > errorsBefore && (errorChange == null || errorChange >= minChangePercent)) {
+            regressions.add(regression("errorRate", errorsBefore, errorsAfter, errorChange, errorP));
+        }
+
+        double rpsBefore = before.getTotalRequests() / (double) beforeSec;
+        double rpsAfter = after.getTotalRequests() / (double) afterSec;
+        Double rpsChange = change(rpsBefore, rpsAfter);
+        // lower is worse: is the baseline's throughput larger than the candidate's?
+        double rpsP = SignificanceTests.means(perSecond(after), perSecond(before)).pValue();
+        if (rpsP < alpha && rpsChange != null && -rpsChange >= minChangePercent) {
+            regressions.add(regression("rps", rpsBefore, rpsAfter, rpsChange, rpsP));
+        }
+
+        return diff.regressions(regressions).build();
+    }
+
+    private static MetricsSummary summary(MetricsSnapshot snapshot, long durationSec) {
+        if (snapshot == null) return null;
+        LatencyHistogram latencies = LatencyHistogram.fromSnapshot(snapshot.getLatencies());
+        long total = snapshot.getTotalRequests();
+        long failed = total - snapshot.getSuccessfulRequests();
+        return MetricsSummary.builder()
+                .totalRequests(total)
+                .failedRequests(failed)
+                .errorRate(total == 0 ? 0 : failed * 100.0 / total)
+                .rpsAverage(total / (double) durationSec)
+                .meanLatency(latencies.mean())
+                .p50(latencies.p50())
+                .p90(latencies.p90())
+                .p95(latencies.p95())
+                .p99(latencies.p99())
+                .build();
+    }
+
+    private static Regression regression(String metric, double baseline, double candidate, Double change, double p) {
+        return Regression.builder()
+                .metric(metric)
+                .baseline(baseline)
+                .candidate(candidate)
+                .changePercent(change)
+                .pValue(p)
+                .build();
+    }
+
+    /** Relative change in percent; null when the baseline is 0. */
+    private static Double change(double baseline, double candidate) {
+        return baseline == 0 ? null : (candidate - baseline) * 100.0 / baseline;
+    }
+
+    /** Requests per second in order, gaps as 0; the first and last second are usually partial. */
+    private static double[] perSecond(MetricsSnapshot snapshot) {
+        Map<Long, Long> counts = snapshot.getRequestsPerSecond();
+        if (counts == null || counts.size() < 3) return new double[0];
+        long first = Collections.min(counts.keySet());
+        long last = Collections.max(counts.keySet());
+        double[] series = new double[(int) (last - first - 1)];
+        for (int i = 0; i < series.length; i++) {
+            series[i] = counts.getOrDefault(first + 1 + i, 0L);
+        }
+        return series;
+    }
+
+    // -------------------------------------------------------
+    // Timeline shape
+    // -------------------------------------------------------
+
+    private static TimelineDiff timeline(List<TimelinePoint> before, List<TimelinePoint> after) {
+        double[] b = rps(before);
+        double[] c = rps(after);
+        return TimelineDiff.builder()
+                .baselineSeconds(b.length)
+                .candidateSeconds(c.length)
+                .rpsCorrelation(correlation(b, c))
+                .baselineRpsVariation(variation(b))
+                .candidateRpsVariation(variation(c))
+                .build();
+    }
+
+    /** RPS per second since the first point, gaps as 0. */
+    private static double[] rps(List<TimelinePoint> timeline) {
+        if (timeline == null || timeline.isEmpty()) return new double[0];
+        long first = timeline.getFirst().getTimestampSecond();
+        long last = timeline.getLast().getTimestampSecond();
+        double[] series = new double[(int) (last - first + 1)];
+        for (TimelinePoint point : timeline) {
+            series[(int) (point.getTimestampSecond() - first)] = point.getRequests();
+        }
+        return series;
+    }
+
+    private static Double correlation(double[] a, double[] b) {
+        int n = Math.min(a.length, b.length);
+        if (n < 3) return null;
+        double meanA = 0, meanB = 0;
+        for (int i = 0; i < n; i++) {
+            meanA += a[i];
+            meanB += b[i];
+        }
+        meanA /= n;
+        meanB /= n;
+        double cov = 0, varA = 0, varB = 0;
+        for (int i = 0; i < n; i++) {
+            cov += (a[i] - meanA) * (b[i] - meanB);
+            varA += (a[i] - meanA) * (a[i] - meanA);
+            varB += (b[i] - meanB) * (b[i] - meanB);
+        }
+        return varA == 0 || varB == 0 ? null : cov / Math.sqrt(varA * varB);
+    }
+
+    private static double variation(double[] series) {
+        if (series.length < 2) return 0;
+        double mean = 0;
+        for (double v : series) mean += v;
+        mean /= series.length;
+        if (mean == 0) return 0;
+        double variance = 0;
+        for (double v : series) variance += (v - mean) * (v - mean);
+        return Math.sqrt(variance / (series.length - 1)) / mean;
+    }
+}
@@ -0,0 +1,217 @@
+package uz.hikmatullo.loadtesting.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import uz.hikmatullo.loadtesting.engine.aggregator.IncrementalMetricsAggregator;
+import uz.hikmatullo.loadtesting.engine.aggregator.RollingWindow;
+import uz.hikmatullo.loadtesting.exceptions.CustomNotFoundException;
+import uz.hikmatullo.loadtesting.model.entity.LoadTest;
+import uz.hikmatullo.loadtesting.model.entity.TestRun;
+import uz.hikmatullo.loadtesting.model.entity.metrics.LiveMetricsFrame;
+import uz.hikmatullo.loadtesting.model.enums.RunStatus;
+import uz.hikmatullo.loadtesting.repository.LoadTestRepository;
+import uz.hikmatullo.loadtesting.repository.TestRunRepository;
+import uz.hikmatullo.loadtesting.service.interfaces.RunStreamService;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pushes live metrics of runs to Server-Sent Events subscribers.
+ * - One ticker thread builds one frame per run and tick from the run's aggregator,
+ *   only for runs somebody is watching; the load generator never sees a subscriber
+ * - Every subscriber has a one-frame mailbox and its own sender: a newer frame replaces
+ *   one that was not sent yet, so a slow client gets fewer frames, never a backlog
+ * - The last frame carries the final status; the stream completes after it
+ */
+@Slf4j
+@Service
+public class RunStreamServiceImpl implements RunStreamService {
+
+    /** Where a subscriber's frames go; an SSE emitter in production. */
+    interface FrameSink {
+        void send(LiveMetricsFrame frame) throws IOException;
+
+        void complete();
+    }
+
+    /**
+     * Latest-wins mailbox with a sender that runs only while there is something to send.
+     */
+    static final class Subscriber {
+        private final FrameSink sink;
+        private final Executor executor;
+        private final AtomicReference<LiveMetricsFrame> pending = new AtomicReference<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Subscriber(FrameSink sink, Executor executor) {
+            this.sink = sink;
+            this.executor = executor;
+        }
+
+        /** Never blocks: replaces an unsent frame and wakes the sender if it is idle. */
+        void offer(LiveMetricsFrame frame) {
+            if (closed) return;
+            pending.set(frame);
+            if (draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (!closed) {
+                LiveMetricsFrame frame = pending.getAndSet(null);
+                if (frame == null) {
+                    draining.set(false);
+                    // a frame offered between getAndSet and the reset would otherwise wait a tick
+                    if (pending.get() == null || !draining.compareAndSet(false, true)) return;
+                    continue;
+                }
+                try {
+                    sink.send(frame);
+                } catch (Exception e) {
+                    // client went away; the emitter callbacks clean up
+                    close();
+                    return;
+                }
+                if (frame.getStatus() != null && frame.getStatus().isFinished()) {
+                    close();
+                    sink.complete();
+                }
+            }
+        }
+
+        void close() {
+            closed = true;
+            pending.set(null);
+        }
+
+        boolean isClosed() {
+            return closed;
+        }
+    }
+
+    private static final class Channel {
+        final TestRun run;
+        final RollingWindow window;
+        final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        // kept after the run drops its own reference, for the final frame
+        IncrementalMetricsAggregator aggregator;
+
+        Channel(TestRun run, RollingWindow window) {
+            this.run = run;
+            this.window = window;
+        }
+    }
+
+    private final TestRunRepository runRepository;
+    private final LoadTestRepository loadTestRepository;
+    private final int windowTicks;
+
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("live-metrics").daemon().factory());
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    public RunStreamServiceImpl(TestRunRepository runRepository,
+                                LoadTestRepository loadTestRepository,
+                                @Value("${loadtest.live.interval-ms:1000}") long intervalMs,
+                                @Value("${loadtest.live.window-seconds:" + RollingWindow.DEFAULT_WINDOW_SECONDS + "}") int windowSeconds) {
+        this.runRepository = runRepository;
+        this.loadTestRepository = loadTestRepository;
+        this.windowTicks = (int) Math.max(1, windowSeconds * 1000L / Math.max(1, intervalMs));
+        ticker.scheduleAtFixedRate(this::tick, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public SseEmitter subscribe(String runId) {
+        SseEmitter emitter = new SseEmitter(0L);   // open for as long as the run takes
+        Subscriber subscriber = subscribe(runId, new FrameSink() {
+            @Override
+            public void send(LiveMetricsFrame frame) throws IOException {
+                emitter.send(SseEmitter.event().name("metrics").data(frame, MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void complete() {
+                emitter.complete();
+            }
+        });
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        return emitter;
+    }
+
+    Subscriber subscribe(String runId, FrameSink sink) {
+        TestRun run = runRepository.findById(runId)
+                .orElseThrow(() -> new CustomNotFoundException("Run not found: " + runId));
+        Subscriber subscriber = new Subscriber(sink, senders);
+
+        // compute: never adds to a channel that the ticker is removing at the same time
+        channels.compute(runId, (id, channel) -> {
+            if (channel == null) {
+                LoadTest loadTest = loadTestRepository.findById(run.getTestId()).orElse(null);
+                channel = new Channel(run, new RollingWindow(windowTicks, loadTest == null ? null : loadTest.getSteps()));
+            }
+            channel.subscribers.add(subscriber);
+            return channel;
+        });
+        return subscriber;
+    }
+
+    void tick() {
+        long now = System.currentTimeMillis();
+        channels.forEach((runId, channel) -> {
+            try {
+                publish(runId, channel, now);
+            } catch (Exception e) {
+                log.warn("Live metrics of run {} failed: {}", runId, e.getMessage());
+            }
+        });
+    }
+
+    private void publish(String runId, Channel channel, long now) {
+        channel.subscribers.removeIf(Subscriber::isClosed);
+
+        RunStatus status;
+        synchronized (channel.run) {
+            status = channel.run.getStatus();
+            if (channel.run.getAggregator() != null) channel.aggregator = channel.run.getAggregator();
+        }
+
+        if (status.isFinished()) {
+            channels.remove(runId, channel);
+        } else if (channels.computeIfPresent(runId, (id, c) -> c.subscribers.isEmpty() ? null : c) == null) {
+            return;   // nobody is watching any more
+        }
+
+        LiveMetricsFrame frame = channel.aggregator == null
+                ? LiveMetricsFrame.builder().timestampMs(now).build()
+                : channel.window.next(channel.aggregator, now);
+        frame.setRunId(runId);
+        frame.setTestId(channel.run.getTestId());
+        frame.setStatus(status);
+
+        for (Subscriber subscriber : channel.subscribers) {
+            subscriber.offer(frame);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+        senders.shutdownNow();
+        channels.values().forEach(channel -> channel.subscribers.forEach(Subscriber::close));
+        channels.clear();
+    }
+}
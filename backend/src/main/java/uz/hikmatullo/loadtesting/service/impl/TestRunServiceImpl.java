@@ -0,0 +1,296 @@
+package uz.hikmatullo.loadtesting.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import uz.hikmatullo.loadtesting.engine.LoadTestExecutor;
+import uz.hikmatullo.loadtesting.engine.aggregator.IncrementalMetricsAggregator;
+import uz.hikmatullo.loadtesting.engine.samples.RawSampleReader;
+import uz.hikmatullo.loadtesting.engine.samples.RawSampleWriter;
+import uz.hikmatullo.loadtesting.engine.thresholds.ThresholdMonitor;
+import uz.hikmatullo.loadtesting.exceptions.CustomBadRequestException;
+import uz.hikmatullo.loadtesting.exceptions.CustomNotFoundException;
+import uz.hikmatullo.loadtesting.mapper.TestRunMapper;
+import uz.hikmatullo.loadtesting.model.entity.LoadTest;
+import uz.hikmatullo.loadtesting.model.entity.TestRun;
+import uz.hikmatullo.loadtesting.model.entity.metrics.TestExecutionReport;
+import uz.hikmatullo.loadtesting.model.entity.metrics.ThresholdVerdict;
+import uz.hikmatullo.loadtesting.model.enums.LoadTestStatus;
+import uz.hikmatullo.loadtesting.model.enums.RunStatus;
+import uz.hikmatullo.loadtesting.model.response.TestRunResponse;
+import uz.hikmatullo.loadtesting.repository.LoadTestRepository;
+import uz.hikmatullo.loadtesting.repository.ReportRepository;
+import uz.hikmatullo.loadtesting.repository.TestRunRepository;
+import uz.hikmatullo.loadtesting.service.interfaces.RawSampleService;
+import uz.hikmatullo.loadtesting.service.interfaces.TestRunService;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs load tests in the background.
+ * - start() returns at once with a run id; the run waits in QUEUED until one of
+ *   maxConcurrent slots is free, so parallel runs never compete for more than that
+ * - At most maxQueued runs may wait; further starts are rejected instead of piling up
+ * - One test has at most one active run, because LoadTest.status follows that run
+ * - Cancel raises the run's stop flag; the executor winds down and the report covers what ran
+ * - Runs and reports are persisted; runs a restart interrupted are marked FAILED on startup
+ * - Thresholds are checked every second while the run executes; one marked abortOnFail
+ *   stops the run like a cancel, and the run ends FAILED with the threshold as its error
+ */
+@Slf4j
+@Service
+public class TestRunServiceImpl implements TestRunService {
+
+    private final LoadTestRepository loadTestRepository;
+    private final TestRunRepository runRepository;
+    private final ReportRepository reportRepository;
+    private final RawSampleService rawSampleService;
+    private final LoadTestExecutor loadTestExecutor;
+
+    private final int maxQueued;
+    private final Semaphore slots;
+    private final ExecutorService runner = Executors.newVirtualThreadPerTaskExecutor();
+
+    static final long THRESHOLD_TICK_MS = 1000;
+
+    // one thread evaluates the thresholds of all running tests
+    private final ScheduledExecutorService thresholdTicker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "threshold-monitor");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public TestRunServiceImpl(LoadTestRepository loadTestRepository,
+                              TestRunRepository runRepository,
+                              ReportRepository reportRepository,
+                              RawSampleService rawSampleService,
+                              LoadTestExecutor loadTestExecutor,
+                              @Value("${loadtest.runs.max-concurrent:2}") int maxConcurrent,
+                              @Value("${loadtest.runs.max-queued:10}") int maxQueued) {
+        this.loadTestRepository = loadTestRepository;
+        this.runRepository = runRepository;
+        this.reportRepository = reportRepository;
+        this.rawSampleService = rawSampleService;
+        this.loadTestExecutor = loadTestExecutor;
+        this.maxQueued = maxQueued;
+        this.slots = new Semaphore(Math.max(1, maxConcurrent), true);
+        failInterruptedRuns();
+    }
+
+    /** Runs that were QUEUED or RUNNING when the process stopped will never finish now. */
+    private void failInterruptedRuns() {
+        for (TestRun run : runRepository.findAll()) {
+            if (run.getStatus() == null || run.getStatus().isFinished()) continue;
+            log.warn("Run {} of test {} was interrupted by a restart", run.getId(), run.getTestId());
+            finish(run, loadTestRepository.findById(run.getTestId()).orElse(null),
+                    RunStatus.FAILED, "Interrupted by a restart");
+        }
+    }
+
+    @Override
+    public TestRunResponse start(String testId) {
+        LoadTest loadTest = loadTestRepository.findById(testId)
+                .orElseThrow(() -> new CustomNotFoundException("LoadTest not found: " + testId));
+
+        TestRun run;
+        // check-then-create must not interleave with another start
+        synchronized (this) {
+            List<TestRun> all = runRepository.findAll();
+            if (all.stream().anyMatch(r -> r.getTestId().equals(testId) && !r.getStatus().isFinished())) {
+                throw new CustomBadRequestException("LoadTest " + testId + " already has an active run");
+            }
+            long queued = all.stream().filter(r -> r.getStatus() == RunStatus.QUEUED).count();
+            if (queued >= maxQueued) {
+                throw new CustomBadRequestException("Too many queued runs (" + queued + "), try again later");
+            }
+
+            run = TestRun.builder()
+                    .testId(testId)
+                    .status(RunStatus.QUEUED)
+                    .createdAt(Instant.now())
+                    .build();
+            runRepository.save(run);
+            loadTest.setStatus(LoadTestStatus.QUEUED);
+            loadTestRepository.save(loadTest);
+        }
+
+        log.info("Run {} of test {} queued", run.getId(), testId);
+        TestRun queuedRun = run;
+        runner.submit(() -> execute(queuedRun, loadTest));
+        return TestRunMapper.toResponse(run);
+    }
+
+    private void execute(TestRun run, LoadTest loadTest) {
+        try {
+            slots.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            finish(run, loadTest, RunStatus.FAILED, "Interrupted while queued");
+            return;
+        }
+
+        RawSampleWriter samples = null;
+        ThresholdMonitor monitor = null;
+        ScheduledFuture<?> ticking = null;
+        try {
+            synchronized (run) {
+                if (run.getStatus() != RunStatus.QUEUED) return;   // cancelled while waiting
+                run.setAggregator(new IncrementalMetricsAggregator(loadTest.getId(), loadTest.getSteps()));
+                samples = rawSampleService.open(run.getId(), loadTest);
+                if (samples != null) run.getAggregator().recordSamplesTo(samples);
+                run.setStartedAt(Instant.now());
+                run.setStatus(RunStatus.RUNNING);
+                loadTest.setStatus(LoadTestStatus.RUNNING);
+                runRepository.save(run);
+                loadTestRepository.save(loadTest);
+
+                if (loadTest.getThresholds() != null && !loadTest.getThresholds().isEmpty()) {
+                    monitor = new ThresholdMonitor(loadTest.getThresholds(), loadTest.getSteps(),
+                            run.getAggregator(), run.getStopFlag(), run.getStartedAt().toEpochMilli());
+                    ticking = tickThresholds(run, monitor);
+                }
+            }
+            log.info("Run {} of test {} started", run.getId(), loadTest.getId());
+
+            TestExecutionReport report = loadTestExecutor.run(loadTest, run.getAggregator(), run.getStopFlag());
+            if (ticking != null) ticking.cancel(false);
+            closeSamples(run, samples);
+
+            ThresholdVerdict verdict = monitor == null ? null : monitor.verdict(report.getFinishedAt());
+            report.setThresholds(verdict);
+            reportRepository.save(run.getId(), report);
+            reportRepository.saveSnapshot(run.getId(), run.getAggregator().snapshot());
+
+            if (verdict != null) run.setThresholdsPassed(verdict.isPassed());
+            if (verdict != null && verdict.isAborted()) {
+                finish(run, loadTest, RunStatus.FAILED, "Aborted by threshold: " + verdict.getAbortedBy());
+            } else {
+                finish(run, loadTest, run.isCancelRequested() ? RunStatus.CANCELLED : RunStatus.COMPLETED, null);
+            }
+        } catch (Exception e) {
+            log.error("Run {} of test {} failed", run.getId(), loadTest.getId(), e);
+            if (ticking != null) ticking.cancel(false);
+            closeSamples(run, samples);
+            finish(run, loadTest, RunStatus.FAILED, e.getMessage());
+        } finally {
+            slots.release();
+        }
+    }
+
+    private ScheduledFuture<?> tickThresholds(TestRun run, ThresholdMonitor monitor) {
+        return thresholdTicker.scheduleAtFixedRate(() -> {
+            try {
+                monitor.evaluate(System.currentTimeMillis());
+            } catch (Exception e) {
+                // a failed tick must not cancel the schedule; the next one tries again
+                log.warn("Threshold check of run {} failed: {}", run.getId(), e.getMessage());
+            }
+        }, THRESHOLD_TICK_MS, THRESHOLD_TICK_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private void closeSamples(TestRun run, RawSampleWriter samples) {
+        if (samples == null) return;
+        try {
+            samples.close();
+            log.info("Run {} wrote {} raw samples to {}", run.getId(), samples.rows(), samples.directory());
+        } catch (IOException e) {
+            log.warn("Could not finish raw samples of run {}: {}", run.getId(), e.getMessage());
+        }
+    }
+
+    private void finish(TestRun run, LoadTest loadTest, RunStatus status, String error) {
+        synchronized (run) {
+            run.setError(error);
+            run.setFinishedAt(Instant.now());
+            // the report keeps the results; the live state is no longer needed
+            run.setAggregator(null);
+            run.setStatus(status);
+            if (loadTest != null) {
+                loadTest.setStatus(switch (status) {
+                    case COMPLETED -> LoadTestStatus.COMPLETED;
+                    case CANCELLED -> LoadTestStatus.CANCELLED;
+                    default -> LoadTestStatus.FAILED;
+                });
+                loadTestRepository.save(loadTest);
+            }
+            runRepository.save(run);
+        }
+        log.info("Run {} of test {} finished: {}", run.getId(), run.getTestId(), status);
+    }
+
+    @Override
+    public TestRunResponse get(String runId) {
+        return TestRunMapper.toResponse(findRun(runId));
+    }
+
+    @Override
+    public List<TestRunResponse> getByTest(String testId) {
+        return runRepository.findByTestId(testId).stream()
+                .map(TestRunMapper::toResponse)
+                .toList();
+    }
+
+    @Override
+    public TestExecutionReport report(String runId) {
+        TestRun run = findRun(runId);
+        synchronized (run) {
+            if (run.getStatus() == RunStatus.RUNNING) {
+                return run.getAggregator().buildReport(run.getStartedAt().toEpochMilli(), System.currentTimeMillis());
+            }
+        }
+        Optional<TestExecutionReport> report = reportRepository.findByRunId(runId);
+        if (report.isPresent()) return report.get();
+        throw new CustomBadRequestException("Run " + runId + " has no report (" + run.getStatus() + ")");
+    }
+
+    @Override
+    public TestRunResponse cancel(String runId) {
+        TestRun run = findRun(runId);
+        LoadTest loadTest = loadTestRepository.findById(run.getTestId()).orElse(null);
+
+        synchronized (run) {
+            if (run.getStatus().isFinished()) {
+                return TestRunMapper.toResponse(run);
+            }
+            run.setCancelRequested(true);
+            run.getStopFlag().set(true);
+            // never started: nothing will pick it up, so it ends right here
+            if (run.getStatus() == RunStatus.QUEUED) {
+                finish(run, loadTest, RunStatus.CANCELLED, null);
+            }
+        }
+        log.info("Cancel requested for run {}", runId);
+        return TestRunMapper.toResponse(run);
+    }
+
+    @Override
+    public RawSampleReader samples(String runId) {
+        TestRun run = findRun(runId);
+        if (!run.getStatus().isFinished()) {
+            throw new CustomBadRequestException("Run " + runId + " is still " + run.getStatus());
+        }
+        return rawSampleService.reader(runId);
+    }
+
+    private TestRun findRun(String runId) {
+        return runRepository.findById(runId)
+                .orElseThrow(() -> new CustomNotFoundException("Run not found: " + runId));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runRepository.findAll().forEach(run -> run.getStopFlag().set(true));
+        runner.shutdownNow();
+        thresholdTicker.shutdownNow();
+    }
+}
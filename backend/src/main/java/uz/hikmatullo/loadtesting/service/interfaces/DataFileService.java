@@ -0,0 +1,23 @@
+package uz.hikmatullo.loadtesting.service.interfaces;
+
+import uz.hikmatullo.loadtesting.model.entity.DataFile;
+import uz.hikmatullo.loadtesting.model.enums.DataFileFormat;
+import uz.hikmatullo.loadtesting.model.response.DataFileResponse;
+
+import java.io.InputStream;
+import java.util.List;
+
+public interface DataFileService {
+
+    /** Streams the content to disk and indexes its rows; format null = taken from the name. */
+    DataFileResponse upload(String name, DataFileFormat format, InputStream content);
+
+    DataFileResponse get(String id);
+
+    List<DataFileResponse> getAll();
+
+    void delete(String id);
+
+    /** The stored file, for attaching to a test's feeders. */
+    DataFile find(String id);
+}
@@ -19,4 +19,6 @@ public interface LoadTestService {
     void delete(String id);
 
     TestExecutionReport execute(String id);
+
+    TestExecutionReport executeDistributed(String id, String clusterId);
 }
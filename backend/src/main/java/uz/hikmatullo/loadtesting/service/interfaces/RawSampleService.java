@@ -0,0 +1,14 @@
+package uz.hikmatullo.loadtesting.service.interfaces;
+
+import uz.hikmatullo.loadtesting.engine.samples.RawSampleReader;
+import uz.hikmatullo.loadtesting.engine.samples.RawSampleWriter;
+import uz.hikmatullo.loadtesting.model.entity.LoadTest;
+
+public interface RawSampleService {
+
+    /** Writer for the raw samples of a run, or null when the test does not record them. */
+    RawSampleWriter open(String runId, LoadTest loadTest);
+
+    /** Raw samples a run left on disk. */
+    RawSampleReader reader(String runId);
+}
@@ -0,0 +1,14 @@
+package uz.hikmatullo.loadtesting.service.interfaces;
+
+import uz.hikmatullo.loadtesting.model.entity.metrics.RunComparison;
+
+import java.util.List;
+
+public interface RunComparisonService {
+
+    /**
+     * Compares finished runs of one test against a baseline run.
+     * @param baselineRunId null = the first of runIds
+     */
+    RunComparison compare(List<String> runIds, String baselineRunId, double alpha, double minChangePercent);
+}
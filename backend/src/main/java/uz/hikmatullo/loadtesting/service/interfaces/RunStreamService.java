@@ -0,0 +1,9 @@
+package uz.hikmatullo.loadtesting.service.interfaces;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface RunStreamService {
+
+    /** Server-Sent Events stream of live metrics frames; completes after the run has finished. */
+    SseEmitter subscribe(String runId);
+}
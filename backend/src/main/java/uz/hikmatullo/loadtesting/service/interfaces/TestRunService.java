@@ -0,0 +1,24 @@
+package uz.hikmatullo.loadtesting.service.interfaces;
+
+import uz.hikmatullo.loadtesting.engine.samples.RawSampleReader;
+import uz.hikmatullo.loadtesting.model.entity.metrics.TestExecutionReport;
+import uz.hikmatullo.loadtesting.model.response.TestRunResponse;
+
+import java.util.List;
+
+public interface TestRunService {
+
+    TestRunResponse start(String testId);
+
+    TestRunResponse get(String runId);
+
+    List<TestRunResponse> getByTest(String testId);
+
+    /** Final report of a finished run, or a partial one while it is still running. */
+    TestExecutionReport report(String runId);
+
+    TestRunResponse cancel(String runId);
+
+    /** Raw per-request samples of a run whose test records them. */
+    RawSampleReader samples(String runId);
+}
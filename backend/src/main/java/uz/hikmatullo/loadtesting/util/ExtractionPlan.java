@@ -0,0 +1,254 @@
+package uz.hikmatullo.loadtesting.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import uz.hikmatullo.loadtesting.engine.context.ExecutionContext;
+import uz.hikmatullo.loadtesting.exceptions.ExtractionRuleException;
+import uz.hikmatullo.loadtesting.model.entity.ExtractionRule;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Extraction rules of one step, compiled once per test; the per-response
+ * counterpart of {@link ExtractionRuleUtil#applyRule}.
+ * - Every JsonPath is compiled once, not on every response
+ * - The body is parsed at most once per response and the document is shared by all rules
+ * - When every rule is "$" or a plain field chain like $.a.b, no tree is built at all:
+ *   a single streaming pass picks the values and stops as soon as all are found
+ * Rules are applied in order; the first failing rule throws, earlier ones stay saved.
+ */
+public final class ExtractionPlan {
+
+    private static final ExtractionPlan EMPTY = new ExtractionPlan(new Rule[0]);
+
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final Configuration JSON_PATH = Configuration.defaultConfiguration();
+
+    // $.a.b.c with plain identifiers only
+    private static final Pattern SIMPLE_PATH = Pattern.compile("\\$(\\.[A-Za-z_][A-Za-z0-9_]*)+");
+
+    // streamed value that is an object or array: read it through JsonPath instead
+    private static final Object CONTAINER = new Object();
+    private static final Object MISSING = new Object();
+
+    private enum Kind { RAW, SIMPLE, JSON_PATH, INVALID }
+
+    private record Rule(Kind kind, String saveAs, String path, JsonPath compiled, String[] fields,
+                        RuntimeException error) {}
+
+    private final Rule[] rules;
+    private final boolean streamable;
+    private final int simpleCount;
+
+    private ExtractionPlan(Rule[] rules) {
+        this.rules = rules;
+        boolean streamable = true;
+        int simple = 0;
+        for (Rule rule : rules) {
+            if (rule.kind() == Kind.JSON_PATH) streamable = false;
+            if (rule.kind() == Kind.SIMPLE) simple++;
+        }
+        this.streamable = streamable;
+        this.simpleCount = simple;
+    }
+
+    public static ExtractionPlan compile(List<ExtractionRule> rules) {
+        if (rules == null || rules.isEmpty()) return EMPTY;
+
+        Rule[] compiled = new Rule[rules.size()];
+        for (int i = 0; i < compiled.length; i++) {
+            compiled[i] = compileRule(rules.get(i));
+        }
+        return new ExtractionPlan(compiled);
+    }
+
+    public boolean isEmpty() {
+        return rules.length == 0;
+    }
+
+    /**
+     * Applies all rules to one response body.
+     * Throws ExtractionRuleException (bad path, body is not JSON, missing field)
+     * or IllegalArgumentException (rule without saveAs or jsonPath).
+     */
+    public void apply(String responseBody, ExecutionContext ctx) {
+        if (rules.length == 0) return;
+
+        Object[] streamed = streamable && simpleCount > 0 ? stream(responseBody) : null;
+        Object document = null;
+
+        for (int i = 0; i < rules.length; i++) {
+            Rule rule = rules[i];
+            Object extracted;
+
+            switch (rule.kind()) {
+                case INVALID -> throw rule.error();
+                case RAW -> extracted = responseBody;
+                default -> {
+                    Object value = streamed == null ? CONTAINER : streamed[i];
+                    if (value == MISSING) {
+                        throw new ExtractionRuleException(
+                                "Invalid JSONPath '" + rule.path() + "' in extraction rule: No results for path: " + rule.path());
+                    }
+                    if (value == CONTAINER) {
+                        if (document == null) document = parse(responseBody, rule.path());
+                        value = read(rule, document);
+                    }
+                    extracted = value;
+                }
+            }
+
+            ctx.getVariables().put(rule.saveAs(), extracted);
+        }
+    }
+
+    // ---------------------------------------------------
+    // Compile
+    // ---------------------------------------------------
+
+    private static Rule compileRule(ExtractionRule rule) {
+        if (rule == null || rule.getSaveAs() == null) {
+            return invalid(null, new IllegalArgumentException("Rule or saveAs is null"));
+        }
+        String saveAs = rule.getSaveAs();
+        if (rule.getJsonPath() == null) {
+            return invalid(saveAs, new IllegalArgumentException("JsonPath is null"));
+        }
+        if (rule.getJsonPath().equals("$")) {
+            return new Rule(Kind.RAW, saveAs, "$", null, null, null);
+        }
+
+        String path = ExtractionRuleUtil.normalizePath(rule.getJsonPath());
+        JsonPath compiled;
+        try {
+            compiled = JsonPath.compile(path);
+        } catch (Exception e) {
+            return invalid(saveAs, new ExtractionRuleException(
+                    "Invalid JSONPath '" + path + "' in extraction rule: " + e.getMessage(), e));
+        }
+
+        if (SIMPLE_PATH.matcher(path).matches()) {
+            String[] fields = path.substring(2).split("\\.");
+            return new Rule(Kind.SIMPLE, saveAs, path, compiled, fields, null);
+        }
+        return new Rule(Kind.JSON_PATH, saveAs, path, compiled, null, null);
+    }
+
+    private static Rule invalid(String saveAs, RuntimeException error) {
+        return new Rule(Kind.INVALID, saveAs, null, null, null, error);
+    }
+
+    // ---------------------------------------------------
+    // Tree path
+    // ---------------------------------------------------
+
+    private static Object parse(String body, String path) {
+        Object document;
+        try {
+            document = JSON_PATH.jsonProvider().parse(body);
+        } catch (Exception e) {
+            document = null;
+        }
+        if (!(document instanceof Map) && !(document instanceof List)) {
+            throw new ExtractionRuleException(
+                    "Response is not valid JSON but JSONPath was provided: " + path
+            );
+        }
+        return document;
+    }
+
+    private static Object read(Rule rule, Object document) {
+        try {
+            return rule.compiled().read(document, JSON_PATH);
+        } catch (Exception e) {
+            throw new ExtractionRuleException(
+                    "Invalid JSONPath '" + rule.path() + "' in extraction rule: " + e.getMessage(), e);
+        }
+    }
+
+    // ---------------------------------------------------
+    // Streaming fast path
+    // ---------------------------------------------------
+
+    /** One pass over the body; result[i] is the value for rule i, MISSING or CONTAINER. */
+    private Object[] stream(String body) {
+        Object[] values = new Object[rules.length];
+        Arrays.fill(values, MISSING);
+
+        int[] candidates = new int[simpleCount];
+        int n = 0;
+        for (int i = 0; i < rules.length; i++) {
+            if (rules[i].kind() == Kind.SIMPLE) candidates[n++] = i;
+        }
+
+        try (JsonParser parser = JSON.createParser(body)) {
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                scanObject(parser, 0, candidates, values, new int[]{simpleCount});
+            }
+        } catch (IOException e) {
+            throw new ExtractionRuleException(
+                    "Response is not valid JSON but JSONPath was provided: " + rules[candidates[0]].path()
+            );
+        }
+        return values;
+    }
+
+    /**
+     * Parser is on START_OBJECT. Walks its fields, descending only into fields that are
+     * on the way to a wanted path. Returns true once every path has been resolved.
+     */
+    private boolean scanObject(JsonParser parser, int depth, int[] candidates, Object[] values, int[] remaining)
+            throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken token = parser.nextToken();
+
+            List<Integer> deeper = null;
+            for (int i : candidates) {
+                String[] fields = rules[i].fields();
+                if (!fields[depth].equals(name)) continue;
+
+                if (fields.length == depth + 1) {
+                    if (values[i] == MISSING) remaining[0]--;
+                    values[i] = token.isScalarValue() ? scalar(parser, token) : CONTAINER;
+                } else {
+                    if (deeper == null) deeper = new ArrayList<>(candidates.length);
+                    deeper.add(i);
+                }
+            }
+
+            if (deeper != null && token == JsonToken.START_OBJECT) {
+                int[] next = deeper.stream().mapToInt(Integer::intValue).toArray();
+                if (scanObject(parser, depth + 1, next, values, remaining)) return true;
+            } else {
+                parser.skipChildren();
+            }
+            if (remaining[0] == 0) return true;
+        }
+        return false;
+    }
+
+    /** Same Java types JsonPath returns for scalars. */
+    private static Object scalar(JsonParser parser, JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_STRING -> parser.getText();
+            case VALUE_NUMBER_INT -> switch (parser.getNumberType()) {
+                case INT -> parser.getIntValue();
+                case LONG -> parser.getLongValue();
+                default -> parser.getBigIntegerValue();
+            };
+            case VALUE_NUMBER_FLOAT -> parser.getDoubleValue();
+            case VALUE_TRUE -> Boolean.TRUE;
+            case VALUE_FALSE -> Boolean.FALSE;
+            default -> null;
+        };
+    }
+}
@@ -8,6 +8,10 @@ import uz.hikmatullo.loadtesting.engine.context.ExecutionContext;
 import uz.hikmatullo.loadtesting.exceptions.ExtractionRuleException;
 import uz.hikmatullo.loadtesting.model.entity.ExtractionRule;
 
+/**
+ * Applies one extraction rule to one response.
+ * Executors use the precompiled {@link ExtractionPlan} instead, which parses each body once.
+ */
 @Slf4j
 public class ExtractionRuleUtil {
 
@@ -83,7 +87,7 @@ public class ExtractionRuleUtil {
     }
 
     /** Normalize paths: id → $.id / .id → $.id / $.id → $.id */
-    private static String normalizePath(String path) {
+    static String normalizePath(String path) {
         if (path.startsWith("$")) return path;
         if (path.startsWith(".")) return "$" + path;
         return "$." + path;
@@ -16,6 +16,7 @@ import java.util.regex.Pattern;
 
 /**
  * Builds java.net.http.HttpRequest based on RequestStep + ExecutionContext.
+ * Parses the step on every call; executors use the precompiled {@link RequestTemplate} instead.
  * - Supports {{var}} substitution in URL, headers, query params, and body
  * - Correctly encodes query params
  * - Supports GET, POST, PUT, PATCH, DELETE
@@ -27,7 +28,7 @@ public final class HttpRequestUtil {
 
     public static final long DEFAULT_TIMEOUT_MS = 5000;
 
-    private static final Pattern PLACEHOLDER =
+    static final Pattern PLACEHOLDER =
             Pattern.compile("\\{\\{\\s*([a-zA-Z0-9_.-]+)\\s*}}");
 
     /**
@@ -103,12 +104,7 @@ public final class HttpRequestUtil {
 
         // If body exists but user did not set Content-Type → guess automatically
         if (substitutedBody != null && !hasHeader(step.getHeaders(), "Content-Type")) {
-            String trimmed = substitutedBody.stripLeading();
-            if (trimmed.startsWith("{") || trimmed.startsWith("[")) {
-                builder.header("Content-Type", "application/json");
-            } else {
-                builder.header("Content-Type", "text/plain; charset=utf-8");
-            }
+            builder.header("Content-Type", sniffContentType(substitutedBody));
         }
 
         return builder.build();
@@ -118,7 +114,15 @@ public final class HttpRequestUtil {
     // Helpers
     // ---------------------------------------------------
 
-    private static HttpRequest.BodyPublisher bodyOf(String body) {
+    static String sniffContentType(String body) {
+        String trimmed = body.stripLeading();
+        if (trimmed.startsWith("{") || trimmed.startsWith("[")) {
+            return "application/json";
+        }
+        return "text/plain; charset=utf-8";
+    }
+
+    static HttpRequest.BodyPublisher bodyOf(String body) {
         return body == null
                 ? HttpRequest.BodyPublishers.ofString("")
                 : HttpRequest.BodyPublishers.ofString(body);
@@ -0,0 +1,302 @@
+package uz.hikmatullo.loadtesting.util;
+
+import uz.hikmatullo.loadtesting.model.entity.metrics.HistogramSnapshot;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-memory, log-bucketed latency histogram (HdrHistogram bucket layout).
+ * - Values are non-negative longs (the engine records milliseconds)
+ * - Every value is stored with {@code significantDigits} of relative precision
+ * - Memory depends only on the trackable range and precision, never on the sample count
+ * - record() is lock-free and safe to call from many threads
+ * - Histograms with the same layout can be merged (steps → global, workers → coordinator)
+ * - {@link #snapshot()} gives a sparse, serializable copy that can be merged elsewhere
+ * - Percentiles use the same nearest-rank rule as before and cost O(buckets)
+ */
+public class LatencyHistogram {
+
+    /** One hour, in milliseconds. Larger values are clamped to this. */
+    public static final long DEFAULT_HIGHEST_TRACKABLE_VALUE = TimeUnit.HOURS.toMillis(1);
+
+    /** Two significant digits = values are accurate to within 1%. */
+    public static final int DEFAULT_SIGNIFICANT_DIGITS = 2;
+
+    private final long highestTrackableValue;
+    private final int significantDigits;
+
+    private final int subBucketHalfCountMagnitude;
+    private final int subBucketHalfCount;
+    private final long subBucketMask;
+    private final int leadingZeroCountBase;
+
+    private final AtomicLongArray counts;
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(0);
+
+    public LatencyHistogram() {
+        this(DEFAULT_HIGHEST_TRACKABLE_VALUE, DEFAULT_SIGNIFICANT_DIGITS);
+    }
+
+    public LatencyHistogram(long highestTrackableValue, int significantDigits) {
+        if (highestTrackableValue < 2) {
+            throw new IllegalArgumentException("highestTrackableValue must be >= 2");
+        }
+        if (significantDigits < 1 || significantDigits > 5) {
+            throw new IllegalArgumentException("significantDigits must be between 1 and 5");
+        }
+        this.highestTrackableValue = highestTrackableValue;
+        this.significantDigits = significantDigits;
+
+        // smallest power of two that keeps single-unit resolution up to 2 * 10^digits
+        long largestValueWithSingleUnitResolution = 2 * (long) Math.pow(10, significantDigits);
+        int subBucketCountMagnitude = 64 - Long.numberOfLeadingZeros(largestValueWithSingleUnitResolution - 1);
+        int subBucketCount = 1 << subBucketCountMagnitude;
+
+        this.subBucketHalfCountMagnitude = subBucketCountMagnitude - 1;
+        this.subBucketHalfCount = subBucketCount / 2;
+        this.subBucketMask = subBucketCount - 1;
+        this.leadingZeroCountBase = 64 - subBucketCountMagnitude;
+
+        int bucketCount = bucketsNeededToCover(highestTrackableValue, subBucketCount);
+        this.counts = new AtomicLongArray((bucketCount + 1) * subBucketHalfCount);
+    }
+
+    private static int bucketsNeededToCover(long value, int subBucketCount) {
+        long smallestUntrackableValue = subBucketCount;
+        int buckets = 1;
+        while (smallestUntrackableValue <= value) {
+            if (smallestUntrackableValue > Long.MAX_VALUE / 2) {
+                return buckets + 1;
+            }
+            smallestUntrackableValue <<= 1;
+            buckets++;
+        }
+        return buckets;
+    }
+
+    // ---------------------------------------------------
+    // Recording
+    // ---------------------------------------------------
+
+    public void record(long value) {
+        recordValues(value, 1);
+    }
+
+    public void recordValues(long value, long count) {
+        if (count <= 0) return;
+        long v = Math.max(0, Math.min(value, highestTrackableValue));
+
+        counts.addAndGet(indexOf(v), count);
+        totalCount.add(count);
+        sum.add(v * count);
+        lowerMin(v);
+        raiseMax(v);
+    }
+
+    // min and max are shared by every recording thread: read first, CAS only on a new extreme,
+    // which after warm-up almost never happens
+    private void lowerMin(long v) {
+        long current = min.get();
+        while (v < current && !min.compareAndSet(current, v)) {
+            current = min.get();
+        }
+    }
+
+    private void raiseMax(long v) {
+        long current = max.get();
+        while (v > current && !max.compareAndSet(current, v)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * Adds all samples of {@code other} into this histogram.
+     * Both histograms must have been created with the same range and precision.
+     */
+    public void merge(LatencyHistogram other) {
+        if (other == null || other == this) return;
+        requireSameLayout(other);
+
+        for (int i = 0; i < other.counts.length(); i++) {
+            long c = other.counts.get(i);
+            if (c != 0) counts.addAndGet(i, c);
+        }
+        long otherCount = other.totalCount.sum();
+        if (otherCount == 0) return;
+
+        totalCount.add(otherCount);
+        sum.add(other.sum.sum());
+        lowerMin(other.min.get());
+        raiseMax(other.max.get());
+    }
+
+    /** Adds the samples of a snapshot taken on another histogram (e.g. on a worker). */
+    public void merge(HistogramSnapshot snapshot) {
+        if (snapshot == null || snapshot.getTotalCount() == 0) return;
+        if (snapshot.getHighestTrackableValue() != highestTrackableValue
+                || snapshot.getSignificantDigits() != significantDigits) {
+            throw new IllegalArgumentException("Cannot merge histograms with different range/precision");
+        }
+
+        int[] indexes = snapshot.getIndexes();
+        long[] bucketCounts = snapshot.getCounts();
+        for (int i = 0; i < indexes.length; i++) {
+            if (indexes[i] < 0 || indexes[i] >= counts.length()) {
+                throw new IllegalArgumentException("Histogram snapshot bucket out of range: " + indexes[i]);
+            }
+            counts.addAndGet(indexes[i], bucketCounts[i]);
+        }
+        totalCount.add(snapshot.getTotalCount());
+        sum.add(snapshot.getSum());
+        lowerMin(snapshot.getMin());
+        raiseMax(snapshot.getMax());
+    }
+
+    /**
+     * Copies the non-empty buckets. Taken while others are recording, the snapshot
+     * may miss the very latest samples but its total always matches its buckets.
+     */
+    public HistogramSnapshot snapshot() {
+        int[] indexes = new int[16];
+        long[] bucketCounts = new long[16];
+        int n = 0;
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            long c = counts.get(i);
+            if (c == 0) continue;
+            if (n == indexes.length) {
+                indexes = Arrays.copyOf(indexes, n * 2);
+                bucketCounts = Arrays.copyOf(bucketCounts, n * 2);
+            }
+            indexes[n] = i;
+            bucketCounts[n] = c;
+            total += c;
+            n++;
+        }
+
+        return HistogramSnapshot.builder()
+                .highestTrackableValue(highestTrackableValue)
+                .significantDigits(significantDigits)
+                .totalCount(total)
+                .sum(sum.sum())
+                .min(total == 0 ? Long.MAX_VALUE : min.get())
+                .max(max.get())
+                .indexes(Arrays.copyOf(indexes, n))
+                .counts(Arrays.copyOf(bucketCounts, n))
+                .build();
+    }
+
+    public static LatencyHistogram fromSnapshot(HistogramSnapshot snapshot) {
+        LatencyHistogram histogram = new LatencyHistogram(snapshot.getHighestTrackableValue(), snapshot.getSignificantDigits());
+        histogram.merge(snapshot);
+        return histogram;
+    }
+
+    public LatencyHistogram copy() {
+        LatencyHistogram copy = new LatencyHistogram(highestTrackableValue, significantDigits);
+        copy.merge(this);
+        return copy;
+    }
+
+    private void requireSameLayout(LatencyHistogram other) {
+        if (other.highestTrackableValue != highestTrackableValue || other.significantDigits != significantDigits) {
+            throw new IllegalArgumentException("Cannot merge histograms with different range/precision");
+        }
+    }
+
+    // ---------------------------------------------------
+    // Queries
+    // ---------------------------------------------------
+
+    public long count() {
+        return totalCount.sum();
+    }
+
+    public long min() {
+        return count() == 0 ? 0 : min.get();
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    public long mean() {
+        long n = count();
+        return n == 0 ? 0 : sum.sum() / n;
+    }
+
+    /**
+     * Nearest-rank percentile: k = ceil(p/100 * n).
+     * The returned value is the highest value equivalent to the k-th sample
+     * (within the configured precision), never above the recorded max.
+     */
+    public long percentile(double percentile) {
+        long n = count();
+        if (n == 0) {
+            return 0L;
+        }
+        if (percentile <= 0) {
+            return min();
+        }
+        if (percentile >= 100) {
+            return max();
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * n));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestEquivalentValue(valueFromIndex(i)), max());
+            }
+        }
+        return max();
+    }
+
+    public long p50() { return percentile(50.0); }
+    public long p90() { return percentile(90.0); }
+    public long p95() { return percentile(95.0); }
+    public long p99() { return percentile(99.0); }
+
+    public long getHighestTrackableValue() {
+        return highestTrackableValue;
+    }
+
+    public int getSignificantDigits() {
+        return significantDigits;
+    }
+
+    // ---------------------------------------------------
+    // Bucket math
+    // ---------------------------------------------------
+
+    private int indexOf(long value) {
+        int bucketIndex = leadingZeroCountBase - Long.numberOfLeadingZeros(value | subBucketMask);
+        int subBucketIndex = (int) (value >>> bucketIndex);
+        int bucketBaseIndex = (bucketIndex + 1) << subBucketHalfCountMagnitude;
+        return bucketBaseIndex + (subBucketIndex - subBucketHalfCount);
+    }
+
+    private long valueFromIndex(int index) {
+        int bucketIndex = (index >> subBucketHalfCountMagnitude) - 1;
+        int subBucketIndex = (index & (subBucketHalfCount - 1)) + subBucketHalfCount;
+        if (bucketIndex < 0) {
+            subBucketIndex -= subBucketHalfCount;
+            bucketIndex = 0;
+        }
+        return ((long) subBucketIndex) << bucketIndex;
+    }
+
+    private long highestEquivalentValue(long value) {
+        int bucketIndex = leadingZeroCountBase - Long.numberOfLeadingZeros(value | subBucketMask);
+        long lowest = (value >>> bucketIndex) << bucketIndex;
+        return lowest + (1L << bucketIndex) - 1;
+    }
+}
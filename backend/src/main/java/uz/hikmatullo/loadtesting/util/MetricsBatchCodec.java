@@ -0,0 +1,485 @@
+package uz.hikmatullo.loadtesting.util;
+
+import uz.hikmatullo.loadtesting.model.entity.metrics.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Compact binary form of a {@link WorkerMetricsBatch}, used on the worker → coordinator path
+ * instead of JSON ({@link #MEDIA_TYPE}).
+ * - All numbers are varints; signed ones (deltas, status codes) are zigzag-encoded first
+ * - Step ids and error types are sent once and then referred to by index (dictionaries
+ *   built while writing, so no separate table pass is needed)
+ * - Request start times are deltas to the previous request; the end time is stored as its
+ *   distance from start + latency, which is almost always a single zero byte
+ * - Histogram snapshots keep only non-empty buckets, with delta-encoded bucket indexes
+ * Layout: magic, version, header, flags, [raw metrics], [summary].
+ */
+public final class MetricsBatchCodec {
+
+    public static final String MEDIA_TYPE = "application/x-loadtest-metrics";
+
+    private static final int MAGIC = 0x4C54;   // "LT"
+    private static final int VERSION = 1;
+
+    private static final int HAS_METRICS = 1;
+    private static final int HAS_SUMMARY = 2;
+
+    private MetricsBatchCodec() {}
+
+    // ---------------------------------------------------
+    // Encode
+    // ---------------------------------------------------
+
+    public static byte[] encode(WorkerMetricsBatch batch) {
+        int expected = 32 + (batch.getMetrics() == null ? 0 : batch.getMetrics().size() * 8);
+        Writer out = new Writer(expected);
+
+        out.varint(MAGIC);
+        out.varint(VERSION);
+        out.string(batch.getWorkerId());
+        out.string(batch.getTestId());
+        out.varlong(batch.getTimestampSecond());
+        out.varlong(batch.getSequence());
+
+        int flags = (batch.getMetrics() != null ? HAS_METRICS : 0) | (batch.getSummary() != null ? HAS_SUMMARY : 0);
+        out.varint(flags);
+
+        if (batch.getMetrics() != null) writeMetrics(out, batch.getMetrics());
+        if (batch.getSummary() != null) writeSummary(out, batch.getSummary());
+        return out.toByteArray();
+    }
+
+    private static void writeMetrics(Writer out, List<RequestMetrics> metrics) {
+        Map<String, Integer> steps = new HashMap<>();
+        Map<String, Integer> errors = new HashMap<>();
+
+        out.varint(metrics.size());
+        long previousStart = 0;
+        for (RequestMetrics m : metrics) {
+            out.dictionary(steps, m.getStepId());
+            out.dictionary(errors, m.getErrorType());
+
+            out.zigzag(m.getStartTimeMs() - previousStart);
+            previousStart = m.getStartTimeMs();
+            out.varlong(m.getLatencyMs());
+            out.zigzag(m.getEndTimeMs() - m.getStartTimeMs() - m.getLatencyMs());
+
+            out.varlong(((long) zigzag(m.getStatusCode()) << 1) | (m.isSuccess() ? 1 : 0));
+            out.varlong(m.getBytesSent());
+            out.varlong(m.getBytesReceived());
+
+            out.varlong(m.getTtfbMicros());
+            out.varlong(m.getDownloadMicros());
+            out.varint(m.getConnectionReused() == null ? 0 : m.getConnectionReused() ? 2 : 1);
+        }
+    }
+
+    private static void writeSummary(Writer out, AggregationSnapshot summary) {
+        out.string(summary.getTestId());
+        writeSnapshot(out, summary.getGlobal());
+
+        Map<String, MetricsSnapshot> steps = summary.getSteps() == null ? Map.of() : summary.getSteps();
+        out.varint(steps.size());
+        for (var entry : steps.entrySet()) {
+            out.string(entry.getKey());
+            writeSnapshot(out, entry.getValue());
+        }
+
+        List<TimelinePoint> timeline = summary.getTimeline() == null ? List.of() : summary.getTimeline();
+        out.varint(timeline.size());
+        long previousSecond = 0;
+        for (TimelinePoint point : timeline) {
+            out.zigzag(point.getTimestampSecond() - previousSecond);
+            previousSecond = point.getTimestampSecond();
+            out.varlong(point.getRequests());
+            out.varlong(point.getSuccesses());
+            out.varint(point.getActiveUsers());
+        }
+    }
+
+    private static void writeSnapshot(Writer out, MetricsSnapshot snapshot) {
+        if (snapshot == null) {
+            out.varint(0);
+            return;
+        }
+        out.varint(1);
+        out.varlong(snapshot.getTotalRequests());
+        out.varlong(snapshot.getSuccessfulRequests());
+        writeHistogram(out, snapshot.getLatencies());
+        writeTimings(out, snapshot.getTimings());
+        out.varlong(snapshot.getPauses());
+        out.varlong(snapshot.getPauseMicros());
+
+        Map<Integer, Long> codes = snapshot.getStatusCodes() == null ? Map.of() : snapshot.getStatusCodes();
+        out.varint(codes.size());
+        codes.forEach((code, count) -> {
+            out.zigzag(code);
+            out.varlong(count);
+        });
+
+        Map<String, Long> errors = snapshot.getErrors() == null ? Map.of() : snapshot.getErrors();
+        out.varint(errors.size());
+        errors.forEach((type, count) -> {
+            out.string(type);
+            out.varlong(count);
+        });
+
+        Map<Long, Long> perSecond = snapshot.getRequestsPerSecond() == null ? Map.of() : snapshot.getRequestsPerSecond();
+        long[] seconds = perSecond.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        out.varint(seconds.length);
+        long previous = 0;
+        for (long second : seconds) {
+            out.zigzag(second - previous);
+            previous = second;
+            out.varlong(perSecond.get(second));
+        }
+    }
+
+    private static void writeTimings(Writer out, TimingSnapshot timings) {
+        if (timings == null) {
+            out.varint(0);
+            return;
+        }
+        out.varint(1);
+        writeHistogram(out, timings.getTimeToFirstByte());
+        writeHistogram(out, timings.getDownload());
+        writeHistogram(out, timings.getNewConnectionTimeToFirstByte());
+        writeHistogram(out, timings.getReusedConnectionTimeToFirstByte());
+    }
+
+    private static void writeHistogram(Writer out, HistogramSnapshot h) {
+        if (h == null) {
+            out.varint(0);
+            return;
+        }
+        out.varint(1);
+        out.varlong(h.getHighestTrackableValue());
+        out.varint(h.getSignificantDigits());
+        out.varlong(h.getTotalCount());
+        out.varlong(h.getSum());
+        out.varlong(h.getTotalCount() == 0 ? 0 : h.getMin());
+        out.varlong(h.getMax());
+
+        int[] indexes = h.getIndexes();
+        out.varint(indexes.length);
+        int previous = 0;
+        for (int i = 0; i < indexes.length; i++) {
+            // indexes are ascending, so the gaps are small and positive
+            out.varint(indexes[i] - previous);
+            previous = indexes[i];
+            out.varlong(h.getCounts()[i]);
+        }
+    }
+
+    // ---------------------------------------------------
+    // Decode
+    // ---------------------------------------------------
+
+    /** Throws IllegalArgumentException on anything that is not a complete batch of a known version. */
+    public static WorkerMetricsBatch decode(byte[] data) {
+        Reader in = new Reader(data);
+        if (in.varint() != MAGIC) throw new IllegalArgumentException("Not a metrics batch");
+        int version = in.varint();
+        if (version != VERSION) throw new IllegalArgumentException("Unsupported metrics batch version " + version);
+
+        WorkerMetricsBatch batch = WorkerMetricsBatch.builder()
+                .workerId(in.string())
+                .testId(in.string())
+                .timestampSecond(in.varlong())
+                .sequence(in.varlong())
+                .build();
+
+        int flags = in.varint();
+        if ((flags & HAS_METRICS) != 0) batch.setMetrics(readMetrics(in));
+        if ((flags & HAS_SUMMARY) != 0) batch.setSummary(readSummary(in));
+
+        if (!in.atEnd()) throw new IllegalArgumentException("Trailing bytes after metrics batch");
+        return batch;
+    }
+
+    private static List<RequestMetrics> readMetrics(Reader in) {
+        int n = in.count();
+        List<String> steps = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+
+        List<RequestMetrics> metrics = new ArrayList<>(n);
+        long start = 0;
+        for (int i = 0; i < n; i++) {
+            String stepId = in.dictionary(steps);
+            String errorType = in.dictionary(errors);
+
+            start += in.zigzag();
+            long latency = in.varlong();
+            long end = start + latency + in.zigzag();
+            long statusAndSuccess = in.varlong();
+
+            RequestMetrics m = RequestMetrics.builder()
+                    .stepId(stepId)
+                    .errorType(errorType)
+                    .startTimeMs(start)
+                    .endTimeMs(end)
+                    .latencyMs(latency)
+                    .statusCode((int) unzigzag(statusAndSuccess >>> 1))
+                    .success((statusAndSuccess & 1) != 0)
+                    .bytesSent(in.varlong())
+                    .bytesReceived(in.varlong())
+                    .ttfbMicros(in.varlong())
+                    .downloadMicros(in.varlong())
+                    .build();
+            int connection = in.varint();
+            m.setConnectionReused(connection == 0 ? null : connection == 2);
+            metrics.add(m);
+        }
+        return metrics;
+    }
+
+    private static AggregationSnapshot readSummary(Reader in) {
+        String testId = in.string();
+        MetricsSnapshot global = readSnapshot(in);
+
+        int stepCount = in.count();
+        Map<String, MetricsSnapshot> steps = new HashMap<>();
+        for (int i = 0; i < stepCount; i++) {
+            steps.put(in.string(), readSnapshot(in));
+        }
+
+        int pointCount = in.count();
+        List<TimelinePoint> timeline = new ArrayList<>(pointCount);
+        long second = 0;
+        for (int i = 0; i < pointCount; i++) {
+            second += in.zigzag();
+            long requests = in.varlong();
+            long successes = in.varlong();
+            timeline.add(TimelinePoint.builder()
+                    .timestampSecond(second)
+                    .requests(requests)
+                    .successes(successes)
+                    .failures(requests - successes)
+                    .rps(requests)
+                    .activeUsers(in.varint())
+                    .build());
+        }
+
+        return AggregationSnapshot.builder()
+                .testId(testId)
+                .global(global)
+                .steps(steps)
+                .timeline(timeline)
+                .build();
+    }
+
+    private static MetricsSnapshot readSnapshot(Reader in) {
+        if (in.varint() == 0) return null;
+
+        MetricsSnapshot snapshot = MetricsSnapshot.builder()
+                .totalRequests(in.varlong())
+                .successfulRequests(in.varlong())
+                .latencies(readHistogram(in))
+                .timings(readTimings(in))
+                .pauses(in.varlong())
+                .pauseMicros(in.varlong())
+                .build();
+
+        int codeCount = in.count();
+        Map<Integer, Long> codes = new HashMap<>();
+        for (int i = 0; i < codeCount; i++) {
+            codes.put((int) in.zigzag(), in.varlong());
+        }
+        snapshot.setStatusCodes(codes);
+
+        int errorCount = in.count();
+        Map<String, Long> errors = new HashMap<>();
+        for (int i = 0; i < errorCount; i++) {
+            errors.put(in.string(), in.varlong());
+        }
+        snapshot.setErrors(errors);
+
+        int secondCount = in.count();
+        Map<Long, Long> perSecond = new HashMap<>();
+        long second = 0;
+        for (int i = 0; i < secondCount; i++) {
+            second += in.zigzag();
+            perSecond.put(second, in.varlong());
+        }
+        snapshot.setRequestsPerSecond(perSecond);
+        return snapshot;
+    }
+
+    private static TimingSnapshot readTimings(Reader in) {
+        if (in.varint() == 0) return null;
+
+        return TimingSnapshot.builder()
+                .timeToFirstByte(readHistogram(in))
+                .download(readHistogram(in))
+                .newConnectionTimeToFirstByte(readHistogram(in))
+                .reusedConnectionTimeToFirstByte(readHistogram(in))
+                .build();
+    }
+
+    private static HistogramSnapshot readHistogram(Reader in) {
+        if (in.varint() == 0) return null;
+
+        HistogramSnapshot h = HistogramSnapshot.builder()
+                .highestTrackableValue(in.varlong())
+                .significantDigits(in.varint())
+                .totalCount(in.varlong())
+                .sum(in.varlong())
+                .min(in.varlong())
+                .max(in.varlong())
+                .build();
+        if (h.getTotalCount() == 0) h.setMin(Long.MAX_VALUE);
+
+        int n = in.count();
+        int[] indexes = new int[n];
+        long[] counts = new long[n];
+        int index = 0;
+        for (int i = 0; i < n; i++) {
+            index += in.varint();
+            indexes[i] = index;
+            counts[i] = in.varlong();
+        }
+        h.setIndexes(indexes);
+        h.setCounts(counts);
+        return h;
+    }
+
+    // ---------------------------------------------------
+    // Varints
+    // ---------------------------------------------------
+
+    private static long zigzag(long v) {
+        return (v << 1) ^ (v >> 63);
+    }
+
+    private static long unzigzag(long v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    private static final class Writer {
+        private byte[] buf;
+        private int pos;
+
+        Writer(int capacity) {
+            buf = new byte[Math.max(16, capacity)];
+        }
+
+        void varint(int v) {
+            varlong(v & 0xFFFFFFFFL);
+        }
+
+        void varlong(long v) {
+            ensure(10);
+            while ((v & ~0x7FL) != 0) {
+                buf[pos++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            buf[pos++] = (byte) v;
+        }
+
+        void zigzag(long v) {
+            varlong(MetricsBatchCodec.zigzag(v));
+        }
+
+        /** null → 0, otherwise UTF-8 length + 1 followed by the bytes. */
+        void string(String s) {
+            if (s == null) {
+                varint(0);
+                return;
+            }
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            varint(bytes.length + 1);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buf, pos, bytes.length);
+            pos += bytes.length;
+        }
+
+        /** null → 0, known value → its index + 1, new value → size + 1 followed by the string. */
+        void dictionary(Map<String, Integer> dictionary, String value) {
+            if (value == null) {
+                varint(0);
+                return;
+            }
+            Integer index = dictionary.get(value);
+            if (index != null) {
+                varint(index + 1);
+                return;
+            }
+            dictionary.put(value, dictionary.size());
+            varint(dictionary.size());
+            string(value);
+        }
+
+        private void ensure(int extra) {
+            if (pos + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + extra));
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, pos);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buf;
+        private int pos;
+
+        Reader(byte[] buf) {
+            this.buf = buf;
+        }
+
+        int varint() {
+            long v = varlong();
+            if (v >>> 32 != 0) throw new IllegalArgumentException("Varint out of int range");
+            return (int) v;
+        }
+
+        /** A collection size; cannot be larger than the bytes left, which stops absurd allocations. */
+        int count() {
+            int n = varint();
+            if (n < 0 || n > buf.length - pos) throw new IllegalArgumentException("Invalid element count " + n);
+            return n;
+        }
+
+        long varlong() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (pos >= buf.length) throw new IllegalArgumentException("Truncated metrics batch");
+                byte b = buf[pos++];
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return result;
+            }
+            throw new IllegalArgumentException("Malformed varint");
+        }
+
+        long zigzag() {
+            return unzigzag(varlong());
+        }
+
+        String string() {
+            int length = varint();
+            if (length == 0) return null;
+            length--;
+            if (length > buf.length - pos) throw new IllegalArgumentException("Truncated metrics batch");
+            String s = new String(buf, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return s;
+        }
+
+        String dictionary(List<String> dictionary) {
+            int ref = varint();
+            if (ref == 0) return null;
+            if (ref <= dictionary.size()) return dictionary.get(ref - 1);
+            if (ref != dictionary.size() + 1) throw new IllegalArgumentException("Unknown dictionary entry " + ref);
+            String value = string();
+            dictionary.add(value);
+            return value;
+        }
+
+        boolean atEnd() {
+            return pos == buf.length;
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package uz.hikmatullo.loadtesting.util;
+
+import uz.hikmatullo.loadtesting.engine.context.ExecutionContext;
+import uz.hikmatullo.loadtesting.exceptions.InvalidHttpRequestException;
+import uz.hikmatullo.loadtesting.model.entity.RequestStep;
+import uz.hikmatullo.loadtesting.model.enums.HttpMethod;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+
+/**
+ * Immutable, precompiled form of a {@link RequestStep}; builds the same request as
+ * {@link HttpRequestUtil#buildRequest} without re-parsing the step every time.
+ * - URL, query string, header values and body are pre-split into literal and {{var}} segments
+ * - Static query params are URL-encoded once; only variable values are encoded per request
+ * - Static headers, timeout, method and a static body live in a prototype builder that is copied
+ * - Content-Type is sniffed once unless the body starts with a variable
+ * - Configuration errors are kept and thrown from {@link #build}, like the uncompiled path does
+ * Safe to share between all virtual users of a test.
+ */
+public final class RequestTemplate {
+
+    private final InvalidHttpRequestException error;
+
+    private final HttpRequest.Builder prototype;
+    private final HttpMethod method;
+
+    private final Segments baseUrl;
+    private final Segments query;          // "k=v&k2=v2" without the leading separator, or null
+    private final URI staticUri;           // set when the whole URL is static
+
+    private final String[] dynamicHeaderNames;
+    private final Segments[] dynamicHeaderValues;
+
+    private final Segments body;           // set only when the body contains variables
+    private final boolean sniffContentType;
+
+    private RequestTemplate(InvalidHttpRequestException error) {
+        this.error = error;
+        this.prototype = null;
+        this.method = null;
+        this.baseUrl = null;
+        this.query = null;
+        this.staticUri = null;
+        this.dynamicHeaderNames = null;
+        this.dynamicHeaderValues = null;
+        this.body = null;
+        this.sniffContentType = false;
+    }
+
+    private RequestTemplate(RequestStep step) {
+        this.error = null;
+
+        if (step.getUrl() == null || step.getUrl().isBlank()) {
+            throw new InvalidHttpRequestException("RequestStep.url is empty after placeholder substitution");
+        }
+        if (step.getMethod() == null) {
+            throw new InvalidHttpRequestException("RequestStep.method is null");
+        }
+        this.method = step.getMethod();
+        this.baseUrl = Segments.parse(step.getUrl(), false);
+        this.query = compileQuery(step.getQueryParams());
+
+        URI uri = null;
+        if (baseUrl.isStatic() && (query == null || query.isStatic())) {
+            uri = toUri(joinUrl(baseUrl.literal(), query == null ? null : query.literal()));
+        }
+        this.staticUri = uri;
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder();
+
+        // ---------- Timeout ----------
+        long timeoutMs = step.getTimeoutMs() != null && step.getTimeoutMs() > 0
+                ? step.getTimeoutMs()
+                : HttpRequestUtil.DEFAULT_TIMEOUT_MS;
+        builder.timeout(Duration.ofMillis(timeoutMs));
+
+        // ---------- Headers ----------
+        List<String> names = new ArrayList<>();
+        List<Segments> values = new ArrayList<>();
+        boolean hasContentType = false;
+        if (step.getHeaders() != null) {
+            for (var entry : step.getHeaders().entrySet()) {
+                String k = entry.getKey();
+                if (k != null && k.equalsIgnoreCase("Content-Type")) hasContentType = true;
+                if (k == null || entry.getValue() == null) continue;
+
+                Segments v = Segments.parse(entry.getValue(), false);
+                if (v.isStatic()) {
+                    builder.header(k, v.literal());
+                } else {
+                    names.add(k);
+                    values.add(v);
+                }
+            }
+        }
+        this.dynamicHeaderNames = names.toArray(String[]::new);
+        this.dynamicHeaderValues = values.toArray(Segments[]::new);
+
+        // ---------- Body + Content-Type ----------
+        Segments bodySegments = step.getBody() == null ? null : Segments.parse(step.getBody(), false);
+        boolean sniff = false;
+        if (bodySegments != null && !hasContentType) {
+            String contentType = bodySegments.leadingContentType();
+            if (contentType != null) {
+                builder.header("Content-Type", contentType);
+            } else {
+                sniff = true;
+            }
+        }
+        this.sniffContentType = sniff;
+
+        if (bodySegments == null || bodySegments.isStatic()) {
+            applyMethod(builder, method, bodySegments == null ? null : bodySegments.literal());
+            this.body = null;
+        } else {
+            this.body = bodySegments;
+        }
+        this.prototype = builder;
+    }
+
+    /**
+     * Compiles a step. Never throws: a step that cannot be built yields a template
+     * whose {@link #build} throws the same error every time.
+     */
+    public static RequestTemplate compile(RequestStep step) {
+        if (step == null) {
+            return new RequestTemplate(new InvalidHttpRequestException("RequestStep is null"));
+        }
+        try {
+            return new RequestTemplate(step);
+        } catch (InvalidHttpRequestException e) {
+            return new RequestTemplate(e);
+        }
+    }
+
+    public HttpRequest build(ExecutionContext ctx) throws InvalidHttpRequestException {
+        if (error != null) {
+            throw error;
+        }
+
+        HttpRequest.Builder builder = prototype.copy();
+
+        if (staticUri != null) {
+            builder.uri(staticUri);
+        } else {
+            String base = baseUrl.resolve(ctx);
+            if (base.isBlank()) {
+                throw new InvalidHttpRequestException("RequestStep.url is empty after placeholder substitution");
+            }
+            builder.uri(toUri(joinUrl(base, query == null ? null : query.resolve(ctx))));
+        }
+
+        for (int i = 0; i < dynamicHeaderNames.length; i++) {
+            builder.header(dynamicHeaderNames[i], dynamicHeaderValues[i].resolve(ctx));
+        }
+
+        if (body != null) {
+            String resolved = body.resolve(ctx);
+            if (sniffContentType) {
+                builder.header("Content-Type", HttpRequestUtil.sniffContentType(resolved));
+            }
+            applyMethod(builder, method, resolved);
+        }
+
+        return builder.build();
+    }
+
+    // ---------------------------------------------------
+    // Helpers
+    // ---------------------------------------------------
+
+    private static Segments compileQuery(Map<String, String> params) {
+        if (params == null || params.isEmpty()) return null;
+
+        Segments.Builder sb = new Segments.Builder();
+        boolean first = true;
+        for (var entry : params.entrySet()) {
+            if (entry.getKey() == null) {
+                throw new InvalidHttpRequestException("Query param name resolved to null: " + entry.getKey());
+            }
+            if (!first) sb.literal("&");
+            first = false;
+
+            sb.template(entry.getKey(), true);
+            sb.literal("=");
+            if (entry.getValue() != null) {
+                sb.template(entry.getValue(), true);
+            }
+        }
+        return sb.build();
+    }
+
+    private static String joinUrl(String base, String query) {
+        if (query == null) return base;
+        return base + (base.contains("?") ? '&' : '?') + query;
+    }
+
+    private static URI toUri(String url) {
+        try {
+            return URI.create(url);
+        } catch (Exception e) {
+            throw new InvalidHttpRequestException("Invalid URL: " + url);
+        }
+    }
+
+    private static void applyMethod(HttpRequest.Builder builder, HttpMethod method, String body) {
+        switch (method) {
+            case GET -> builder.GET();
+            case DELETE -> builder.DELETE();
+            case POST -> builder.POST(HttpRequestUtil.bodyOf(body));
+            case PUT -> builder.PUT(HttpRequestUtil.bodyOf(body));
+            case PATCH -> builder.method("PATCH", HttpRequestUtil.bodyOf(body));
+        }
+    }
+
+    /**
+     * Text split into literals and variable names: literal[0] var[0] literal[1] ... literal[n].
+     * Literals are stored already URL-encoded when the segments are encoded; URL encoding
+     * works character by character, so encoding the parts equals encoding the whole.
+     */
+    static final class Segments {
+
+        private final String[] literals;
+        private final String[] variables;
+        private final boolean[] encode;
+        private final int literalLength;
+
+        private Segments(String[] literals, String[] variables, boolean[] encode) {
+            this.literals = literals;
+            this.variables = variables;
+            this.encode = encode;
+            int length = 0;
+            for (String l : literals) length += l.length();
+            this.literalLength = length;
+        }
+
+        static Segments parse(String text, boolean encode) {
+            return new Builder().template(text, encode).build();
+        }
+
+        boolean isStatic() {
+            return variables.length == 0;
+        }
+
+        String literal() {
+            return literals[0];
+        }
+
+        String resolve(ExecutionContext ctx) {
+            if (variables.length == 0) return literals[0];
+
+            StringBuilder sb = new StringBuilder(literalLength + 16 * variables.length);
+            sb.append(literals[0]);
+            for (int i = 0; i < variables.length; i++) {
+                String var = variables[i];
+                if (ctx == null || !ctx.getVariables().containsKey(var)) {
+                    throw new InvalidHttpRequestException("Variable not found: " + var);
+                }
+                Object value = ctx.getVariables().get(var);
+                // null → literal null (without quotes)
+                String replacement = value == null ? "null" : value.toString();
+                sb.append(encode[i] ? URLEncoder.encode(replacement, StandardCharsets.UTF_8) : replacement);
+                sb.append(literals[i + 1]);
+            }
+            return sb.toString();
+        }
+
+        /** Content-Type decided by the first non-blank literal character, or null if a variable comes first. */
+        String leadingContentType() {
+            for (int i = 0; i < literals.length; i++) {
+                String stripped = literals[i].stripLeading();
+                if (!stripped.isEmpty()) {
+                    return HttpRequestUtil.sniffContentType(stripped);
+                }
+                if (i < variables.length) {
+                    return null;
+                }
+            }
+            // empty or blank body
+            return HttpRequestUtil.sniffContentType("");
+        }
+
+        static final class Builder {
+            private final List<String> literals = new ArrayList<>();
+            private final List<String> variables = new ArrayList<>();
+            private final List<Boolean> encode = new ArrayList<>();
+            private StringBuilder current = new StringBuilder();
+
+            Builder literal(String text) {
+                current.append(text);
+                return this;
+            }
+
+            Builder template(String text, boolean encodeValues) {
+                Matcher matcher = HttpRequestUtil.PLACEHOLDER.matcher(text);
+                int last = 0;
+                while (matcher.find()) {
+                    appendLiteral(text.substring(last, matcher.start()), encodeValues);
+                    literals.add(current.toString());
+                    current = new StringBuilder();
+                    variables.add(matcher.group(1));
+                    encode.add(encodeValues);
+                    last = matcher.end();
+                }
+                appendLiteral(text.substring(last), encodeValues);
+                return this;
+            }
+
+            private void appendLiteral(String text, boolean encodeValues) {
+                current.append(encodeValues ? URLEncoder.encode(text, StandardCharsets.UTF_8) : text);
+            }
+
+            Segments build() {
+                List<String> allLiterals = new ArrayList<>(literals);
+                allLiterals.add(current.toString());
+                boolean[] flags = new boolean[encode.size()];
+                for (int i = 0; i < flags.length; i++) flags[i] = encode.get(i);
+                return new Segments(allLiterals.toArray(String[]::new), variables.toArray(String[]::new), flags);
+            }
+        }
+    }
+}
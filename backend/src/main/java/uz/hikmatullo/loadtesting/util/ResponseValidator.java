@@ -0,0 +1,190 @@
+package uz.hikmatullo.loadtesting.util;
+
+import uz.hikmatullo.loadtesting.model.entity.ValidationRule;
+import uz.hikmatullo.loadtesting.model.enums.ValidationType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Validation rules of a test compiled once into a chain of checks run on every response.
+ * - STATUS_CODE accepts "200", a class like "2xx" or a list "200,204"; all STATUS_CODE
+ *   rules are folded into one table lookup. Without one, 2xx/3xx counts as success, as before
+ * - LATENCY_LT compares against the request latency in ms
+ * - CONTAINS_TEXT searches the raw response bytes for the UTF-8 bytes of the text
+ *   (Boyer-Moore-Horspool with a precomputed shift table); the body is never decoded
+ * Cheap checks run first; the first failing rule names the error, so failures are
+ * counted per rule in the step's errorDistribution.
+ */
+public final class ResponseValidator {
+
+    private static final ResponseValidator DEFAULT = new ResponseValidator(null, null, new Check[0]);
+
+    // one code, a class (2xx) or a comma separated list of both
+    public static final Pattern STATUS_CODES =
+            Pattern.compile("\\s*[1-5](\\d\\d|xx|XX)\\s*(,\\s*[1-5](\\d\\d|xx|XX)\\s*)*");
+
+    private static final int MAX_LABEL_TEXT = 32;
+
+    private interface Check {
+        boolean passes(long latencyMs, byte[] body, int length);
+
+        String error();
+
+        int cost();
+    }
+
+    private record LatencyBelow(long limitMs, String error) implements Check {
+        public boolean passes(long latencyMs, byte[] body, int length) {
+            return latencyMs < limitMs;
+        }
+
+        public int cost() {
+            return 0;
+        }
+    }
+
+    private record ContainsBytes(byte[] needle, int[] shift, String error) implements Check {
+
+        static ContainsBytes of(String text, String error) {
+            byte[] needle = text.getBytes(StandardCharsets.UTF_8);
+            int[] shift = new int[256];
+            Arrays.fill(shift, needle.length);
+            for (int i = 0; i < needle.length - 1; i++) {
+                shift[needle[i] & 0xFF] = needle.length - 1 - i;
+            }
+            return new ContainsBytes(needle, shift, error);
+        }
+
+        public boolean passes(long latencyMs, byte[] body, int length) {
+            return indexOf(body, length) >= 0;
+        }
+
+        int indexOf(byte[] haystack, int length) {
+            int n = needle.length;
+            if (n == 0) return 0;
+            if (haystack == null) return -1;
+
+            int last = n - 1;
+            for (int i = 0; i <= length - n; i += shift[haystack[i + last] & 0xFF]) {
+                int j = last;
+                while (haystack[i + j] == needle[j]) {
+                    if (j == 0) return i;
+                    j--;
+                }
+            }
+            return -1;
+        }
+
+        public int cost() {
+            return 1;
+        }
+    }
+
+    // codes 100..599 allowed by the STATUS_CODE rules; null means the default 2xx/3xx
+    private final boolean[] allowedStatus;
+    private final String statusError;
+    private final Check[] checks;
+
+    private ResponseValidator(boolean[] allowedStatus, String statusError, Check[] checks) {
+        this.allowedStatus = allowedStatus;
+        this.statusError = statusError;
+        this.checks = checks;
+    }
+
+    /**
+     * Compiles the rules. Throws IllegalArgumentException for values the
+     * LoadTestValidator would have rejected (e.g. a non-numeric LATENCY_LT).
+     */
+    public static ResponseValidator compile(List<ValidationRule> rules) {
+        if (rules == null || rules.isEmpty()) return DEFAULT;
+
+        boolean[] allowed = null;
+        String statusError = null;
+        List<Check> checks = new ArrayList<>();
+        for (ValidationRule rule : rules) {
+            if (rule == null || rule.getType() == null || rule.getExpectedValue() == null) {
+                throw new IllegalArgumentException("Validation rule without type or expectedValue");
+            }
+            String expected = rule.getExpectedValue();
+            String error = "validation_" + rule.getType().name().toLowerCase() + ":" + label(expected);
+
+            switch (rule.getType()) {
+                case STATUS_CODE -> {
+                    boolean[] codes = statusCodes(expected);
+                    // several STATUS_CODE rules must all hold
+                    if (allowed == null) {
+                        allowed = codes;
+                        statusError = error;
+                    } else {
+                        statusError += "&" + label(expected);
+                        for (int i = 0; i < allowed.length; i++) allowed[i] &= codes[i];
+                    }
+                }
+                case LATENCY_LT -> {
+                    try {
+                        checks.add(new LatencyBelow(Long.parseLong(expected.trim()), error));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("LATENCY_LT expects milliseconds: " + expected);
+                    }
+                }
+                case CONTAINS_TEXT -> checks.add(ContainsBytes.of(expected, error));
+            }
+        }
+        checks.sort(Comparator.comparingInt(Check::cost));
+        return new ResponseValidator(allowed, statusError, checks.toArray(Check[]::new));
+    }
+
+    public String check(int status, long latencyMs, byte[] body) {
+        return check(status, latencyMs, body, body == null ? 0 : body.length);
+    }
+
+    /**
+     * Null when the response passes, otherwise the error type to record.
+     * Only the first {@code length} bytes of body are looked at (a reused buffer may be longer).
+     */
+    public String check(int status, long latencyMs, byte[] body, int length) {
+        if (allowedStatus == null) {
+            if (status < 200 || status >= 400) return "http_" + status;
+        } else if (status < 0 || status >= allowedStatus.length || !allowedStatus[status]) {
+            return statusError;
+        }
+        for (Check check : checks) {
+            if (!check.passes(latencyMs, body, length)) return check.error();
+        }
+        return null;
+    }
+
+    /** True when a rule looks at the body, which then has to be captured. */
+    public boolean readsBody() {
+        for (Check check : checks) {
+            if (check instanceof ContainsBytes) return true;
+        }
+        return false;
+    }
+
+    private static boolean[] statusCodes(String expected) {
+        if (!STATUS_CODES.matcher(expected).matches()) {
+            throw new IllegalArgumentException("STATUS_CODE expects e.g. 200, 2xx or 200,204: " + expected);
+        }
+        boolean[] allowed = new boolean[600];
+        for (String part : expected.split(",")) {
+            String code = part.trim().toLowerCase();
+            if (code.endsWith("xx")) {
+                int base = (code.charAt(0) - '0') * 100;
+                Arrays.fill(allowed, base, base + 100, true);
+            } else {
+                allowed[Integer.parseInt(code)] = true;
+            }
+        }
+        return allowed;
+    }
+
+    private static String label(String expected) {
+        return expected.length() <= MAX_LABEL_TEXT ? expected : expected.substring(0, MAX_LABEL_TEXT) + "...";
+    }
+}
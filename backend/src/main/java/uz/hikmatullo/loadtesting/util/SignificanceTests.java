@@ -0,0 +1,149 @@
+package uz.hikmatullo.loadtesting.util;
+
+import uz.hikmatullo.loadtesting.model.entity.metrics.HistogramSnapshot;
+
+/**
+ * One-sided significance tests for comparing two runs: does b tend to be larger than a?
+ * - Latency tests work on histogram buckets, never on samples, so they cost O(buckets)
+ *   whether a run had a thousand requests or a billion
+ * - Histograms must share their layout; values in the same bucket count as ties
+ * - All tests use the normal approximation, which is sound at load-test sample sizes
+ */
+public final class SignificanceTests {
+
+    /** z > 0 means b is larger; pValue is the one-sided p-value of that. */
+    public record Result(double z, double pValue) {
+        static final Result NONE = new Result(0, 1);
+    }
+
+    /** Rank-sum result plus the effect size: P(b > a) + P(tie) / 2, 0.5 when there is no shift. */
+    public record RankSum(double z, double pValue, double probabilityGreater) {}
+
+    private SignificanceTests() {}
+
+    /**
+     * Mann-Whitney U test over two histograms: has the whole distribution of b shifted up?
+     * Buckets are walked in value order, each one contributing its mid-rank.
+     */
+    public static RankSum rankSum(HistogramSnapshot a, HistogramSnapshot b) {
+        requireSameLayout(a, b);
+        double na = a.getTotalCount();
+        double nb = b.getTotalCount();
+        if (na == 0 || nb == 0) return new RankSum(0, 1, 0.5);
+
+        int[] ia = a.getIndexes(), ib = b.getIndexes();
+        long[] ca = a.getCounts(), cb = b.getCounts();
+        double below = 0;        // samples in lower buckets, both runs
+        double rankSumB = 0;
+        double ties = 0;         // sum of t^3 - t over buckets
+        int i = 0, j = 0;
+        while (i < ia.length || j < ib.length) {
+            int index = Math.min(i < ia.length ? ia[i] : Integer.MAX_VALUE, j < ib.length ? ib[j] : Integer.MAX_VALUE);
+            double countA = i < ia.length && ia[i] == index ? ca[i++] : 0;
+            double countB = j < ib.length && ib[j] == index ? cb[j++] : 0;
+            double t = countA + countB;
+            rankSumB += countB * (below + (t + 1) / 2);
+            ties += t * t * t - t;
+            below += t;
+        }
+
+        double n = na + nb;
+        double u = rankSumB - nb * (nb + 1) / 2;
+        double mean = na * nb / 2;
+        double variance = na * nb / 12 * ((n + 1) - ties / (n * (n - 1)));
+        double z = variance <= 0 ? 0 : (u - mean) / Math.sqrt(variance);
+        return new RankSum(z, upperTail(z), u / (na * nb));
+    }
+
+    /**
+     * Do more of b's samples lie above a's {@code percentile} than the (100 - percentile)%
+     * expected? A tail test: it catches a slower p99 even when the median did not move.
+     */
+    public static Result exceedance(HistogramSnapshot a, HistogramSnapshot b, double percentile) {
+        requireSameLayout(a, b);
+        if (a.getTotalCount() == 0 || b.getTotalCount() == 0) return Result.NONE;
+
+        int bucket = percentileBucket(a, percentile);
+        return proportions(above(a, bucket), a.getTotalCount(), above(b, bucket), b.getTotalCount());
+    }
+
+    /** Two-proportion z-test: is hitsB / totalB larger than hitsA / totalA? */
+    public static Result proportions(long hitsA, long totalA, long hitsB, long totalB) {
+        if (totalA == 0 || totalB == 0) return Result.NONE;
+        double pa = hitsA / (double) totalA;
+        double pb = hitsB / (double) totalB;
+        double pooled = (hitsA + hitsB) / (double) (totalA + totalB);
+        double se = Math.sqrt(pooled * (1 - pooled) * (1.0 / totalA + 1.0 / totalB));
+        if (se == 0) return Result.NONE;
+        double z = (pb - pa) / se;
+        return new Result(z, upperTail(z));
+    }
+
+    /**
+     * Welch's test on two series, e.g. requests per second: is the mean of b larger?
+     * Needs at least two values on each side.
+     */
+    public static Result means(double[] a, double[] b) {
+        if (a.length < 2 || b.length < 2) return Result.NONE;
+        double meanA = mean(a), meanB = mean(b);
+        double se = Math.sqrt(variance(a, meanA) / a.length + variance(b, meanB) / b.length);
+        if (se == 0) {
+            // constant series: the difference is exact
+            if (meanA == meanB) return Result.NONE;
+            return meanB > meanA ? new Result(Double.POSITIVE_INFINITY, 0) : new Result(Double.NEGATIVE_INFINITY, 1);
+        }
+        double z = (meanB - meanA) / se;
+        return new Result(z, upperTail(z));
+    }
+
+    /** P(Z > z) for a standard normal Z. */
+    public static double upperTail(double z) {
+        return 0.5 * erfc(z / Math.sqrt(2));
+    }
+
+    // Numerical Recipes erfc, fractional error below 1.2e-7 everywhere
+    private static double erfc(double x) {
+        double t = 1 / (1 + 0.5 * Math.abs(x));
+        double r = t * Math.exp(-x * x - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418
+                + t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587
+                + t * (-0.82215223 + t * 0.17087277)))))))));
+        return x >= 0 ? r : 2 - r;
+    }
+
+    private static int percentileBucket(HistogramSnapshot h, double percentile) {
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * h.getTotalCount()));
+        long seen = 0;
+        for (int k = 0; k < h.getIndexes().length; k++) {
+            seen += h.getCounts()[k];
+            if (seen >= rank) return h.getIndexes()[k];
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    private static long above(HistogramSnapshot h, int bucket) {
+        long count = 0;
+        for (int k = 0; k < h.getIndexes().length; k++) {
+            if (h.getIndexes()[k] > bucket) count += h.getCounts()[k];
+        }
+        return count;
+    }
+
+    private static void requireSameLayout(HistogramSnapshot a, HistogramSnapshot b) {
+        if (a.getHighestTrackableValue() != b.getHighestTrackableValue()
+                || a.getSignificantDigits() != b.getSignificantDigits()) {
+            throw new IllegalArgumentException("Cannot compare histograms with different range/precision");
+        }
+    }
+
+    private static double mean(double[] values) {
+        double sum = 0;
+        for (double v : values) sum += v;
+        return sum / values.length;
+    }
+
+    private static double variance(double[] values, double mean) {
+        double sum = 0;
+        for (double v : values) sum += (v - mean) * (v - mean);
+        return sum / (values.length - 1);
+    }
+}
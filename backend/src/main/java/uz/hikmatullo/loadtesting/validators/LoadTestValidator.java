@@ -5,6 +5,7 @@ import uz.hikmatullo.loadtesting.exceptions.CustomBadRequestException;
 import uz.hikmatullo.loadtesting.model.enums.LoadType;
 import uz.hikmatullo.loadtesting.model.enums.ValidationType;
 import uz.hikmatullo.loadtesting.model.request.*;
+import uz.hikmatullo.loadtesting.util.ResponseValidator;
 
 import java.util.List;
 
@@ -24,6 +25,8 @@ public class LoadTestValidator {
         validateProfile(request.getProfile());
         validateSteps(request.getSteps());
         validateValidationRules(request.getValidationRules());
+        validateFeeders(request.getFeeders());
+        validateThresholds(request.getThresholds(), request.getSteps());
     }
 
     private void validateBasicFields(LoadTestRequest request) {
@@ -47,6 +50,13 @@ public class LoadTestValidator {
             throw new CustomBadRequestException("LoadType is required in LoadProfile");
         }
 
+        if (profile.sharedClients() < 0) {
+            throw new CustomBadRequestException("sharedClients must be >= 0");
+        }
+        if (profile.pacingMs() < 0) {
+            throw new CustomBadRequestException("pacingMs must be >= 0");
+        }
+
         switch (type) {
             case FIXED -> validateFixedProfile(profile);
             case RAMP_UP -> validateRampUpProfile(profile);
@@ -77,6 +87,9 @@ public class LoadTestValidator {
         if (profile.rampUpSeconds() < 0) {
             throw new CustomBadRequestException("rampUpSeconds must be >= 0 for RAMP_UP tests");
         }
+        if (profile.rampUpSeconds() > profile.durationSeconds()) {
+            throw new CustomBadRequestException("rampUpSeconds cannot be greater than durationSeconds for RAMP_UP tests");
+        }
     }
 
     private void validateSpikeProfile(LoadProfileRequest profile) {
@@ -89,7 +102,16 @@ public class LoadTestValidator {
         if (profile.rampUpSeconds() < 0) {
             throw new CustomBadRequestException("rampUpSeconds must be >= 0 for SPIKE tests");
         }
-        // for spike, rampUpSeconds is expected to be small; we do not enforce an upper limit here
+        if (profile.baselineUsers() < 0 || profile.baselineUsers() >= profile.virtualUsers()) {
+            throw new CustomBadRequestException("baselineUsers must be >= 0 and less than virtualUsers for SPIKE tests");
+        }
+        if (profile.spikeStartSeconds() < 0 || profile.spikeHoldSeconds() < 0) {
+            throw new CustomBadRequestException("spikeStartSeconds and spikeHoldSeconds must be >= 0 for SPIKE tests");
+        }
+        if (profile.spikeStartSeconds() + profile.rampUpSeconds() > profile.durationSeconds()) {
+            throw new CustomBadRequestException("spike must reach its target before durationSeconds for SPIKE tests");
+        }
+        // for spike, rampUpSeconds is expected to be small (0 = inject all spike VUs at once)
     }
 
     private void validateFixedRpsProfile(LoadProfileRequest profile) {
@@ -153,6 +175,7 @@ public class LoadTestValidator {
 
             // Extraction rules
             validateExtractionRules(step.getExtractionRules(), ctx);
+            validateThinkTime(step.getThinkTime(), ctx);
 
             // Body/template validation: if method is GET/DELETE, body should normally be empty (not enforced strictly)
             if ((step.getMethod().name().equalsIgnoreCase("GET") || step.getMethod().name().equalsIgnoreCase("DELETE"))
@@ -186,6 +209,32 @@ public class LoadTestValidator {
         }
     }
 
+    private void validateThinkTime(ThinkTimeRequest t, String ctx) {
+        if (t == null) {
+            return;
+        }
+        String tctx = ctx + "thinkTime ";
+        if (t.type() == null) {
+            throw new CustomBadRequestException(tctx + "type is required");
+        }
+        if (t.durationMs() < 0 || t.minMs() < 0 || t.maxMs() < 0) {
+            throw new CustomBadRequestException(tctx + "durationMs, minMs and maxMs must be >= 0");
+        }
+        switch (t.type()) {
+            case UNIFORM -> {
+                if (t.maxMs() < t.minMs()) {
+                    throw new CustomBadRequestException(tctx + "maxMs must be >= minMs for UNIFORM");
+                }
+            }
+            case EXPONENTIAL -> {
+                if (t.durationMs() == 0) {
+                    throw new CustomBadRequestException(tctx + "durationMs (the mean) must be > 0 for EXPONENTIAL");
+                }
+            }
+            default -> { }
+        }
+    }
+
     private void validateValidationRules(List<ValidationRuleRequest> list) {
         if (list == null || list.isEmpty()) {
             return;
@@ -213,6 +262,63 @@ public class LoadTestValidator {
                     throw new CustomBadRequestException(ctx + "expectedValue must be an integer for LATENCY_LT");
                 }
             }
+            if (r.type() == ValidationType.STATUS_CODE && !ResponseValidator.STATUS_CODES.matcher(r.expectedValue()).matches()) {
+                throw new CustomBadRequestException(ctx + "expectedValue must be a status code, a class like 2xx or a list like 200,204 for STATUS_CODE");
+            }
+        }
+    }
+
+    private void validateFeeders(List<DataFeederRequest> list) {
+        if (list == null || list.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < list.size(); i++) {
+            DataFeederRequest f = list.get(i);
+            String ctx = "Feeder[" + i + "] ";
+            if (f == null) {
+                throw new CustomBadRequestException(ctx + "is null");
+            }
+            if (isBlank(f.fileId())) {
+                throw new CustomBadRequestException(ctx + "fileId is required");
+            }
+            if (f.strategy() == null) {
+                throw new CustomBadRequestException(ctx + "strategy is required");
+            }
+        }
+    }
+
+    private void validateThresholds(List<ThresholdRequest> list, List<RequestStepRequest> steps) {
+        if (list == null || list.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < list.size(); i++) {
+            ThresholdRequest t = list.get(i);
+            String ctx = "Threshold[" + i + "] ";
+            if (t == null) {
+                throw new CustomBadRequestException(ctx + "is null");
+            }
+            if (t.metric() == null) {
+                throw new CustomBadRequestException(ctx + "metric is required");
+            }
+            if (t.operator() == null) {
+                throw new CustomBadRequestException(ctx + "operator is required");
+            }
+            if (t.value() < 0 || Double.isNaN(t.value())) {
+                throw new CustomBadRequestException(ctx + "value must be >= 0");
+            }
+            if (t.windowSeconds() < 0) {
+                throw new CustomBadRequestException(ctx + "windowSeconds must be >= 0");
+            }
+            if (t.graceSeconds() < 0) {
+                throw new CustomBadRequestException(ctx + "graceSeconds must be >= 0");
+            }
+            if (t.step() != null) {
+                long matches = steps.stream().filter(s -> s != null && t.step().equals(s.getName())).count();
+                if (matches != 1) {
+                    throw new CustomBadRequestException(ctx + "step must name exactly one step, found "
+                            + matches + " named '" + t.step() + "'");
+                }
+            }
         }
     }
 
@@ -3,7 +3,11 @@ package uz.hikmatullo.loadtesting;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = {
+        "loadtest.store.dir=target/test-store",
+        "loadtest.data.dir=target/test-data",
+        "loadtest.samples.dir=target/test-samples"
+})
 class LoadTestingApplicationTests {
 
     @Test
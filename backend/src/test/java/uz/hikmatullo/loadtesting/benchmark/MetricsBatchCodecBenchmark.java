@@ -0,0 +1,108 @@
+package uz.hikmatullo.loadtesting.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import uz.hikmatullo.loadtesting.model.entity.metrics.RequestMetrics;
+import uz.hikmatullo.loadtesting.model.entity.metrics.WorkerMetricsBatch;
+import uz.hikmatullo.loadtesting.util.MetricsBatchCodec;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode cost of one 1,000-sample metrics batch: Jackson JSON vs {@link MetricsBatchCodec}.
+ * main() first prints bytes per sample for both formats, then runs the benchmark.
+ * Not run by surefire; start it with main() from the IDE, or
+ * {@code java -cp <test classpath> org.openjdk.jmh.Main MetricsBatchCodecBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsBatchCodecBenchmark {
+
+    static final int SAMPLES = 1_000;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private WorkerMetricsBatch batch;
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() throws IOException {
+        batch = batch();
+        json = mapper.writeValueAsBytes(batch);
+        binary = MetricsBatchCodec.encode(batch);
+    }
+
+    static WorkerMetricsBatch batch() {
+        Random random = new Random(1);
+        String[] steps = new String[5];
+        for (int i = 0; i < steps.length; i++) steps[i] = UUID.randomUUID().toString();
+
+        List<RequestMetrics> metrics = new ArrayList<>(SAMPLES);
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < SAMPLES; i++) {
+            start += random.nextInt(3);
+            long latency = 20 + (long) Math.abs(random.nextGaussian() * 80);
+            boolean success = random.nextInt(50) > 0;
+            metrics.add(RequestMetrics.builder()
+                    .stepId(steps[i % steps.length])
+                    .startTimeMs(start)
+                    .endTimeMs(start + latency)
+                    .latencyMs(latency)
+                    .statusCode(success ? 200 : 503)
+                    .success(success)
+                    .errorType(success ? null : "status_503")
+                    .build());
+        }
+        return WorkerMetricsBatch.builder()
+                .workerId(UUID.randomUUID().toString())
+                .testId(UUID.randomUUID().toString())
+                .timestampSecond(start / 1000)
+                .sequence(1)
+                .metrics(metrics)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws IOException {
+        return mapper.writeValueAsBytes(batch);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return MetricsBatchCodec.encode(batch);
+    }
+
+    @Benchmark
+    public WorkerMetricsBatch decodeJson() throws IOException {
+        return mapper.readValue(json, WorkerMetricsBatch.class);
+    }
+
+    @Benchmark
+    public WorkerMetricsBatch decodeBinary() {
+        return MetricsBatchCodec.decode(binary);
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        WorkerMetricsBatch batch = batch();
+        int json = new ObjectMapper().writeValueAsBytes(batch).length;
+        int binary = MetricsBatchCodec.encode(batch).length;
+        System.out.printf("bytes/sample: json %.1f, binary %.1f%n", json / (double) SAMPLES, binary / (double) SAMPLES);
+
+        new Runner(new OptionsBuilder()
+                .include(MetricsBatchCodecBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,241 @@
+package uz.hikmatullo.loadtesting.engine.aggregator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import uz.hikmatullo.loadtesting.model.entity.RequestStep;
+import uz.hikmatullo.loadtesting.model.entity.metrics.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalMetricsAggregatorTest {
+
+    private final RequestStep login = RequestStep.builder().id("login").name("Login").build();
+    private final RequestStep checkout = RequestStep.builder().id("checkout").name("Checkout").build();
+
+    private static RequestMetrics metric(String stepId, long startMs, long latency, int status, boolean success, String error) {
+        return RequestMetrics.builder()
+                .stepId(stepId)
+                .startTimeMs(startMs)
+                .endTimeMs(startMs + latency)
+                .latencyMs(latency)
+                .statusCode(status)
+                .success(success)
+                .errorType(error)
+                .build();
+    }
+
+    @Test
+    void buildReport_shouldAggregateGlobalStepsAndTimelineInOnePass() {
+        IncrementalMetricsAggregator aggregator =
+                new IncrementalMetricsAggregator("test-1", List.of(login, checkout));
+
+        aggregator.record(metric("login", 1_000, 10, 200, true, null));
+        aggregator.record(metric("login", 1_500, 30, 200, true, null));
+        aggregator.record(metric("checkout", 1_900, 50, 500, false, "http_500"));
+        aggregator.record(metric("checkout", 2_100, 70, 0, false, "timeout"));
+
+        TestExecutionReport report = aggregator.buildReport(1_000, 3_000);
+
+        GlobalMetrics global = report.getGlobal();
+        assertEquals("test-1", report.getTestId());
+        assertEquals(4, global.getTotalRequests());
+        assertEquals(2, global.getSuccessfulRequests());
+        assertEquals(2, global.getFailedRequests());
+        assertEquals(50.0, global.getErrorRate());
+        assertEquals(10, global.getMinLatency());
+        assertEquals(70, global.getMaxLatency());
+        assertEquals(40, global.getMeanLatency());
+        assertEquals(30, global.getP50());
+        assertEquals(3, global.getRpsPeak());
+        assertEquals(2, global.getTestDurationSeconds());
+
+        assertEquals(2, report.getSteps().size());
+        StepMetrics loginMetrics = report.getSteps().get(0);
+        StepMetrics checkoutMetrics = report.getSteps().get(1);
+        assertEquals("Login", loginMetrics.getStepName());
+        assertEquals(2, loginMetrics.getSuccessfulRequests());
+        assertEquals(2L, loginMetrics.getStatusCodeDistribution().get(200));
+        assertEquals("Checkout", checkoutMetrics.getStepName());
+        assertEquals(1L, checkoutMetrics.getErrorDistribution().get("http_500"));
+        assertEquals(1L, checkoutMetrics.getErrorDistribution().get("timeout"));
+
+        List<TimelinePoint> timeline = report.getTimeline();
+        assertEquals(2, timeline.size());
+        assertEquals(1, timeline.get(0).getTimestampSecond());
+        assertEquals(3, timeline.get(0).getRequests());
+        assertEquals(1, timeline.get(0).getFailures());
+        assertEquals(2, timeline.get(1).getTimestampSecond());
+        assertEquals(1, timeline.get(1).getRequests());
+    }
+
+    @Test
+    void buildReport_shouldSkipStepsWithoutSamples() {
+        IncrementalMetricsAggregator aggregator =
+                new IncrementalMetricsAggregator("test-2", List.of(login, checkout));
+        aggregator.record(metric("checkout", 1_000, 5, 200, true, null));
+
+        TestExecutionReport report = aggregator.buildReport(1_000, 2_000);
+
+        assertEquals(1, report.getSteps().size());
+        assertEquals("checkout", report.getSteps().getFirst().getStepId());
+        assertEquals(1, aggregator.count());
+    }
+
+    @Test
+    void simpleAggregator_shouldMatchIncrementalResult() {
+        List<RequestMetrics> raw = List.of(
+                metric("login", 1_000, 12, 200, true, null),
+                metric("login", 1_100, 18, 404, false, "http_404")
+        );
+
+        TestExecutionReport report = new SimpleMetricsAggregator()
+                .buildReport("test-3", 1_000, 2_000, raw, List.of(login));
+
+        assertEquals(2, report.getGlobal().getTotalRequests());
+        assertEquals(1L, report.getSteps().getFirst().getErrorDistribution().get("http_404"));
+    }
+
+    @Test
+    void merge_shouldMatchRecordingEverythingInOneAggregator() {
+        IncrementalMetricsAggregator workerA = new IncrementalMetricsAggregator("test-1", List.of(login, checkout));
+        IncrementalMetricsAggregator workerB = new IncrementalMetricsAggregator("test-1", List.of(login, checkout));
+        IncrementalMetricsAggregator single = new IncrementalMetricsAggregator("test-1", List.of(login, checkout));
+
+        for (int i = 0; i < 200; i++) {
+            RequestMetrics m = i % 7 == 0
+                    ? metric("checkout", 1_000 + i * 10L, 5 + i, 500, false, "http_500")
+                    : metric("login", 1_000 + i * 10L, 5 + i, 200, true, null);
+            (i % 3 == 0 ? workerA : workerB).record(m);
+            single.record(m);
+        }
+
+        IncrementalMetricsAggregator coordinator = new IncrementalMetricsAggregator("test-1", List.of(login, checkout));
+        coordinator.merge(workerA.snapshot());
+        coordinator.merge(workerB.snapshot());
+
+        TestExecutionReport merged = coordinator.buildReport(1_000, 3_000);
+        TestExecutionReport expected = single.buildReport(1_000, 3_000);
+
+        assertEquals(expected.getGlobal().getTotalRequests(), merged.getGlobal().getTotalRequests());
+        assertEquals(expected.getGlobal().getFailedRequests(), merged.getGlobal().getFailedRequests());
+        assertEquals(expected.getGlobal().getP50(), merged.getGlobal().getP50());
+        assertEquals(expected.getGlobal().getP99(), merged.getGlobal().getP99());
+        assertEquals(expected.getGlobal().getMinLatency(), merged.getGlobal().getMinLatency());
+        assertEquals(expected.getGlobal().getMaxLatency(), merged.getGlobal().getMaxLatency());
+        assertEquals(expected.getGlobal().getRpsPeak(), merged.getGlobal().getRpsPeak());
+
+        assertEquals(expected.getSteps().size(), merged.getSteps().size());
+        assertEquals(expected.getSteps().get(1).getErrorDistribution(), merged.getSteps().get(1).getErrorDistribution());
+        assertEquals(expected.getSteps().get(0).getStatusCodeDistribution(), merged.getSteps().get(0).getStatusCodeDistribution());
+
+        assertEquals(expected.getTimeline().size(), merged.getTimeline().size());
+        for (int i = 0; i < expected.getTimeline().size(); i++) {
+            assertEquals(expected.getTimeline().get(i).getRequests(), merged.getTimeline().get(i).getRequests());
+        }
+    }
+
+    @Test
+    void buildReport_shouldBreakDownPhasesPerStep() {
+        IncrementalMetricsAggregator aggregator = new IncrementalMetricsAggregator("test-4", List.of(login));
+        for (int i = 0; i < 10; i++) {
+            RequestMetrics m = metric("login", 1_000, 20, 200, true, null);
+            // the first request opens the connection: slower to the first byte
+            m.setTtfbMicros(i == 0 ? 15_000 : 2_000);
+            m.setDownloadMicros(500);
+            m.setConnectionReused(i != 0);
+            aggregator.record(m);
+        }
+        // no response, nothing to time
+        aggregator.record(metric("login", 1_000, 5, 0, false, "connection_error"));
+
+        TimingBreakdown timings = aggregator.buildReport(1_000, 2_000).getSteps().getFirst().getTimings();
+
+        assertEquals(10, timings.getTimeToFirstByte().getCount());
+        assertEquals(1, timings.getNewConnections());
+        assertEquals(9, timings.getReusedConnections());
+        assertEquals(15_000, timings.getNewConnectionTimeToFirstByte().getP50Micros(), 150);
+        assertEquals(2_000, timings.getReusedConnectionTimeToFirstByte().getP99Micros(), 20);
+        assertEquals(500, timings.getDownload().getMeanMicros(), 5);
+    }
+
+    @Test
+    void record_shouldCountEverythingRecordedFromManyVirtualUsers() throws Exception {
+        IncrementalMetricsAggregator aggregator = new IncrementalMetricsAggregator("test-6", List.of(login));
+        int users = 500;
+        int perUser = 1_000;
+        RequestMetrics m = metric("login", 1_000, 5, 200, true, null);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int u = 0; u < users; u++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perUser; i++) {
+                        aggregator.record(m);
+                    }
+                }));
+            }
+            for (Future<?> f : futures) f.get();
+        }
+
+        TestExecutionReport report = report(aggregator);
+        assertEquals((long) users * perUser, report.getGlobal().getTotalRequests());
+        assertEquals((long) users * perUser, report.getGlobal().getSuccessfulRequests());
+        assertEquals((long) users * perUser, report.getSteps().get(0).getTotalRequests());
+    }
+
+    @Test
+    @DisplayName("Recording cost per sample stays flat under contention as the sample count grows")
+    void record_costShouldNotGrowWithSampleCountUnderContention() throws Exception {
+        IncrementalMetricsAggregator aggregator = new IncrementalMetricsAggregator("test-7", List.of(login));
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        int perThread = 50_000;
+        RequestMetrics m = metric("login", 1_000, 5, 200, true, null);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            // warm-up so JIT does not skew the first measured round
+            recordConcurrently(executor, aggregator, m, threads, perThread);
+
+            long[] nanosPerRound = new long[10];
+            for (int round = 0; round < nanosPerRound.length; round++) {
+                long st = System.nanoTime();
+                recordConcurrently(executor, aggregator, m, threads, perThread);
+                nanosPerRound[round] = System.nanoTime() - st;
+            }
+
+            long expected = (long) threads * perThread * (nanosPerRound.length + 1);
+            assertEquals(expected, report(aggregator).getGlobal().getTotalRequests());
+
+            // Anything that keeps or rescans raw samples makes every round slower than the previous one.
+            // Compare the best round of each half so a single GC pause does not fail the test.
+            int half = nanosPerRound.length / 2;
+            long early = Arrays.stream(nanosPerRound, 0, half).min().orElseThrow();
+            long late = Arrays.stream(nanosPerRound, half, nanosPerRound.length).min().orElseThrow();
+            assertTrue(late < early * 3,
+                    "recording slowed down as sample count grew: early=" + early + "ns, late=" + late + "ns");
+        }
+    }
+
+    private static void recordConcurrently(ExecutorService executor, IncrementalMetricsAggregator aggregator,
+                                           RequestMetrics m, int threads, int perThread) throws Exception {
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    aggregator.record(m);
+                }
+            }));
+        }
+        for (Future<?> f : futures) f.get();
+    }
+
+    private static TestExecutionReport report(IncrementalMetricsAggregator aggregator) {
+        return aggregator.buildReport(1_000, 2_000);
+    }
+}
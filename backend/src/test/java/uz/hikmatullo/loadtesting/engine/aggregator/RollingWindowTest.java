@@ -0,0 +1,99 @@
+package uz.hikmatullo.loadtesting.engine.aggregator;
+
+import org.junit.jupiter.api.Test;
+import uz.hikmatullo.loadtesting.model.entity.RequestStep;
+import uz.hikmatullo.loadtesting.model.entity.metrics.LiveMetricsFrame;
+import uz.hikmatullo.loadtesting.model.entity.metrics.RequestMetrics;
+import uz.hikmatullo.loadtesting.model.entity.metrics.RollingMetrics;
+import uz.hikmatullo.loadtesting.model.entity.metrics.TimelinePoint;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollingWindowTest {
+
+    private final RequestStep login = RequestStep.builder().id("login").name("Login").build();
+    private final RequestStep checkout = RequestStep.builder().id("checkout").name("Checkout").build();
+
+    private static RequestMetrics metric(String stepId, long startMs, long latency, boolean success, String error) {
+        return RequestMetrics.builder()
+                .stepId(stepId)
+                .startTimeMs(startMs)
+                .endTimeMs(startMs + latency)
+                .latencyMs(latency)
+                .statusCode(success ? 200 : 500)
+                .success(success)
+                .errorType(error)
+                .build();
+    }
+
+    private static void record(IncrementalMetricsAggregator aggregator, String stepId, long startMs,
+                               int count, long latency, boolean success) {
+        for (int i = 0; i < count; i++) {
+            aggregator.record(metric(stepId, startMs, latency, success, success ? null : "http_500"));
+        }
+    }
+
+    @Test
+    void next_shouldComputePercentilesOverRecentTicksOnly() {
+        IncrementalMetricsAggregator aggregator = new IncrementalMetricsAggregator("t", List.of(login));
+        RollingWindow window = new RollingWindow(2, List.of(login));
+
+        record(aggregator, "login", 10_000, 100, 10, true);
+        LiveMetricsFrame first = window.next(aggregator, 11_000);
+        // no earlier tick: the window is the run so far
+        assertEquals(100, first.getGlobal().getWindowRequests());
+        assertEquals(10, first.getGlobal().getP99());
+
+        record(aggregator, "login", 11_000, 100, 500, true);
+        window.next(aggregator, 12_000);
+        record(aggregator, "login", 12_000, 100, 500, true);
+        LiveMetricsFrame third = window.next(aggregator, 13_000);
+
+        // two ticks back is 11_000: the fast requests recorded before it have left the window
+        RollingMetrics global = third.getGlobal();
+        assertEquals(2_000, global.getWindowMs());
+        assertEquals(200, global.getWindowRequests());
+        assertEquals(100.0, global.getWindowRps());
+        assertEquals(500, global.getP50(), 5);
+        assertEquals(300, global.getTotalRequests());
+    }
+
+    @Test
+    void next_shouldReportFailuresAndErrorsPerStepInDeclaredOrder() {
+        IncrementalMetricsAggregator aggregator = new IncrementalMetricsAggregator("t", List.of(login, checkout));
+        RollingWindow window = new RollingWindow(5, List.of(login, checkout));
+
+        record(aggregator, "checkout", 1_000, 3, 20, false);
+        window.next(aggregator, 2_000);
+        record(aggregator, "checkout", 2_000, 2, 20, false);
+        record(aggregator, "login", 2_000, 4, 5, true);
+        LiveMetricsFrame frame = window.next(aggregator, 3_000);
+
+        assertEquals(List.of("login", "checkout"),
+                frame.getSteps().stream().map(RollingMetrics::getStepId).toList());
+        RollingMetrics checkoutMetrics = frame.getSteps().get(1);
+        assertEquals("Checkout", checkoutMetrics.getStepName());
+        assertEquals(2, checkoutMetrics.getWindowFailures());
+        assertEquals(5, checkoutMetrics.getTotalFailures());
+        assertEquals(5L, checkoutMetrics.getErrorDistribution().get("http_500"));
+        assertEquals(0, frame.getSteps().get(0).getWindowFailures());
+    }
+
+    @Test
+    void next_shouldSendTimelineOfTheWindowOnly() {
+        IncrementalMetricsAggregator aggregator = new IncrementalMetricsAggregator("t", List.of(login));
+        RollingWindow window = new RollingWindow(1, List.of(login));
+
+        for (long second = 1; second <= 5; second++) {
+            record(aggregator, "login", second * 1_000, (int) second, 5, true);
+            window.next(aggregator, second * 1_000 + 500);
+        }
+        LiveMetricsFrame frame = window.next(aggregator, 6_500);
+
+        List<Long> seconds = frame.getTimeline().stream().map(TimelinePoint::getTimestampSecond).toList();
+        assertEquals(List.of(5L), seconds);
+        assertEquals(5, frame.getTimeline().getFirst().getRequests());
+    }
+}
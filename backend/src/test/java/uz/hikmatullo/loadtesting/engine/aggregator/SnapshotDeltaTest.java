@@ -0,0 +1,82 @@
+package uz.hikmatullo.loadtesting.engine.aggregator;
+
+import org.junit.jupiter.api.Test;
+import uz.hikmatullo.loadtesting.model.entity.RequestStep;
+import uz.hikmatullo.loadtesting.model.entity.metrics.AggregationSnapshot;
+import uz.hikmatullo.loadtesting.model.entity.metrics.RequestMetrics;
+import uz.hikmatullo.loadtesting.model.entity.metrics.TestExecutionReport;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotDeltaTest {
+
+    private final RequestStep step = RequestStep.builder().id("s1").name("Step").build();
+
+    private static RequestMetrics metric(long startMs, long latency, boolean success) {
+        return RequestMetrics.builder()
+                .stepId("s1")
+                .startTimeMs(startMs)
+                .endTimeMs(startMs + latency)
+                .latencyMs(latency)
+                .statusCode(success ? 200 : 503)
+                .success(success)
+                .errorType(success ? null : "http_503")
+                .build();
+    }
+
+    @Test
+    void appendingAllDeltasShouldRebuildTheSource() {
+        IncrementalMetricsAggregator worker = new IncrementalMetricsAggregator("t", List.of(step));
+        IncrementalMetricsAggregator coordinator = new IncrementalMetricsAggregator("t", List.of(step));
+
+        AggregationSnapshot previous = null;
+        for (int flush = 0; flush < 5; flush++) {
+            for (int i = 0; i < 100; i++) {
+                // each flush also touches the second the previous one ended in
+                long start = 10_000 + flush * 700L + i * 10L;
+                worker.record(metric(start, 1 + (i * flush) % 400, i % 9 != 0));
+            }
+            AggregationSnapshot current = worker.snapshot();
+            coordinator.append(SnapshotDelta.between(previous, current));
+            previous = current;
+        }
+        // nothing new: an empty delta changes nothing
+        coordinator.append(SnapshotDelta.between(previous, worker.snapshot()));
+
+        TestExecutionReport expected = worker.buildReport(10_000, 14_000);
+        TestExecutionReport actual = coordinator.buildReport(10_000, 14_000);
+
+        assertEquals(expected.getGlobal().getTotalRequests(), actual.getGlobal().getTotalRequests());
+        assertEquals(expected.getGlobal().getFailedRequests(), actual.getGlobal().getFailedRequests());
+        assertEquals(expected.getGlobal().getMeanLatency(), actual.getGlobal().getMeanLatency());
+        assertEquals(expected.getGlobal().getP95(), actual.getGlobal().getP95());
+        assertEquals(expected.getGlobal().getMaxLatency(), actual.getGlobal().getMaxLatency());
+        assertEquals(expected.getGlobal().getRpsPeak(), actual.getGlobal().getRpsPeak());
+        assertEquals(expected.getSteps().getFirst().getErrorDistribution(), actual.getSteps().getFirst().getErrorDistribution());
+
+        assertEquals(expected.getTimeline().size(), actual.getTimeline().size());
+        for (int i = 0; i < expected.getTimeline().size(); i++) {
+            assertEquals(expected.getTimeline().get(i).getRequests(), actual.getTimeline().get(i).getRequests());
+            assertEquals(expected.getTimeline().get(i).getFailures(), actual.getTimeline().get(i).getFailures());
+        }
+    }
+
+    @Test
+    void appendShouldNotAddUpActiveUsersOfTheSameSecond() {
+        IncrementalMetricsAggregator worker = new IncrementalMetricsAggregator("t", List.of(step));
+        IncrementalMetricsAggregator coordinator = new IncrementalMetricsAggregator("t", List.of(step));
+        worker.onVirtualUserStarted();
+        worker.onVirtualUserStarted();
+
+        worker.record(metric(5_000, 10, true));
+        AggregationSnapshot first = worker.snapshot();
+        coordinator.append(first);
+        worker.record(metric(5_500, 10, true));
+        coordinator.append(SnapshotDelta.between(first, worker.snapshot()));
+
+        assertEquals(2, coordinator.snapshot().getTimeline().getFirst().getActiveUsers());
+        assertEquals(2, coordinator.snapshot().getTimeline().getFirst().getRequests());
+    }
+}
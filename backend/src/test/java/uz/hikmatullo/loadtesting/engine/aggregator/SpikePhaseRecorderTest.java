@@ -0,0 +1,58 @@
+package uz.hikmatullo.loadtesting.engine.aggregator;
+
+import org.junit.jupiter.api.Test;
+import uz.hikmatullo.loadtesting.model.entity.metrics.PhaseMetrics;
+import uz.hikmatullo.loadtesting.model.entity.metrics.RequestMetrics;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpikePhaseRecorderTest {
+
+    private static RequestMetrics metric(long startMs, long latency) {
+        return RequestMetrics.builder()
+                .stepId("s")
+                .startTimeMs(startMs)
+                .endTimeMs(startMs + latency)
+                .latencyMs(latency)
+                .statusCode(200)
+                .success(true)
+                .build();
+    }
+
+    @Test
+    void record_shouldSplitByStartTimeAndMeasureRecovery() {
+        IncrementalMetricsAggregator aggregator = new IncrementalMetricsAggregator("t", List.of());
+        SpikePhaseRecorder recorder = new SpikePhaseRecorder(aggregator, 1_000, 2_000);
+        recorder.start(10_000);
+
+        recorder.record(metric(10_100, 10));    // pre-spike
+        recorder.record(metric(11_500, 900));   // spike
+        recorder.record(metric(12_200, 400));   // recovery, second 0: still slow
+        recorder.record(metric(13_100, 300));   // recovery, second 1: still slow
+        recorder.record(metric(14_050, 11));    // recovery, second 2: back to baseline
+
+        assertEquals(5, aggregator.count());
+
+        List<PhaseMetrics> phases = recorder.buildPhases(15_000);
+        assertEquals(3, phases.size());
+        assertEquals(1, phases.get(0).getTotalRequests());
+        assertEquals(900, phases.get(1).getMaxLatency());
+        assertEquals(3, phases.get(2).getTotalRequests());
+        assertEquals(12_000, phases.get(2).getStartedAt());
+
+        assertEquals(2_000L, recorder.recoveryTimeMs());
+    }
+
+    @Test
+    void recoveryTime_shouldBeNullWithoutBaseline() {
+        SpikePhaseRecorder recorder = new SpikePhaseRecorder(
+                new IncrementalMetricsAggregator("t", List.of()), 0, 1_000);
+        recorder.start(0);
+        recorder.record(metric(1_500, 5));
+
+        assertNull(recorder.recoveryTimeMs());
+        assertEquals(2, recorder.buildPhases(2_000).size());
+    }
+}
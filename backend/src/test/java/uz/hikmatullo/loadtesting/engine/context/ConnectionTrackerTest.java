@@ -0,0 +1,90 @@
+package uz.hikmatullo.loadtesting.engine.context;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionTrackerTest {
+
+    private HttpServer server;
+    private String baseUrl;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/ok", exchange -> {
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.createContext("/close", exchange -> {
+            exchange.getResponseHeaders().add("Connection", "close");
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    private static HttpHeaders headers(Map<String, List<String>> values) {
+        return HttpHeaders.of(values, (k, v) -> true);
+    }
+
+    private Boolean send(ExecutionContext ctx, String path) throws Exception {
+        ctx.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build(),
+                ResponseBody.handler(BodyMode.DISCARD, ctx));
+        return ctx.getConnectionReused();
+    }
+
+    @Test
+    void send_shouldReportNewThenReusedConnections() throws Exception {
+        ExecutionContext ctx = new ExecutionContext();
+
+        assertFalse(send(ctx, "/ok"), "first request opens the connection");
+        assertTrue(send(ctx, "/ok"));
+        assertTrue(send(ctx, "/close"), "closed only after this response");
+        assertFalse(send(ctx, "/ok"), "server closed the previous connection");
+    }
+
+    @Test
+    void send_shouldNotGuessOnSharedClients() throws Exception {
+        try (HttpClientPool pool = HttpClientPool.shared(2)) {
+            ExecutionContext ctx = pool.newContext();
+            assertNull(send(ctx, "/ok"));
+            assertNull(send(ctx, "/ok"));
+        }
+    }
+
+    @Test
+    void acquire_shouldHonourServerKeepAliveTimeoutAndOrigin() {
+        ConnectionTracker tracker = new ConnectionTracker();
+        URI a = URI.create("http://example.com/x");
+        URI b = URI.create("https://example.com/x");
+        long now = 0;
+
+        tracker.release(a, headers(Map.of("Keep-Alive", List.of("timeout=5, max=100"))), now);
+        tracker.release(b, headers(Map.of()), now);
+
+        assertFalse(tracker.acquire(a, now + TimeUnit.SECONDS.toNanos(6)), "idle longer than the server allows");
+        assertTrue(tracker.acquire(b, now + TimeUnit.SECONDS.toNanos(6)), "other origin, client timeout");
+        assertFalse(tracker.acquire(b, now + TimeUnit.SECONDS.toNanos(7)), "taken by the previous request");
+        assertEquals("https://example.com:443", ConnectionTracker.origin(URI.create("https://example.com/a")));
+    }
+}
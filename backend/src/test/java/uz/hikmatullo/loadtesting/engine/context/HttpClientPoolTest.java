@@ -0,0 +1,103 @@
+package uz.hikmatullo.loadtesting.engine.context;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uz.hikmatullo.loadtesting.model.entity.LoadProfile;
+import uz.hikmatullo.loadtesting.model.enums.ConnectionMode;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpClientPoolTest {
+
+    private HttpServer server;
+    private String baseUrl;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        // sets a session cookie on the redirect itself, like most login forms do
+        server.createContext("/login", exchange -> {
+            String user = exchange.getRequestURI().getQuery();
+            exchange.getResponseHeaders().add("Set-Cookie", "session=" + user + "; Path=/");
+            exchange.getResponseHeaders().add("Location", "/me");
+            exchange.sendResponseHeaders(302, -1);
+            exchange.close();
+        });
+        server.createContext("/me", exchange -> {
+            String cookie = exchange.getRequestHeaders().getFirst("Cookie");
+            byte[] body = String.valueOf(cookie).getBytes();
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    private HttpResponse<String> get(ExecutionContext ctx, String path) throws Exception {
+        return ctx.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void forProfile_shouldDefaultToPerUserClients() {
+        try (HttpClientPool pool = HttpClientPool.forProfile(LoadProfile.builder().build())) {
+            assertFalse(pool.isShared());
+            assertNotSame(pool.newContext().getHttpClient(), pool.newContext().getHttpClient());
+        }
+    }
+
+    @Test
+    void sharedPool_shouldSpreadContextsOverFixedClients() {
+        LoadProfile profile = LoadProfile.builder()
+                .connectionMode(ConnectionMode.SHARED)
+                .sharedClients(2)
+                .build();
+
+        try (HttpClientPool pool = HttpClientPool.forProfile(profile)) {
+            assertEquals(2, pool.size());
+            ExecutionContext a = pool.newContext();
+            ExecutionContext b = pool.newContext();
+            ExecutionContext c = pool.newContext();
+            assertNotSame(a.getHttpClient(), b.getHttpClient());
+            assertSame(a.getHttpClient(), c.getHttpClient());
+        }
+    }
+
+    @Test
+    void sharedPool_shouldKeepCookiesPerUserAcrossRedirects() throws Exception {
+        try (HttpClientPool pool = HttpClientPool.shared(1)) {
+            ExecutionContext alice = pool.newContext();
+            ExecutionContext bob = pool.newContext();
+            assertSame(alice.getHttpClient(), bob.getHttpClient());
+
+            HttpResponse<String> aliceLogin = get(alice, "/login?alice");
+            HttpResponse<String> bobLogin = get(bob, "/login?bob");
+
+            // redirect followed with the cookie set on the 302
+            assertEquals(200, aliceLogin.statusCode());
+            assertEquals("session=alice", aliceLogin.body());
+            assertEquals("session=bob", bobLogin.body());
+
+            assertEquals("session=alice", get(alice, "/me").body());
+            assertEquals("alice", alice.getCookieValue("session"));
+
+            alice.reset();
+            assertEquals("null", get(alice, "/me").body());
+        }
+    }
+}
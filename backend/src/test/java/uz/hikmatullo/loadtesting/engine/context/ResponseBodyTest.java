@@ -0,0 +1,99 @@
+package uz.hikmatullo.loadtesting.engine.context;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseBodyTest {
+
+    private static final int LARGE = 1024 * 1024 + 17;
+
+    private HttpServer server;
+    private String baseUrl;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/large", exchange -> {
+            byte[] body = new byte[LARGE];
+            Arrays.fill(body, (byte) 'x');
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        // chunked: no Content-Length, so the count must come from the bytes themselves
+        server.createContext("/text", exchange -> {
+            byte[] body = "привет".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, 0);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    private ResponseBody get(ExecutionContext ctx, String path, BodyMode mode, int limit) throws Exception {
+        return ctx.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build(),
+                ResponseBody.handler(mode, ctx, limit)).body();
+    }
+
+    @Test
+    void discard_shouldCountEveryByteAndKeepNone() throws Exception {
+        ExecutionContext ctx = new ExecutionContext();
+
+        ResponseBody body = get(ctx, "/large", BodyMode.DISCARD, ResponseBody.DEFAULT_CAPTURE_LIMIT);
+
+        assertNull(body.bytes());
+        assertEquals(LARGE, body.received());
+        assertFalse(body.isTruncated());
+    }
+
+    @Test
+    void capture_shouldCountWireBytesNotChars() throws Exception {
+        ExecutionContext ctx = new ExecutionContext();
+
+        ResponseBody body = get(ctx, "/text", BodyMode.CAPTURE, ResponseBody.DEFAULT_CAPTURE_LIMIT);
+
+        assertEquals(12, body.received(), "6 cyrillic chars are 12 UTF-8 bytes");
+        assertEquals("привет", body.text(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void capture_shouldStopAtLimitButKeepCounting() throws Exception {
+        ExecutionContext ctx = new ExecutionContext();
+
+        ResponseBody body = get(ctx, "/large", BodyMode.CAPTURE, 1000);
+
+        assertEquals(1000, body.length());
+        assertEquals(LARGE, body.received());
+        assertTrue(body.isTruncated());
+    }
+
+    @Test
+    void capture_shouldReuseTheUsersBuffer() throws Exception {
+        ExecutionContext ctx = new ExecutionContext();
+
+        ResponseBody first = get(ctx, "/large", BodyMode.CAPTURE, ResponseBody.DEFAULT_CAPTURE_LIMIT);
+        ResponseBody second = get(ctx, "/text", BodyMode.CAPTURE, ResponseBody.DEFAULT_CAPTURE_LIMIT);
+
+        assertEquals(LARGE, first.length());
+        assertSame(first.bytes(), second.bytes(), "no new buffer per response");
+        assertEquals("привет", second.text(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,130 @@
+package uz.hikmatullo.loadtesting.engine.executors;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uz.hikmatullo.loadtesting.model.entity.LoadProfile;
+import uz.hikmatullo.loadtesting.model.entity.LoadTest;
+import uz.hikmatullo.loadtesting.model.entity.RequestStep;
+import uz.hikmatullo.loadtesting.model.entity.ValidationRule;
+import uz.hikmatullo.loadtesting.model.entity.metrics.StepMetrics;
+import uz.hikmatullo.loadtesting.model.entity.metrics.TestExecutionReport;
+import uz.hikmatullo.loadtesting.model.entity.metrics.TimelinePoint;
+import uz.hikmatullo.loadtesting.model.enums.HttpMethod;
+import uz.hikmatullo.loadtesting.model.enums.LoadType;
+import uz.hikmatullo.loadtesting.model.enums.ValidationType;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BurstLoadTypeExecutorTest {
+
+    private HttpServer server;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/burst", exchange -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            hits.incrementAndGet();
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void permits_shouldHandOutExactlyTotal() {
+        IterationPermits permits = new IterationPermits(3);
+
+        assertTrue(permits.tryAcquire());
+        assertTrue(permits.tryAcquire());
+        assertTrue(permits.tryAcquire());
+        assertFalse(permits.tryAcquire());
+        assertFalse(permits.tryAcquire());
+        assertEquals(0, permits.remaining());
+    }
+
+    @Test
+    void run_shouldFireExactlyTotalRequestsWithinConcurrencyLimit() {
+        RequestStep step = RequestStep.builder()
+                .name("burst")
+                .method(HttpMethod.GET)
+                .url("http://127.0.0.1:" + server.getAddress().getPort() + "/burst")
+                .extractionRules(List.of())
+                .build();
+
+        LoadTest loadTest = LoadTest.builder()
+                .name("burst")
+                .profile(LoadProfile.builder()
+                        .type(LoadType.BURST)
+                        .totalRequests(300)
+                        .maxConcurrency(8)
+                        .build())
+                .steps(List.of(step))
+                .build();
+
+        TestExecutionReport report = new BurstLoadTypeExecutor(new VirtualUserRunner()).run(loadTest);
+
+        assertEquals(300, hits.get());
+        assertEquals(300, report.getGlobal().getTotalRequests());
+        assertTrue(maxInFlight.get() <= 8, "max in flight=" + maxInFlight.get());
+        assertNotNull(report.getTimeToCompleteMs());
+        assertEquals(report.getFinishedAt() - report.getStartedAt(), report.getTimeToCompleteMs());
+
+        int peak = report.getTimeline().stream().mapToInt(TimelinePoint::getActiveUsers).max().orElse(0);
+        assertTrue(peak > 0 && peak <= 8, "peak active=" + peak);
+    }
+
+    @Test
+    void run_shouldCountValidationFailuresPerRule() {
+        RequestStep step = RequestStep.builder()
+                .id("burst")
+                .name("burst")
+                .method(HttpMethod.GET)
+                .url("http://127.0.0.1:" + server.getAddress().getPort() + "/burst")
+                .extractionRules(List.of())
+                .build();
+
+        LoadTest loadTest = LoadTest.builder()
+                .name("burst")
+                .profile(LoadProfile.builder()
+                        .type(LoadType.BURST)
+                        .totalRequests(20)
+                        .maxConcurrency(4)
+                        .build())
+                .steps(List.of(step))
+                .validationRules(List.of(
+                        ValidationRule.builder().type(ValidationType.STATUS_CODE).expectedValue("200").build(),
+                        ValidationRule.builder().type(ValidationType.CONTAINS_TEXT).expectedValue("welcome").build()))
+                .build();
+
+        TestExecutionReport report = new BurstLoadTypeExecutor(new VirtualUserRunner()).run(loadTest);
+
+        // the server answers 200 with an empty body: only the text rule fails
+        StepMetrics metrics = report.getSteps().getFirst();
+        assertEquals(20, metrics.getFailedRequests());
+        assertEquals(20L, metrics.getErrorDistribution().get("validation_contains_text:welcome"));
+        assertEquals(1, metrics.getErrorDistribution().size());
+    }
+}
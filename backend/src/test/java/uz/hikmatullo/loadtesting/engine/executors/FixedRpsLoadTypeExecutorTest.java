@@ -0,0 +1,96 @@
+package uz.hikmatullo.loadtesting.engine.executors;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uz.hikmatullo.loadtesting.model.entity.LoadProfile;
+import uz.hikmatullo.loadtesting.model.entity.LoadTest;
+import uz.hikmatullo.loadtesting.model.entity.RequestStep;
+import uz.hikmatullo.loadtesting.model.entity.metrics.ScheduleMetrics;
+import uz.hikmatullo.loadtesting.model.entity.metrics.TestExecutionReport;
+import uz.hikmatullo.loadtesting.model.enums.HttpMethod;
+import uz.hikmatullo.loadtesting.model.enums.LoadType;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FixedRpsLoadTypeExecutorTest {
+
+    private HttpServer server;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        // single worker thread: the server can serve ~20 req/s and builds a queue beyond that
+        server.setExecutor(Executors.newSingleThreadExecutor());
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    private LoadTest loadTest(int targetRps, int durationSeconds) {
+        RequestStep step = RequestStep.builder()
+                .name("slow")
+                .method(HttpMethod.GET)
+                .url("http://127.0.0.1:" + server.getAddress().getPort() + "/slow")
+                .extractionRules(List.of())
+                .build();
+
+        return LoadTest.builder()
+                .name("rps")
+                .profile(LoadProfile.builder()
+                        .type(LoadType.FIXED_RPS)
+                        .targetRps(targetRps)
+                        .durationSeconds(durationSeconds)
+                        .build())
+                .steps(List.of(step))
+                .build();
+    }
+
+    @Test
+    void arrivalOffsets_shouldBeEvenlySpaced() {
+        assertEquals(0, FixedRpsLoadTypeExecutor.arrivalOffsetNanos(0, 4));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(250), FixedRpsLoadTypeExecutor.arrivalOffsetNanos(1, 4));
+        assertEquals(TimeUnit.SECONDS.toNanos(1), FixedRpsLoadTypeExecutor.arrivalOffsetNanos(4, 4));
+        assertEquals(TimeUnit.HOURS.toNanos(10), FixedRpsLoadTypeExecutor.arrivalOffsetNanos(36_000_000L, 1_000));
+    }
+
+    @Test
+    void run_shouldKeepScheduleAndChargeQueueingToLatency() {
+        TestExecutionReport report = new FixedRpsLoadTypeExecutor(new VirtualUserRunner()).run(loadTest(40, 1));
+
+        ScheduleMetrics schedule = report.getSchedule();
+        assertNotNull(schedule);
+        assertEquals(40, schedule.getScheduledIterations());
+        assertEquals(40, schedule.getDispatchedIterations());
+        assertEquals(40.0, schedule.getTargetRps());
+        assertTrue(schedule.getDispatchedRps() > 30, "dispatched=" + schedule.getDispatchedRps());
+        assertEquals(40, report.getGlobal().getTotalRequests());
+
+        // every arrival went out on time, but the server only completes ~20/s
+        assertTrue(schedule.getAchievedRps() < 30, "achieved=" + schedule.getAchievedRps());
+        assertTrue(schedule.getAchievedRps() > 10, "achieved=" + schedule.getAchievedRps());
+
+        // the server drains 40 requests at ~20/s: the last ones wait ~1s in its queue.
+        // Measured from the intended send time, that wait must show up in latency.
+        assertTrue(report.getGlobal().getMaxLatency() >= 700,
+                "max latency=" + report.getGlobal().getMaxLatency());
+    }
+}
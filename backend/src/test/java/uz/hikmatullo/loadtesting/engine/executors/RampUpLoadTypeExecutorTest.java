@@ -0,0 +1,96 @@
+package uz.hikmatullo.loadtesting.engine.executors;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uz.hikmatullo.loadtesting.model.entity.LoadProfile;
+import uz.hikmatullo.loadtesting.model.entity.LoadTest;
+import uz.hikmatullo.loadtesting.model.entity.RequestStep;
+import uz.hikmatullo.loadtesting.model.entity.metrics.TestExecutionReport;
+import uz.hikmatullo.loadtesting.model.entity.metrics.TimelinePoint;
+import uz.hikmatullo.loadtesting.model.enums.HttpMethod;
+import uz.hikmatullo.loadtesting.model.enums.LoadType;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RampUpLoadTypeExecutorTest {
+
+    private HttpServer server;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/ok", exchange -> {
+            byte[] body = "ok".getBytes();
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void dueOffsets_shouldBeLinearAndEndAtRampUp() {
+        long ramp = TimeUnit.SECONDS.toNanos(10);
+        int users = 10_000;
+
+        assertEquals(ramp / users, RampUpLoadTypeExecutor.dueOffsetNanos(1, users, ramp));
+        assertEquals(ramp / 2, RampUpLoadTypeExecutor.dueOffsetNanos(users / 2, users, ramp));
+        assertEquals(ramp, RampUpLoadTypeExecutor.dueOffsetNanos(users, users, ramp));
+
+        long previous = 0;
+        for (int i = 1; i <= users; i++) {
+            long due = RampUpLoadTypeExecutor.dueOffsetNanos(i, users, ramp);
+            assertTrue(due >= previous);
+            previous = due;
+        }
+    }
+
+    @Test
+    void dueOffsets_shouldStartEveryoneImmediatelyWithoutRamp() {
+        assertEquals(0, RampUpLoadTypeExecutor.dueOffsetNanos(500, 1_000, 0));
+    }
+
+    @Test
+    void run_shouldReachTargetUsersAndRecordRampCurve() {
+        RequestStep step = RequestStep.builder()
+                .name("ok")
+                .method(HttpMethod.GET)
+                .url("http://127.0.0.1:" + server.getAddress().getPort() + "/ok")
+                .extractionRules(List.of())
+                .build();
+
+        LoadTest loadTest = LoadTest.builder()
+                .name("ramp")
+                .profile(LoadProfile.builder()
+                        .type(LoadType.RAMP_UP)
+                        .virtualUsers(20)
+                        .rampUpSeconds(2)
+                        .durationSeconds(3)
+                        .build())
+                .steps(List.of(step))
+                .build();
+
+        TestExecutionReport report = new RampUpLoadTypeExecutor(new VirtualUserRunner()).run(loadTest);
+
+        assertTrue(report.getGlobal().getTotalRequests() > 0);
+        assertEquals(0, report.getGlobal().getFailedRequests());
+
+        List<TimelinePoint> timeline = report.getTimeline();
+        int peak = timeline.stream().mapToInt(TimelinePoint::getActiveUsers).max().orElse(0);
+        assertEquals(20, peak);
+        assertTrue(timeline.getFirst().getActiveUsers() < 20, "first second covers at most half of the ramp");
+    }
+}
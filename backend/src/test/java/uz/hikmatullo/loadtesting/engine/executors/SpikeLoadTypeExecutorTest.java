@@ -0,0 +1,134 @@
+package uz.hikmatullo.loadtesting.engine.executors;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uz.hikmatullo.loadtesting.engine.aggregator.IncrementalMetricsAggregator;
+import uz.hikmatullo.loadtesting.engine.aggregator.SpikePhaseRecorder;
+import uz.hikmatullo.loadtesting.model.entity.LoadProfile;
+import uz.hikmatullo.loadtesting.model.entity.LoadTest;
+import uz.hikmatullo.loadtesting.model.entity.RequestStep;
+import uz.hikmatullo.loadtesting.model.entity.metrics.PhaseMetrics;
+import uz.hikmatullo.loadtesting.model.entity.metrics.TestExecutionReport;
+import uz.hikmatullo.loadtesting.model.entity.metrics.TimelinePoint;
+import uz.hikmatullo.loadtesting.model.enums.HttpMethod;
+import uz.hikmatullo.loadtesting.model.enums.LoadType;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpikeLoadTypeExecutorTest {
+
+    private HttpServer server;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/ok", exchange -> {
+            byte[] body = "ok".getBytes();
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void recoveryStartOffset_shouldFollowSpikeHold() {
+        LoadProfile profile = LoadProfile.builder()
+                .durationSeconds(30).spikeStartSeconds(5).rampUpSeconds(1).spikeHoldSeconds(10)
+                .build();
+        assertEquals(16_000, SpikeLoadTypeExecutor.recoveryStartOffsetMs(profile));
+
+        profile.setSpikeHoldSeconds(0);
+        assertEquals(Long.MAX_VALUE, SpikeLoadTypeExecutor.recoveryStartOffsetMs(profile));
+
+        profile.setSpikeHoldSeconds(40);
+        assertEquals(Long.MAX_VALUE, SpikeLoadTypeExecutor.recoveryStartOffsetMs(profile));
+    }
+
+    @Test
+    void run_shouldReportPreSpikeSpikeAndRecoveryWindows() {
+        RequestStep step = RequestStep.builder()
+                .name("ok")
+                .method(HttpMethod.GET)
+                .url("http://127.0.0.1:" + server.getAddress().getPort() + "/ok")
+                .extractionRules(List.of())
+                .build();
+
+        LoadTest loadTest = LoadTest.builder()
+                .name("spike")
+                .profile(LoadProfile.builder()
+                        .type(LoadType.SPIKE)
+                        .baselineUsers(2)
+                        .virtualUsers(200)
+                        .spikeStartSeconds(1)
+                        .rampUpSeconds(0)
+                        .spikeHoldSeconds(1)
+                        .durationSeconds(4)
+                        .build())
+                .steps(List.of(step))
+                .build();
+
+        TestExecutionReport report = new SpikeLoadTypeExecutor(new VirtualUserRunner()).run(loadTest);
+
+        assertEquals(0, report.getGlobal().getFailedRequests());
+
+        List<PhaseMetrics> phases = report.getPhases();
+        assertEquals(List.of(SpikePhaseRecorder.PRE_SPIKE, SpikePhaseRecorder.SPIKE, SpikePhaseRecorder.RECOVERY),
+                phases.stream().map(PhaseMetrics::getName).toList());
+        phases.forEach(p -> assertTrue(p.getTotalRequests() > 0, p.getName() + " should have samples"));
+
+        int peak = report.getTimeline().stream().mapToInt(TimelinePoint::getActiveUsers).max().orElse(0);
+        assertEquals(200, peak);
+        assertTrue(report.getTimeline().getLast().getActiveUsers() <= 2, "spike VUs should be gone in recovery");
+    }
+
+    @Test
+    void run_shouldStopSpikeUsersAsSoonAsTheRunIsStopped() throws Exception {
+        RequestStep step = RequestStep.builder()
+                .name("ok")
+                .method(HttpMethod.GET)
+                .url("http://127.0.0.1:" + server.getAddress().getPort() + "/ok")
+                .extractionRules(List.of())
+                .build();
+        LoadTest loadTest = LoadTest.builder()
+                .name("spike")
+                .profile(LoadProfile.builder()
+                        .type(LoadType.SPIKE)
+                        .baselineUsers(1)
+                        .virtualUsers(50)
+                        .spikeStartSeconds(0)
+                        .spikeHoldSeconds(60)
+                        .durationSeconds(120)
+                        .build())
+                .steps(List.of(step))
+                .build();
+        IncrementalMetricsAggregator aggregator = new IncrementalMetricsAggregator("t", loadTest.getSteps());
+        AtomicBoolean stopFlag = new AtomicBoolean();
+
+        Thread run = Thread.ofVirtual().start(() ->
+                new SpikeLoadTypeExecutor(new VirtualUserRunner()).run(loadTest, aggregator, stopFlag));
+        Thread.sleep(500);
+        long stoppedAt = System.nanoTime();
+        stopFlag.set(true);
+        run.join(5_000);
+
+        assertFalse(run.isAlive());
+        long tookMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - stoppedAt);
+        assertTrue(tookMs < 1_000, "spike users stopped after " + tookMs + " ms");
+        assertEquals(0, aggregator.getState().getActiveUsers().get());
+    }
+}
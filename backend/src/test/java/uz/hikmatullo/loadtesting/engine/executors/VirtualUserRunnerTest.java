@@ -0,0 +1,111 @@
+package uz.hikmatullo.loadtesting.engine.executors;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uz.hikmatullo.loadtesting.engine.aggregator.IncrementalMetricsAggregator;
+import uz.hikmatullo.loadtesting.engine.context.ExecutionContext;
+import uz.hikmatullo.loadtesting.engine.scenario.CompiledScenario;
+import uz.hikmatullo.loadtesting.model.entity.LoadProfile;
+import uz.hikmatullo.loadtesting.model.entity.LoadTest;
+import uz.hikmatullo.loadtesting.model.entity.RequestStep;
+import uz.hikmatullo.loadtesting.model.entity.ThinkTime;
+import uz.hikmatullo.loadtesting.model.entity.metrics.StepMetrics;
+import uz.hikmatullo.loadtesting.model.entity.metrics.TestExecutionReport;
+import uz.hikmatullo.loadtesting.model.enums.HttpMethod;
+import uz.hikmatullo.loadtesting.model.enums.LoadType;
+import uz.hikmatullo.loadtesting.model.enums.ThinkTimeType;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualUserRunnerTest {
+
+    private HttpServer server;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/ok", exchange -> {
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void runIteration_shouldKeepThinkTimeOutOfLatency() {
+        ThinkTime think = ThinkTime.builder().type(ThinkTimeType.FIXED).durationMs(150).build();
+        LoadTest loadTest = loadTest(0, step("first", think), step("second", think));
+        IncrementalMetricsAggregator aggregator = new IncrementalMetricsAggregator("t", loadTest.getSteps());
+
+        long started = System.currentTimeMillis();
+        new VirtualUserRunner().runIteration(
+                CompiledScenario.compile(loadTest), new ExecutionContext(), aggregator, new AtomicBoolean());
+        long elapsed = System.currentTimeMillis() - started;
+
+        TestExecutionReport report = aggregator.buildReport(started, System.currentTimeMillis());
+        assertTrue(elapsed >= 300, "both pauses were waited out: " + elapsed);
+        assertEquals(2, report.getGlobal().getTotalRequests());
+        assertTrue(report.getGlobal().getMaxLatency() < 150, "latency " + report.getGlobal().getMaxLatency());
+
+        assertEquals(2, report.getGlobal().getThinkTime().getPauses());
+        assertTrue(report.getGlobal().getThinkTime().getTotalMs() >= 300);
+        for (StepMetrics step : report.getSteps()) {
+            assertEquals(1, step.getThinkTime().getPauses());
+            assertTrue(step.getThinkTime().getMeanMs() >= 150);
+        }
+    }
+
+    @Test
+    void runUntilStopped_shouldStretchIterationsToThePacing() throws Exception {
+        LoadTest loadTest = loadTest(200, step("only", null));
+        IncrementalMetricsAggregator aggregator = new IncrementalMetricsAggregator("t", loadTest.getSteps());
+        AtomicBoolean stopFlag = new AtomicBoolean();
+
+        Thread user = Thread.ofVirtual().start(() -> new VirtualUserRunner().runUntilStopped(
+                CompiledScenario.compile(loadTest), new ExecutionContext(), aggregator, stopFlag));
+        Thread.sleep(1_000);
+        stopFlag.set(true);
+        user.join(1_000);
+
+        assertFalse(user.isAlive(), "pacing wait noticed the stop flag");
+        long iterations = aggregator.count();
+        assertTrue(iterations >= 4 && iterations <= 6, "iterations: " + iterations);
+
+        TestExecutionReport report = aggregator.buildReport(0, 1_000);
+        assertTrue(report.getGlobal().getThinkTime().getPauses() >= iterations - 1);
+        assertTrue(report.getGlobal().getMaxLatency() < 200);
+        // pacing belongs to no step
+        assertEquals(0, report.getSteps().getFirst().getThinkTime().getPauses());
+    }
+
+    private RequestStep step(String name, ThinkTime thinkTime) {
+        return RequestStep.builder()
+                .name(name)
+                .method(HttpMethod.GET)
+                .url("http://127.0.0.1:" + server.getAddress().getPort() + "/ok")
+                .extractionRules(List.of())
+                .thinkTime(thinkTime)
+                .build();
+    }
+
+    private static LoadTest loadTest(int pacingMs, RequestStep... steps) {
+        return LoadTest.builder()
+                .name("runner")
+                .profile(LoadProfile.builder().type(LoadType.FIXED).virtualUsers(1).pacingMs(pacingMs).build())
+                .steps(List.of(steps))
+                .build();
+    }
+}
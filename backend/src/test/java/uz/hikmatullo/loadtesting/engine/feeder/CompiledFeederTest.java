@@ -0,0 +1,124 @@
+package uz.hikmatullo.loadtesting.engine.feeder;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uz.hikmatullo.loadtesting.engine.context.ExecutionContext;
+import uz.hikmatullo.loadtesting.model.entity.DataFeeder;
+import uz.hikmatullo.loadtesting.model.entity.DataFile;
+import uz.hikmatullo.loadtesting.model.entity.RequestStep;
+import uz.hikmatullo.loadtesting.model.enums.DataFileFormat;
+import uz.hikmatullo.loadtesting.model.enums.FeederStrategy;
+import uz.hikmatullo.loadtesting.model.enums.HttpMethod;
+import uz.hikmatullo.loadtesting.util.HttpRequestUtil;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledFeederTest {
+
+    private static final int ROWS = 100;
+
+    @TempDir
+    Path dir;
+
+    private DataFile file;
+
+    @BeforeEach
+    void writeFile() throws Exception {
+        StringBuilder csv = new StringBuilder("user\n");
+        for (int i = 0; i < ROWS; i++) csv.append("u").append(i).append('\n');
+        Path data = Files.writeString(dir.resolve("users.csv"), csv);
+        Path index = dir.resolve("users.idx");
+        DataFileIndexer.Result result = DataFileIndexer.index(data, index, DataFileFormat.CSV);
+
+        file = DataFile.builder()
+                .name("users.csv")
+                .format(DataFileFormat.CSV)
+                .rows(result.rows())
+                .columns(result.columns())
+                .dataPath(data.toString())
+                .indexPath(index.toString())
+                .build();
+    }
+
+    @Test
+    void sequential_shouldHandOutEveryRowOnceBeforeWrapping() throws Exception {
+        CompiledFeeder feeder = open(FeederStrategy.SEQUENTIAL);
+        Set<Object> seen = ConcurrentHashMap.newKeySet();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < ROWS; i++) {
+                futures.add(executor.submit(() -> {
+                    ExecutionContext ctx = new ExecutionContext();
+                    feeder.feed(ctx);
+                    seen.add(ctx.getVariables().get("user"));
+                }));
+            }
+            for (Future<?> f : futures) f.get();
+        }
+        assertEquals(ROWS, seen.size());
+
+        ExecutionContext ctx = new ExecutionContext();
+        feeder.feed(ctx);
+        assertEquals("u0", ctx.getVariables().get("user"));
+    }
+
+    @Test
+    void uniquePerVu_shouldKeepTheSameRowForEveryIteration() {
+        CompiledFeeder feeder = open(FeederStrategy.UNIQUE_PER_VU);
+        ExecutionContext first = new ExecutionContext();
+        ExecutionContext second = new ExecutionContext();
+
+        for (int iteration = 0; iteration < 3; iteration++) {
+            feeder.feed(first);
+            feeder.feed(second);
+        }
+        assertEquals("u0", first.getVariables().get("user"));
+        assertEquals("u1", second.getVariables().get("user"));
+
+        // a pooled context handed to a new user gets a new row
+        first.reset();
+        feeder.feed(first);
+        assertEquals("u2", first.getVariables().get("user"));
+    }
+
+    @Test
+    void random_shouldSpreadOverTheFile() {
+        CompiledFeeder feeder = open(FeederStrategy.RANDOM);
+        ExecutionContext ctx = new ExecutionContext();
+        Set<Object> seen = new HashSet<>();
+
+        for (int i = 0; i < 2_000; i++) {
+            feeder.feed(ctx);
+            seen.add(ctx.getVariables().get("user"));
+        }
+        assertTrue(seen.size() > ROWS * 0.9, "rows seen: " + seen.size());
+    }
+
+    @Test
+    void fedValues_shouldResolvePlaceholders() {
+        CompiledFeeder feeder = open(FeederStrategy.SEQUENTIAL);
+        ExecutionContext ctx = new ExecutionContext();
+        feeder.feed(ctx);
+
+        RequestStep step = RequestStep.builder()
+                .method(HttpMethod.GET)
+                .url("http://localhost/login")
+                .queryParams(Map.of("user", "{{user}}"))
+                .build();
+        assertEquals("http://localhost/login?user=u0", HttpRequestUtil.buildRequest(step, ctx).uri().toString());
+    }
+
+    private CompiledFeeder open(FeederStrategy strategy) {
+        return CompiledFeeder.open(DataFeeder.builder().fileId(file.getId()).strategy(strategy).file(file).build());
+    }
+}
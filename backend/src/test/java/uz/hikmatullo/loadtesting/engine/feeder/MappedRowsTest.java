@@ -0,0 +1,116 @@
+package uz.hikmatullo.loadtesting.engine.feeder;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uz.hikmatullo.loadtesting.model.enums.DataFileFormat;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedRowsTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void csv_shouldMapHeaderToVariablesAndHonourQuotes() throws Exception {
+        MappedRows rows = open(DataFileFormat.CSV, """
+                \uFEFFusername,password,note
+                alice,secret1,plain
+                
+                "bob, jr",secret2,"says ""hi""
+                on two lines"
+                carol,secret3
+                """);
+
+        assertEquals(3, rows.size());
+        assertEquals(Map.of("username", "alice", "password", "secret1", "note", "plain"), rows.row(0));
+        assertEquals(Map.of("username", "bob, jr", "password", "secret2", "note", "says \"hi\"\non two lines"),
+                rows.row(1));
+        // missing trailing columns are empty, not absent
+        assertEquals(Map.of("username", "carol", "password", "secret3", "note", ""), rows.row(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> rows.row(3));
+    }
+
+    @Test
+    void csv_shouldHandleCrLfAndNoTrailingNewline() throws Exception {
+        MappedRows rows = open(DataFileFormat.CSV, "id,name\r\n1,a\r\n2,b");
+
+        assertEquals(2, rows.size());
+        assertEquals(Map.of("id", "1", "name", "a"), rows.row(0));
+        assertEquals(Map.of("id", "2", "name", "b"), rows.row(1));
+    }
+
+    @Test
+    void jsonl_shouldKeepScalarTypesAndNestedJson() throws Exception {
+        MappedRows rows = open(DataFileFormat.JSONL, """
+                {"user":"alice","id":7,"admin":true}
+                {"user":"bob","address":{"city":"Tashkent"},"tags":["a","b"]}
+                """);
+
+        assertEquals(2, rows.size());
+        Map<String, Object> first = rows.row(0);
+        assertEquals("alice", first.get("user"));
+        assertEquals(7, first.get("id"));
+        assertEquals(true, first.get("admin"));
+
+        Map<String, Object> second = rows.row(1);
+        assertEquals("{\"city\":\"Tashkent\"}", second.get("address"));
+        assertEquals("[\"a\",\"b\"]", second.get("tags"));
+    }
+
+    @Test
+    void indexer_shouldReportColumnsAndRejectBadContent() throws Exception {
+        Path csv = write("a,b,c\n1,2,3\n");
+        assertEquals(new DataFileIndexer.Result(1, List.of("a", "b", "c")),
+                DataFileIndexer.index(csv, dir.resolve("csv.idx"), DataFileFormat.CSV));
+
+        Path jsonl = write("{\"x\":1,\"y\":2}\n");
+        assertEquals(List.of("x", "y"),
+                DataFileIndexer.index(jsonl, dir.resolve("jsonl.idx"), DataFileFormat.JSONL).columns());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> DataFileIndexer.index(write("\n\n"), dir.resolve("empty.idx"), DataFileFormat.CSV));
+        assertThrows(IllegalArgumentException.class,
+                () -> DataFileIndexer.index(write("not json\n"), dir.resolve("bad.idx"), DataFileFormat.JSONL));
+    }
+
+    @Test
+    void largeFile_shouldBeIndexedWithoutLoadingRows() throws Exception {
+        int count = 200_000;
+        Path data = dir.resolve("big.csv");
+        try (BufferedWriter out = Files.newBufferedWriter(data)) {
+            out.write("user,password\n");
+            for (int i = 0; i < count; i++) {
+                out.write("user" + i + ",pw" + i + "\n");
+            }
+        }
+        DataFileIndexer.Result result = DataFileIndexer.index(data, dir.resolve("big.idx"), DataFileFormat.CSV);
+        MappedRows rows = MappedRows.open(data, dir.resolve("big.idx"), DataFileFormat.CSV, result.columns());
+
+        assertEquals(count, rows.size());
+        assertEquals((count + 1L) * Long.BYTES, Files.size(dir.resolve("big.idx")));
+        assertEquals("user0", rows.row(0).get("user"));
+        assertEquals("pw123456", rows.row(123_456).get("password"));
+        assertEquals("user" + (count - 1), rows.row(count - 1).get("user"));
+    }
+
+    private MappedRows open(DataFileFormat format, String content) throws Exception {
+        Path data = write(content);
+        Path index = dir.resolve(data.getFileName() + ".idx");
+        DataFileIndexer.Result result = DataFileIndexer.index(data, index, format);
+        return MappedRows.open(data, index, format, result.columns());
+    }
+
+    private Path write(String content) throws Exception {
+        Path file = Files.createTempFile(dir, "data", ".txt");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+}
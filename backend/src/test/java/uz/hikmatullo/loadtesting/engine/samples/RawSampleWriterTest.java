@@ -0,0 +1,147 @@
+package uz.hikmatullo.loadtesting.engine.samples;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uz.hikmatullo.loadtesting.engine.aggregator.IncrementalMetricsAggregator;
+import uz.hikmatullo.loadtesting.model.entity.RequestStep;
+import uz.hikmatullo.loadtesting.model.entity.metrics.RequestMetrics;
+import uz.hikmatullo.loadtesting.model.entity.metrics.TestExecutionReport;
+import uz.hikmatullo.loadtesting.util.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RawSampleWriterTest {
+
+    @TempDir
+    Path dir;
+
+    private static RequestMetrics sample(String stepId, long startMs, long latencyMs, int status, String error) {
+        return RequestMetrics.builder()
+                .stepId(stepId).startTimeMs(startMs).startNanos(startMs * 1_000_000 + 123).endTimeMs(startMs + latencyMs).latencyMs(latencyMs)
+                .statusCode(status).success(error == null).errorType(error).bytesReceived(512)
+                .build();
+    }
+
+    @Test
+    void samples_shouldRoundTripAcrossSegments() throws IOException {
+        try (RawSampleWriter writer = RawSampleWriter.open(dir, List.of("login", "checkout"), 4, 1_000)) {
+            for (int i = 0; i < 10; i++) {
+                writer.append(sample(i % 2 == 0 ? "login" : "checkout", 1_000 + i, i, i == 7 ? 500 : 200,
+                        i == 7 ? "status_500" : null));
+            }
+            assertEquals(10, writer.rows());
+        }
+        assertTrue(Files.exists(dir.resolve("segment-00002.col")), "10 rows need 3 segments of 4");
+
+        RawSampleReader reader = RawSampleReader.open(dir);
+        List<String> rows = new ArrayList<>();
+        reader.scan((start, latency, step, status, error, bytes) ->
+                rows.add(start / 1_000_000 + " " + latency + " " + reader.stepId(step) + " " + status
+                        + " " + reader.error(error) + " " + bytes));
+
+        assertEquals(10, rows.size());
+        assertEquals("1000 0 login 200 null 512", rows.get(0));
+        assertEquals("1007 7 checkout 500 status_500 512", rows.get(7));
+    }
+
+    @Test
+    void reader_shouldRecomputeAggregatesOfTheRun() throws Exception {
+        List<RequestStep> steps = List.of(
+                RequestStep.builder().id("a").name("a").extractionRules(List.of()).build());
+        IncrementalMetricsAggregator aggregator = new IncrementalMetricsAggregator("t", steps);
+        RawSampleWriter writer = RawSampleWriter.open(dir, List.of("a"), 1 << 10, 1_000_000);
+        aggregator.recordSamplesTo(writer);
+
+        // many writers at once, spilling over several segments
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        aggregator.record(sample("a", 10_000 + i, (i * 7 + thread) % 300, 200, i % 50 == 0 ? "timeout" : null));
+                    }
+                }));
+            }
+            for (Future<?> f : futures) f.get();
+        }
+        writer.close();
+        TestExecutionReport report = aggregator.buildReport(10_000, 11_000);
+
+        LatencyHistogram latencies = new LatencyHistogram();
+        long[] failures = new long[1];
+        RawSampleReader reader = RawSampleReader.open(dir);
+        reader.scan((start, latency, step, status, error, bytes) -> {
+            latencies.record(latency);
+            if (error != 0) failures[0]++;
+        });
+
+        assertEquals(report.getGlobal().getTotalRequests(), latencies.count());
+        assertEquals(report.getGlobal().getFailedRequests(), failures[0]);
+        assertEquals(report.getGlobal().getP99(), latencies.p99());
+    }
+
+    @Test
+    void append_shouldDropRowsOverTheLimit() throws IOException {
+        try (RawSampleWriter writer = RawSampleWriter.open(dir, List.of("a"), 8, 5)) {
+            for (int i = 0; i < 8; i++) {
+                writer.append(sample("a", 1_000, 1, 200, null));
+            }
+            assertEquals(5, writer.rows());
+            assertEquals(3, writer.dropped());
+        }
+        long[] rows = new long[1];
+        RawSampleReader.open(dir).scan((start, latency, step, status, error, bytes) -> rows[0]++);
+        assertEquals(5, rows[0]);
+    }
+
+    @Test
+    void reader_shouldSkipUnwrittenRowsOfAnUnclosedWriter() throws IOException {
+        RawSampleWriter writer = RawSampleWriter.open(dir, List.of("a"), 16, 100);
+        writer.append(sample("a", 1_000, 1, 200, null));
+        writer.append(sample("unknown", 1_001, 2, 0, "connection_error"));
+        // never closed, as if the process died
+
+        RawSampleReader reader = RawSampleReader.open(dir);
+        List<String> seen = new ArrayList<>();
+        reader.scan((start, latency, step, status, error, bytes) -> seen.add(reader.stepId(step) + ":" + reader.error(error)));
+        assertEquals(List.of("a:null", "unknown:connection_error"), seen);
+    }
+
+    @Test
+    void reader_shouldKeepWrittenRowsWithoutAStartTime() throws IOException {
+        RawSampleWriter writer = RawSampleWriter.open(dir, List.of("a"), 16, 100);
+        RequestMetrics noStart = sample("a", 0, 4, 200, null);
+        noStart.setStartNanos(0);
+        writer.append(noStart);
+        // never closed: only the written marker tells this row apart from the empty ones after it
+
+        List<Long> starts = new ArrayList<>();
+        RawSampleReader.open(dir).scan((start, latency, step, status, error, bytes) -> starts.add(start));
+        assertEquals(List.of(0L), starts);
+    }
+
+    @Test
+    void exportCsv_shouldWriteOneLinePerSample() throws IOException {
+        try (RawSampleWriter writer = RawSampleWriter.open(dir, List.of("a"), 16, 100)) {
+            writer.append(sample("a", 2, 15, 404, "status_404"));
+        }
+        StringWriter csv = new StringWriter();
+        RawSampleReader.open(dir).exportCsv(csv);
+
+        assertEquals("""
+                start_nanos,step_id,status,error,latency_ms,bytes
+                2000123,a,404,status_404,15,512
+                """, csv.toString());
+    }
+}
@@ -0,0 +1,79 @@
+package uz.hikmatullo.loadtesting.engine.scenario;
+
+import org.junit.jupiter.api.Test;
+import uz.hikmatullo.loadtesting.model.entity.ThinkTime;
+import uz.hikmatullo.loadtesting.model.enums.ThinkTimeType;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThinkTimeSamplerTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void missingOrZero_shouldNeverPause() {
+        assertTrue(ThinkTimeSampler.compile(null).isNone());
+        assertTrue(ThinkTimeSampler.compile(new ThinkTime()).isNone());
+        assertTrue(ThinkTimeSampler.compile(thinkTime(ThinkTimeType.FIXED, 0, 0, 0)).isNone());
+        assertTrue(ThinkTimeSampler.compile(thinkTime(ThinkTimeType.UNIFORM, 0, 0, 0)).isNone());
+    }
+
+    @Test
+    void fixed_shouldAlwaysReturnTheDuration() {
+        ThinkTimeSampler sampler = ThinkTimeSampler.compile(thinkTime(ThinkTimeType.FIXED, 250, 0, 0));
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(250 * MS, sampler.nextNanos());
+        }
+    }
+
+    @Test
+    void uniform_shouldStayInRangeAndCoverIt() {
+        ThinkTimeSampler sampler = ThinkTimeSampler.compile(thinkTime(ThinkTimeType.UNIFORM, 0, 100, 200));
+
+        long min = Long.MAX_VALUE, max = 0, sum = 0;
+        int n = 100_000;
+        for (int i = 0; i < n; i++) {
+            long pause = sampler.nextNanos();
+            assertTrue(pause >= 100 * MS && pause <= 200 * MS, "out of range: " + pause);
+            min = Math.min(min, pause);
+            max = Math.max(max, pause);
+            sum += pause;
+        }
+        assertTrue(min < 101 * MS);
+        assertTrue(max > 199 * MS);
+        assertEquals(150 * MS, sum / (double) n, 2 * MS);
+    }
+
+    @Test
+    void exponential_shouldHaveTheConfiguredMean() {
+        ThinkTimeSampler sampler = ThinkTimeSampler.compile(thinkTime(ThinkTimeType.EXPONENTIAL, 100, 0, 0));
+
+        long sum = 0, belowMean = 0;
+        int n = 200_000;
+        for (int i = 0; i < n; i++) {
+            long pause = sampler.nextNanos();
+            assertTrue(pause >= 0);
+            sum += pause;
+            if (pause < 100 * MS) belowMean++;
+        }
+        assertEquals(100 * MS, sum / (double) n, 2 * MS);
+        // P(X < mean) = 1 - 1/e ≈ 0.632
+        assertEquals(0.632, belowMean / (double) n, 0.01);
+    }
+
+    @Test
+    void exponential_shouldRespectTheCap() {
+        ThinkTimeSampler sampler = ThinkTimeSampler.compile(thinkTime(ThinkTimeType.EXPONENTIAL, 100, 0, 150));
+
+        for (int i = 0; i < 100_000; i++) {
+            assertTrue(sampler.nextNanos() <= 150 * MS);
+        }
+    }
+
+    private static ThinkTime thinkTime(ThinkTimeType type, int durationMs, int minMs, int maxMs) {
+        return ThinkTime.builder().type(type).durationMs(durationMs).minMs(minMs).maxMs(maxMs).build();
+    }
+}
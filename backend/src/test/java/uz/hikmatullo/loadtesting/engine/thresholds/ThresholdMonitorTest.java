@@ -0,0 +1,181 @@
+package uz.hikmatullo.loadtesting.engine.thresholds;
+
+import org.junit.jupiter.api.Test;
+import uz.hikmatullo.loadtesting.engine.aggregator.IncrementalMetricsAggregator;
+import uz.hikmatullo.loadtesting.model.entity.RequestStep;
+import uz.hikmatullo.loadtesting.model.entity.Threshold;
+import uz.hikmatullo.loadtesting.model.entity.metrics.RequestMetrics;
+import uz.hikmatullo.loadtesting.model.entity.metrics.ThresholdResult;
+import uz.hikmatullo.loadtesting.model.entity.metrics.ThresholdVerdict;
+import uz.hikmatullo.loadtesting.model.enums.ThresholdMetric;
+import uz.hikmatullo.loadtesting.model.enums.ThresholdOperator;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThresholdMonitorTest {
+
+    private static final long START = 100_000;
+
+    private final RequestStep login = RequestStep.builder().id("id-login").name("login").build();
+    private final RequestStep checkout = RequestStep.builder().id("id-checkout").name("checkout").build();
+    private final List<RequestStep> steps = List.of(login, checkout);
+
+    private final IncrementalMetricsAggregator aggregator = new IncrementalMetricsAggregator("t", steps);
+    private final AtomicBoolean stopFlag = new AtomicBoolean(false);
+
+    private void record(String stepId, long startMs, int count, long latency, boolean success) {
+        for (int i = 0; i < count; i++) {
+            aggregator.record(RequestMetrics.builder()
+                    .stepId(stepId)
+                    .startTimeMs(startMs)
+                    .endTimeMs(startMs + latency)
+                    .latencyMs(latency)
+                    .statusCode(success ? 200 : 500)
+                    .success(success)
+                    .errorType(success ? null : "http_500")
+                    .build());
+        }
+    }
+
+    private ThresholdMonitor monitor(Threshold... thresholds) {
+        return new ThresholdMonitor(List.of(thresholds), steps, aggregator, stopFlag, START);
+    }
+
+    @Test
+    void windowedThreshold_shouldFailOnABadWindowEvenIfTheRunAverageRecovers() {
+        Threshold p95 = Threshold.builder().step("checkout").metric(ThresholdMetric.P95)
+                .operator(ThresholdOperator.LT).value(300).windowSeconds(2).build();
+        ThresholdMonitor monitor = monitor(p95);
+
+        for (int s = 0; s < 10; s++) {
+            // seconds 4 and 5 are slow, everything else is fast
+            long latency = s == 4 || s == 5 ? 800 : 50;
+            record("id-checkout", START + s * 1000L, 100, latency, true);
+            monitor.evaluate(START + (s + 1) * 1000L);
+        }
+        // login is slow throughout but not in scope
+        record("id-login", START, 1000, 5000, true);
+
+        ThresholdVerdict verdict = monitor.verdict(START + 10_000);
+        ThresholdResult result = verdict.getResults().getFirst();
+        assertFalse(verdict.isPassed());
+        assertFalse(verdict.isAborted());
+        assertFalse(result.isPassed());
+        assertEquals("p95{checkout} < 300 over 2s", result.getThreshold());
+        assertEquals(5, result.getFirstFailedAtSeconds());
+        assertEquals(800, result.getWorstValue(), 10);
+        // the last window has only fast requests in it
+        assertEquals(50, result.getLastValue(), 1);
+        assertFalse(stopFlag.get());
+    }
+
+    @Test
+    void wholeRunThreshold_shouldBeJudgedOnItsFinalValue() {
+        Threshold errors = Threshold.builder().metric(ThresholdMetric.ERROR_RATE)
+                .operator(ThresholdOperator.LTE).value(5).build();
+        ThresholdMonitor monitor = monitor(errors);
+
+        // a bad start, later diluted below the limit
+        record("id-login", START, 10, 20, false);
+        record("id-login", START, 10, 20, true);
+        monitor.evaluate(START + 1000);
+        record("id-login", START + 1000, 380, 20, true);
+
+        ThresholdVerdict verdict = monitor.verdict(START + 2000);
+        ThresholdResult result = verdict.getResults().getFirst();
+        assertTrue(verdict.isPassed());
+        assertEquals(2.5, result.getLastValue(), 1e-9);
+        assertEquals(50.0, result.getWorstValue(), 1e-9);
+        assertEquals(1, result.getFirstFailedAtSeconds());
+    }
+
+    @Test
+    void abortOnFail_shouldRaiseTheStopFlagOnlyAfterGrace() {
+        Threshold errors = Threshold.builder().metric(ThresholdMetric.ERROR_RATE)
+                .operator(ThresholdOperator.LT).value(10).windowSeconds(1)
+                .abortOnFail(true).graceSeconds(3).build();
+        ThresholdMonitor monitor = monitor(errors);
+
+        record("id-login", START, 100, 20, false);
+        monitor.evaluate(START + 1000);
+        record("id-login", START + 1000, 100, 20, false);
+        monitor.evaluate(START + 2000);
+        assertFalse(stopFlag.get(), "still within the grace period");
+        assertFalse(monitor.isAborted());
+
+        record("id-login", START + 2000, 100, 20, false);
+        monitor.evaluate(START + 3000);
+        assertTrue(stopFlag.get());
+        assertTrue(monitor.isAborted());
+
+        ThresholdVerdict verdict = monitor.verdict(START + 3500);
+        assertFalse(verdict.isPassed());
+        assertTrue(verdict.isAborted());
+        assertEquals("error_rate < 10 over 1s", verdict.getAbortedBy());
+        assertEquals(3, verdict.getResults().getFirst().getFirstFailedAtSeconds());
+    }
+
+    @Test
+    void abortOnFail_shouldFailOnlyTheThresholdThatAborted() {
+        Threshold aborting = Threshold.builder().metric(ThresholdMetric.ERROR_RATE)
+                .operator(ThresholdOperator.LT).value(50).abortOnFail(true).build();
+        Threshold reporting = Threshold.builder().metric(ThresholdMetric.ERROR_RATE)
+                .operator(ThresholdOperator.LT).value(50).build();
+        ThresholdMonitor monitor = monitor(aborting, reporting);
+
+        record("id-login", START, 10, 20, false);
+        monitor.evaluate(START + 1000);
+        assertTrue(monitor.isAborted());
+
+        // requests in flight when the run stopped bring the final error rate back under 50%
+        record("id-login", START + 1000, 90, 20, true);
+        ThresholdVerdict verdict = monitor.verdict(START + 1500);
+
+        assertEquals("error_rate < 50", verdict.getAbortedBy());
+        assertFalse(verdict.getResults().get(0).isPassed());
+        assertTrue(verdict.getResults().get(1).isPassed(), "same description, but it did not abort the run");
+        assertFalse(verdict.isPassed());
+    }
+
+    @Test
+    void rps_shouldBeMeasuredOverTheWindow() {
+        Threshold rps = Threshold.builder().metric(ThresholdMetric.RPS)
+                .operator(ThresholdOperator.GTE).value(80).windowSeconds(1).build();
+        ThresholdMonitor monitor = monitor(rps);
+
+        record("id-login", START, 100, 20, true);
+        monitor.evaluate(START + 1000);
+        record("id-login", START + 1000, 50, 20, true);
+        monitor.evaluate(START + 2000);
+
+        ThresholdResult result = monitor.verdict(START + 2000).getResults().getFirst();
+        assertFalse(result.isPassed());
+        assertEquals(50.0, result.getWorstValue(), 1e-9);
+        assertEquals(2, result.getFirstFailedAtSeconds());
+    }
+
+    @Test
+    void thresholdWithoutRequests_shouldPass() {
+        Threshold p99 = Threshold.builder().step("checkout").metric(ThresholdMetric.P99)
+                .operator(ThresholdOperator.LT).value(100).windowSeconds(5).build();
+        ThresholdMonitor monitor = monitor(p99);
+
+        record("id-login", START, 100, 900, true);
+        monitor.evaluate(START + 1000);
+
+        ThresholdVerdict verdict = monitor.verdict(START + 2000);
+        assertTrue(verdict.isPassed());
+        assertNull(verdict.getResults().getFirst().getLastValue());
+    }
+
+    @Test
+    void unknownStep_shouldBeRejected() {
+        Threshold p99 = Threshold.builder().step("nope").metric(ThresholdMetric.P99)
+                .operator(ThresholdOperator.LT).value(100).build();
+
+        assertThrows(IllegalArgumentException.class, () -> monitor(p99));
+    }
+}
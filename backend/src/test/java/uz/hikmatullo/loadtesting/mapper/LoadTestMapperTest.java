@@ -29,6 +29,12 @@ class LoadTestMapperTest {
                 10,
                 0,
                 0,
+                0,
+                0,
+                0,
+                0,
+                null,
+                0,
                 0
         );
 
@@ -41,7 +47,8 @@ class LoadTestMapperTest {
                 Map.of("Content-Type", "application/json"),
                 Map.of("debug", "true"),
                 5000,
-                List.of(extractionReq)
+                List.of(extractionReq),
+                null
         );
 
         ValidationRuleRequest validationReq = new ValidationRuleRequest(
@@ -57,7 +64,10 @@ class LoadTestMapperTest {
                 profileReq,
                 List.of(stepReq),
                 List.of(validationReq),
-                startAt
+                startAt,
+                List.of(),
+                false,
+                List.of()
         );
 
         // ----- Act -----
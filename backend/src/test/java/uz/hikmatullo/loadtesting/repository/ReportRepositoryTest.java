@@ -0,0 +1,88 @@
+package uz.hikmatullo.loadtesting.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uz.hikmatullo.loadtesting.model.entity.metrics.GlobalMetrics;
+import uz.hikmatullo.loadtesting.model.entity.metrics.TestExecutionReport;
+import uz.hikmatullo.loadtesting.model.entity.metrics.TimelinePoint;
+import uz.hikmatullo.loadtesting.repository.store.DocumentStore;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportRepositoryTest {
+
+    @TempDir
+    Path dir;
+
+    private DocumentStore store;
+
+    @AfterEach
+    void tearDown() {
+        if (store != null) store.close();
+    }
+
+    @Test
+    void save_shouldPersistReportAcrossRestart() {
+        store = new DocumentStore(dir.toString(), false);
+        ReportRepository repository = new ReportRepository(store);
+
+        // an hour-long run: one timeline point per second
+        long start = System.nanoTime();
+        repository.save("run-1", report(3_600));
+        long savedInMs = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(savedInMs < 1_000, "saving took " + savedInMs + " ms");
+
+        store.close();
+        store = new DocumentStore(dir.toString(), false);
+        repository = new ReportRepository(store);
+
+        Optional<TestExecutionReport> found = repository.findByRunId("run-1");
+        assertTrue(found.isPresent());
+        assertEquals(3_600, found.get().getTimeline().size());
+        assertEquals(3_599, found.get().getTimeline().get(3_599).getTimestampSecond());
+        assertEquals(360_000, found.get().getGlobal().getTotalRequests());
+    }
+
+    @Test
+    void deleteByRunId_shouldRemoveReport() {
+        store = new DocumentStore(dir.toString(), false);
+        ReportRepository repository = new ReportRepository(store);
+        repository.save("run-1", report(10));
+
+        repository.deleteByRunId("run-1");
+
+        assertTrue(repository.findByRunId("run-1").isEmpty());
+    }
+
+    @Test
+    void inMemory_shouldWorkWithoutStore() {
+        ReportRepository repository = new ReportRepository();
+        repository.save("run-1", report(10));
+        repository.save("run-2", null);
+
+        assertTrue(repository.findByRunId("run-1").isPresent());
+        assertTrue(repository.findByRunId("run-2").isEmpty());
+    }
+
+    private static TestExecutionReport report(int seconds) {
+        List<TimelinePoint> timeline = new ArrayList<>(seconds);
+        for (int s = 0; s < seconds; s++) {
+            timeline.add(TimelinePoint.builder()
+                    .timestampSecond(s).requests(100).successes(99).failures(1).rps(100).activeUsers(50)
+                    .build());
+        }
+        return TestExecutionReport.builder()
+                .testId("test-1")
+                .global(GlobalMetrics.builder().totalRequests(100L * seconds).build())
+                .timeline(timeline)
+                .startedAt(0)
+                .finishedAt(seconds * 1000L)
+                .build();
+    }
+}
@@ -0,0 +1,93 @@
+package uz.hikmatullo.loadtesting.repository.store;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordLogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void putGetAndDelete_shouldSurviveReopen() throws IOException {
+        Path file = dir.resolve("runs.log");
+        try (RecordLog log = RecordLog.open(file, false)) {
+            log.put("a", bytes("first"));
+            log.put("b", bytes("second"));
+            log.put("a", bytes("first, updated"));
+            log.delete("b");
+            assertEquals("first, updated", text(log.get("a")));
+            assertNull(log.get("b"));
+        }
+
+        try (RecordLog log = RecordLog.open(file, false)) {
+            assertEquals(1, log.size());
+            assertEquals("first, updated", text(log.get("a")));
+            assertFalse(log.contains("b"));
+        }
+    }
+
+    @Test
+    void open_shouldDropTornLastRecord() throws IOException {
+        Path file = dir.resolve("runs.log");
+        long intactSize;
+        try (RecordLog log = RecordLog.open(file, false)) {
+            log.put("a", bytes("kept"));
+            intactSize = log.fileSize();
+            log.put("b", bytes("torn by a crash"));
+        }
+        // cut the last record in the middle of its value
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 6);
+        }
+
+        try (RecordLog log = RecordLog.open(file, false)) {
+            assertEquals("kept", text(log.get("a")));
+            assertFalse(log.contains("b"));
+            assertEquals(intactSize, log.fileSize());
+
+            // appends continue right after the last intact record
+            log.put("c", bytes("after recovery"));
+        }
+        try (RecordLog log = RecordLog.open(file, false)) {
+            assertEquals("after recovery", text(log.get("c")));
+        }
+    }
+
+    @Test
+    void open_shouldCompactWhenMostRecordsAreSuperseded() throws IOException {
+        Path file = dir.resolve("reports.log");
+        byte[] value = new byte[64 * 1024];
+        try (RecordLog log = RecordLog.open(file, false)) {
+            for (int i = 0; i < 40; i++) {
+                log.put("same", value);
+            }
+            log.put("other", bytes("small"));
+            assertTrue(log.fileSize() > RecordLog.COMPACT_MIN_BYTES);
+        }
+
+        try (RecordLog log = RecordLog.open(file, false)) {
+            assertTrue(log.fileSize() < 2L * value.length);
+            assertEquals(value.length, log.get("same").length);
+            assertEquals("small", text(log.get("other")));
+        }
+        assertFalse(Files.exists(dir.resolve("reports.log.compact")));
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(byte[] b) {
+        return new String(b, StandardCharsets.UTF_8);
+    }
+}
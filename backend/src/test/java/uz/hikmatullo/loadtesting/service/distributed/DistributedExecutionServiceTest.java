@@ -0,0 +1,67 @@
+package uz.hikmatullo.loadtesting.service.distributed;
+
+import org.junit.jupiter.api.Test;
+import uz.hikmatullo.loadtesting.exceptions.CustomBadRequestException;
+import uz.hikmatullo.loadtesting.model.entity.DataFeeder;
+import uz.hikmatullo.loadtesting.model.entity.LoadProfile;
+import uz.hikmatullo.loadtesting.model.entity.LoadTest;
+import uz.hikmatullo.loadtesting.model.entity.Threshold;
+import uz.hikmatullo.loadtesting.model.enums.FeederStrategy;
+import uz.hikmatullo.loadtesting.model.enums.LoadType;
+import uz.hikmatullo.loadtesting.model.enums.ThresholdMetric;
+import uz.hikmatullo.loadtesting.model.enums.ThresholdOperator;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DistributedExecutionServiceTest {
+
+    @Test
+    void withProfile_shouldKeepEverythingButTheProfile() {
+        DataFeeder feeder = DataFeeder.builder().fileId("f1").strategy(FeederStrategy.SEQUENTIAL).build();
+        LoadTest loadTest = LoadTest.builder()
+                .id("t1")
+                .name("checkout")
+                .profile(LoadProfile.builder().type(LoadType.FIXED).virtualUsers(10).build())
+                .feeders(List.of(feeder))
+                .recordSamples(true)
+                .build();
+        LoadProfile shardProfile = LoadProfile.builder().type(LoadType.FIXED).virtualUsers(4).build();
+
+        LoadTest shard = DistributedExecutionService.withProfile(loadTest, shardProfile);
+
+        assertSame(shardProfile, shard.getProfile());
+        assertEquals("t1", shard.getId());
+        assertEquals(List.of(feeder), shard.getFeeders());
+        assertTrue(shard.isRecordSamples());
+    }
+
+    @Test
+    void run_shouldRejectTestsWithThresholds() {
+        DistributedExecutionService service = new DistributedExecutionService(null, null, null, null, null);
+        LoadTest loadTest = LoadTest.builder()
+                .id("t1")
+                .thresholds(List.of(Threshold.builder()
+                        .metric(ThresholdMetric.P95).operator(ThresholdOperator.LT).value(300)
+                        .abortOnFail(true).build()))
+                .build();
+
+        CustomBadRequestException e = assertThrows(CustomBadRequestException.class,
+                () -> service.run(loadTest, "cluster-1"));
+        assertTrue(e.getMessage().contains("thresholds"));
+    }
+
+    @Test
+    void run_shouldRejectTestsWithFeeders() {
+        DistributedExecutionService service = new DistributedExecutionService(null, null, null, null, null);
+        LoadTest loadTest = LoadTest.builder()
+                .id("t1")
+                .feeders(List.of(DataFeeder.builder().fileId("f1").strategy(FeederStrategy.UNIQUE_PER_VU).build()))
+                .build();
+
+        CustomBadRequestException e = assertThrows(CustomBadRequestException.class,
+                () -> service.run(loadTest, "cluster-1"));
+        assertTrue(e.getMessage().contains("feeders"));
+    }
+}
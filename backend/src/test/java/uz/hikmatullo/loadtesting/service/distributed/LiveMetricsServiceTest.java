@@ -0,0 +1,68 @@
+package uz.hikmatullo.loadtesting.service.distributed;
+
+import org.junit.jupiter.api.Test;
+import uz.hikmatullo.loadtesting.engine.aggregator.IncrementalMetricsAggregator;
+import uz.hikmatullo.loadtesting.exceptions.CustomNotFoundException;
+import uz.hikmatullo.loadtesting.model.entity.LoadTest;
+import uz.hikmatullo.loadtesting.model.entity.RequestStep;
+import uz.hikmatullo.loadtesting.model.entity.metrics.RequestMetrics;
+import uz.hikmatullo.loadtesting.model.entity.metrics.TestExecutionReport;
+import uz.hikmatullo.loadtesting.model.entity.metrics.WorkerMetricsBatch;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiveMetricsServiceTest {
+
+    private final LiveMetricsService service = new LiveMetricsService();
+    private final LoadTest loadTest = LoadTest.builder()
+            .id("test-1")
+            .steps(List.of(RequestStep.builder().id("s1").name("Step").build()))
+            .build();
+
+    private static WorkerMetricsBatch batch(String workerId, long sequence, int users, int requests) {
+        IncrementalMetricsAggregator worker = new IncrementalMetricsAggregator("test-1", null);
+        for (int u = 0; u < users; u++) worker.onVirtualUserStarted();
+        for (int i = 0; i < requests; i++) {
+            worker.record(RequestMetrics.builder()
+                    .stepId("s1").startTimeMs(1_000 + i).endTimeMs(1_010 + i)
+                    .latencyMs(10).statusCode(200).success(true)
+                    .build());
+        }
+        return WorkerMetricsBatch.builder()
+                .workerId(workerId)
+                .testId("test-1")
+                .sequence(sequence)
+                .summary(worker.snapshot())
+                .build();
+    }
+
+    @Test
+    void report_shouldCombineWorkersAndDropResentBatches() {
+        service.open(loadTest);
+
+        service.ingest(batch("w1", 1, 3, 10));
+        service.ingest(batch("w1", 2, 3, 5));
+        service.ingest(batch("w1", 2, 3, 5));   // resent after a lost response
+        service.ingest(batch("w2", 1, 4, 7));
+
+        TestExecutionReport report = service.report("test-1");
+
+        assertEquals(22, report.getGlobal().getTotalRequests());
+        assertEquals(1, report.getTimeline().size());
+        assertEquals(7, report.getTimeline().getFirst().getActiveUsers(), "w1 max 3 + w2 max 4");
+    }
+
+    @Test
+    void close_shouldReturnPerWorkerMetricsAndStopAccepting() {
+        service.open(loadTest);
+        service.ingest(batch("w1", 1, 1, 4));
+
+        var perWorker = service.close("test-1");
+
+        assertEquals(4, perWorker.get("w1").getGlobal().getTotalRequests());
+        assertThrows(CustomNotFoundException.class, () -> service.ingest(batch("w1", 2, 1, 1)));
+        assertThrows(CustomNotFoundException.class, () -> service.report("test-1"));
+    }
+}
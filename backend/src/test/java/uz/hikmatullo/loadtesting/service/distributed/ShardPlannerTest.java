@@ -0,0 +1,111 @@
+package uz.hikmatullo.loadtesting.service.distributed;
+
+import org.junit.jupiter.api.Test;
+import uz.hikmatullo.loadtesting.model.entity.LoadProfile;
+import uz.hikmatullo.loadtesting.model.entity.WorkerStatus;
+import uz.hikmatullo.loadtesting.model.enums.LoadType;
+import uz.hikmatullo.loadtesting.model.enums.WorkerStatusEnum;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardPlannerTest {
+
+    private static WorkerStatus status(double cpuLoad, long freeMemory) {
+        return new WorkerStatus(Instant.now(), cpuLoad, freeMemory, 0, WorkerStatusEnum.ALIVE);
+    }
+
+    @Test
+    void split_shouldAlwaysAddUpToTotal() {
+        double[] weights = {0.3, 0.3, 0.3};
+        long[] parts = ShardPlanner.split(100, weights);
+
+        assertEquals(100, Arrays.stream(parts).sum());
+        assertArrayEquals(new long[]{34, 33, 33}, parts);
+    }
+
+    @Test
+    void split_shouldFollowWeights() {
+        long[] parts = ShardPlanner.split(1_000, new double[]{3, 1});
+
+        assertArrayEquals(new long[]{750, 250}, parts);
+    }
+
+    @Test
+    void weights_shouldFavorIdleWorkersWithMoreMemory() {
+        double[] weights = ShardPlanner.weights(Arrays.asList(
+                status(0.0, 8_000),
+                status(0.5, 8_000),
+                status(0.0, 2_000),
+                status(1.0, 8_000),
+                null
+        ));
+
+        assertEquals(1.0, weights[0], 1e-9);
+        assertEquals(0.5, weights[1], 1e-9);
+        assertEquals(0.25, weights[2], 1e-9);
+        assertEquals(ShardPlanner.MIN_CPU_WEIGHT, weights[3], 1e-9, "saturated worker keeps a minimal share");
+        assertEquals(1.0, weights[4], 1e-9, "unknown worker counts as idle");
+    }
+
+    @Test
+    void shard_shouldSplitCountsAndCopyTiming() {
+        LoadProfile profile = LoadProfile.builder()
+                .type(LoadType.SPIKE)
+                .virtualUsers(10)
+                .baselineUsers(3)
+                .durationSeconds(60)
+                .rampUpSeconds(5)
+                .spikeStartSeconds(10)
+                .spikeHoldSeconds(20)
+                .pacingMs(250)
+                .build();
+
+        List<LoadProfile> shards = ShardPlanner.shard(profile, new double[]{1, 1, 1});
+
+        assertEquals(10, shards.stream().mapToInt(LoadProfile::getVirtualUsers).sum());
+        assertEquals(3, shards.stream().mapToInt(LoadProfile::getBaselineUsers).sum());
+        for (LoadProfile shard : shards) {
+            assertEquals(60, shard.getDurationSeconds());
+            assertEquals(5, shard.getRampUpSeconds());
+            assertEquals(10, shard.getSpikeStartSeconds());
+            assertEquals(20, shard.getSpikeHoldSeconds());
+            assertEquals(250, shard.getPacingMs());
+            assertTrue(shard.getBaselineUsers() <= shard.getVirtualUsers());
+        }
+    }
+
+    @Test
+    void shard_shouldDropWorkersWithoutLoad() {
+        LoadProfile profile = LoadProfile.builder()
+                .type(LoadType.FIXED)
+                .virtualUsers(2)
+                .durationSeconds(10)
+                .build();
+
+        List<LoadProfile> shards = ShardPlanner.shard(profile, new double[]{1, 1, 1, 1});
+
+        assertEquals(2, shards.stream().filter(Objects::nonNull).count());
+    }
+
+    @Test
+    void shard_shouldKeepBurstConcurrencyWithinRequests() {
+        LoadProfile profile = LoadProfile.builder()
+                .type(LoadType.BURST)
+                .totalRequests(5)
+                .maxConcurrency(2)
+                .build();
+
+        List<LoadProfile> shards = ShardPlanner.shard(profile, new double[]{1, 1, 1});
+
+        assertEquals(5, shards.stream().mapToInt(LoadProfile::getTotalRequests).sum());
+        for (LoadProfile shard : shards) {
+            assertTrue(shard.getMaxConcurrency() >= 1, "every shard with requests can run them");
+            assertTrue(shard.getMaxConcurrency() <= shard.getTotalRequests());
+        }
+    }
+}
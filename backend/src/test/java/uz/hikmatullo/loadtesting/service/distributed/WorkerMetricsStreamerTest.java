@@ -0,0 +1,63 @@
+package uz.hikmatullo.loadtesting.service.distributed;
+
+import org.junit.jupiter.api.Test;
+import uz.hikmatullo.loadtesting.engine.aggregator.IncrementalMetricsAggregator;
+import uz.hikmatullo.loadtesting.model.entity.ClusterMembership;
+import uz.hikmatullo.loadtesting.model.entity.LoadTest;
+import uz.hikmatullo.loadtesting.model.entity.RequestStep;
+import uz.hikmatullo.loadtesting.model.entity.metrics.RequestMetrics;
+import uz.hikmatullo.loadtesting.model.entity.metrics.WorkerMetricsBatch;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkerMetricsStreamerTest {
+
+    private final List<RequestStep> steps = List.of(RequestStep.builder().id("s1").name("Step").build());
+    private final LiveMetricsService coordinator = new LiveMetricsService();
+
+    /** Delivers the first batch but loses its ack, drops the next {@code outage} calls, then delivers. */
+    private final class FlakyClient extends CoordinatorMetricsClient {
+        private final int outage;
+        private int calls;
+
+        FlakyClient(int outage) {
+            super(null);
+            this.outage = outage;
+        }
+
+        @Override
+        public void send(ClusterMembership target, WorkerMetricsBatch batch) {
+            calls++;
+            if (calls == 1) {
+                coordinator.ingest(batch);
+                throw new IllegalStateException("read timed out");
+            }
+            if (calls <= 1 + outage) {
+                throw new IllegalStateException("connection refused");
+            }
+            coordinator.ingest(batch);
+        }
+    }
+
+    @Test
+    void finish_shouldNotCountABatchWhoseAckWasLostTwice() {
+        coordinator.open(LoadTest.builder().id("t1").steps(steps).build());
+        IncrementalMetricsAggregator aggregator = new IncrementalMetricsAggregator("t1", steps);
+        int ticks = WorkerMetricsStreamer.MAX_UNSENT + 5;
+        WorkerMetricsStreamer streamer = new WorkerMetricsStreamer(new FlakyClient(ticks), null, "w1", aggregator);
+
+        // every tick adds one request; the coordinator stays unreachable long enough for batches to be combined
+        for (int i = 0; i < ticks; i++) {
+            aggregator.record(RequestMetrics.builder()
+                    .stepId("s1").startTimeMs(1_000 + i).endTimeMs(1_010 + i)
+                    .latencyMs(10).statusCode(200).success(true)
+                    .build());
+            streamer.flushQuietly();
+        }
+
+        assertTrue(streamer.finish());
+        assertEquals(ticks, coordinator.report("t1").getGlobal().getTotalRequests());
+    }
+}
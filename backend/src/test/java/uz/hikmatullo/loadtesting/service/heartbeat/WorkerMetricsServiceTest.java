@@ -0,0 +1,103 @@
+package uz.hikmatullo.loadtesting.service.heartbeat;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+import uz.hikmatullo.loadtesting.engine.context.ExecutionContext;
+import uz.hikmatullo.loadtesting.model.entity.WorkerTelemetry;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkerMetricsServiceTest {
+
+    private final WorkerMetricsService metrics = new WorkerMetricsService();
+
+    @Test
+    void sample_shouldReportRealResourceUsage() {
+        byte[][] garbage = new byte[64][];
+        for (int i = 0; i < garbage.length; i++) garbage[i] = new byte[1 << 20];
+        System.gc();
+
+        WorkerTelemetry t = metrics.sample();
+
+        assertTrue(t.getHeapUsedBytes() > 0);
+        assertTrue(t.getHeapCommittedBytes() >= t.getHeapUsedBytes());
+        assertTrue(t.getNonHeapUsedBytes() > 0);
+        assertTrue(t.getAvailableProcessors() > 0);
+        assertTrue(t.getPlatformThreads() > 0);
+        assertTrue(t.getProcessCpuLoad() == -1 || t.getProcessCpuLoad() >= 0 && t.getProcessCpuLoad() <= 1);
+        assertTrue(t.getGcCount() >= 1, "System.gc() ran since the service was created");
+        assertTrue(t.getGcTimeRatio() >= 0 && t.getGcTimeRatio() <= 1);
+        assertTrue(t.getOpenFileDescriptors() == -1 || t.getOpenFileDescriptors() > 0);
+
+        // the next interval starts after this sample
+        assertEquals(0, metrics.sample().getGcCount(), 1);
+        assertNotNull(garbage[0]);
+    }
+
+    @Test
+    void sample_shouldCountRequestsTheEngineIsWaitingFor() throws Exception {
+        CountDownLatch received = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/slow", exchange -> {
+            received.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            int before = metrics.sample().getInFlightRequests();
+            HttpRequest request = HttpRequest.newBuilder(
+                    URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/slow")).build();
+            Thread user = Thread.ofVirtual().start(() -> {
+                try {
+                    new ExecutionContext().send(request, HttpResponse.BodyHandlers.discarding());
+                } catch (Exception ignored) {
+                }
+            });
+            assertTrue(received.await(5, TimeUnit.SECONDS));
+
+            WorkerTelemetry during = metrics.sample();
+            assertEquals(before + 1, during.getInFlightRequests());
+            assertTrue(during.getOpenSockets() == -1 || during.getOpenSockets() >= 2, "client and server end");
+
+            release.countDown();
+            user.join(5_000);
+            assertEquals(before, metrics.sample().getInFlightRequests());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void freeMemory_shouldBeHeadroomBelowTheLimit() {
+        WorkerTelemetry t = WorkerTelemetry.builder()
+                .heapUsedBytes(300).heapCommittedBytes(500).heapMaxBytes(1000).build();
+        assertEquals(700, WorkerMetricsService.freeMemory(t));
+
+        t.setHeapMaxBytes(-1);
+        assertEquals(200, WorkerMetricsService.freeMemory(t));
+    }
+
+    @Test
+    void cpuLoad_shouldPreferTheMachineLoad() {
+        WorkerTelemetry t = WorkerTelemetry.builder().processCpuLoad(0.3).systemCpuLoad(0.8).build();
+        assertEquals(0.8, WorkerMetricsService.cpuLoad(t));
+
+        t.setSystemCpuLoad(-1);
+        assertEquals(0.3, WorkerMetricsService.cpuLoad(t));
+    }
+}
@@ -0,0 +1,50 @@
+package uz.hikmatullo.loadtesting.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uz.hikmatullo.loadtesting.exceptions.CustomBadRequestException;
+import uz.hikmatullo.loadtesting.exceptions.CustomNotFoundException;
+import uz.hikmatullo.loadtesting.model.entity.DataFeeder;
+import uz.hikmatullo.loadtesting.model.entity.LoadTest;
+import uz.hikmatullo.loadtesting.model.enums.DataFileFormat;
+import uz.hikmatullo.loadtesting.model.response.DataFileResponse;
+import uz.hikmatullo.loadtesting.repository.DataFileRepository;
+import uz.hikmatullo.loadtesting.repository.LoadTestRepository;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataFileServiceImplTest {
+
+    @TempDir
+    Path dataDir;
+
+    private final LoadTestRepository tests = new LoadTestRepository();
+
+    @Test
+    void delete_shouldRefuseFilesThatTestsStillFeedFrom() {
+        DataFileServiceImpl files = new DataFileServiceImpl(new DataFileRepository(), tests, dataDir.toString());
+        DataFileResponse uploaded = files.upload("users.csv", DataFileFormat.CSV,
+                new ByteArrayInputStream("user\nalice\nbob\n".getBytes(StandardCharsets.UTF_8)));
+        Path data = Path.of(files.find(uploaded.id()).getDataPath());
+
+        LoadTest loadTest = LoadTest.builder().id("t1")
+                .feeders(List.of(DataFeeder.builder().fileId(uploaded.id()).build()))
+                .build();
+        tests.save(loadTest);
+
+        CustomBadRequestException e = assertThrows(CustomBadRequestException.class, () -> files.delete(uploaded.id()));
+        assertTrue(e.getMessage().contains("t1"));
+        assertTrue(Files.exists(data));
+
+        tests.deleteById("t1");
+        files.delete(uploaded.id());
+        assertFalse(Files.exists(data));
+        assertThrows(CustomNotFoundException.class, () -> files.find(uploaded.id()));
+    }
+}
@@ -0,0 +1,65 @@
+package uz.hikmatullo.loadtesting.service.impl;
+
+import org.junit.jupiter.api.Test;
+import uz.hikmatullo.loadtesting.model.entity.WorkerStatus;
+import uz.hikmatullo.loadtesting.model.entity.WorkerTelemetry;
+import uz.hikmatullo.loadtesting.model.request.HeartbeatRequest;
+import uz.hikmatullo.loadtesting.repository.WorkerStatusRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeartbeatServiceTest {
+
+    private static WorkerTelemetry healthy() {
+        return WorkerTelemetry.builder()
+                .processCpuLoad(0.4).systemCpuLoad(0.5)
+                .heapUsedBytes(100).heapMaxBytes(1000)
+                .gcTimeRatio(0.01)
+                .openFileDescriptors(100).maxFileDescriptors(1024)
+                .build();
+    }
+
+    @Test
+    void bottlenecks_shouldNameEveryExhaustedResource() {
+        assertEquals(List.of(), HeartbeatService.bottlenecks(healthy()));
+        assertEquals(List.of(), HeartbeatService.bottlenecks(null));
+
+        WorkerTelemetry t = healthy();
+        t.setSystemCpuLoad(0.95);
+        t.setHeapUsedBytes(950);
+        t.setGcTimeRatio(0.2);
+        t.setOpenFileDescriptors(1000);
+        assertEquals(List.of("cpu", "heap", "gc", "file_descriptors"), HeartbeatService.bottlenecks(t));
+    }
+
+    @Test
+    void bottlenecks_shouldIgnoreUnknownValues() {
+        WorkerTelemetry t = healthy();
+        t.setProcessCpuLoad(-1);
+        t.setSystemCpuLoad(-1);
+        t.setHeapMaxBytes(-1);
+        t.setMaxFileDescriptors(-1);
+        t.setOpenFileDescriptors(-1);
+
+        assertEquals(List.of(), HeartbeatService.bottlenecks(t));
+    }
+
+    @Test
+    void updateHeartbeat_shouldKeepTelemetryInWorkerStatus() {
+        WorkerStatusRepository repository = new WorkerStatusRepository();
+        HeartbeatService service = new HeartbeatService(repository);
+        WorkerTelemetry telemetry = healthy();
+        telemetry.setGcTimeRatio(0.5);
+        telemetry.setInFlightRequests(42);
+
+        service.updateHeartbeat(HeartbeatRequest.builder()
+                .workerId("hb-worker").clusterId("c").cpuLoad(0.5).telemetry(telemetry).build());
+
+        WorkerStatus status = repository.findByWorkerId("hb-worker");
+        repository.remove("hb-worker");
+        assertEquals(42, status.getTelemetry().getInFlightRequests());
+        assertEquals(List.of("gc"), status.getBottlenecks());
+    }
+}
@@ -0,0 +1,147 @@
+package uz.hikmatullo.loadtesting.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uz.hikmatullo.loadtesting.engine.aggregator.IncrementalMetricsAggregator;
+import uz.hikmatullo.loadtesting.exceptions.CustomBadRequestException;
+import uz.hikmatullo.loadtesting.exceptions.CustomNotFoundException;
+import uz.hikmatullo.loadtesting.model.entity.LoadTest;
+import uz.hikmatullo.loadtesting.model.entity.RequestStep;
+import uz.hikmatullo.loadtesting.model.entity.TestRun;
+import uz.hikmatullo.loadtesting.model.entity.metrics.MetricsDiff;
+import uz.hikmatullo.loadtesting.model.entity.metrics.Regression;
+import uz.hikmatullo.loadtesting.model.entity.metrics.RequestMetrics;
+import uz.hikmatullo.loadtesting.model.entity.metrics.RunComparison;
+import uz.hikmatullo.loadtesting.model.entity.metrics.RunDiff;
+import uz.hikmatullo.loadtesting.model.enums.RunStatus;
+import uz.hikmatullo.loadtesting.repository.LoadTestRepository;
+import uz.hikmatullo.loadtesting.repository.ReportRepository;
+import uz.hikmatullo.loadtesting.repository.TestRunRepository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunComparisonServiceImplTest {
+
+    private static final long START_MS = 1_700_000_000_000L;
+    private static final int SECONDS = 60;
+
+    private final LoadTestRepository tests = new LoadTestRepository();
+    private final TestRunRepository runs = new TestRunRepository();
+    private final ReportRepository reports = new ReportRepository();
+    private RunComparisonServiceImpl service;
+
+    private final List<RequestStep> steps = List.of(
+            RequestStep.builder().id("login").name("Login").extractionRules(List.of()).build(),
+            RequestStep.builder().id("checkout").name("Checkout").extractionRules(List.of()).build());
+
+    @BeforeEach
+    void setUp() {
+        tests.save(LoadTest.builder().id("t1").name("shop").steps(steps).build());
+        service = new RunComparisonServiceImpl(runs, reports, tests);
+    }
+
+    /** A finished run: 100 requests/s per step for a minute, with the given checkout behaviour. */
+    private String run(String id, long seed, int checkoutMeanMs, int checkoutErrorPercent, int rpsPerStep) {
+        IncrementalMetricsAggregator aggregator = new IncrementalMetricsAggregator("t1", steps);
+        Random random = new Random(seed);
+        for (int s = 0; s < SECONDS; s++) {
+            for (int i = 0; i < rpsPerStep; i++) {
+                long start = START_MS + s * 1000L + i;
+                aggregator.record(sample("login", start, 40 + random.nextInt(20), true));
+                boolean failed = random.nextInt(100) < checkoutErrorPercent;
+                aggregator.record(sample("checkout", start, checkoutMeanMs - 10 + random.nextInt(20), !failed));
+            }
+        }
+        runs.save(TestRun.builder().id(id).testId("t1").status(RunStatus.COMPLETED)
+                .createdAt(Instant.ofEpochMilli(START_MS))
+                .startedAt(Instant.ofEpochMilli(START_MS))
+                .finishedAt(Instant.ofEpochMilli(START_MS + SECONDS * 1000L))
+                .build());
+        reports.saveSnapshot(id, aggregator.snapshot());
+        return id;
+    }
+
+    private static RequestMetrics sample(String stepId, long start, long latency, boolean success) {
+        return RequestMetrics.builder()
+                .stepId(stepId).startTimeMs(start).endTimeMs(start + latency).latencyMs(latency)
+                .statusCode(success ? 200 : 500).success(success).errorType(success ? null : "status_500")
+                .build();
+    }
+
+    private static MetricsDiff step(RunDiff diff, String stepId) {
+        return diff.getSteps().stream().filter(s -> stepId.equals(s.getStepId())).findFirst().orElseThrow();
+    }
+
+    private static List<String> metrics(MetricsDiff diff) {
+        return diff.getRegressions().stream().map(Regression::getMetric).toList();
+    }
+
+    @Test
+    void compare_shouldNotFlagEquivalentRuns() {
+        run("a", 1, 100, 1, 100);
+        run("b", 2, 100, 1, 100);
+
+        RunComparison comparison = service.compare(List.of("a", "b"), null, 0.01, 10);
+
+        assertEquals("a", comparison.getBaselineRunId());
+        assertFalse(comparison.isRegressed());
+        RunDiff diff = comparison.getRuns().getFirst();
+        assertEquals(List.of("login", "checkout"), diff.getSteps().stream().map(MetricsDiff::getStepId).toList());
+        assertEquals("Checkout", step(diff, "checkout").getStepName());
+        assertEquals(0.5, step(diff, "checkout").getLatencyShiftProbability(), 0.05);
+    }
+
+    @Test
+    void compare_shouldFlagSlowerAndFailingStepOnly() {
+        run("before", 1, 100, 1, 100);
+        run("after", 2, 200, 5, 100);
+
+        RunComparison comparison = service.compare(List.of("after"), "before", 0.01, 10);
+
+        assertTrue(comparison.isRegressed());
+        RunDiff diff = comparison.getRuns().getFirst();
+        assertTrue(metrics(step(diff, "checkout")).containsAll(List.of("p50", "p95", "p99", "errorRate")));
+        assertTrue(step(diff, "login").getRegressions().isEmpty());
+        assertTrue(step(diff, "checkout").getLatencyShiftProbability() > 0.9);
+    }
+
+    @Test
+    void compare_shouldFlagLowerThroughput() {
+        run("fast", 1, 100, 0, 100);
+        run("slow", 2, 100, 0, 50);
+
+        RunDiff diff = service.compare(List.of("fast", "slow"), null, 0.01, 10).getRuns().getFirst();
+
+        assertEquals(List.of("rps"), metrics(diff.getGlobal()));
+        assertEquals(-50, diff.getGlobal().getRegressions().getFirst().getChangePercent(), 1);
+    }
+
+    @Test
+    void compare_shouldIgnoreSignificantButSmallChanges() {
+        run("a", 1, 100, 0, 100);
+        run("b", 2, 103, 0, 100);
+
+        RunDiff diff = service.compare(List.of("a", "b"), null, 0.01, 10).getRuns().getFirst();
+
+        assertTrue(step(diff, "checkout").getLatencyShiftPValue() < 0.01, "the shift itself is real");
+        assertFalse(diff.isRegressed(), "but 3% is below minChangePercent");
+    }
+
+    @Test
+    void compare_shouldRejectInvalidInput() {
+        run("a", 1, 100, 0, 100);
+        runs.save(TestRun.builder().id("running").testId("t1").status(RunStatus.RUNNING).build());
+        runs.save(TestRun.builder().id("old").testId("t1").status(RunStatus.COMPLETED)
+                .startedAt(Instant.now()).finishedAt(Instant.now()).build());
+
+        assertThrows(CustomNotFoundException.class, () -> service.compare(List.of("a", "missing"), null, 0.01, 10));
+        assertThrows(CustomBadRequestException.class, () -> service.compare(List.of("a"), null, 0.01, 10));
+        assertThrows(CustomBadRequestException.class, () -> service.compare(List.of("a", "running"), null, 0.01, 10));
+        assertThrows(CustomBadRequestException.class, () -> service.compare(List.of("a", "old"), null, 0.01, 10));
+        assertThrows(CustomBadRequestException.class, () -> service.compare(List.of("a", "a"), null, 2, 10));
+    }
+}
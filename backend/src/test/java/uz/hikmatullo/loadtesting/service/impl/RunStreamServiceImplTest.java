@@ -0,0 +1,118 @@
+package uz.hikmatullo.loadtesting.service.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import uz.hikmatullo.loadtesting.engine.aggregator.IncrementalMetricsAggregator;
+import uz.hikmatullo.loadtesting.model.entity.LoadTest;
+import uz.hikmatullo.loadtesting.model.entity.TestRun;
+import uz.hikmatullo.loadtesting.model.entity.metrics.LiveMetricsFrame;
+import uz.hikmatullo.loadtesting.model.entity.metrics.RequestMetrics;
+import uz.hikmatullo.loadtesting.model.enums.RunStatus;
+import uz.hikmatullo.loadtesting.repository.LoadTestRepository;
+import uz.hikmatullo.loadtesting.repository.TestRunRepository;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunStreamServiceImplTest {
+
+    /** Collects frames; the first send blocks until released, like a client that stopped reading. */
+    private static final class SlowSink implements RunStreamServiceImpl.FrameSink {
+        final List<LiveMetricsFrame> frames = new CopyOnWriteArrayList<>();
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void send(LiveMetricsFrame frame) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            frames.add(frame);
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private RunStreamServiceImpl service;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        if (service != null) service.shutdown();
+    }
+
+    private static LiveMetricsFrame frame(long timestampMs, RunStatus status) {
+        return LiveMetricsFrame.builder().timestampMs(timestampMs).status(status).build();
+    }
+
+    @Test
+    void subscriber_shouldNeverBlockAndKeepOnlyTheLatestFrame() throws Exception {
+        SlowSink sink = new SlowSink();
+        RunStreamServiceImpl.Subscriber subscriber = new RunStreamServiceImpl.Subscriber(sink, executor);
+
+        long started = System.nanoTime();
+        for (int i = 1; i <= 10_000; i++) {
+            subscriber.offer(frame(i, RunStatus.RUNNING));
+        }
+        subscriber.offer(frame(10_001, RunStatus.COMPLETED));
+        assertTrue(System.nanoTime() - started < TimeUnit.SECONDS.toNanos(1), "offer must not wait for the client");
+
+        sink.release.countDown();
+        assertTrue(sink.completed.await(5, TimeUnit.SECONDS));
+
+        // the frame stuck in send, then only the newest one
+        assertTrue(sink.frames.size() <= 2, "sent " + sink.frames.size());
+        assertEquals(10_001, sink.frames.getLast().getTimestampMs());
+        assertTrue(subscriber.isClosed());
+
+        subscriber.offer(frame(10_002, RunStatus.RUNNING));
+        Thread.sleep(50);
+        assertEquals(10_001, sink.frames.getLast().getTimestampMs(), "nothing is sent after the final frame");
+    }
+
+    @Test
+    void tick_shouldPushLiveMetricsAndCompleteAfterTheRunFinishes() throws Exception {
+        LoadTestRepository tests = new LoadTestRepository();
+        TestRunRepository runs = new TestRunRepository();
+        tests.save(LoadTest.builder().id("t1").name("t1").build());
+
+        IncrementalMetricsAggregator aggregator = new IncrementalMetricsAggregator("t1", List.of());
+        TestRun run = TestRun.builder().testId("t1").status(RunStatus.RUNNING).aggregator(aggregator).build();
+        runs.save(run);
+
+        // ticks are driven by hand below
+        service = new RunStreamServiceImpl(runs, tests, TimeUnit.HOURS.toMillis(1), 10);
+        SlowSink sink = new SlowSink();
+        sink.release.countDown();
+        service.subscribe(run.getId(), sink);
+
+        long now = System.currentTimeMillis();
+        aggregator.record(RequestMetrics.builder()
+                .stepId("s").startTimeMs(now).endTimeMs(now + 7).latencyMs(7).statusCode(200).success(true).build());
+        service.tick();
+
+        run.setAggregator(null);
+        run.setStatus(RunStatus.COMPLETED);
+        service.tick();
+
+        assertTrue(sink.completed.await(5, TimeUnit.SECONDS));
+        LiveMetricsFrame last = sink.frames.getLast();
+        assertEquals(RunStatus.COMPLETED, last.getStatus());
+        assertEquals(run.getId(), last.getRunId());
+        // the final frame still has the metrics although the run dropped its aggregator
+        assertEquals(1, last.getGlobal().getTotalRequests());
+        assertEquals(1, last.getTimeline().size());
+    }
+}
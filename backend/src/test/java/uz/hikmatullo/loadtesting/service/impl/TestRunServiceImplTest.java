@@ -0,0 +1,206 @@
+package uz.hikmatullo.loadtesting.service.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uz.hikmatullo.loadtesting.engine.LoadTestExecutor;
+import uz.hikmatullo.loadtesting.engine.aggregator.IncrementalMetricsAggregator;
+import uz.hikmatullo.loadtesting.exceptions.CustomBadRequestException;
+import uz.hikmatullo.loadtesting.exceptions.CustomNotFoundException;
+import uz.hikmatullo.loadtesting.model.entity.LoadTest;
+import uz.hikmatullo.loadtesting.model.entity.Threshold;
+import uz.hikmatullo.loadtesting.model.entity.metrics.RequestMetrics;
+import uz.hikmatullo.loadtesting.model.entity.metrics.TestExecutionReport;
+import uz.hikmatullo.loadtesting.model.enums.LoadTestStatus;
+import uz.hikmatullo.loadtesting.model.enums.RunStatus;
+import uz.hikmatullo.loadtesting.model.enums.ThresholdMetric;
+import uz.hikmatullo.loadtesting.model.enums.ThresholdOperator;
+import uz.hikmatullo.loadtesting.model.response.TestRunResponse;
+import uz.hikmatullo.loadtesting.repository.LoadTestRepository;
+import uz.hikmatullo.loadtesting.repository.ReportRepository;
+import uz.hikmatullo.loadtesting.repository.TestRunRepository;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestRunServiceImplTest {
+
+    /** Records one request every 10 ms until stopped or maxMs have passed. */
+    private static final class StubExecutor implements LoadTestExecutor {
+        private final long maxMs;
+
+        StubExecutor(long maxMs) {
+            this.maxMs = maxMs;
+        }
+
+        @Override
+        public TestExecutionReport run(LoadTest loadTest) {
+            return run(loadTest, new IncrementalMetricsAggregator(loadTest.getId(), List.of()));
+        }
+
+        @Override
+        public TestExecutionReport run(LoadTest loadTest, IncrementalMetricsAggregator aggregator) {
+            return run(loadTest, aggregator, new AtomicBoolean());
+        }
+
+        @Override
+        public TestExecutionReport run(LoadTest loadTest, IncrementalMetricsAggregator aggregator, AtomicBoolean stopFlag) {
+            long startedAt = System.currentTimeMillis();
+            while (!stopFlag.get() && System.currentTimeMillis() - startedAt < maxMs) {
+                long now = System.currentTimeMillis();
+                aggregator.record(RequestMetrics.builder()
+                        .stepId("s").startTimeMs(now).endTimeMs(now).statusCode(200).success(true).build());
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    return null;
+                }
+            }
+            return aggregator.buildReport(startedAt, System.currentTimeMillis());
+        }
+    }
+
+    @TempDir
+    Path samplesDir;
+
+    private final LoadTestRepository tests = new LoadTestRepository();
+    private TestRunServiceImpl service;
+
+    private TestRunServiceImpl service(long runMs, int maxConcurrent, int maxQueued) {
+        service = new TestRunServiceImpl(tests, new TestRunRepository(), new ReportRepository(),
+                new RawSampleServiceImpl(samplesDir.toString(), 1024, 1_000_000), new StubExecutor(runMs), maxConcurrent, maxQueued);
+        return service;
+    }
+
+    private LoadTest test(String id) {
+        LoadTest loadTest = LoadTest.builder().id(id).name(id).status(LoadTestStatus.DRAFT).build();
+        tests.save(loadTest);
+        return loadTest;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) fail("condition not reached in time");
+            Thread.sleep(10);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) service.shutdown();
+    }
+
+    @Test
+    void start_shouldReturnImmediatelyAndCompleteInBackground() throws Exception {
+        TestRunServiceImpl runs = service(200, 2, 10);
+        LoadTest loadTest = test("t1");
+
+        TestRunResponse started = runs.start("t1");
+
+        assertNotEquals(RunStatus.COMPLETED, started.status());
+        await(() -> runs.get(started.id()).status() == RunStatus.COMPLETED);
+        assertEquals(LoadTestStatus.COMPLETED, loadTest.getStatus());
+        assertTrue(runs.report(started.id()).getGlobal().getTotalRequests() > 0);
+        assertNotNull(runs.get(started.id()).finishedAt());
+    }
+
+    @Test
+    void cancel_shouldStopRunningTestAndKeepPartialReport() throws Exception {
+        TestRunServiceImpl runs = service(60_000, 2, 10);
+        LoadTest loadTest = test("t1");
+        TestRunResponse started = runs.start("t1");
+        await(() -> runs.get(started.id()).status() == RunStatus.RUNNING);
+        await(() -> runs.report(started.id()).getGlobal().getTotalRequests() > 0);
+
+        runs.cancel(started.id());
+
+        await(() -> runs.get(started.id()).status() == RunStatus.CANCELLED);
+        assertEquals(LoadTestStatus.CANCELLED, loadTest.getStatus());
+        assertTrue(runs.report(started.id()).getGlobal().getTotalRequests() > 0);
+    }
+
+    @Test
+    void runs_shouldQueueBeyondMaxConcurrent() throws Exception {
+        TestRunServiceImpl runs = service(60_000, 1, 10);
+        test("t1");
+        LoadTest second = test("t2");
+
+        TestRunResponse first = runs.start("t1");
+        await(() -> runs.get(first.id()).status() == RunStatus.RUNNING);
+        TestRunResponse queued = runs.start("t2");
+
+        Thread.sleep(100);
+        assertEquals(RunStatus.QUEUED, runs.get(queued.id()).status());
+        assertEquals(LoadTestStatus.QUEUED, second.getStatus());
+        assertThrows(CustomBadRequestException.class, () -> runs.report(queued.id()));
+
+        // a queued run can be cancelled before it ever starts
+        runs.cancel(queued.id());
+        assertEquals(RunStatus.CANCELLED, runs.get(queued.id()).status());
+
+        runs.cancel(first.id());
+        await(() -> runs.get(first.id()).status() == RunStatus.CANCELLED);
+        assertNull(runs.get(queued.id()).startedAt(), "cancelled queued run never started");
+    }
+
+    @Test
+    void recordSamples_shouldKeepEveryRequestOnDisk() throws Exception {
+        TestRunServiceImpl runs = service(200, 2, 10);
+        test("t1").setRecordSamples(true);
+        test("t2");
+
+        TestRunResponse recorded = runs.start("t1");
+        TestRunResponse plain = runs.start("t2");
+        await(() -> runs.get(recorded.id()).status() == RunStatus.COMPLETED);
+        await(() -> runs.get(plain.id()).status() == RunStatus.COMPLETED);
+
+        long[] samples = new long[1];
+        runs.samples(recorded.id()).scan((start, latency, step, status, error, bytes) -> samples[0]++);
+        assertEquals(runs.report(recorded.id()).getGlobal().getTotalRequests(), samples[0]);
+        assertThrows(CustomNotFoundException.class, () -> runs.samples(plain.id()));
+    }
+
+    @Test
+    void threshold_shouldAbortRunAndRecordVerdict() throws Exception {
+        TestRunServiceImpl runs = service(60_000, 2, 10);
+        LoadTest loadTest = test("t1");
+        // the stub sends about 100 requests per second
+        loadTest.setThresholds(List.of(Threshold.builder()
+                .metric(ThresholdMetric.RPS).operator(ThresholdOperator.GTE).value(1000)
+                .abortOnFail(true).build()));
+
+        TestRunResponse started = runs.start("t1");
+
+        await(() -> runs.get(started.id()).status().isFinished());
+        TestRunResponse finished = runs.get(started.id());
+        assertEquals(RunStatus.FAILED, finished.status());
+        assertEquals("Aborted by threshold: rps >= 1000", finished.error());
+        assertFalse(finished.thresholdsPassed());
+        assertEquals(LoadTestStatus.FAILED, loadTest.getStatus());
+
+        TestExecutionReport report = runs.report(started.id());
+        assertTrue(report.getThresholds().isAborted());
+        assertFalse(report.getThresholds().getResults().getFirst().isPassed());
+    }
+
+    @Test
+    void start_shouldRejectSecondActiveRunAndFullQueue() throws Exception {
+        TestRunServiceImpl runs = service(60_000, 1, 1);
+        test("t1");
+        test("t2");
+        test("t3");
+
+        TestRunResponse first = runs.start("t1");
+        assertThrows(CustomBadRequestException.class, () -> runs.start("t1"));
+
+        await(() -> runs.get(first.id()).status() == RunStatus.RUNNING);
+        runs.start("t2");
+        assertThrows(CustomBadRequestException.class, () -> runs.start("t3"), "queue is full");
+    }
+}
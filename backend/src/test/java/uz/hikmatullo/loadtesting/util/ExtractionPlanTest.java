@@ -0,0 +1,100 @@
+package uz.hikmatullo.loadtesting.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uz.hikmatullo.loadtesting.engine.context.ExecutionContext;
+import uz.hikmatullo.loadtesting.exceptions.ExtractionRuleException;
+import uz.hikmatullo.loadtesting.model.entity.ExtractionRule;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExtractionPlanTest {
+
+    private static final String BODY = """
+            {"token": "abc", "user": {"id": 7, "big": 12345678901, "score": 1.5,
+             "active": true, "nickname": null, "tags": ["a", "b"]},
+             "items": [{"name": "item1"}, {"name": "item2"}]}
+            """;
+
+    private ExecutionContext ctx;
+
+    @BeforeEach
+    void setup() {
+        ctx = new ExecutionContext();
+    }
+
+    private static ExtractionRule rule(String path, String saveAs) {
+        return ExtractionRule.builder().jsonPath(path).saveAs(saveAs).build();
+    }
+
+    /** Values (and their types) must be what ExtractionRuleUtil saves for the same rule. */
+    private void assertSameAsUtil(List<ExtractionRule> rules) {
+        ExecutionContext expected = new ExecutionContext();
+        rules.forEach(r -> ExtractionRuleUtil.applyRule(r, BODY, expected));
+
+        ExtractionPlan.compile(rules).apply(BODY, ctx);
+
+        for (ExtractionRule r : rules) {
+            Object want = expected.getVariables().get(r.getSaveAs());
+            Object got = ctx.getVariables().get(r.getSaveAs());
+            assertEquals(want, got, r.getJsonPath());
+            assertEquals(String.valueOf(want), String.valueOf(got), r.getJsonPath());
+            if (want != null) assertEquals(want.getClass(), got.getClass(), r.getJsonPath());
+        }
+    }
+
+    @Test
+    void apply_shouldMatchUtilOnStreamingFastPath() {
+        assertSameAsUtil(List.of(
+                rule("$.token", "token"),
+                rule("user.id", "id"),
+                rule("$.user.big", "big"),
+                rule(".user.score", "score"),
+                rule("$.user.active", "active"),
+                rule("$.user.nickname", "nickname"),
+                rule("$.user.tags", "tags"),
+                rule("$", "raw")
+        ));
+    }
+
+    @Test
+    void apply_shouldMatchUtilWithFullJsonPath() {
+        assertSameAsUtil(List.of(
+                rule("$.items[1].name", "second"),
+                rule("$.items[*].name", "names"),
+                rule("$.user.id", "id")
+        ));
+    }
+
+    @Test
+    void apply_shouldKeepEarlierValuesAndStopAtFirstMissingField() {
+        ExtractionPlan plan = ExtractionPlan.compile(List.of(
+                rule("$.token", "token"),
+                rule("$.user.missing", "missing"),
+                rule("$.user.id", "id")
+        ));
+
+        assertThrows(ExtractionRuleException.class, () -> plan.apply(BODY, ctx));
+        assertEquals("abc", ctx.getVariables().get("token"));
+        assertFalse(ctx.getVariables().containsKey("id"));
+    }
+
+    @Test
+    void apply_shouldRejectNonJsonBodies() {
+        ExtractionPlan simple = ExtractionPlan.compile(List.of(rule("$.id", "id")));
+        ExtractionPlan complex = ExtractionPlan.compile(List.of(rule("$.items[0]", "first")));
+
+        assertThrows(ExtractionRuleException.class, () -> simple.apply("hello world", ctx));
+        assertThrows(ExtractionRuleException.class, () -> complex.apply("hello world", ctx));
+    }
+
+    @Test
+    void apply_shouldReportInvalidPathsWhenApplied() {
+        ExtractionPlan plan = ExtractionPlan.compile(List.of(rule("$.items[?(@.x", "bad")));
+
+        assertThrows(ExtractionRuleException.class, () -> plan.apply(BODY, ctx));
+        assertTrue(ExtractionPlan.compile(List.of()).isEmpty());
+    }
+}
@@ -0,0 +1,187 @@
+package uz.hikmatullo.loadtesting.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import uz.hikmatullo.loadtesting.model.entity.metrics.HistogramSnapshot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    /** Reference nearest-rank percentile on a sorted copy. */
+    private static long exactPercentile(List<Long> values, double p) {
+        List<Long> copy = new ArrayList<>(values);
+        Collections.sort(copy);
+        int k = (int) Math.ceil(p / 100.0 * copy.size());
+        return copy.get(Math.max(0, Math.min(k - 1, copy.size() - 1)));
+    }
+
+    @Test
+    void emptyHistogram_shouldReturnZeros() {
+        LatencyHistogram h = new LatencyHistogram();
+
+        assertEquals(0, h.count());
+        assertEquals(0, h.min());
+        assertEquals(0, h.max());
+        assertEquals(0, h.mean());
+        assertEquals(0, h.p99());
+    }
+
+    @Test
+    @DisplayName("Small values are exact and match nearest-rank percentiles")
+    void smallValues_shouldBeExact() {
+        LatencyHistogram h = new LatencyHistogram();
+        List<Long> values = new ArrayList<>();
+        for (long v = 1; v <= 100; v++) {
+            h.record(v);
+            values.add(v);
+        }
+
+        assertEquals(1, h.min());
+        assertEquals(100, h.max());
+        assertEquals(50, h.mean());
+        assertEquals(exactPercentile(values, 50), h.p50());
+        assertEquals(exactPercentile(values, 90), h.p90());
+        assertEquals(exactPercentile(values, 95), h.p95());
+        assertEquals(exactPercentile(values, 99), h.p99());
+    }
+
+    @Test
+    @DisplayName("Large values stay within configured relative precision")
+    void largeValues_shouldStayWithinPrecision() {
+        LatencyHistogram h = new LatencyHistogram(LatencyHistogram.DEFAULT_HIGHEST_TRACKABLE_VALUE, 2);
+        Random random = new Random(42);
+        List<Long> values = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            long v = 1 + (long) Math.abs(random.nextGaussian() * 2_000 + 5_000);
+            h.record(v);
+            values.add(v);
+        }
+
+        for (double p : new double[]{50, 90, 95, 99, 99.9}) {
+            long exact = exactPercentile(values, p);
+            long approx = h.percentile(p);
+            assertTrue(Math.abs(approx - exact) <= exact / 100 + 1,
+                    "p" + p + " exact=" + exact + " approx=" + approx);
+        }
+    }
+
+    @Test
+    void valuesAboveRange_shouldBeClamped() {
+        LatencyHistogram h = new LatencyHistogram(1_000, 2);
+        h.record(5_000);
+
+        assertEquals(1, h.count());
+        assertEquals(1_000, h.max());
+    }
+
+    @Test
+    void merge_shouldCombineCountsAndExtremes() {
+        LatencyHistogram a = new LatencyHistogram();
+        LatencyHistogram b = new LatencyHistogram();
+        a.record(10);
+        a.record(20);
+        b.record(5);
+        b.record(500);
+
+        a.merge(b);
+
+        assertEquals(4, a.count());
+        assertEquals(5, a.min());
+        assertEquals(500, a.max());
+        assertEquals(500, a.percentile(100));
+        assertEquals(2, b.count(), "source histogram must not change");
+    }
+
+    @Test
+    void merge_shouldRejectDifferentLayouts() {
+        LatencyHistogram a = new LatencyHistogram(1_000, 2);
+        LatencyHistogram b = new LatencyHistogram(1_000, 3);
+
+        assertThrows(IllegalArgumentException.class, () -> a.merge(b));
+    }
+
+    @Test
+    void snapshot_shouldRoundTripSparseBuckets() {
+        LatencyHistogram h = new LatencyHistogram();
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) h.record(random.nextInt(5_000));
+        h.record(250_000);
+
+        HistogramSnapshot snapshot = h.snapshot();
+        LatencyHistogram copy = LatencyHistogram.fromSnapshot(snapshot);
+
+        assertTrue(snapshot.getIndexes().length < 2_000, "only non-empty buckets are kept");
+        assertEquals(h.count(), copy.count());
+        assertEquals(h.min(), copy.min());
+        assertEquals(h.max(), copy.max());
+        assertEquals(h.mean(), copy.mean());
+        for (double p : new double[]{50, 90, 95, 99, 99.9, 100}) {
+            assertEquals(h.percentile(p), copy.percentile(p), "p" + p);
+        }
+    }
+
+    @Test
+    void snapshot_ofEmptyHistogramShouldMergeAsNothing() {
+        LatencyHistogram a = new LatencyHistogram();
+        a.record(10);
+
+        a.merge(new LatencyHistogram().snapshot());
+
+        assertEquals(1, a.count());
+        assertEquals(10, a.min());
+    }
+
+    @Test
+    void record_shouldBeSafeFromManyThreads() throws Exception {
+        LatencyHistogram h = new LatencyHistogram();
+        int threads = 200;
+        int perThread = 5_000;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) h.record(i % 100);
+                }));
+            }
+            for (Future<?> f : futures) f.get();
+        }
+
+        assertEquals((long) threads * perThread, h.count());
+        assertEquals(0, h.min());
+        assertEquals(99, h.max());
+    }
+
+    @Test
+    void minAndMax_shouldKeepTheExtremesRacingThreadsRecord() throws Exception {
+        LatencyHistogram h = new LatencyHistogram();
+        int threads = 64;
+
+        // every thread raises the max and lowers the min in its own steps, so they race on both
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        h.record(500 + i * threads + offset);
+                        h.record(500 - (i % 500) - 1);
+                    }
+                }));
+            }
+            for (Future<?> f : futures) f.get();
+        }
+
+        assertEquals(0, h.min());
+        assertEquals(500 + 999L * threads + threads - 1, h.max(), h.max() / 100.0);
+    }
+}
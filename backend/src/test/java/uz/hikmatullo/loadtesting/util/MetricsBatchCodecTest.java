@@ -0,0 +1,178 @@
+package uz.hikmatullo.loadtesting.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import uz.hikmatullo.loadtesting.engine.aggregator.IncrementalMetricsAggregator;
+import uz.hikmatullo.loadtesting.model.entity.metrics.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsBatchCodecTest {
+
+    private static List<RequestMetrics> sample(int n) {
+        Random random = new Random(7);
+        String[] steps = {UUID.randomUUID().toString(), UUID.randomUUID().toString(), UUID.randomUUID().toString()};
+        String[] errors = {"timeout", "connection_error", "status_500"};
+
+        List<RequestMetrics> metrics = new ArrayList<>(n);
+        long start = 1_760_000_000_000L;
+        for (int i = 0; i < n; i++) {
+            // starts are not strictly ordered: requests finish out of order
+            start += random.nextInt(5) - 1;
+            long latency = random.nextInt(2_000);
+            boolean success = random.nextInt(10) > 0;
+            metrics.add(RequestMetrics.builder()
+                    .stepId(steps[random.nextInt(steps.length)])
+                    .startTimeMs(start)
+                    .endTimeMs(start + latency + (i % 50 == 0 ? 1 : 0))
+                    .latencyMs(latency)
+                    .statusCode(success ? 200 : (i % 3 == 0 ? 0 : 503))
+                    .success(success)
+                    .errorType(success ? null : errors[random.nextInt(errors.length)])
+                    .bytesSent(random.nextInt(500))
+                    .bytesReceived(random.nextInt(100_000))
+                    .ttfbMicros(latency * 900 + random.nextInt(1_000))
+                    .downloadMicros(random.nextInt(5_000))
+                    .connectionReused(i % 7 == 0 ? null : i % 7 != 1)
+                    .build());
+        }
+        return metrics;
+    }
+
+    @Test
+    void rawMetrics_shouldRoundTrip() {
+        List<RequestMetrics> metrics = sample(2_000);
+        WorkerMetricsBatch batch = WorkerMetricsBatch.builder()
+                .workerId("w-1").testId("t-1").timestampSecond(1_760_000_000L).sequence(42).metrics(metrics)
+                .build();
+
+        WorkerMetricsBatch decoded = MetricsBatchCodec.decode(MetricsBatchCodec.encode(batch));
+
+        assertEquals("w-1", decoded.getWorkerId());
+        assertEquals("t-1", decoded.getTestId());
+        assertEquals(42, decoded.getSequence());
+        assertNull(decoded.getSummary());
+        assertEquals(metrics.size(), decoded.getMetrics().size());
+        for (int i = 0; i < metrics.size(); i++) {
+            RequestMetrics a = metrics.get(i);
+            RequestMetrics b = decoded.getMetrics().get(i);
+            assertEquals(a.getStepId(), b.getStepId());
+            assertEquals(a.getErrorType(), b.getErrorType());
+            assertEquals(a.getStartTimeMs(), b.getStartTimeMs());
+            assertEquals(a.getEndTimeMs(), b.getEndTimeMs());
+            assertEquals(a.getLatencyMs(), b.getLatencyMs());
+            assertEquals(a.getStatusCode(), b.getStatusCode());
+            assertEquals(a.isSuccess(), b.isSuccess());
+            assertEquals(a.getBytesSent(), b.getBytesSent());
+            assertEquals(a.getBytesReceived(), b.getBytesReceived());
+            assertEquals(a.getTtfbMicros(), b.getTtfbMicros());
+            assertEquals(a.getDownloadMicros(), b.getDownloadMicros());
+            assertEquals(a.getConnectionReused(), b.getConnectionReused());
+        }
+    }
+
+    @Test
+    void summary_shouldRoundTrip() {
+        IncrementalMetricsAggregator aggregator = new IncrementalMetricsAggregator("t-1", null);
+        aggregator.onVirtualUserStarted();
+        sample(5_000).forEach(aggregator::record);
+        aggregator.recordPause(null, 250_000);
+        AggregationSnapshot summary = aggregator.snapshot();
+
+        WorkerMetricsBatch decoded = MetricsBatchCodec.decode(MetricsBatchCodec.encode(
+                WorkerMetricsBatch.builder().workerId("w-1").testId("t-1").summary(summary).build()));
+
+        AggregationSnapshot copy = decoded.getSummary();
+        assertNull(decoded.getMetrics());
+        assertEquals(summary.getTestId(), copy.getTestId());
+        assertSnapshotEquals(summary.getGlobal(), copy.getGlobal());
+        assertEquals(summary.getSteps().keySet(), copy.getSteps().keySet());
+        summary.getSteps().forEach((id, step) -> assertSnapshotEquals(step, copy.getSteps().get(id)));
+
+        assertEquals(summary.getTimeline().size(), copy.getTimeline().size());
+        for (int i = 0; i < summary.getTimeline().size(); i++) {
+            TimelinePoint a = summary.getTimeline().get(i);
+            TimelinePoint b = copy.getTimeline().get(i);
+            assertEquals(a.getTimestampSecond(), b.getTimestampSecond());
+            assertEquals(a.getRequests(), b.getRequests());
+            assertEquals(a.getFailures(), b.getFailures());
+            assertEquals(a.getActiveUsers(), b.getActiveUsers());
+        }
+    }
+
+    @Test
+    void emptyHistogram_shouldKeepItsEmptyMin() {
+        HistogramSnapshot empty = new LatencyHistogram().snapshot();
+        MetricsSnapshot snapshot = MetricsSnapshot.builder().latencies(empty).build();
+        AggregationSnapshot summary = AggregationSnapshot.builder().global(snapshot).build();
+
+        AggregationSnapshot copy = MetricsBatchCodec.decode(MetricsBatchCodec.encode(
+                WorkerMetricsBatch.builder().summary(summary).build())).getSummary();
+
+        assertEquals(Long.MAX_VALUE, copy.getGlobal().getLatencies().getMin());
+        assertEquals(0, copy.getGlobal().getLatencies().getTotalCount());
+    }
+
+    @Test
+    void binary_shouldBeMuchSmallerThanJson() throws Exception {
+        WorkerMetricsBatch batch = WorkerMetricsBatch.builder()
+                .workerId("w-1").testId("t-1").metrics(sample(1_000)).build();
+
+        int binary = MetricsBatchCodec.encode(batch).length;
+        int json = new ObjectMapper().writeValueAsBytes(batch).length;
+
+        assertTrue(binary * 10 < json, "binary " + binary + " bytes vs json " + json);
+    }
+
+    @Test
+    void decode_shouldRejectTruncatedAndForeignInput() {
+        byte[] data = MetricsBatchCodec.encode(WorkerMetricsBatch.builder()
+                .workerId("w-1").testId("t-1").metrics(sample(10)).build());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> MetricsBatchCodec.decode(Arrays.copyOf(data, data.length - 3)));
+        assertThrows(IllegalArgumentException.class,
+                () -> MetricsBatchCodec.decode("{\"workerId\":\"w-1\"}".getBytes()));
+
+        byte[] otherVersion = data.clone();
+        otherVersion[3] = 2;   // the version follows the 3-byte magic
+        assertThrows(IllegalArgumentException.class, () -> MetricsBatchCodec.decode(otherVersion));
+    }
+
+    private static void assertSnapshotEquals(MetricsSnapshot a, MetricsSnapshot b) {
+        assertEquals(a.getTotalRequests(), b.getTotalRequests());
+        assertEquals(a.getSuccessfulRequests(), b.getSuccessfulRequests());
+        assertEquals(a.getStatusCodes(), b.getStatusCodes());
+        assertEquals(a.getErrors(), b.getErrors());
+        assertEquals(a.getRequestsPerSecond(), b.getRequestsPerSecond());
+        assertEquals(a.getLatencies().getTotalCount(), b.getLatencies().getTotalCount());
+        assertEquals(a.getLatencies().getSum(), b.getLatencies().getSum());
+        assertEquals(a.getLatencies().getMin(), b.getLatencies().getMin());
+        assertEquals(a.getLatencies().getMax(), b.getLatencies().getMax());
+        assertArrayEquals(a.getLatencies().getIndexes(), b.getLatencies().getIndexes());
+        assertArrayEquals(a.getLatencies().getCounts(), b.getLatencies().getCounts());
+        assertEquals(a.getPauses(), b.getPauses());
+        assertEquals(a.getPauseMicros(), b.getPauseMicros());
+
+        assertHistogramEquals(a.getTimings().getTimeToFirstByte(), b.getTimings().getTimeToFirstByte());
+        assertHistogramEquals(a.getTimings().getDownload(), b.getTimings().getDownload());
+        assertHistogramEquals(a.getTimings().getNewConnectionTimeToFirstByte(),
+                b.getTimings().getNewConnectionTimeToFirstByte());
+        assertHistogramEquals(a.getTimings().getReusedConnectionTimeToFirstByte(),
+                b.getTimings().getReusedConnectionTimeToFirstByte());
+    }
+
+    private static void assertHistogramEquals(HistogramSnapshot a, HistogramSnapshot b) {
+        assertEquals(a.getHighestTrackableValue(), b.getHighestTrackableValue());
+        assertEquals(a.getTotalCount(), b.getTotalCount());
+        assertEquals(a.getSum(), b.getSum());
+        assertArrayEquals(a.getIndexes(), b.getIndexes());
+        assertArrayEquals(a.getCounts(), b.getCounts());
+    }
+}
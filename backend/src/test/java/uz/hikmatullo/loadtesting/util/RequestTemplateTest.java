@@ -0,0 +1,110 @@
+package uz.hikmatullo.loadtesting.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uz.hikmatullo.loadtesting.engine.context.ExecutionContext;
+import uz.hikmatullo.loadtesting.exceptions.InvalidHttpRequestException;
+import uz.hikmatullo.loadtesting.model.entity.RequestStep;
+import uz.hikmatullo.loadtesting.model.enums.HttpMethod;
+
+import java.net.http.HttpRequest;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestTemplateTest {
+
+    private ExecutionContext ctx;
+
+    @BeforeEach
+    void init() {
+        ctx = new ExecutionContext();
+        ctx.getVariables().put("id", 42);
+        ctx.getVariables().put("token", "abc");
+        ctx.getVariables().put("q", "a b&c");
+        ctx.getVariables().put("payload", "[1,2]");
+    }
+
+    /** The compiled template must build exactly what HttpRequestUtil builds. */
+    private void assertSameAsUtil(RequestStep step) {
+        HttpRequest expected = HttpRequestUtil.buildRequest(step, ctx);
+        HttpRequest actual = RequestTemplate.compile(step).build(ctx);
+
+        assertEquals(expected.method(), actual.method());
+        assertEquals(expected.uri(), actual.uri());
+        assertEquals(expected.timeout(), actual.timeout());
+        assertEquals(expected.headers().map(), actual.headers().map());
+        assertEquals(expected.bodyPublisher().map(HttpRequest.BodyPublisher::contentLength),
+                actual.bodyPublisher().map(HttpRequest.BodyPublisher::contentLength));
+    }
+
+    @Test
+    void build_shouldMatchUtilForStaticStep() {
+        assertSameAsUtil(RequestStep.builder()
+                .method(HttpMethod.GET)
+                .url("https://example.com/api")
+                .headers(Map.of("Accept", "application/json"))
+                .queryParams(Map.of("sort", "name,desc"))
+                .build());
+    }
+
+    @Test
+    void build_shouldMatchUtilForVariablesEverywhere() {
+        Map<String, String> query = new LinkedHashMap<>();
+        query.put("search", "{{q}}");
+        query.put("page", "1 of {{id}}");
+        query.put("empty", null);
+
+        assertSameAsUtil(RequestStep.builder()
+                .method(HttpMethod.POST)
+                .url("https://example.com/users/{{ id }}?x=1")
+                .headers(Map.of("Authorization", "Bearer {{token}}", "X-Static", "yes"))
+                .queryParams(query)
+                .body("{\"id\": {{id}}}")
+                .timeoutMs(1234)
+                .build());
+    }
+
+    @Test
+    void build_shouldSniffContentTypeWhenBodyStartsWithVariable() {
+        RequestStep step = RequestStep.builder()
+                .method(HttpMethod.PUT)
+                .url("https://example.com/items")
+                .body("  {{payload}}")
+                .build();
+
+        assertSameAsUtil(step);
+        assertEquals("application/json",
+                RequestTemplate.compile(step).build(ctx).headers().firstValue("Content-Type").orElse(null));
+    }
+
+    @Test
+    void build_shouldEncodeVariableQueryValues() {
+        HttpRequest req = RequestTemplate.compile(RequestStep.builder()
+                .method(HttpMethod.GET)
+                .url("https://example.com/search")
+                .queryParams(Map.of("q", "{{q}}"))
+                .build()).build(ctx);
+
+        assertEquals("https://example.com/search?q=a+b%26c", req.uri().toString());
+    }
+
+    @Test
+    void build_shouldThrowLikeUtilForBadSteps() {
+        RequestTemplate missingUrl = RequestTemplate.compile(RequestStep.builder().method(HttpMethod.GET).build());
+        assertThrows(InvalidHttpRequestException.class, () -> missingUrl.build(ctx));
+
+        RequestTemplate missingVar = RequestTemplate.compile(RequestStep.builder()
+                .method(HttpMethod.GET)
+                .url("https://example.com/{{missing}}")
+                .build());
+        assertThrows(InvalidHttpRequestException.class, () -> missingVar.build(ctx));
+
+        RequestTemplate badUrl = RequestTemplate.compile(RequestStep.builder()
+                .method(HttpMethod.GET)
+                .url("ht!tp://bad url")
+                .build());
+        assertThrows(InvalidHttpRequestException.class, () -> badUrl.build(ctx));
+    }
+}
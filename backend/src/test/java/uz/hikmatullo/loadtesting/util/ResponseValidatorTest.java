@@ -0,0 +1,101 @@
+package uz.hikmatullo.loadtesting.util;
+
+import org.junit.jupiter.api.Test;
+import uz.hikmatullo.loadtesting.model.entity.ValidationRule;
+import uz.hikmatullo.loadtesting.model.enums.ValidationType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseValidatorTest {
+
+    private static ValidationRule rule(ValidationType type, String expected) {
+        return ValidationRule.builder().type(type).expectedValue(expected).build();
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void noRules_shouldKeepDefaultSuccessRange() {
+        ResponseValidator validator = ResponseValidator.compile(List.of());
+
+        assertNull(validator.check(200, 5, null));
+        assertNull(validator.check(302, 5, null));
+        assertEquals("http_404", validator.check(404, 5, null));
+        assertEquals("http_500", validator.check(500, 5, null));
+    }
+
+    @Test
+    void statusCode_shouldAcceptCodesClassesAndLists() {
+        assertNull(ResponseValidator.compile(List.of(rule(ValidationType.STATUS_CODE, "201")))
+                .check(201, 0, null));
+        assertEquals("validation_status_code:201",
+                ResponseValidator.compile(List.of(rule(ValidationType.STATUS_CODE, "201"))).check(200, 0, null));
+
+        ResponseValidator classes = ResponseValidator.compile(List.of(rule(ValidationType.STATUS_CODE, "2xx, 404")));
+        assertNull(classes.check(204, 0, null));
+        assertNull(classes.check(404, 0, null), "an expected 404 is a success");
+        assertNotNull(classes.check(302, 0, null));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> ResponseValidator.compile(List.of(rule(ValidationType.STATUS_CODE, "ok"))));
+    }
+
+    @Test
+    void latency_shouldFailAtTheLimit() {
+        ResponseValidator validator = ResponseValidator.compile(List.of(rule(ValidationType.LATENCY_LT, "100")));
+
+        assertNull(validator.check(200, 99, null));
+        assertEquals("validation_latency_lt:100", validator.check(200, 100, null));
+    }
+
+    @Test
+    void containsText_shouldSearchRawUtf8Bytes() {
+        ResponseValidator validator = ResponseValidator.compile(List.of(rule(ValidationType.CONTAINS_TEXT, "\"status\":\"ок\"")));
+
+        assertNull(validator.check(200, 1, bytes("{\"id\":1,\"status\":\"ок\"}")));
+        assertEquals("validation_contains_text:\"status\":\"ок\"",
+                validator.check(200, 1, bytes("{\"id\":1,\"status\":\"ok\"}")));
+        assertNotNull(validator.check(200, 1, null));
+        assertNotNull(validator.check(200, 1, bytes("\"status\"")), "body shorter than the text");
+    }
+
+    @Test
+    void containsText_shouldMatchStringContainsOnRandomInput() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int round = 0; round < 2_000; round++) {
+            String haystack = randomText(random, random.nextInt(0, 60));
+            String needle = random.nextBoolean() && haystack.length() > 2
+                    ? haystack.substring(random.nextInt(haystack.length() - 1), haystack.length())
+                    : randomText(random, random.nextInt(1, 4));
+
+            ResponseValidator validator = ResponseValidator.compile(List.of(rule(ValidationType.CONTAINS_TEXT, needle)));
+            assertEquals(haystack.contains(needle), validator.check(200, 0, bytes(haystack)) == null,
+                    () -> "'" + needle + "' in '" + haystack + "'");
+        }
+    }
+
+    @Test
+    void rules_shouldAllHoldAndReportTheCheapestFailureFirst() {
+        ResponseValidator validator = ResponseValidator.compile(List.of(
+                rule(ValidationType.CONTAINS_TEXT, "ok"),
+                rule(ValidationType.LATENCY_LT, "50"),
+                rule(ValidationType.STATUS_CODE, "200")));
+
+        assertNull(validator.check(200, 10, bytes("ok")));
+        assertEquals("validation_status_code:200", validator.check(500, 80, bytes("no")));
+        assertEquals("validation_latency_lt:50", validator.check(200, 80, bytes("no")));
+        assertEquals("validation_contains_text:ok", validator.check(200, 10, bytes("no")));
+    }
+
+    private static String randomText(ThreadLocalRandom random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) sb.append("abcé".charAt(random.nextInt(4)));
+        return sb.toString();
+    }
+}
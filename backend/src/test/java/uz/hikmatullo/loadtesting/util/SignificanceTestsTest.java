@@ -0,0 +1,90 @@
+package uz.hikmatullo.loadtesting.util;
+
+import org.junit.jupiter.api.Test;
+import uz.hikmatullo.loadtesting.model.entity.metrics.HistogramSnapshot;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SignificanceTestsTest {
+
+    private static HistogramSnapshot latencies(long seed, int n, double mean, double sd) {
+        Random random = new Random(seed);
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < n; i++) {
+            histogram.record(Math.max(0, Math.round(mean + random.nextGaussian() * sd)));
+        }
+        return histogram.snapshot();
+    }
+
+    @Test
+    void upperTail_shouldMatchNormalTable() {
+        assertEquals(0.5, SignificanceTests.upperTail(0), 1e-7);
+        assertEquals(0.05, SignificanceTests.upperTail(1.6449), 1e-4);
+        assertEquals(0.975, SignificanceTests.upperTail(-1.96), 1e-4);
+    }
+
+    @Test
+    void rankSum_shouldNotFlagSameDistribution() {
+        SignificanceTests.RankSum result = SignificanceTests.rankSum(
+                latencies(1, 20_000, 100, 15), latencies(2, 20_000, 100, 15));
+
+        assertTrue(result.pValue() > 0.01, "p = " + result.pValue());
+        assertEquals(0.5, result.probabilityGreater(), 0.02);
+    }
+
+    @Test
+    void rankSum_shouldDetectShiftedDistribution() {
+        SignificanceTests.RankSum result = SignificanceTests.rankSum(
+                latencies(1, 20_000, 100, 15), latencies(2, 20_000, 110, 15));
+
+        assertTrue(result.pValue() < 1e-6, "p = " + result.pValue());
+        assertTrue(result.probabilityGreater() > 0.6);
+
+        // the other way round the candidate is faster, not slower
+        assertTrue(SignificanceTests.rankSum(latencies(2, 20_000, 110, 15), latencies(1, 20_000, 100, 15)).pValue() > 0.99);
+    }
+
+    @Test
+    void exceedance_shouldDetectSlowerTailWithUnchangedMedian() {
+        LatencyHistogram baseline = new LatencyHistogram();
+        LatencyHistogram candidate = new LatencyHistogram();
+        Random random = new Random(7);
+        for (int i = 0; i < 50_000; i++) {
+            long latency = 50 + random.nextInt(20);
+            baseline.record(latency);
+            // 5% of requests now hit a slow path
+            candidate.record(random.nextInt(100) < 5 ? 400 + random.nextInt(100) : latency);
+        }
+
+        assertTrue(SignificanceTests.exceedance(baseline.snapshot(), candidate.snapshot(), 99).pValue() < 1e-6);
+        assertTrue(candidate.p50() <= baseline.p50() + 1, "median barely moved");
+        // no faster tail than the baseline's
+        assertTrue(SignificanceTests.exceedance(candidate.snapshot(), baseline.snapshot(), 99).pValue() > 0.99);
+    }
+
+    @Test
+    void proportions_shouldDetectHigherErrorRate() {
+        assertTrue(SignificanceTests.proportions(100, 10_000, 300, 10_000).pValue() < 1e-6);
+        assertTrue(SignificanceTests.proportions(100, 10_000, 105, 10_000).pValue() > 0.01);
+        assertEquals(1, SignificanceTests.proportions(0, 10_000, 0, 10_000).pValue());
+    }
+
+    @Test
+    void means_shouldCompareSeries() {
+        double[] steady = {100, 101, 99, 100, 102, 98, 100};
+        double[] higher = {120, 121, 119, 120, 122, 118, 120};
+
+        assertTrue(SignificanceTests.means(steady, higher).pValue() < 1e-6);
+        assertTrue(SignificanceTests.means(higher, steady).pValue() > 0.99);
+        assertEquals(1, SignificanceTests.means(new double[] {1}, higher).pValue());
+    }
+
+    @Test
+    void rankSum_shouldRejectDifferentLayouts() {
+        HistogramSnapshot coarse = new LatencyHistogram(1000, 1).snapshot();
+        assertThrows(IllegalArgumentException.class,
+                () -> SignificanceTests.rankSum(new LatencyHistogram().snapshot(), coarse));
+    }
+}